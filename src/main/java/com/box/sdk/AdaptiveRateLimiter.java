@@ -0,0 +1,180 @@
+package com.box.sdk;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A client-side rate limiter shared by all the requests sent through a {@link BoxAPIConnection}.
+ *
+ * <p>Requests take a permit from a token bucket before they are sent, so all the threads using a connection are paced
+ * together instead of each thread discovering the rate limit on its own. The rate adapts to the responses: every
+ * successful response raises it slightly (additive increase) and a 429 response halves it (multiplicative decrease).
+ * When a 429 response carries a Retry-After header, no permits are handed out until that time has passed, so all the
+ * threads wait for the rate limit to reset instead of retrying independently.</p>
+ *
+ * <p>A limiter can be shared by several connections, for example by all the connections acting on behalf of users of
+ * the same enterprise, to pace them against a common limit.</p>
+ *
+ * @see BoxAPIConnection#setRateLimiter(AdaptiveRateLimiter)
+ */
+public final class AdaptiveRateLimiter {
+    private static final double MIN_REQUESTS_PER_SECOND = 0.5;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Lock lock = new ReentrantLock();
+    private final LongSupplier nanoClock;
+    private final double maxRequestsPerSecond;
+    private final double burst;
+    private final double increasePerSecond;
+
+    private double requestsPerSecond;
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+    private long lastDecrease;
+
+    /**
+     * Creates a limiter that starts at a given rate and never exceeds a maximum rate.
+     *
+     * @param initialRequestsPerSecond the rate at which requests are sent initially.
+     * @param maxRequestsPerSecond     the maximum rate the limiter increases to while requests succeed.
+     */
+    public AdaptiveRateLimiter(double initialRequestsPerSecond, double maxRequestsPerSecond) {
+        this(initialRequestsPerSecond, maxRequestsPerSecond, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(double initialRequestsPerSecond, double maxRequestsPerSecond, LongSupplier nanoClock) {
+        if (initialRequestsPerSecond <= 0 || maxRequestsPerSecond < initialRequestsPerSecond) {
+            throw new IllegalArgumentException(
+                "The initial rate must be positive and the maximum rate must not be lower than the initial rate.");
+        }
+
+        this.nanoClock = nanoClock;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.requestsPerSecond = initialRequestsPerSecond;
+        this.burst = Math.max(1, maxRequestsPerSecond / 10);
+        this.increasePerSecond = Math.max(1, maxRequestsPerSecond / 100);
+        this.tokens = 1;
+        this.lastRefill = nanoClock.getAsLong();
+        this.pausedUntil = this.lastRefill;
+        this.lastDecrease = this.lastRefill - NANOS_PER_SECOND;
+    }
+
+    /**
+     * Gets the current rate at which the limiter hands out permits.
+     *
+     * @return the current number of requests per second.
+     */
+    public double getRequestsPerSecond() {
+        this.lock.lock();
+        try {
+            return this.requestsPerSecond;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a request may be sent.
+     *
+     * @throws BoxAPIException if the thread is interrupted while waiting.
+     */
+    void acquire() {
+        long waitNanos = this.reserve();
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting for the rate limiter.", e);
+        }
+    }
+
+    /**
+     * Takes a permit, going into debt if none is available.
+     *
+     * @return how many nanoseconds the caller has to wait before sending its request.
+     */
+    long reserve() {
+        this.lock.lock();
+        try {
+            long now = this.nanoClock.getAsLong();
+            this.refill(now);
+            this.tokens -= 1;
+
+            long readyAt = Math.max(now, this.pausedUntil);
+            if (this.tokens < 0) {
+                // tokens are only refilled from lastRefill on, which is the end of the pause while requests are paused
+                long debtNanos = (long) (-this.tokens / this.requestsPerSecond * NANOS_PER_SECOND);
+                readyAt = Math.max(now, this.lastRefill) + debtNanos;
+            }
+            return readyAt - now;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Adapts the rate to the response of a request.
+     *
+     * @param responseCode the status code of the response.
+     * @param retryAfter   the value of the Retry-After header of the response, or null.
+     */
+    void onResponse(int responseCode, String retryAfter) {
+        this.lock.lock();
+        try {
+            long now = this.nanoClock.getAsLong();
+            if (responseCode != 429) {
+                if (responseCode < 500) {
+                    double increase = this.increasePerSecond / this.requestsPerSecond;
+                    this.requestsPerSecond = Math.min(this.maxRequestsPerSecond, this.requestsPerSecond + increase);
+                }
+                return;
+            }
+
+            // Every thread that was in flight when the limit was hit gets a 429, but they all report the same overload.
+            if (now - this.lastDecrease >= NANOS_PER_SECOND) {
+                this.requestsPerSecond = Math.max(MIN_REQUESTS_PER_SECOND, this.requestsPerSecond * DECREASE_FACTOR);
+                this.lastDecrease = now;
+            }
+
+            long retryAfterNanos = parseRetryAfter(retryAfter);
+            if (retryAfterNanos > 0) {
+                this.refill(now);
+                this.pausedUntil = Math.max(this.pausedUntil, now + retryAfterNanos);
+                this.lastRefill = this.pausedUntil;
+            }
+            this.tokens = Math.min(this.tokens, 0);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null) {
+            return 0;
+        }
+
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void refill(long now) {
+        if (now <= this.lastRefill) {
+            return;
+        }
+
+        double refilled = (now - this.lastRefill) * this.requestsPerSecond / NANOS_PER_SECOND;
+        this.tokens = Math.min(this.burst, this.tokens + refilled);
+        this.lastRefill = now;
+    }
+}
@@ -28,6 +28,11 @@ class BackoffCounter {
     }
 
     public void waitBackoff(int delay) throws InterruptedException {
+        this.logBackoff(delay);
+        this.time.waitDuration(delay);
+    }
+
+    void logBackoff(int delay) {
         if (LOGGER.isWarnEnabled()) {
             LOGGER.warn(String.format(
                 "Backing off for %d seconds before retrying %d more time%s.",
@@ -37,7 +42,6 @@ class BackoffCounter {
             ));
 
         }
-        this.time.waitDuration(delay);
     }
 
     public boolean decrement() {
@@ -50,7 +54,7 @@ class BackoffCounter {
         this.attemptsRemaining = maxAttempts;
     }
 
-    private int calculateDelay() {
+    int calculateDelay() {
         int exponent = this.maxAttempts - this.attemptsRemaining;
         double minWindow = 1 - RANDOM_FACTOR;
         double maxWindow = 1 + RANDOM_FACTOR;
@@ -13,7 +13,7 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * @deprecated As of 2.39.0, BatchAPI Request will no longer be supported.
+ * @deprecated As of 2.39.0, BatchAPI Request will no longer be supported. Use {@link BoxBulkExecutor} instead.
  * <p>
  * Used to make a bunch of HTTP Requests as a batch. Currently the number of requests that can be batched at once
  * is capped at <b>20</b> by the API layer. Also there are certain requests which <b>cannot</b> be performed
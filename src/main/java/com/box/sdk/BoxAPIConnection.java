@@ -7,9 +7,15 @@ import java.net.Proxy;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
@@ -58,6 +64,8 @@ public class BoxAPIConnection {
      */
     private static final long REFRESH_EPSILON = 60000;
 
+    private static final AtomicLong CONNECTION_IDS = new AtomicLong();
+
     private final String clientID;
     private final String clientSecret;
     private final ReadWriteLock refreshLock;
@@ -83,9 +91,20 @@ public class BoxAPIConnection {
     private int maxRetryAttempts;
     private int connectTimeout;
     private int readTimeout;
+    private int pagePrefetchDepth;
+    private Executor pagePrefetchExecutor;
+    private Executor asyncExecutor;
+    private ScheduledExecutorService retryScheduler;
+    private AdaptiveRateLimiter rateLimiter;
+    private BoxAPIMetrics metrics;
+    private MetadataTemplateCache metadataTemplateCache;
+    private SharedLinkCache sharedLinkCache;
     private final List<BoxAPIConnectionListener> listeners;
     private RequestInterceptor interceptor;
+    // replaced as a whole when an interceptor is added or removed, so sending a request reads it without locking
+    private final AtomicReference<BoxAPIInterceptor[]> interceptorChain;
     private final Map<String, String> customHeaders;
+    private final long connectionID = CONNECTION_IDS.incrementAndGet();
 
     /**
      * Constructs a new BoxAPIConnection that authenticates with a developer or access token.
@@ -122,6 +141,8 @@ public class BoxAPIConnection {
         this.userAgent = "Box Java SDK v" + SDK_VERSION + " (Java " + JAVA_VERSION + ")";
         this.listeners = new ArrayList<>();
         this.customHeaders = new HashMap<>();
+        this.metrics = BoxAPIMetrics.NO_OP;
+        this.interceptorChain = new AtomicReference<>(new BoxAPIInterceptor[0]);
     }
 
     /**
@@ -396,7 +417,7 @@ public class BoxAPIConnection {
             this.refreshLock.writeLock().lock();
             try {
                 if (this.needsRefresh()) {
-                    this.refresh();
+                    this.refreshAndMeasure();
                 }
             } finally {
                 this.refreshLock.writeLock().unlock();
@@ -563,6 +584,172 @@ public class BoxAPIConnection {
         this.readTimeout = readTimeout;
     }
 
+    /**
+     * Gets the number of pages that iterators over paged collections fetch ahead of the caller.
+     *
+     * @return the number of pages fetched ahead, or 0 if pages are only fetched once the previous one is consumed.
+     */
+    public int getPagePrefetchDepth() {
+        return this.pagePrefetchDepth;
+    }
+
+    /**
+     * Sets the number of pages that iterators over paged collections fetch ahead of the caller. Prefetching is
+     * disabled by default (depth 0).
+     *
+     * <p>When enabled, the request for the next page is sent on a background thread as soon as the current page
+     * arrives, so that the network round trip overlaps with processing the current page. At most this many fetched
+     * pages are kept waiting to be consumed. An iterator that is abandoned before reaching the end stops prefetching
+     * once it has been garbage collected.</p>
+     *
+     * @param pagePrefetchDepth the number of pages to fetch ahead, or 0 to disable prefetching.
+     */
+    public void setPagePrefetchDepth(int pagePrefetchDepth) {
+        if (pagePrefetchDepth < 0) {
+            throw new IllegalArgumentException("Page prefetch depth cannot be negative.");
+        }
+        this.pagePrefetchDepth = pagePrefetchDepth;
+    }
+
+    /**
+     * Gets the executor that fetches pages in the background, for iterators that prefetch pages and for concurrent
+     * range fetches.
+     *
+     * @return the executor, or null if the SDK's shared daemon threads are used.
+     */
+    public Executor getPagePrefetchExecutor() {
+        return this.pagePrefetchExecutor;
+    }
+
+    /**
+     * Sets the executor that fetches pages in the background, for iterators that prefetch pages and for concurrent
+     * range fetches. Every iterator that prefetches occupies one task of this executor until it has fetched its last
+     * page or is abandoned, while a concurrent range fetch runs one short task per page.
+     *
+     * @param pagePrefetchExecutor the executor, or null to use the SDK's shared daemon threads.
+     * @see #setPagePrefetchDepth(int)
+     */
+    public void setPagePrefetchExecutor(Executor pagePrefetchExecutor) {
+        this.pagePrefetchExecutor = pagePrefetchExecutor;
+    }
+
+    /**
+     * Gets the executor that sends the requests of the asynchronous methods.
+     *
+     * @return the executor, or null if the SDK's shared daemon threads are used.
+     */
+    public Executor getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    /**
+     * Sets the executor that sends the requests of the asynchronous methods, such as
+     * {@link BoxAPIRequest#sendAsync()}. Every attempt to send a request occupies one task of this executor while the
+     * request is on the wire, since requests are sent with blocking I/O.
+     *
+     * @param asyncExecutor the executor, or null to use the SDK's shared daemon threads.
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Gets the scheduler that delays the retries of asynchronous requests.
+     *
+     * @return the scheduler, or null if the SDK's shared daemon scheduler is used.
+     */
+    public ScheduledExecutorService getRetryScheduler() {
+        return this.retryScheduler;
+    }
+
+    /**
+     * Sets the scheduler that delays the retries of asynchronous requests. A request that has to back off before it is
+     * retried is scheduled to be sent again once the back off delay has passed, so no thread waits for the delay.
+     *
+     * @param retryScheduler the scheduler, or null to use the SDK's shared daemon scheduler.
+     */
+    public void setRetryScheduler(ScheduledExecutorService retryScheduler) {
+        this.retryScheduler = retryScheduler;
+    }
+
+    /**
+     * Gets the rate limiter pacing the requests sent through this connection.
+     *
+     * @return the rate limiter, or null if requests aren't paced.
+     */
+    public AdaptiveRateLimiter getRateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Sets a rate limiter pacing the requests sent through this connection. No rate limiter is set by default, in which
+     * case every request backs off on its own when it is rate limited. The same limiter can be set on several
+     * connections to pace them together.
+     *
+     * @param rateLimiter the rate limiter, or null to stop pacing requests.
+     */
+    public void setRateLimiter(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Gets the metrics receiving measurements of the requests sent through this connection.
+     *
+     * @return the metrics, which are {@link BoxAPIMetrics#NO_OP} unless other metrics have been set.
+     */
+    public BoxAPIMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets the metrics receiving measurements of the requests sent through this connection: their latency, response
+     * codes, retries, bytes sent and received, and the automatic refreshes of the access token.
+     *
+     * @param metrics the metrics, or null to stop measuring requests.
+     */
+    public void setMetrics(BoxAPIMetrics metrics) {
+        this.metrics = metrics == null ? BoxAPIMetrics.NO_OP : metrics;
+    }
+
+    /**
+     * Gets the cache of metadata templates used by this connection.
+     *
+     * @return the metadata template cache, or null if templates are always read from the API.
+     */
+    public MetadataTemplateCache getMetadataTemplateCache() {
+        return this.metadataTemplateCache;
+    }
+
+    /**
+     * Sets a cache of metadata templates used by this connection when getting templates, updated when templates are
+     * updated or deleted through this connection. No cache is set by default. The same cache can be set on several
+     * connections to the same enterprise to share it between them.
+     *
+     * @param metadataTemplateCache the metadata template cache, or null to always read templates from the API.
+     */
+    public void setMetadataTemplateCache(MetadataTemplateCache metadataTemplateCache) {
+        this.metadataTemplateCache = metadataTemplateCache;
+    }
+
+    /**
+     * Gets the cache of resolved shared links used by this connection.
+     *
+     * @return the shared link cache, or null if shared links are always resolved with the API.
+     */
+    public SharedLinkCache getSharedLinkCache() {
+        return this.sharedLinkCache;
+    }
+
+    /**
+     * Sets a cache of resolved shared links used by this connection when getting shared items. No cache is set by
+     * default.
+     *
+     * @param sharedLinkCache the shared link cache, or null to always resolve shared links with the API.
+     */
+    public void setSharedLinkCache(SharedLinkCache sharedLinkCache) {
+        this.sharedLinkCache = sharedLinkCache;
+    }
+
     /**
      * Gets the proxy value to use for API calls to Box.
      *
@@ -793,6 +980,58 @@ public class BoxAPIConnection {
         this.interceptor = interceptor;
     }
 
+    /**
+     * Adds an interceptor at the end of the chain of interceptors called around every attempt to send a request
+     * through this connection. See {@link BoxAPIInterceptor} for the order in which the interceptors are called.
+     *
+     * @param interceptor the interceptor to add.
+     */
+    public void addInterceptor(BoxAPIInterceptor interceptor) {
+        if (interceptor == null) {
+            throw new IllegalArgumentException("The interceptor cannot be null.");
+        }
+
+        BoxAPIInterceptor[] current;
+        BoxAPIInterceptor[] chain;
+        do {
+            current = this.interceptorChain.get();
+            chain = Arrays.copyOf(current, current.length + 1);
+            chain[chain.length - 1] = interceptor;
+        } while (!this.interceptorChain.compareAndSet(current, chain));
+    }
+
+    /**
+     * Removes an interceptor from the chain of interceptors of this connection.
+     *
+     * @param interceptor the interceptor to remove.
+     * @return true if the interceptor was in the chain.
+     */
+    public boolean removeInterceptor(BoxAPIInterceptor interceptor) {
+        BoxAPIInterceptor[] current;
+        List<BoxAPIInterceptor> chain;
+        do {
+            current = this.interceptorChain.get();
+            chain = new ArrayList<>(Arrays.asList(current));
+            if (!chain.remove(interceptor)) {
+                return false;
+            }
+        } while (!this.interceptorChain.compareAndSet(current, chain.toArray(new BoxAPIInterceptor[0])));
+        return true;
+    }
+
+    /**
+     * Gets the chain of interceptors called around every attempt to send a request through this connection.
+     *
+     * @return the interceptors, in the order they were added.
+     */
+    public List<BoxAPIInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(this.getInterceptorChain().clone()));
+    }
+
+    BoxAPIInterceptor[] getInterceptorChain() {
+        return this.interceptorChain.get();
+    }
+
     /**
      * Get a lower-scoped token restricted to a resource for the list of scopes that are passed.
      *
@@ -958,12 +1197,35 @@ public class BoxAPIConnection {
         return state.toString();
     }
 
+    private void refreshAndMeasure() {
+        BoxAPIMetrics metrics = this.getMetrics();
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            this.refresh();
+            succeeded = true;
+        } finally {
+            metrics.onTokenRefresh(System.nanoTime() - start, succeeded);
+        }
+    }
+
+    /**
+     * Gets an ID that tells this connection apart from the other connections of the JVM. A connection makes requests as
+     * one user, so caches shared by several connections add it to their keys, so that they don't return what a user
+     * could see to another one.
+     *
+     * @return the ID of this connection.
+     */
+    long getConnectionID() {
+        return this.connectionID;
+    }
+
     String lockAccessToken() {
         if (this.autoRefresh && this.canRefresh() && this.needsRefresh()) {
             this.refreshLock.writeLock().lock();
             try {
                 if (this.needsRefresh()) {
-                    this.refresh();
+                    this.refreshAndMeasure();
                 }
                 this.refreshLock.readLock().lock();
             } finally {
@@ -0,0 +1,89 @@
+package com.box.sdk;
+
+/**
+ * A link in the chain of interceptors that observe and shape every attempt to send a request through a
+ * {@link BoxAPIConnection}.
+ *
+ * <p>Interceptors are added to a connection with {@link BoxAPIConnection#addInterceptor(BoxAPIInterceptor)} and are
+ * called around each attempt to send a request, retries included:</p>
+ *
+ * <ul>
+ *     <li>{@link #onRequest} is called on every interceptor in the order they were added. Like a
+ *     {@link RequestInterceptor}, an interceptor may update the request or return its own response, in which case the
+ *     interceptors after it and the API aren't called.</li>
+ *     <li>{@link #onResponse} is called in the reverse order on the interceptors that were called before the one that
+ *     returned a response, or on all of them if the response came from the API. Each may replace the response.</li>
+ *     <li>{@link #onError} is called in the reverse order on every interceptor whose {@link #onRequest} was called when
+ *     the attempt fails with a {@link BoxAPIException}, whether it was thrown by the API or by another
+ *     interceptor.</li>
+ *     <li>{@link #onRetry} is called in the order the interceptors were added when a failed attempt is going to be
+ *     retried.</li>
+ * </ul>
+ *
+ * <p>This makes it possible to build behaviors such as tracing, header injection or response caching as separate
+ * layers. For example, an interceptor timing every request and tagging it with a correlation ID:</p>
+ *
+ * <pre>api.addInterceptor(new BoxAPIInterceptor() {
+ *     public BoxAPIResponse onRequest(BoxAPIRequest request) {
+ *         request.addHeader("X-Correlation-ID", UUID.randomUUID().toString());
+ *         return null;
+ *     }
+ *
+ *     public BoxAPIResponse onResponse(BoxAPIRequest request, BoxAPIResponse response, long durationNanos) {
+ *         log(request.getMethod(), request.getUrl(), response.getResponseCode(), durationNanos);
+ *         return response;
+ *     }
+ * });</pre>
+ *
+ * <p>All the methods do nothing by default. The {@link RequestInterceptor} set with
+ * {@link BoxAPIConnection#setRequestInterceptor(RequestInterceptor)} is called after the whole chain, right before the
+ * request would be sent to the API. Interceptors are called on the threads sending the requests, so they must be
+ * thread-safe.</p>
+ */
+public interface BoxAPIInterceptor extends RequestInterceptor {
+    /**
+     * Invoked when an attempt to send a request is about to be made.
+     *
+     * @param request the request that is about to be sent.
+     * @return an optional response to the request. If the response is null, then the request continues through the
+     * rest of the chain.
+     */
+    @Override
+    default BoxAPIResponse onRequest(BoxAPIRequest request) {
+        return null;
+    }
+
+    /**
+     * Invoked when an attempt to send a request has received a response, either from the API or from an interceptor
+     * later in the chain.
+     *
+     * @param request       the request that was sent.
+     * @param response      the response to the request.
+     * @param durationNanos the time since the attempt was started by the first interceptor, in nanoseconds.
+     * @return the response passed on to the interceptors earlier in the chain, usually the same response.
+     */
+    default BoxAPIResponse onResponse(BoxAPIRequest request, BoxAPIResponse response, long durationNanos) {
+        return response;
+    }
+
+    /**
+     * Invoked when an attempt to send a request has failed.
+     *
+     * @param request       the request that failed.
+     * @param error         the error the attempt failed with. Its response code is 0 if it was a network error.
+     * @param durationNanos the time since the attempt was started by the first interceptor, in nanoseconds.
+     */
+    default void onError(BoxAPIRequest request, BoxAPIException error, long durationNanos) {
+    }
+
+    /**
+     * Invoked when a failed request is going to be retried. The retry is a new attempt, which goes through the chain
+     * again.
+     *
+     * @param request     the request that is going to be retried.
+     * @param cause       the error the previous attempt failed with.
+     * @param delayMillis the back off delay before the request is retried, in milliseconds.
+     */
+    default void onRetry(BoxAPIRequest request, BoxAPIException cause, long delayMillis) {
+    }
+}
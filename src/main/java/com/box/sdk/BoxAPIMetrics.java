@@ -0,0 +1,79 @@
+package com.box.sdk;
+
+/**
+ * Receives measurements of the requests sent through a {@link BoxAPIConnection}.
+ *
+ * <p>Implement this interface to feed the SDK's requests into a metrics library, e.g. by recording the durations
+ * reported by {@link #onRequestCompleted} in a timer tagged with the method, endpoint and response code. All the
+ * methods do nothing by default, so an implementation only overrides the measurements it is interested in.</p>
+ *
+ * <p>Requests are identified by their HTTP method and by their endpoint: the path of the request URL in which every
+ * segment that is an ID (a number or a long hexadecimal token) has been replaced with {@code {id}}, for example
+ * {@code /2.0/files/{id}/metadata/enterprise/marketingCollateral}. The endpoint doesn't include the query string, so
+ * the number of distinct endpoints stays small enough to be used as a metric tag.</p>
+ *
+ * <p>The methods are called on the threads sending the requests, so implementations must be thread-safe and should
+ * return quickly.</p>
+ *
+ * @see BoxAPIConnection#setMetrics(BoxAPIMetrics)
+ */
+public interface BoxAPIMetrics {
+    /**
+     * Metrics that ignore all the measurements. This is the default for every connection.
+     */
+    BoxAPIMetrics NO_OP = new BoxAPIMetrics() {
+    };
+
+    /**
+     * Called when a request is about to be sent. Every call is followed by a call to {@link #onRequestCompleted} for
+     * the same request, so the difference between the two counts is the number of requests in flight.
+     *
+     * @param method   the HTTP method of the request.
+     * @param endpoint the endpoint of the request.
+     */
+    default void onRequestStarted(String method, String endpoint) {
+    }
+
+    /**
+     * Called when the response code of a request has been received, or when sending the request failed.
+     *
+     * @param method        the HTTP method of the request.
+     * @param endpoint      the endpoint of the request.
+     * @param responseCode  the response code, or 0 if the request failed with a network error.
+     * @param durationNanos the time from sending the request to receiving the response code, in nanoseconds.
+     * @param bytesSent     the length of the request body, or 0 if the request has no body or its length is unknown.
+     */
+    default void onRequestCompleted(String method, String endpoint, int responseCode, long durationNanos,
+                                    long bytesSent) {
+    }
+
+    /**
+     * Called when a failed request is going to be retried.
+     *
+     * @param method      the HTTP method of the request.
+     * @param endpoint    the endpoint of the request.
+     * @param cause       the error the request failed with. Its response code is 0 if it was a network error.
+     * @param delayMillis the back off delay before the request is retried, in milliseconds.
+     */
+    default void onRetry(String method, String endpoint, BoxAPIException cause, long delayMillis) {
+    }
+
+    /**
+     * Called when the body of a response has been read and its connection released.
+     *
+     * @param method        the HTTP method of the request.
+     * @param endpoint      the endpoint of the request.
+     * @param bytesReceived the number of bytes read from the connection, before they were decompressed.
+     */
+    default void onResponseBodyRead(String method, String endpoint, long bytesReceived) {
+    }
+
+    /**
+     * Called when the connection has automatically refreshed its access token before sending a request.
+     *
+     * @param durationNanos the time the refresh took, in nanoseconds.
+     * @param succeeded     whether the refresh succeeded.
+     */
+    default void onTokenRefresh(long durationNanos, boolean succeeded) {
+    }
+}
@@ -18,6 +18,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
@@ -106,6 +111,7 @@ public class BoxAPIRequest {
     private int numRedirects;
     private boolean followRedirects = true;
     private boolean shouldAuthenticate;
+    private boolean notModifiedExpected;
 
     /**
      * Constructs an unauthenticated BoxAPIRequest.
@@ -432,32 +438,13 @@ public class BoxAPIRequest {
             try {
                 return this.trySend(listener);
             } catch (BoxAPIException apiException) {
-                if (!this.backoffCounter.decrement()
-                    || (!isRequestRetryable(apiException)
-                    && !isResponseRetryable(apiException.getResponseCode(), apiException))) {
-                    throw apiException;
-                }
-
-                LOGGER.warn(
-                    String.format("Retrying request due to transient error status=%d body=%s",
-                        apiException.getResponseCode(),
-                        apiException.getResponse())
-                );
-
-                try {
-                    this.resetBody();
-                } catch (IOException ioException) {
+                int delay = this.retryDelay(apiException);
+                if (delay < 0) {
                     throw apiException;
                 }
 
                 try {
-                    List<String> retryAfterHeader = apiException.getHeaders().get("Retry-After");
-                    if (retryAfterHeader == null) {
-                        this.backoffCounter.waitBackoff();
-                    } else {
-                        int retryAfterDelay = Integer.parseInt(retryAfterHeader.get(0)) * 1000;
-                        this.backoffCounter.waitBackoff(retryAfterDelay);
-                    }
+                    this.backoffCounter.waitBackoff(delay);
                 } catch (InterruptedException interruptedException) {
                     Thread.currentThread().interrupt();
                     throw apiException;
@@ -468,6 +455,49 @@ public class BoxAPIRequest {
         throw new RuntimeException();
     }
 
+    /**
+     * Sends this request asynchronously and returns a future that completes with the server's response.
+     *
+     * <p>The request is sent on the connection's {@link BoxAPIConnection#getAsyncExecutor() async executor}. If the
+     * server returns an error code or if a network error occurs, then the request is retried just like with
+     * {@link #send}, except that the back off delay is scheduled on the connection's
+     * {@link BoxAPIConnection#getRetryScheduler() retry scheduler} instead of blocking a thread. If the maximum number
+     * of retries is reached and an error still occurs, then the future completes exceptionally with the
+     * {@link BoxAPIException}.</p>
+     *
+     * <p>The request must not be sent again until the returned future has completed. Cancelling the future stops any
+     * retries that haven't been sent yet.</p>
+     *
+     * @return a future completing with a {@link BoxAPIResponse} containing the server's response.
+     */
+    public CompletableFuture<BoxAPIResponse> sendAsync() {
+        return this.sendAsync(null);
+    }
+
+    /**
+     * Sends this request asynchronously while monitoring its progress and returns a future that completes with the
+     * server's response.
+     *
+     * <p> See {@link #sendAsync()} for more information on sending requests asynchronously.</p>
+     *
+     * @param listener a listener for monitoring the progress of the request.
+     * @return a future completing with a {@link BoxAPIResponse} containing the server's response.
+     */
+    public CompletableFuture<BoxAPIResponse> sendAsync(ProgressListener listener) {
+        if (this.api == null) {
+            this.backoffCounter.reset(BoxGlobalSettings.getMaxRetryAttempts() + 1);
+        } else {
+            this.backoffCounter.reset(this.api.getMaxRetryAttempts() + 1);
+        }
+
+        Executor executor = DaemonExecutors.orDefault(this.api == null ? null : this.api.getAsyncExecutor());
+        ScheduledExecutorService scheduler =
+            DaemonExecutors.orDefault(this.api == null ? null : this.api.getRetryScheduler());
+        CompletableFuture<BoxAPIResponse> future = new CompletableFuture<>();
+        this.sendAttemptAsync(listener, future, executor, scheduler);
+        return future;
+    }
+
     /**
      * Sends a request to upload a file part and returns a BoxFileUploadSessionPart containing information
      * about the upload part. This method is separate from send() because it has custom retry logic.
@@ -523,7 +553,9 @@ public class BoxAPIRequest {
                 }
 
                 try {
-                    this.backoffCounter.waitBackoff();
+                    int delay = this.backoffCounter.calculateDelay();
+                    this.recordRetry(apiException, delay);
+                    this.backoffCounter.waitBackoff(delay);
                 } catch (InterruptedException interruptedException) {
                     Thread.currentThread().interrupt();
                     throw apiException;
@@ -647,7 +679,183 @@ public class BoxAPIRequest {
         this.backoffCounter = counter;
     }
 
+    BoxAPIConnection getAPI() {
+        return this.api;
+    }
+
+    /**
+     * Sets whether a 304 Not Modified response is expected, because the request was made conditional by an interceptor
+     * that handles the response. Otherwise a 304 is an error like any other status that isn't successful.
+     *
+     * @param notModifiedExpected whether a 304 response is returned rather than thrown.
+     */
+    void setNotModifiedExpected(boolean notModifiedExpected) {
+        this.notModifiedExpected = notModifiedExpected;
+    }
+
+    private void sendAttemptAsync(final ProgressListener listener, final CompletableFuture<BoxAPIResponse> future,
+                                  final Executor executor, final ScheduledExecutorService scheduler) {
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+
+                try {
+                    future.complete(this.trySend(listener));
+                } catch (BoxAPIException apiException) {
+                    int delay = this.retryDelay(apiException);
+                    if (delay < 0) {
+                        future.completeExceptionally(apiException);
+                        return;
+                    }
+
+                    this.backoffCounter.logBackoff(delay);
+                    try {
+                        scheduler.schedule(() -> this.sendAttemptAsync(listener, future, executor, scheduler),
+                            delay, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        future.completeExceptionally(apiException);
+                    }
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new BoxAPIException("Couldn't submit the request to the executor.", e));
+        }
+    }
+
+    /**
+     * Decides whether a failed attempt to send this request is retried and prepares the retry.
+     *
+     * @param apiException the error the attempt failed with.
+     * @return the number of milliseconds to back off before the retry, or -1 if the request isn't retried.
+     */
+    private int retryDelay(BoxAPIException apiException) {
+        if (!this.backoffCounter.decrement()
+            || (!isRequestRetryable(apiException)
+            && !isResponseRetryable(apiException.getResponseCode(), apiException))) {
+            return -1;
+        }
+
+        LOGGER.warn(
+            String.format("Retrying request due to transient error status=%d body=%s",
+                apiException.getResponseCode(),
+                apiException.getResponse())
+        );
+
+        try {
+            this.resetBody();
+        } catch (IOException ioException) {
+            return -1;
+        }
+
+        List<String> retryAfterHeader = apiException.getHeaders().get("Retry-After");
+        int delay;
+        if (retryAfterHeader == null) {
+            delay = this.backoffCounter.calculateDelay();
+        } else {
+            delay = Integer.parseInt(retryAfterHeader.get(0)) * 1000;
+        }
+        this.recordRetry(apiException, delay);
+        return delay;
+    }
+
+    private void recordRetry(BoxAPIException apiException, int delay) {
+        if (this.api == null) {
+            return;
+        }
+
+        BoxAPIMetrics metrics = this.api.getMetrics();
+        if (metrics != BoxAPIMetrics.NO_OP) {
+            metrics.onRetry(this.method, endpointOf(this.url), apiException, delay);
+        }
+        for (BoxAPIInterceptor interceptor : this.api.getInterceptorChain()) {
+            interceptor.onRetry(this, apiException, delay);
+        }
+    }
+
+    /**
+     * Returns the endpoint of a URL used to identify requests in {@link BoxAPIMetrics}: its path in which every segment
+     * that is an ID is replaced with {@code {id}}.
+     *
+     * @param url the URL of a request.
+     * @return the endpoint of the URL.
+     */
+    static String endpointOf(URL url) {
+        String path = url.getPath();
+        StringBuilder endpoint = new StringBuilder(path.length());
+        int segmentStart = 0;
+        while (segmentStart < path.length()) {
+            int segmentEnd = path.indexOf('/', segmentStart);
+            if (segmentEnd < 0) {
+                segmentEnd = path.length();
+            }
+            if (isIdSegment(path, segmentStart, segmentEnd)) {
+                endpoint.append("{id}");
+            } else {
+                endpoint.append(path, segmentStart, segmentEnd);
+            }
+            if (segmentEnd < path.length()) {
+                endpoint.append('/');
+            }
+            segmentStart = segmentEnd + 1;
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isIdSegment(String path, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+
+        boolean numeric = true;
+        boolean hexadecimal = true;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            numeric &= digit;
+            hexadecimal &= digit || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || c == '-';
+        }
+        // upload session and metadata instance IDs are long hexadecimal tokens, template keys are short words
+        return numeric || (hexadecimal && end - start >= 16);
+    }
+
     private BoxAPIResponse trySend(ProgressListener listener) {
+        BoxAPIInterceptor[] chain = this.api == null ? null : this.api.getInterceptorChain();
+        if (chain == null || chain.length == 0) {
+            return this.sendToAPI(listener);
+        }
+
+        long start = System.nanoTime();
+        int called = 0;
+        try {
+            BoxAPIResponse response = null;
+            while (response == null && called < chain.length) {
+                response = chain[called++].onRequest(this);
+            }
+
+            int responding = called;
+            if (response == null) {
+                response = this.sendToAPI(listener);
+            } else {
+                responding--;
+            }
+            for (int i = responding - 1; i >= 0; i--) {
+                response = chain[i].onResponse(this, response, System.nanoTime() - start);
+            }
+            return response;
+        } catch (BoxAPIException apiException) {
+            long duration = System.nanoTime() - start;
+            for (int i = called - 1; i >= 0; i--) {
+                chain[i].onError(this, apiException, duration);
+            }
+            throw apiException;
+        }
+    }
+
+    private BoxAPIResponse sendToAPI(ProgressListener listener) {
         if (this.api != null) {
             RequestInterceptor interceptor = this.api.getRequestInterceptor();
             if (interceptor != null) {
@@ -658,6 +866,14 @@ public class BoxAPIRequest {
             }
         }
 
+        AdaptiveRateLimiter rateLimiter = this.api == null ? null : this.api.getRateLimiter();
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+
+        BoxAPIMetrics metrics = this.api == null ? BoxAPIMetrics.NO_OP : this.api.getMetrics();
+        String endpoint = metrics == BoxAPIMetrics.NO_OP ? null : endpointOf(this.url);
+
         HttpURLConnection connection = this.createConnection();
 
         if (connection instanceof HttpsURLConnection) {
@@ -687,20 +903,15 @@ public class BoxAPIRequest {
             }
 
             if (this.api instanceof SharedLinkAPIConnection) {
-                SharedLinkAPIConnection sharedItemAPI = (SharedLinkAPIConnection) this.api;
-                String sharedLink = sharedItemAPI.getSharedLink();
-                String boxAPIValue = "shared_link=" + sharedLink;
-                String sharedLinkPassword = sharedItemAPI.getSharedLinkPassword();
-                if (sharedLinkPassword != null) {
-                    boxAPIValue += "&shared_link_password=" + sharedLinkPassword;
-                }
-                connection.addRequestProperty("BoxApi", boxAPIValue);
+                connection.addRequestProperty("BoxApi", ((SharedLinkAPIConnection) this.api).getBoxAPIHeader());
             }
         }
 
         this.requestProperties = connection.getRequestProperties();
 
-        int responseCode;
+        int responseCode = 0;
+        metrics.onRequestStarted(this.method, endpoint);
+        long start = System.nanoTime();
         try {
             this.writeBody(connection, listener);
 
@@ -725,23 +936,26 @@ public class BoxAPIRequest {
             if (this.api != null && this.shouldAuthenticate) {
                 this.api.unlockAccessToken();
             }
+            metrics.onRequestCompleted(this.method, endpoint, responseCode, System.nanoTime() - start,
+                Math.max(0, this.bodyLength));
+        }
+
+        ResponseHeaders headers = new ResponseHeaders(connection);
+        if (rateLimiter != null) {
+            rateLimiter.onResponse(responseCode, headers.getRetryAfter());
         }
 
         if (isResponseRedirect(responseCode)) {
             return this.handleRedirect(connection, listener);
         }
 
-        String contentType = connection.getContentType();
-        BoxAPIResponse response;
-        if (contentType == null) {
-            response = new BoxAPIResponse(connection);
-        } else if (contentType.contains("application/json")) {
-            response = new BoxJSONResponse(connection);
-        } else {
-            response = new BoxAPIResponse(connection);
+        String contentType = headers.getContentType();
+        BoxAPIMetrics bodyMetrics = metrics == BoxAPIMetrics.NO_OP ? null : metrics;
+        if (contentType != null && contentType.contains("application/json")) {
+            return new BoxJSONResponse(connection, headers, this.notModifiedExpected, bodyMetrics, this.method,
+                endpoint);
         }
-
-        return response;
+        return new BoxAPIResponse(connection, headers, this.notModifiedExpected, bodyMetrics, this.method, endpoint);
     }
 
     private BoxAPIResponse handleRedirect(HttpURLConnection connection, ProgressListener listener) {
@@ -772,7 +986,7 @@ public class BoxAPIRequest {
         }
 
         if (this.followRedirects) {
-            return this.trySend(listener);
+            return this.sendToAPI(listener);
         } else {
             BoxRedirectResponse redirectResponse = new BoxRedirectResponse();
             redirectResponse.setRedirectURL(this.url);
@@ -809,7 +1023,7 @@ public class BoxAPIRequest {
         connection.setReadTimeout(this.readTimeout);
 
         // Don't allow HttpURLConnection to automatically redirect because it messes up the connection pool. See the
-        // trySend(ProgressListener) method for how we handle redirects.
+        // sendToAPI(ProgressListener) method for how we handle redirects.
         connection.setInstanceFollowRedirects(false);
 
         for (RequestHeader header : this.headers) {
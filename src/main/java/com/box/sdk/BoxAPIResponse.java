@@ -1,5 +1,6 @@
 package com.box.sdk;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -7,7 +8,6 @@ import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -47,6 +47,11 @@ public class BoxAPIResponse {
      */
     private InputStream inputStream;
 
+    private BoxAPIMetrics metrics;
+    private String metricsMethod;
+    private String metricsEndpoint;
+    private CountingInputStream countingStream;
+
     /**
      * Constructs an empty BoxAPIResponse without an associated HttpURLConnection.
      */
@@ -73,8 +78,29 @@ public class BoxAPIResponse {
      * @param connection a connection that has already sent a request to the API.
      */
     public BoxAPIResponse(HttpURLConnection connection) {
+        this(connection, new ResponseHeaders(connection), false, null, null, null);
+    }
+
+    /**
+     * Constructs a BoxAPIResponse using an HttpURLConnection, optionally accepting a 304 Not Modified response and
+     * reporting the number of bytes of the body to metrics when the response is disconnected.
+     *
+     * @param connection          a connection that has already sent a request to the API.
+     * @param headers             the headers of the response, already read from the connection.
+     * @param notModifiedExpected whether a 304 response is returned rather than thrown, because the request was made
+     *                            conditional by an interceptor that handles it.
+     * @param metrics             the metrics receiving the number of bytes, or null if the body isn't measured.
+     * @param method              the HTTP method of the request.
+     * @param endpoint            the endpoint of the request.
+     */
+    BoxAPIResponse(HttpURLConnection connection, ResponseHeaders headers, boolean notModifiedExpected,
+                   BoxAPIMetrics metrics, String method, String endpoint) {
         this.connection = connection;
         this.inputStream = null;
+        // the body may already be read when the response is logged below, so the metrics must be set before that
+        this.metrics = metrics;
+        this.metricsMethod = method;
+        this.metricsEndpoint = endpoint;
 
         try {
             this.responseCode = this.connection.getResponseCode();
@@ -82,15 +108,10 @@ public class BoxAPIResponse {
             throw new BoxAPIException("Couldn't connect to the Box API due to a network error.", e);
         }
 
-        Map<String, String> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        for (String headerKey : connection.getHeaderFields().keySet()) {
-            if (headerKey != null) {
-                responseHeaders.put(headerKey, connection.getHeaderField(headerKey));
-            }
-        }
-        this.headers = responseHeaders;
+        this.headers = headers;
 
-        if (!isSuccess(this.responseCode)) {
+        boolean notModified = notModifiedExpected && this.responseCode == HttpURLConnection.HTTP_NOT_MODIFIED;
+        if (!isSuccess(this.responseCode) && !notModified) {
             this.logErrorResponse(this.responseCode);
             throw new BoxAPIResponseException("The API returned an error code", this);
         }
@@ -141,6 +162,9 @@ public class BoxAPIResponse {
      * @return the length of the response's body.
      */
     public long getContentLength() {
+        if (this.headers instanceof ResponseHeaders) {
+            return ((ResponseHeaders) this.headers).getContentLength();
+        }
         return this.connection.getContentLength();
     }
 
@@ -183,7 +207,7 @@ public class BoxAPIResponse {
             String contentEncoding = this.connection.getContentEncoding();
             try {
                 if (this.rawInputStream == null) {
-                    this.rawInputStream = this.connection.getInputStream();
+                    this.rawInputStream = this.openRawInputStream();
                 }
 
                 if (listener == null) {
@@ -215,7 +239,7 @@ public class BoxAPIResponse {
 
         try {
             if (this.rawInputStream == null) {
-                this.rawInputStream = this.connection.getInputStream();
+                this.rawInputStream = this.openRawInputStream();
             }
 
             // We need to manually read from the raw input stream in case there are any remaining bytes. There's a bug
@@ -231,6 +255,11 @@ public class BoxAPIResponse {
             if (this.inputStream != null) {
                 this.inputStream.close();
             }
+
+            if (this.countingStream != null) {
+                this.metrics.onResponseBodyRead(this.metricsMethod, this.metricsEndpoint, this.countingStream.count);
+                this.countingStream = null;
+            }
         } catch (IOException e) {
             throw new BoxAPIException("Couldn't finish closing the connection to the Box API due to a network error or "
                 + "because the stream was already closed.", e);
@@ -238,6 +267,9 @@ public class BoxAPIResponse {
     }
 
     /**
+     * Gets the headers of this response. For a response read from a connection the map is a read-only view that looks
+     * up headers in the connection as they are requested.
+     *
      * @return A Map containg headers on this Box API Response.
      */
     public Map<String, String> getHeaders() {
@@ -310,6 +342,16 @@ public class BoxAPIResponse {
         return this.bodyString;
     }
 
+    private InputStream openRawInputStream() throws IOException {
+        InputStream stream = this.connection.getInputStream();
+        if (this.metrics == null || stream == null) {
+            return stream;
+        }
+
+        this.countingStream = new CountingInputStream(stream);
+        return this.countingStream;
+    }
+
     /**
      * Returns the response error stream, handling the case when it contains gzipped data.
      *
@@ -345,4 +387,40 @@ public class BoxAPIResponse {
             LOGGER.error(this.toString());
         }
     }
+
+    /**
+     * Counts the bytes read from a stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                this.count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                this.count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+        }
+    }
 }
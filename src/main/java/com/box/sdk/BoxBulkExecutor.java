@@ -0,0 +1,341 @@
+package com.box.sdk;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends large numbers of independent requests, such as thousands of metadata or collaboration updates, with a bounded
+ * number of them in flight at a time.
+ *
+ * <p>The requests are sent with {@link BoxAPIRequest#sendAsync()}, so each of them is retried on transient errors with
+ * the connection's usual back off, and a new request is started as soon as one finishes. The body of each response is
+ * read as soon as its request finishes, so that its connection to the API can be reused by the next requests instead
+ * of being held until the result is looked at. Once all the requests have finished, the ones that still failed with a
+ * transient error, such as a rate limit or a server error, are sent again after backing off, up to a given number of
+ * rounds, while the ones that succeeded or failed for good are left alone.</p>
+ *
+ * <p>The results are returned in the order of the requests, each with the response or the error of its request, so a
+ * failed request doesn't fail the others:</p>
+ *
+ * <pre>BoxBulkExecutor executor = new BoxBulkExecutor(10, 2);
+ * List&lt;BoxBulkExecutor.Result&gt; results = executor.execute(requests);
+ * for (BoxBulkExecutor.Result result : results) {
+ *     if (!result.isSuccess()) {
+ *         ...
+ *     }
+ * }</pre>
+ *
+ * <p>This replaces {@link BatchAPIRequest}, which sends all the requests in a single call to the deprecated batch
+ * endpoint.</p>
+ */
+public class BoxBulkExecutor {
+    private final int maxConcurrentRequests;
+    private final int maxRetryRounds;
+
+    /**
+     * Creates a bulk executor.
+     *
+     * @param maxConcurrentRequests the maximum number of requests in flight at a time.
+     * @param maxRetryRounds        how many times the requests that failed with a transient error are sent again once
+     *                              all the requests have finished.
+     */
+    public BoxBulkExecutor(int maxConcurrentRequests, int maxRetryRounds) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed in flight.");
+        }
+        if (maxRetryRounds < 0) {
+            throw new IllegalArgumentException("The number of retry rounds can't be negative.");
+        }
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxRetryRounds = maxRetryRounds;
+    }
+
+    /**
+     * Sends requests and waits for all of them to finish. Each request must appear only once.
+     *
+     * @param requests the requests to send.
+     * @return the results of the requests, in the order of the requests.
+     */
+    public List<Result> execute(List<? extends BoxAPIRequest> requests) {
+        try {
+            return this.executeAsync(requests).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting for the requests to finish.", e);
+        } catch (ExecutionException e) {
+            throw new BoxAPIException("Couldn't send the requests.", e.getCause());
+        }
+    }
+
+    /**
+     * Sends requests and returns a future that completes once all of them have finished. Each request must appear only
+     * once. Cancelling the future stops sending the requests that haven't been started yet.
+     *
+     * @param requests the requests to send.
+     * @return a future completing with the results of the requests, in the order of the requests.
+     */
+    public CompletableFuture<List<Result>> executeAsync(List<? extends BoxAPIRequest> requests) {
+        Run run = new Run(new ArrayList<BoxAPIRequest>(requests));
+        run.drain();
+        return run.future;
+    }
+
+    /**
+     * Checks whether a request that failed with an error is worth sending again in a later round.
+     */
+    private static boolean isTransient(Throwable error) {
+        if (!(error instanceof BoxAPIException)) {
+            return false;
+        }
+
+        BoxAPIException apiException = (BoxAPIException) error;
+        if (apiException.getResponseCode() == 0) {
+            // the request couldn't reach the API
+            return apiException.getCause() instanceof IOException || BoxAPIRequest.isRequestRetryable(apiException);
+        }
+        return BoxAPIRequest.isResponseRetryable(apiException.getResponseCode(), apiException);
+    }
+
+    /**
+     * Reads the body of a response, which frees its connection to the API. The body of a JSON response is kept, while
+     * the body of any other response is dropped.
+     */
+    private static void readBody(BoxAPIResponse response) {
+        if (response instanceof BoxJSONResponse && response.getResponseCode() != HttpURLConnection.HTTP_NO_CONTENT) {
+            ((BoxJSONResponse) response).getJSON();
+        } else {
+            response.disconnect();
+        }
+    }
+
+    /**
+     * The sending of one list of requests. Starting requests and moving on to the next round are only done by the
+     * thread that holds the work in progress count, so that requests completing synchronously don't recurse.
+     */
+    private final class Run {
+        private final List<BoxAPIRequest> requests;
+        private final Result[] results;
+        private final CompletableFuture<List<Result>> future = new CompletableFuture<>();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger finishedInRound = new AtomicInteger();
+        private final BackoffCounter backoffCounter = new BackoffCounter();
+        private volatile boolean backingOff;
+        private int[] round;
+        private int position;
+        private int roundsLeft = BoxBulkExecutor.this.maxRetryRounds;
+
+        Run(List<BoxAPIRequest> requests) {
+            this.requests = requests;
+            this.results = new Result[requests.size()];
+            this.round = new int[requests.size()];
+            for (int i = 0; i < this.round.length; i++) {
+                this.round[i] = i;
+            }
+            this.backoffCounter.reset(BoxBulkExecutor.this.maxRetryRounds + 1);
+        }
+
+        void drain() {
+            if (this.workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+
+            do {
+                if (this.future.isDone()) {
+                    return;
+                }
+                if (this.finishedInRound.get() == this.round.length && !this.nextRound()) {
+                    this.future.complete(Collections.unmodifiableList(Arrays.asList(this.results)));
+                    return;
+                }
+                while (!this.backingOff && this.position < this.round.length
+                    && this.inFlight.get() < BoxBulkExecutor.this.maxConcurrentRequests) {
+                    this.inFlight.incrementAndGet();
+                    this.send(this.round[this.position++]);
+                }
+            } while (this.workInProgress.decrementAndGet() != 0);
+        }
+
+        private void send(final int index) {
+            final BoxAPIRequest request = this.requests.get(index);
+            final int attempt = this.results[index] == null ? 1 : this.results[index].rounds + 1;
+            CompletableFuture<BoxAPIResponse> response;
+            try {
+                if (attempt > 1) {
+                    request.resetBody();
+                }
+                response = request.sendAsync();
+            } catch (IOException | RuntimeException e) {
+                response = new CompletableFuture<>();
+                response.completeExceptionally(e);
+            }
+
+            response.whenComplete((r, e) -> {
+                Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                BoxAPIResponse read = r;
+                if (read != null) {
+                    try {
+                        readBody(read);
+                    } catch (RuntimeException readError) {
+                        read = null;
+                        error = readError;
+                    }
+                }
+                this.results[index] = new Result(index, request, read, error, attempt);
+                this.inFlight.decrementAndGet();
+                this.finishedInRound.incrementAndGet();
+                this.drain();
+            });
+        }
+
+        /**
+         * Starts a round with the requests that failed with a transient error. Its requests are only sent once the
+         * longest Retry-After of the failures has passed, or otherwise the connection's back off.
+         *
+         * @return false if there is nothing left to send.
+         */
+        private boolean nextRound() {
+            if (this.roundsLeft == 0) {
+                return false;
+            }
+
+            int[] failed = new int[this.round.length];
+            int count = 0;
+            int retryAfter = -1;
+            for (int index : this.round) {
+                Throwable error = this.results[index].error;
+                if (isTransient(error)) {
+                    failed[count++] = index;
+                    List<String> header = ((BoxAPIException) error).getHeaders().get("Retry-After");
+                    if (header != null && !header.isEmpty()) {
+                        retryAfter = Math.max(retryAfter, Integer.parseInt(header.get(0).trim()) * 1000);
+                    }
+                }
+            }
+            if (count == 0) {
+                return false;
+            }
+
+            this.roundsLeft--;
+            this.round = Arrays.copyOf(failed, count);
+            this.position = 0;
+            this.finishedInRound.set(0);
+
+            this.backoffCounter.decrement();
+            int delay = retryAfter >= 0 ? retryAfter : this.backoffCounter.calculateDelay();
+            this.backoffCounter.logBackoff(delay);
+            BoxAPIConnection api = this.requests.get(this.round[0]).getAPI();
+            ScheduledExecutorService scheduler =
+                DaemonExecutors.orDefault(api == null ? null : api.getRetryScheduler());
+            this.backingOff = true;
+            try {
+                scheduler.schedule(() -> {
+                    this.backingOff = false;
+                    this.drain();
+                }, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                this.backingOff = false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The result of one of the requests sent by a {@link BoxBulkExecutor}.
+     */
+    public static final class Result {
+        private final int index;
+        private final BoxAPIRequest request;
+        private final BoxAPIResponse response;
+        private final Throwable error;
+        private final int rounds;
+
+        Result(int index, BoxAPIRequest request, BoxAPIResponse response, Throwable error, int rounds) {
+            this.index = index;
+            this.request = request;
+            this.response = response;
+            this.error = error;
+            this.rounds = rounds;
+        }
+
+        /**
+         * Gets the position of the request in the list of requests.
+         *
+         * @return the index of the request.
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Gets the request this is the result of.
+         *
+         * @return the request.
+         */
+        public BoxAPIRequest getRequest() {
+            return this.request;
+        }
+
+        /**
+         * Checks whether the request succeeded.
+         *
+         * @return true if the request got a response; otherwise false.
+         */
+        public boolean isSuccess() {
+            return this.error == null;
+        }
+
+        /**
+         * Gets the response to the request. Its body has already been read: the JSON of a {@link BoxJSONResponse} can
+         * still be gotten, while the body of any other response has been dropped.
+         *
+         * @return the response, or null if the request failed.
+         */
+        public BoxAPIResponse getResponse() {
+            return this.response;
+        }
+
+        /**
+         * Gets the HTTP status code of the request's response or error.
+         *
+         * @return the status code, or 0 if the request didn't get a response from the API.
+         */
+        public int getResponseCode() {
+            if (this.response != null) {
+                return this.response.getResponseCode();
+            }
+            return this.error instanceof BoxAPIException ? ((BoxAPIException) this.error).getResponseCode() : 0;
+        }
+
+        /**
+         * Gets the error the request failed with.
+         *
+         * @return the error, usually a {@link BoxAPIException}, or null if the request succeeded.
+         */
+        public Throwable getError() {
+            return this.error;
+        }
+
+        /**
+         * Gets the number of rounds the request was sent in, which is more than one if it was sent again after
+         * failing with a transient error.
+         *
+         * @return the number of rounds.
+         */
+        public int getRounds() {
+            return this.rounds;
+        }
+    }
+}
@@ -4,9 +4,8 @@ import static com.box.sdk.PagingParameters.offset;
 
 import com.eclipsesource.json.JsonObject;
 import java.net.URL;
-import java.util.Iterator;
 
-class BoxCollaborationIterator implements Iterator<BoxCollaboration.Info> {
+class BoxCollaborationIterator implements PagedIterator<BoxCollaboration.Info> {
     private static final long LIMIT = 100;
     private final BoxAPIConnection api;
     private final JsonIterator jsonIterator;
@@ -16,6 +15,11 @@ class BoxCollaborationIterator implements Iterator<BoxCollaboration.Info> {
         this.jsonIterator = new JsonIterator(api, url, offset(0, LIMIT));
     }
 
+    private BoxCollaborationIterator(BoxAPIConnection api, JsonIterator jsonIterator) {
+        this.api = api;
+        this.jsonIterator = jsonIterator;
+    }
+
     @Override
     public boolean hasNext() {
         return this.jsonIterator.hasNext();
@@ -30,6 +34,22 @@ class BoxCollaborationIterator implements Iterator<BoxCollaboration.Info> {
         return collaboration.new Info(nextJSONObject);
     }
 
+    @Override
+    public int remainingInPage() {
+        return this.jsonIterator.remainingInPage();
+    }
+
+    @Override
+    public BoxCollaborationIterator splitPrefix() {
+        JsonIterator prefix = this.jsonIterator.splitPrefix();
+        return prefix == null ? null : new BoxCollaborationIterator(this.api, prefix);
+    }
+
+    @Override
+    public void close() {
+        this.jsonIterator.close();
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
@@ -0,0 +1,554 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the collaborations on many folders to a desired state, such as when onboarding or offboarding users or
+ * reorganizing the teams that have access to a set of folders.
+ *
+ * <p>The desired state is a list of accesses, each giving a user or group a role on a folder, or taking away their
+ * access to it. The collaborations currently on each of the folders are read, compared with the desired state, and
+ * only the difference is applied: missing collaborations are created, the roles of existing ones are changed and the
+ * ones to take away are removed. Both the reads and the changes are sent with a {@link BoxBulkExecutor}, so at most a
+ * given number of requests are in flight at a time and the ones failing with a transient error are sent again.</p>
+ *
+ * <p>Collaborations that already exist when they are created, because they were added after they were read, are read
+ * again and given their desired role, and collaborations that no longer exist when they are removed are not reported
+ * as failures. When
+ * {@link #setRemoveUnlisted(boolean)} is set, the desired state of a folder is taken to be complete, and the
+ * collaborations of users and groups that it doesn't list are removed as well.</p>
+ *
+ * <pre>BoxCollaborationSync sync = new BoxCollaborationSync(api, 10);
+ * BoxCollaborationSync.Summary summary = sync.sync(Arrays.asList(
+ *     BoxCollaborationSync.Access.group("folder-id", "group-id", BoxCollaboration.Role.EDITOR),
+ *     BoxCollaborationSync.Access.removedUser("folder-id", "user-id")));
+ * for (BoxCollaborationSync.Result result : summary.getFailures()) {
+ *     ...
+ * }</pre>
+ */
+public class BoxCollaborationSync {
+    private static final int DEFAULT_MAX_RETRY_ROUNDS = 2;
+
+    private final BoxAPIConnection api;
+    private final int maxConcurrentRequests;
+    private int maxRetryRounds = DEFAULT_MAX_RETRY_ROUNDS;
+    private boolean removeUnlisted;
+    private boolean notify;
+    private boolean dryRun;
+
+    /**
+     * Creates a collaboration sync.
+     *
+     * @param api                   the API connection used to read and change the collaborations.
+     * @param maxConcurrentRequests the maximum number of requests in flight at a time.
+     */
+    public BoxCollaborationSync(BoxAPIConnection api, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed in flight.");
+        }
+
+        this.api = api;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Sets how many times the requests that failed with a transient error are sent again. Defaults to 2.
+     *
+     * @param maxRetryRounds the number of retry rounds.
+     */
+    public void setMaxRetryRounds(int maxRetryRounds) {
+        if (maxRetryRounds < 0) {
+            throw new IllegalArgumentException("The number of retry rounds can't be negative.");
+        }
+        this.maxRetryRounds = maxRetryRounds;
+    }
+
+    /**
+     * Sets whether the collaborations of users and groups that the desired state of a folder doesn't list are removed
+     * from the folder. Defaults to false, which leaves them alone. Invitations sent to email addresses that have no
+     * Box account are always left alone.
+     *
+     * @param removeUnlisted true to remove the unlisted collaborations; otherwise false.
+     */
+    public void setRemoveUnlisted(boolean removeUnlisted) {
+        this.removeUnlisted = removeUnlisted;
+    }
+
+    /**
+     * Sets whether the users given access are notified by email. Defaults to false.
+     *
+     * @param notify true to notify the users; otherwise false.
+     */
+    public void setNotify(boolean notify) {
+        this.notify = notify;
+    }
+
+    /**
+     * Sets whether the collaborations are only read and compared with the desired state, without changing them. The
+     * results then report the changes that would have been made.
+     *
+     * @param dryRun true to leave the collaborations unchanged; otherwise false.
+     */
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Brings the collaborations on the folders of the desired state to that state and waits for all the changes to
+     * finish. When the same user or group is given several accesses to the same folder, the last one wins.
+     *
+     * @param accesses the desired state.
+     * @return a summary with the result of every access.
+     */
+    public Summary sync(Collection<Access> accesses) {
+        BoxBulkExecutor executor = new BoxBulkExecutor(this.maxConcurrentRequests, this.maxRetryRounds);
+        Summary summary = new Summary();
+        List<Change> changes = this.read(executor, byFolder(accesses), this.removeUnlisted, summary);
+        if (this.dryRun) {
+            for (Change change : changes) {
+                summary.add(new Result(change.access, change.outcome, change.collaborationID, null));
+            }
+            return summary;
+        }
+
+        List<Access> conflicts = this.apply(executor, changes, summary, true);
+        if (!conflicts.isEmpty()) {
+            // the collaborations were added since their folders were read, maybe with another role
+            this.apply(executor, this.read(executor, byFolder(conflicts), false, summary), summary, false);
+        }
+        return summary;
+    }
+
+    private static Map<String, Map<String, Access>> byFolder(Collection<Access> accesses) {
+        Map<String, Map<String, Access>> desired = new LinkedHashMap<>();
+        for (Access access : accesses) {
+            desired.computeIfAbsent(access.folderID, id -> new LinkedHashMap<>()).put(access.key(), access);
+        }
+        return desired;
+    }
+
+    /**
+     * Reads the collaborations on the folders and compares them with the desired state. The accesses whose folder
+     * couldn't be read and the accesses already in place are added to the summary, and the changes left to make are
+     * returned.
+     */
+    private List<Change> read(BoxBulkExecutor executor, Map<String, Map<String, Access>> desired,
+                              boolean removeUnlisted, Summary summary) {
+        List<BoxAPIRequest> reads = new ArrayList<>(desired.size());
+        for (String folderID : desired.keySet()) {
+            URL url = BoxFolder.GET_COLLABORATIONS_URL.build(this.api.getBaseURL(), folderID);
+            reads.add(new BoxAPIRequest(this.api, url, "GET"));
+        }
+        List<BoxBulkExecutor.Result> readResults = executor.execute(reads);
+
+        List<Change> changes = new ArrayList<>();
+        int index = 0;
+        for (Map.Entry<String, Map<String, Access>> folder : desired.entrySet()) {
+            BoxBulkExecutor.Result read = readResults.get(index++);
+            if (!read.isSuccess()) {
+                for (Access access : folder.getValue().values()) {
+                    summary.add(new Result(access, Outcome.FAILED, null, read.getError()));
+                }
+                continue;
+            }
+
+            JsonObject responseJSON = Json.parse(((BoxJSONResponse) read.getResponse()).getJSON()).asObject();
+            this.diff(folder.getKey(), folder.getValue(), current(responseJSON), removeUnlisted, summary, changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Sends the changes and adds their results to the summary. When asked, the accesses whose collaboration already
+     * existed when it was created are returned instead of being added to the summary.
+     */
+    private List<Access> apply(BoxBulkExecutor executor, List<Change> changes, Summary summary,
+                               boolean returnConflicts) {
+        List<BoxAPIRequest> requests = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            requests.add(change.request);
+        }
+        List<BoxBulkExecutor.Result> changeResults = executor.execute(requests);
+
+        List<Access> conflicts = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            BoxBulkExecutor.Result sent = changeResults.get(i);
+            if (returnConflicts && change.outcome == Outcome.CREATED && !sent.isSuccess()
+                && sent.getResponseCode() == HttpURLConnection.HTTP_CONFLICT) {
+                conflicts.add(change.access);
+            } else {
+                summary.add(change.result(sent));
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Compares the desired accesses to a folder with its current collaborations, and records the accesses that are
+     * already in place as unchanged and the others as changes to make.
+     */
+    private void diff(String folderID, Map<String, Access> folderAccesses, Map<String, JsonObject> current,
+                      boolean removeUnlisted, Summary summary, List<Change> changes) {
+        for (Access access : folderAccesses.values()) {
+            JsonObject collaboration = current.get(access.key());
+            String collaborationID = collaboration == null ? null : collaboration.get("id").asString();
+            if (access.role == null) {
+                if (collaboration == null) {
+                    summary.add(new Result(access, Outcome.UNCHANGED, null, null));
+                } else {
+                    changes.add(this.remove(access, collaborationID));
+                }
+            } else if (collaboration == null) {
+                changes.add(this.create(access));
+            } else if (access.role.toJSONString().equals(collaboration.get("role").asString())) {
+                summary.add(new Result(access, Outcome.UNCHANGED, collaborationID, null));
+            } else {
+                changes.add(this.update(access, collaborationID));
+            }
+        }
+
+        if (removeUnlisted) {
+            for (Map.Entry<String, JsonObject> collaboration : current.entrySet()) {
+                if (!folderAccesses.containsKey(collaboration.getKey())) {
+                    JsonObject accessibleBy = collaboration.getValue().get("accessible_by").asObject();
+                    Access access = new Access(folderID, accessibleBy.get("type").asString(),
+                        accessibleBy.get("id").asString(), null);
+                    changes.add(this.remove(access, collaboration.getValue().get("id").asString()));
+                }
+            }
+        }
+    }
+
+    private Change create(Access access) {
+        URL url = BoxCollaboration.COLLABORATIONS_URL_TEMPLATE.buildWithQuery(this.api.getBaseURL(),
+            new QueryStringBuilder().appendParam("notify", Boolean.toString(this.notify)).toString());
+        JsonObject accessibleBy = new JsonObject()
+            .add("type", access.collaboratorType)
+            .add("id", access.collaboratorID);
+        BoxJSONRequest request = new BoxJSONRequest(this.api, url, "POST");
+        request.setBody(new JsonObject()
+            .add("item", new JsonObject().add("type", "folder").add("id", access.folderID))
+            .add("accessible_by", accessibleBy)
+            .add("role", access.role.toJSONString()));
+        return new Change(access, Outcome.CREATED, null, request);
+    }
+
+    private Change update(Access access, String collaborationID) {
+        URL url = BoxCollaboration.COLLABORATION_URL_TEMPLATE.build(this.api.getBaseURL(), collaborationID);
+        BoxJSONRequest request = new BoxJSONRequest(this.api, url, "PUT");
+        request.setBody(new JsonObject().add("role", access.role.toJSONString()));
+        return new Change(access, Outcome.UPDATED, collaborationID, request);
+    }
+
+    private Change remove(Access access, String collaborationID) {
+        URL url = BoxCollaboration.COLLABORATION_URL_TEMPLATE.build(this.api.getBaseURL(), collaborationID);
+        return new Change(access, Outcome.REMOVED, collaborationID, new BoxAPIRequest(this.api, url, "DELETE"));
+    }
+
+    /**
+     * Maps the accepted and pending collaborations of users and groups on a folder by the type and ID of their
+     * collaborator. Rejected collaborations don't give access, so they are left out.
+     */
+    private static Map<String, JsonObject> current(JsonObject responseJSON) {
+        Map<String, JsonObject> current = new LinkedHashMap<>();
+        for (JsonValue value : responseJSON.get("entries").asArray()) {
+            JsonObject collaboration = value.asObject();
+            JsonValue accessibleBy = collaboration.get("accessible_by");
+            JsonValue status = collaboration.get("status");
+            if (accessibleBy == null || accessibleBy.isNull()
+                || (status != null && status.isString() && status.asString().equals("rejected"))) {
+                continue;
+            }
+
+            JsonObject collaborator = accessibleBy.asObject();
+            current.put(collaborator.get("type").asString() + "/" + collaborator.get("id").asString(), collaboration);
+        }
+        return current;
+    }
+
+    /**
+     * A change to make to the collaborations on a folder, along with the request making it.
+     */
+    private static final class Change {
+        private final Access access;
+        private final Outcome outcome;
+        private final String collaborationID;
+        private final BoxAPIRequest request;
+
+        Change(Access access, Outcome outcome, String collaborationID, BoxAPIRequest request) {
+            this.access = access;
+            this.outcome = outcome;
+            this.collaborationID = collaborationID;
+            this.request = request;
+        }
+
+        Result result(BoxBulkExecutor.Result sent) {
+            if (sent.isSuccess()) {
+                String id = this.collaborationID;
+                if (this.outcome == Outcome.CREATED) {
+                    id = Json.parse(((BoxJSONResponse) sent.getResponse()).getJSON()).asObject().get("id").asString();
+                }
+                return new Result(this.access, this.outcome, id, null);
+            }
+
+            if (this.outcome == Outcome.REMOVED && sent.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                // the collaboration was removed since it was read
+                return new Result(this.access, Outcome.REMOVED, this.collaborationID, null);
+            }
+            return new Result(this.access, Outcome.FAILED, this.collaborationID, sent.getError());
+        }
+    }
+
+    /**
+     * Enumerates what was done to bring a collaboration to its desired state.
+     */
+    public enum Outcome {
+        /**
+         * The collaboration was created.
+         */
+        CREATED,
+
+        /**
+         * The role of the existing collaboration was changed.
+         */
+        UPDATED,
+
+        /**
+         * The collaboration was removed.
+         */
+        REMOVED,
+
+        /**
+         * The collaboration was already in its desired state.
+         */
+        UNCHANGED,
+
+        /**
+         * The collaboration couldn't be read or changed.
+         */
+        FAILED
+    }
+
+    /**
+     * The desired access of a user or group to a folder.
+     */
+    public static final class Access {
+        private final String folderID;
+        private final String collaboratorType;
+        private final String collaboratorID;
+        private final BoxCollaboration.Role role;
+
+        private Access(String folderID, String collaboratorType, String collaboratorID, BoxCollaboration.Role role) {
+            this.folderID = folderID;
+            this.collaboratorType = collaboratorType;
+            this.collaboratorID = collaboratorID;
+            this.role = role;
+        }
+
+        /**
+         * Creates an access giving a user a role on a folder.
+         *
+         * @param folderID the ID of the folder.
+         * @param userID   the ID of the user.
+         * @param role     the role to give the user.
+         * @return the access.
+         */
+        public static Access user(String folderID, String userID, BoxCollaboration.Role role) {
+            return new Access(folderID, "user", userID, checkRole(role));
+        }
+
+        /**
+         * Creates an access giving a group a role on a folder.
+         *
+         * @param folderID the ID of the folder.
+         * @param groupID  the ID of the group.
+         * @param role     the role to give the group.
+         * @return the access.
+         */
+        public static Access group(String folderID, String groupID, BoxCollaboration.Role role) {
+            return new Access(folderID, "group", groupID, checkRole(role));
+        }
+
+        /**
+         * Creates an access taking away the collaboration of a user on a folder.
+         *
+         * @param folderID the ID of the folder.
+         * @param userID   the ID of the user.
+         * @return the access.
+         */
+        public static Access removedUser(String folderID, String userID) {
+            return new Access(folderID, "user", userID, null);
+        }
+
+        /**
+         * Creates an access taking away the collaboration of a group on a folder.
+         *
+         * @param folderID the ID of the folder.
+         * @param groupID  the ID of the group.
+         * @return the access.
+         */
+        public static Access removedGroup(String folderID, String groupID) {
+            return new Access(folderID, "group", groupID, null);
+        }
+
+        private static BoxCollaboration.Role checkRole(BoxCollaboration.Role role) {
+            if (role == null) {
+                throw new IllegalArgumentException("A role must be given.");
+            }
+            return role;
+        }
+
+        /**
+         * Gets the ID of the folder.
+         *
+         * @return the ID of the folder.
+         */
+        public String getFolderID() {
+            return this.folderID;
+        }
+
+        /**
+         * Gets the type of the collaborator.
+         *
+         * @return "user" or "group".
+         */
+        public String getCollaboratorType() {
+            return this.collaboratorType;
+        }
+
+        /**
+         * Gets the ID of the user or group.
+         *
+         * @return the ID of the collaborator.
+         */
+        public String getCollaboratorID() {
+            return this.collaboratorID;
+        }
+
+        /**
+         * Gets the desired role of the collaborator.
+         *
+         * @return the role, or null if the collaboration is to be removed.
+         */
+        public BoxCollaboration.Role getRole() {
+            return this.role;
+        }
+
+        String key() {
+            return this.collaboratorType + "/" + this.collaboratorID;
+        }
+    }
+
+    /**
+     * The result of bringing one collaboration to its desired state.
+     */
+    public static final class Result {
+        private final Access access;
+        private final Outcome outcome;
+        private final String collaborationID;
+        private final Throwable error;
+
+        Result(Access access, Outcome outcome, String collaborationID, Throwable error) {
+            this.access = access;
+            this.outcome = outcome;
+            this.collaborationID = collaborationID;
+            this.error = error;
+        }
+
+        /**
+         * Gets the desired access. For the collaborations removed because they weren't listed, this is an access
+         * taking away the collaboration.
+         *
+         * @return the access.
+         */
+        public Access getAccess() {
+            return this.access;
+        }
+
+        /**
+         * Gets what was done to the collaboration.
+         *
+         * @return the outcome.
+         */
+        public Outcome getOutcome() {
+            return this.outcome;
+        }
+
+        /**
+         * Gets the ID of the collaboration.
+         *
+         * @return the ID of the collaboration, or null if there is none or it isn't known.
+         */
+        public String getCollaborationID() {
+            return this.collaborationID;
+        }
+
+        /**
+         * Gets the error the collaboration couldn't be read or changed with.
+         *
+         * @return the error, usually a {@link BoxAPIException}, or null if the collaboration is in its desired state.
+         */
+        public Throwable getError() {
+            return this.error;
+        }
+    }
+
+    /**
+     * A summary of the results of {@link BoxCollaborationSync#sync(Collection)}.
+     */
+    public static final class Summary {
+        private final List<Result> results = new ArrayList<>();
+        private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+
+        void add(Result result) {
+            this.results.add(result);
+            this.counts.merge(result.outcome, 1, Integer::sum);
+        }
+
+        /**
+         * Gets the results of all the accesses, including the collaborations removed because they weren't listed.
+         *
+         * @return the results.
+         */
+        public List<Result> getResults() {
+            return Collections.unmodifiableList(this.results);
+        }
+
+        /**
+         * Gets the results of the accesses that failed.
+         *
+         * @return the failed results.
+         */
+        public List<Result> getFailures() {
+            List<Result> failures = new ArrayList<>();
+            for (Result result : this.results) {
+                if (result.outcome == Outcome.FAILED) {
+                    failures.add(result);
+                }
+            }
+            return failures;
+        }
+
+        /**
+         * Gets the number of collaborations with an outcome.
+         *
+         * @param outcome the outcome.
+         * @return the number of collaborations.
+         */
+        public int getCount(Outcome outcome) {
+            return this.counts.getOrDefault(outcome, 0);
+        }
+    }
+}
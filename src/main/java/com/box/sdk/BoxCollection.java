@@ -6,6 +6,7 @@ import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.Spliterator;
 
 /**
  * Collections contain information about the items contained inside of them, including files and folders. The only
@@ -44,10 +45,10 @@ public class BoxCollection extends BoxResource implements Iterable<BoxItem.Info>
      * @return an iterable containing info about all the collections.
      */
     public static Iterable<BoxCollection.Info> getAllCollections(final BoxAPIConnection api) {
-        return () -> {
+        return new PagedIterable<>(() -> {
             URL url = GET_COLLECTIONS_URL_TEMPLATE.build(api.getBaseURL());
             return new BoxCollectionIterator(api, url);
-        };
+        });
     }
 
     /**
@@ -68,11 +69,11 @@ public class BoxCollection extends BoxResource implements Iterable<BoxItem.Info>
      * @return an iterable containing the items in this collection.
      */
     public Iterable<BoxItem.Info> getItems(final String... fields) {
-        return () -> {
+        return new PagedIterable<>(() -> {
             String queryString = new QueryStringBuilder().appendParam("fields", fields).toString();
             URL url = GET_COLLECTION_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), queryString, getID());
             return new BoxItemIterator(getAPI(), url);
-        };
+        });
     }
 
     /**
@@ -121,6 +122,17 @@ public class BoxCollection extends BoxResource implements Iterable<BoxItem.Info>
         return new BoxItemIterator(BoxCollection.this.getAPI(), url);
     }
 
+    /**
+     * Returns a spliterator over the items in this collection that splits at page boundaries, so that the items can be
+     * processed with a parallel stream.
+     *
+     * @return a spliterator over the items in this collection.
+     */
+    @Override
+    public Spliterator<BoxItem.Info> spliterator() {
+        return PageSpliterator.of(this.iterator());
+    }
+
     /**
      * Contains information about a BoxCollection.
      */
@@ -0,0 +1,319 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the file versions held by legal hold policies and the files under retention, such as for an audit over
+ * every policy of an enterprise.
+ *
+ * <p>The report is made of sources, each being the file version holds of a legal hold policy or the files or file
+ * versions under a retention policy assignment. The pages of a source can only be fetched one after the other, so
+ * several sources are fetched at the same time on background threads, each a few pages ahead of the report. When the
+ * report asks for fields of the files, such as their name, path or owner, the files of every page are looked up with
+ * a {@link BoxBulkExecutor}, once per file of the page, instead of one request at a time.</p>
+ *
+ * <p>Every entry of a page is written to a {@link RecordSink} as soon as its page has been handled, so
+ * the memory used doesn't grow with the size of the report. The entry is written as returned by the API, along with
+ * the type and ID of its source as "source_type" and "source_id", and with the looked up file as "file".</p>
+ *
+ * <pre>BoxComplianceReport report = new BoxComplianceReport(api);
+ * for (BoxLegalHoldPolicy.Info policy : BoxLegalHoldPolicy.getAll(api)) {
+ *     report.addLegalHoldPolicy(policy.getID());
+ * }
+ * report.setFileFields("name", "path_collection", "owned_by");
+ * try (Writer writer = Files.newBufferedWriter(Paths.get("holds.csv"))) {
+ *     report.run(RecordSink.csv(writer, "source_id", "file.id", "file.name", "file.owned_by.login"));
+ * }</pre>
+ */
+public class BoxComplianceReport {
+    private static final int DEFAULT_MAX_CONCURRENT_SOURCES = 4;
+    private static final int DEFAULT_MAX_CONCURRENT_LOOKUPS = 10;
+    private static final int DEFAULT_PREFETCH_DEPTH = 2;
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final BoxAPIConnection api;
+    private final List<Source> sources = new ArrayList<>();
+    private int maxConcurrentSources = DEFAULT_MAX_CONCURRENT_SOURCES;
+    private int maxConcurrentLookups = DEFAULT_MAX_CONCURRENT_LOOKUPS;
+    private int prefetchDepth = DEFAULT_PREFETCH_DEPTH;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private String[] fileFields = new String[0];
+
+    /**
+     * Creates an empty report.
+     *
+     * @param api the API connection used to fetch the report.
+     */
+    public BoxComplianceReport(BoxAPIConnection api) {
+        this.api = api;
+    }
+
+    /**
+     * Adds the file versions held by a legal hold policy to the report.
+     *
+     * @param policyID the ID of the legal hold policy.
+     */
+    public void addLegalHoldPolicy(String policyID) {
+        String query = new QueryStringBuilder().appendParam("policy_id", policyID).toString();
+        this.sources.add(new Source("legal_hold_policy", policyID,
+            BoxLegalHoldPolicy.LIST_OF_FILE_VERSION_HOLDS_URL_TEMPLATE, query));
+    }
+
+    /**
+     * Adds the files under retention of a retention policy assignment to the report.
+     *
+     * @param assignmentID the ID of the retention policy assignment.
+     */
+    public void addFilesUnderRetention(String assignmentID) {
+        this.sources.add(new Source("retention_policy_assignment", assignmentID,
+            BoxRetentionPolicyAssignment.FILES_UNDER_RETENTION_URL_TEMPLATE, "", assignmentID));
+    }
+
+    /**
+     * Adds the file versions under retention of a retention policy assignment to the report.
+     *
+     * @param assignmentID the ID of the retention policy assignment.
+     */
+    public void addFileVersionsUnderRetention(String assignmentID) {
+        this.sources.add(new Source("retention_policy_assignment", assignmentID,
+            BoxRetentionPolicyAssignment.FILE_VERSIONS_UNDER_RETENTION_URL_TEMPLATE, "", assignmentID));
+    }
+
+    /**
+     * Sets the fields of the files looked up for every entry of the report, e.g. "name", "path_collection" or
+     * "owned_by". Defaults to none, which leaves the files as the sources return them, without looking them up.
+     *
+     * @param fileFields the fields of the files.
+     */
+    public void setFileFields(String... fileFields) {
+        this.fileFields = fileFields.clone();
+    }
+
+    /**
+     * Sets the number of sources fetched at the same time. Defaults to 4.
+     *
+     * @param maxConcurrentSources the maximum number of sources fetched at a time.
+     */
+    public void setMaxConcurrentSources(int maxConcurrentSources) {
+        if (maxConcurrentSources < 1) {
+            throw new IllegalArgumentException("At least one source must be allowed to be fetched.");
+        }
+        this.maxConcurrentSources = maxConcurrentSources;
+    }
+
+    /**
+     * Sets the number of file lookups in flight at a time. Defaults to 10.
+     *
+     * @param maxConcurrentLookups the maximum number of lookups in flight.
+     */
+    public void setMaxConcurrentLookups(int maxConcurrentLookups) {
+        if (maxConcurrentLookups < 1) {
+            throw new IllegalArgumentException("At least one lookup must be allowed in flight.");
+        }
+        this.maxConcurrentLookups = maxConcurrentLookups;
+    }
+
+    /**
+     * Sets the number of pages each source fetches ahead of the report. Defaults to 2.
+     *
+     * @param prefetchDepth the number of pages fetched ahead.
+     */
+    public void setPrefetchDepth(int prefetchDepth) {
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be at least 1.");
+        }
+        this.prefetchDepth = prefetchDepth;
+    }
+
+    /**
+     * Sets the number of entries requested per page. Defaults to 1000.
+     *
+     * @param pageSize the number of entries per page.
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("A page must hold at least one entry.");
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Fetches the report and writes its entries to a sink, on the calling thread. An exception thrown by the sink stops
+     * the report.
+     *
+     * @param sink the sink receiving the entries.
+     * @return a summary of the report.
+     * @throws BoxAPIException if a page couldn't be fetched or the sink couldn't be written.
+     */
+    public Summary run(RecordSink sink) {
+        MultiSourcePrefetcher<Source> prefetcher = new MultiSourcePrefetcher<>(this.api.getPagePrefetchExecutor(),
+            this.maxConcurrentSources, this.prefetchDepth, new ArrayList<>(this.sources), this::load);
+        BoxBulkExecutor lookups = new BoxBulkExecutor(this.maxConcurrentLookups, 1);
+        Summary summary = new Summary();
+        try {
+            MultiSourcePrefetcher.SourcePage<Source> page;
+            while ((page = prefetcher.next()) != null) {
+                this.write(page.getSource(), page.getEntries(), lookups, sink, summary);
+            }
+            sink.flush();
+        } catch (IOException e) {
+            throw new BoxAPIException("Couldn't write the report.", e);
+        } finally {
+            prefetcher.cancel();
+        }
+
+        return summary;
+    }
+
+    /**
+     * Looks up the files of a page, each once, and writes the entries of the page.
+     */
+    private void write(Source source, JsonArray entries, BoxBulkExecutor lookups, RecordSink sink, Summary summary)
+        throws IOException {
+
+        List<JsonObject> rows = new ArrayList<>(entries.size());
+        Map<String, JsonObject> files = new LinkedHashMap<>();
+        for (JsonValue entry : entries) {
+            JsonObject row = new JsonObject()
+                .add("source_type", source.type)
+                .add("source_id", source.id);
+            for (JsonObject.Member member : entry.asObject()) {
+                row.add(member.getName(), member.getValue());
+            }
+            rows.add(row);
+
+            String fileID = fileID(row);
+            if (this.fileFields.length > 0 && fileID != null) {
+                files.put(fileID, null);
+            }
+        }
+
+        if (!files.isEmpty()) {
+            String query = new QueryStringBuilder().appendParam("fields", this.fileFields).toString();
+            List<BoxAPIRequest> requests = new ArrayList<>(files.size());
+            for (String fileID : files.keySet()) {
+                URL url = BoxFile.FILE_URL_TEMPLATE.buildWithQuery(this.api.getBaseURL(), query, fileID);
+                requests.add(new BoxAPIRequest(this.api, url, "GET"));
+            }
+
+            Iterator<String> fileIDs = files.keySet().iterator();
+            for (BoxBulkExecutor.Result lookup : lookups.execute(requests)) {
+                String fileID = fileIDs.next();
+                summary.lookups++;
+                if (lookup.isSuccess()) {
+                    files.put(fileID, Json.parse(((BoxJSONResponse) lookup.getResponse()).getJSON()).asObject());
+                } else {
+                    // the file may have been deleted since, which leaves the entry as the source returned it
+                    summary.failedLookups++;
+                }
+            }
+        }
+
+        for (JsonObject row : rows) {
+            JsonObject file = files.get(fileID(row));
+            if (file != null) {
+                row.set("file", file);
+            }
+            sink.write(row);
+            summary.entries++;
+        }
+    }
+
+    /**
+     * Gets the ID of the file of an entry, which is either the file itself or refers to it in its "file" field.
+     */
+    private static String fileID(JsonObject row) {
+        if ("file".equals(row.getString("type", null))) {
+            return row.getString("id", null);
+        }
+
+        JsonValue file = row.get("file");
+        if (file == null || !file.isObject()) {
+            return null;
+        }
+        return file.asObject().getString("id", null);
+    }
+
+    private JsonObject load(Source source, String marker) {
+        String query = new QueryStringBuilder(source.query).appendParam("limit", this.pageSize).toString();
+        URL url = source.template.buildWithQuery(this.api.getBaseURL(), query, source.arguments);
+        if (marker != null) {
+            try {
+                url = QueryStringBuilder.appendToQuery(url.toString(), "marker", marker);
+            } catch (MalformedURLException e) {
+                throw new BoxAPIException("Couldn't append a query string to the provided URL.");
+            }
+        }
+
+        BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+        return Json.parse(response.getJSON()).asObject();
+    }
+
+    /**
+     * A paged list of entries making part of the report.
+     */
+    private static final class Source {
+        private final String type;
+        private final String id;
+        private final URLTemplate template;
+        private final String query;
+        private final Object[] arguments;
+
+        Source(String type, String id, URLTemplate template, String query, Object... arguments) {
+            this.type = type;
+            this.id = id;
+            this.template = template;
+            this.query = query;
+            this.arguments = arguments;
+        }
+    }
+
+    /**
+     * A summary of a report made by {@link BoxComplianceReport#run(RecordSink)}.
+     */
+    public static final class Summary {
+        private long entries;
+        private long lookups;
+        private long failedLookups;
+
+        /**
+         * Gets the number of entries written to the sink.
+         *
+         * @return the number of entries.
+         */
+        public long getEntries() {
+            return this.entries;
+        }
+
+        /**
+         * Gets the number of files looked up.
+         *
+         * @return the number of lookups.
+         */
+        public long getLookups() {
+            return this.lookups;
+        }
+
+        /**
+         * Gets the number of files that couldn't be looked up, usually because they were deleted. Their entries are
+         * written with the file as the source returned it.
+         *
+         * @return the number of failed lookups.
+         */
+        public long getFailedLookups() {
+            return this.failedLookups;
+        }
+    }
+}
@@ -24,7 +24,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 
 /**
@@ -501,6 +503,26 @@ public class BoxFile extends BoxItem {
         return new Info(response.getJSON());
     }
 
+    /**
+     * Gets information about this file asynchronously.
+     *
+     * @param fields the fields to retrieve, or none to retrieve the default fields.
+     * @return a future completing with info about this file.
+     * @see BoxAPIRequest#sendAsync()
+     */
+    public CompletableFuture<BoxFile.Info> getInfoAsync(String... fields) {
+        URL url;
+        if (fields.length > 0) {
+            String queryString = new QueryStringBuilder().appendParam("fields", fields).toString();
+            url = FILE_URL_TEMPLATE.buildWithQuery(this.getAPI().getBaseURL(), queryString, this.getID());
+        } else {
+            url = FILE_URL_TEMPLATE.build(this.getAPI().getBaseURL(), this.getID());
+        }
+
+        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
+        return request.sendAsync().thenApply(response -> new Info(((BoxJSONResponse) response).getJSON()));
+    }
+
     /**
      * Gets information about this item including a specified set of representations.
      *
@@ -1121,12 +1143,16 @@ public class BoxFile extends BoxItem {
      * @return the metadata returned from the server.
      */
     public Metadata createMetadata(String typeName, String scope, Metadata metadata) {
+        BoxJSONResponse response = (BoxJSONResponse) this.createMetadataRequest(typeName, scope, metadata).send();
+        return new Metadata(Json.parse(response.getJSON()).asObject());
+    }
+
+    private BoxAPIRequest createMetadataRequest(String typeName, String scope, Metadata metadata) {
         URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), scope, typeName);
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "POST");
         request.addHeader("Content-Type", "application/json");
         request.setBody(metadata.toString());
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(Json.parse(response.getJSON()).asObject());
+        return request;
     }
 
     /**
@@ -1153,7 +1179,41 @@ public class BoxFile extends BoxItem {
         }
     }
 
+    /**
+     * Sets the provided metadata on the file asynchronously, overwriting any existing metadata keys already present.
+     *
+     * @param templateName the name of the metadata template.
+     * @param scope        the scope of the template (usually "global" or "enterprise").
+     * @param metadata     the new metadata values.
+     * @return a future completing with the metadata returned from the server.
+     * @see BoxAPIRequest#sendAsync()
+     */
+    public CompletableFuture<Metadata> setMetadataAsync(String templateName, String scope, Metadata metadata) {
+        return this.createMetadataRequest(templateName, scope, metadata).sendAsync()
+            .thenApply(response -> new Metadata(Json.parse(((BoxJSONResponse) response).getJSON()).asObject()))
+            .handle((created, failure) -> {
+                if (failure == null) {
+                    return CompletableFuture.completedFuture(created);
+                } else if (!CompletableFutures.isResponseCode(failure, 409)) {
+                    return CompletableFutures.<Metadata>failed(failure);
+                } else if (metadata.getOperations().isEmpty()) {
+                    return this.getMetadataAsync(Metadata.DEFAULT_METADATA_TYPE,
+                        Metadata.scopeBasedOnType(Metadata.DEFAULT_METADATA_TYPE));
+                } else {
+                    Metadata metadataToUpdate = metadataUpdateFor(templateName, scope, metadata);
+                    return this.updateMetadataRequest(metadataToUpdate).sendAsync()
+                        .thenApply(response -> new Metadata(
+                            Json.parse(((BoxJSONResponse) response).getJSON()).asObject()));
+                }
+            })
+            .thenCompose(Function.identity());
+    }
+
     private Metadata updateExistingTemplate(String templateName, String scope, Metadata metadata) {
+        return this.updateMetadata(metadataUpdateFor(templateName, scope, metadata));
+    }
+
+    private static Metadata metadataUpdateFor(String templateName, String scope, Metadata metadata) {
         Metadata metadataToUpdate = new Metadata(scope, templateName);
         for (JsonValue value : metadata.getOperations()) {
             if (value.asObject().get("value").isNumber()) {
@@ -1170,7 +1230,7 @@ public class BoxFile extends BoxItem {
                 metadataToUpdate.add(value.asObject().get("path").asString(), list);
             }
         }
-        return this.updateMetadata(metadataToUpdate);
+        return metadataToUpdate;
     }
 
     /**
@@ -1377,6 +1437,21 @@ public class BoxFile extends BoxItem {
         return new Metadata(Json.parse(response.getJSON()).asObject());
     }
 
+    /**
+     * Gets the file metadata of specified template type asynchronously.
+     *
+     * @param typeName the metadata template type name.
+     * @param scope    the metadata scope (global or enterprise).
+     * @return a future completing with the metadata returned from the server.
+     * @see BoxAPIRequest#sendAsync()
+     */
+    public CompletableFuture<Metadata> getMetadataAsync(String typeName, String scope) {
+        URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), scope, typeName);
+        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
+        return request.sendAsync()
+            .thenApply(response -> new Metadata(Json.parse(((BoxJSONResponse) response).getJSON()).asObject()));
+    }
+
     /**
      * Updates the file metadata.
      *
@@ -1384,6 +1459,11 @@ public class BoxFile extends BoxItem {
      * @return the metadata returned from the server.
      */
     public Metadata updateMetadata(Metadata metadata) {
+        BoxJSONResponse response = (BoxJSONResponse) this.updateMetadataRequest(metadata).send();
+        return new Metadata(Json.parse(response.getJSON()).asObject());
+    }
+
+    private BoxAPIRequest updateMetadataRequest(Metadata metadata) {
         String scope;
         if (metadata.getScope().equals(Metadata.GLOBAL_METADATA_SCOPE)) {
             scope = Metadata.GLOBAL_METADATA_SCOPE;
@@ -1398,8 +1478,7 @@ public class BoxFile extends BoxItem {
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "PUT");
         request.addHeader("Content-Type", "application/json-patch+json");
         request.setBody(metadata.getPatch());
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(Json.parse(response.getJSON()).asObject());
+        return request;
     }
 
     /**
@@ -19,7 +19,11 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * <p>Represents a folder on Box. This class can be used to iterate through a folder's contents, collaborate a folder with
@@ -662,14 +666,11 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
      * @return an iterable containing the items in this folder.
      */
     public Iterable<BoxItem.Info> getChildren(final String... fields) {
-        return new Iterable<BoxItem.Info>() {
-            @Override
-            public Iterator<BoxItem.Info> iterator() {
-                String queryString = new QueryStringBuilder().appendParam("fields", fields).toString();
-                URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), queryString, getID());
-                return new BoxItemIterator(getAPI(), url, marker(DEFAULT_LIMIT));
-            }
-        };
+        return new PagedIterable<>(() -> {
+            String queryString = new QueryStringBuilder().appendParam("fields", fields).toString();
+            URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), queryString, getID());
+            return new BoxItemIterator(getAPI(), url, marker(DEFAULT_LIMIT));
+        });
     }
 
     /**
@@ -689,13 +690,10 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
             builder.appendParam("fields", fields);
         }
         final String query = builder.toString();
-        return new Iterable<BoxItem.Info>() {
-            @Override
-            public Iterator<BoxItem.Info> iterator() {
-                URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), query, getID());
-                return new BoxItemIterator(getAPI(), url, marker(DEFAULT_LIMIT));
-            }
-        };
+        return new PagedIterable<>(() -> {
+            URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), query, getID());
+            return new BoxItemIterator(getAPI(), url, marker(DEFAULT_LIMIT));
+        });
     }
 
     /**
@@ -718,13 +716,10 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
             builder.appendParam("fields", fields);
         }
         final String query = builder.toString();
-        return new Iterable<BoxItem.Info>() {
-            @Override
-            public Iterator<BoxItem.Info> iterator() {
-                URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), query, getID());
-                return new BoxItemIterator(getAPI(), url, limit, offset);
-            }
-        };
+        return new PagedIterable<>(() -> {
+            URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), query, getID());
+            return new BoxItemIterator(getAPI(), url, limit, offset);
+        });
     }
 
     /**
@@ -736,6 +731,26 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
      * @return a partial collection containing the specified range of child items.
      */
     public PartialCollection<BoxItem.Info> getChildrenRange(long offset, long limit, String... fields) {
+        BoxJSONResponse response = (BoxJSONResponse) this.childrenRangeRequest(offset, limit, fields).send();
+        return this.parseChildrenRange(offset, limit, response);
+    }
+
+    /**
+     * Retrieves a specific range of child items in this folder asynchronously.
+     *
+     * @param offset the index of the first child item to retrieve.
+     * @param limit  the maximum number of children to retrieve after the offset.
+     * @param fields the fields to retrieve.
+     * @return a future completing with a partial collection containing the specified range of child items.
+     * @see BoxAPIRequest#sendAsync()
+     */
+    public CompletableFuture<PartialCollection<BoxItem.Info>> getChildrenRangeAsync(long offset, long limit,
+                                                                                    String... fields) {
+        return this.childrenRangeRequest(offset, limit, fields).sendAsync()
+            .thenApply(response -> this.parseChildrenRange(offset, limit, (BoxJSONResponse) response));
+    }
+
+    private BoxAPIRequest childrenRangeRequest(long offset, long limit, String... fields) {
         QueryStringBuilder builder = new QueryStringBuilder()
             .appendParam("limit", limit)
             .appendParam("offset", offset);
@@ -745,8 +760,10 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         }
 
         URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), builder.toString(), getID());
-        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
+        return new BoxAPIRequest(this.getAPI(), url, "GET");
+    }
+
+    private PartialCollection<BoxItem.Info> parseChildrenRange(long offset, long limit, BoxJSONResponse response) {
         JsonObject responseJSON = Json.parse(response.getJSON()).asObject();
 
         String totalCountString = responseJSON.get("total_count").toString();
@@ -763,6 +780,66 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         return children;
     }
 
+    /**
+     * Retrieves a specific range of child items in this folder with several concurrent requests. The first page
+     * reports how many items the folder contains, so the remaining pages of the range are requested concurrently. The
+     * items are returned in the same order as {@link #getChildrenRange(long, long, String...)} returns them.
+     *
+     * @param offset                the index of the first child item to retrieve.
+     * @param limit                 the maximum number of children to retrieve after the offset, which can exceed the
+     *                              page size of the endpoint. Use {@link Long#MAX_VALUE} to retrieve all the children
+     *                              after the offset.
+     * @param maxConcurrentRequests the maximum number of page requests in flight.
+     * @param fields                the fields to retrieve.
+     * @return a partial collection containing the specified range of child items.
+     */
+    public PartialCollection<BoxItem.Info> getChildrenRange(long offset, long limit, int maxConcurrentRequests,
+                                                            String... fields) {
+        final List<BoxItem.Info> items = new ArrayList<>();
+        long fullSize = this.childrenRangeFetcher(maxConcurrentRequests, fields).fetch(offset, limit, true,
+            jsonObject -> this.acceptChild(jsonObject, items::add));
+
+        PartialCollection<BoxItem.Info> children = new PartialCollection<>(offset, limit, fullSize);
+        children.addAll(items);
+        return children;
+    }
+
+    /**
+     * Retrieves a specific range of child items in this folder with several concurrent requests and passes every item
+     * to an action as soon as its page arrives. The action is called on the calling thread, but the items are passed in
+     * no particular order, which keeps all the allowed requests busy.
+     *
+     * @param offset                the index of the first child item to retrieve.
+     * @param limit                 the maximum number of children to retrieve after the offset. Use
+     *                              {@link Long#MAX_VALUE} to retrieve all the children after the offset.
+     * @param maxConcurrentRequests the maximum number of page requests in flight.
+     * @param action                the action receiving the child items.
+     * @param fields                the fields to retrieve.
+     * @return the total number of child items in this folder.
+     */
+    public long forEachChildInRange(long offset, long limit, int maxConcurrentRequests,
+                                    final Consumer<BoxItem.Info> action, String... fields) {
+        return this.childrenRangeFetcher(maxConcurrentRequests, fields).fetch(offset, limit, false,
+            jsonObject -> this.acceptChild(jsonObject, action));
+    }
+
+    private OffsetRangeFetcher childrenRangeFetcher(int maxConcurrentRequests, String... fields) {
+        QueryStringBuilder builder = new QueryStringBuilder();
+        if (fields.length > 0) {
+            builder.appendParam("fields", fields);
+        }
+
+        URL url = GET_ITEMS_URL.buildWithQuery(this.getAPI().getBaseURL(), builder.toString(), this.getID());
+        return new OffsetRangeFetcher(this.getAPI(), url, DEFAULT_LIMIT, maxConcurrentRequests);
+    }
+
+    private void acceptChild(JsonObject jsonObject, Consumer<BoxItem.Info> action) {
+        BoxItem.Info parsedItemInfo = (BoxItem.Info) BoxResource.parseInfo(this.getAPI(), jsonObject);
+        if (parsedItemInfo != null) {
+            action.accept(parsedItemInfo);
+        }
+    }
+
     /**
      * Returns an iterable containing the items in this folder sorted by name and direction.
      *
@@ -780,13 +857,10 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
             builder.appendParam("fields", fields);
         }
         final String query = builder.toString();
-        return new Iterable<BoxItem.Info>() {
-            @Override
-            public Iterator<BoxItem.Info> iterator() {
-                URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), query, getID());
-                return new BoxItemIterator(getAPI(), url, pagingParameters);
-            }
-        };
+        return new PagedIterable<>(() -> {
+            URL url = GET_ITEMS_URL.buildWithQuery(getAPI().getBaseURL(), query, getID());
+            return new BoxItemIterator(getAPI(), url, pagingParameters);
+        });
     }
 
     /**
@@ -800,6 +874,17 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         return new BoxItemIterator(BoxFolder.this.getAPI(), url);
     }
 
+    /**
+     * Returns a spliterator over the items in this folder that splits at page boundaries, so that the items can be
+     * processed with a parallel stream.
+     *
+     * @return a spliterator over the items in this folder.
+     */
+    @Override
+    public Spliterator<BoxItem.Info> spliterator() {
+        return PageSpliterator.of(this.iterator());
+    }
+
     /**
      * Adds new {@link BoxWebHook} to this {@link BoxFolder}.
      *
@@ -858,17 +943,14 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
      */
     @Deprecated
     public Iterable<BoxItem.Info> search(final String query) {
-        return new Iterable<BoxItem.Info>() {
-            @Override
-            public Iterator<BoxItem.Info> iterator() {
-                QueryStringBuilder builder = new QueryStringBuilder();
-                builder.appendParam("query", query);
-                builder.appendParam("ancestor_folder_ids", getID());
+        return new PagedIterable<>(() -> {
+            QueryStringBuilder builder = new QueryStringBuilder();
+            builder.appendParam("query", query);
+            builder.appendParam("ancestor_folder_ids", getID());
 
-                URL url = SEARCH_URL_TEMPLATE.buildWithQuery(getAPI().getBaseURL(), builder.toString());
-                return new BoxItemIterator(getAPI(), url);
-            }
-        };
+            URL url = SEARCH_URL_TEMPLATE.buildWithQuery(getAPI().getBaseURL(), builder.toString());
+            return new BoxItemIterator(getAPI(), url);
+        });
     }
 
     @Override
@@ -922,12 +1004,16 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
      * @return the metadata returned from the server.
      */
     public Metadata createMetadata(String templateName, String scope, Metadata metadata) {
+        BoxJSONResponse response = (BoxJSONResponse) this.createMetadataRequest(templateName, scope, metadata).send();
+        return new Metadata(Json.parse(response.getJSON()).asObject());
+    }
+
+    private BoxAPIRequest createMetadataRequest(String templateName, String scope, Metadata metadata) {
         URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), scope, templateName);
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "POST");
         request.addHeader("Content-Type", "application/json");
         request.setBody(metadata.toString());
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(Json.parse(response.getJSON()).asObject());
+        return request;
     }
 
     /**
@@ -954,7 +1040,41 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         }
     }
 
+    /**
+     * Sets the provided metadata on the folder asynchronously, overwriting any existing metadata keys already present.
+     *
+     * @param templateName the name of the metadata template.
+     * @param scope        the scope of the template (usually "global" or "enterprise").
+     * @param metadata     the new metadata values.
+     * @return a future completing with the metadata returned from the server.
+     * @see BoxAPIRequest#sendAsync()
+     */
+    public CompletableFuture<Metadata> setMetadataAsync(String templateName, String scope, Metadata metadata) {
+        return this.createMetadataRequest(templateName, scope, metadata).sendAsync()
+            .thenApply(response -> new Metadata(Json.parse(((BoxJSONResponse) response).getJSON()).asObject()))
+            .handle((created, failure) -> {
+                if (failure == null) {
+                    return CompletableFuture.completedFuture(created);
+                } else if (!CompletableFutures.isResponseCode(failure, 409)) {
+                    return CompletableFutures.<Metadata>failed(failure);
+                } else if (metadata.getOperations().isEmpty()) {
+                    return this.getMetadataAsync(Metadata.DEFAULT_METADATA_TYPE,
+                        Metadata.scopeBasedOnType(Metadata.DEFAULT_METADATA_TYPE));
+                } else {
+                    Metadata metadataToUpdate = metadataUpdateFor(templateName, scope, metadata);
+                    return this.updateMetadataRequest(metadataToUpdate).sendAsync()
+                        .thenApply(response -> new Metadata(
+                            Json.parse(((BoxJSONResponse) response).getJSON()).asObject()));
+                }
+            })
+            .thenCompose(Function.identity());
+    }
+
     private Metadata updateExistingTemplate(String templateName, String scope, Metadata metadata) {
+        return this.updateMetadata(metadataUpdateFor(templateName, scope, metadata));
+    }
+
+    private static Metadata metadataUpdateFor(String templateName, String scope, Metadata metadata) {
         Metadata metadataToUpdate = new Metadata(scope, templateName);
         for (JsonValue value : metadata.getOperations()) {
             if (value.asObject().get("value").isNumber()) {
@@ -971,7 +1091,7 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
                 metadataToUpdate.add(value.asObject().get("path").asString(), list);
             }
         }
-        return this.updateMetadata(metadataToUpdate);
+        return metadataToUpdate;
     }
 
     /**
@@ -1008,6 +1128,21 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
         return new Metadata(Json.parse(response.getJSON()).asObject());
     }
 
+    /**
+     * Gets the metadata on this folder associated with a specified scope and template asynchronously.
+     *
+     * @param templateName the metadata template type name.
+     * @param scope        the scope of the template (usually "global" or "enterprise").
+     * @return a future completing with the metadata returned from the server.
+     * @see BoxAPIRequest#sendAsync()
+     */
+    public CompletableFuture<Metadata> getMetadataAsync(String templateName, String scope) {
+        URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), scope, templateName);
+        BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "GET");
+        return request.sendAsync()
+            .thenApply(response -> new Metadata(Json.parse(((BoxJSONResponse) response).getJSON()).asObject()));
+    }
+
     /**
      * Updates the global properties metadata on this folder.
      *
@@ -1015,13 +1150,17 @@ public class BoxFolder extends BoxItem implements Iterable<BoxItem.Info> {
      * @return the metadata returned from the server.
      */
     public Metadata updateMetadata(Metadata metadata) {
+        BoxJSONResponse response = (BoxJSONResponse) this.updateMetadataRequest(metadata).send();
+        return new Metadata(Json.parse(response.getJSON()).asObject());
+    }
+
+    private BoxAPIRequest updateMetadataRequest(Metadata metadata) {
         URL url = METADATA_URL_TEMPLATE.buildAlpha(this.getAPI().getBaseURL(), this.getID(), metadata.getScope(),
             metadata.getTemplateName());
         BoxAPIRequest request = new BoxAPIRequest(this.getAPI(), url, "PUT");
         request.addHeader("Content-Type", "application/json-patch+json");
         request.setBody(metadata.getPatch());
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
-        return new Metadata(Json.parse(response.getJSON()).asObject());
+        return request;
     }
 
     /**
@@ -118,10 +118,10 @@ public class BoxGroup extends BoxCollaborator {
      * @return an iterable containing info about all the groups.
      */
     public static Iterable<BoxGroup.Info> getAllGroups(final BoxAPIConnection api) {
-        return () -> {
+        return new PagedIterable<>(() -> {
             URL url = GROUPS_URL_TEMPLATE.build(api.getBaseURL());
             return new BoxGroupIterator(api, url);
-        };
+        });
     }
 
     /**
@@ -136,10 +136,10 @@ public class BoxGroup extends BoxCollaborator {
         if (fields.length > 0) {
             builder.appendParam("fields", fields);
         }
-        return () -> {
+        return new PagedIterable<>(() -> {
             URL url = GROUPS_URL_TEMPLATE.buildWithQuery(api.getBaseURL(), builder.toString());
             return new BoxGroupIterator(api, url);
-        };
+        });
     }
 
     /**
@@ -175,10 +175,10 @@ public class BoxGroup extends BoxCollaborator {
             }
         }
 
-        return () -> {
+        return new PagedIterable<>(() -> {
             URL url = GROUPS_URL_TEMPLATE.buildWithQuery(api.getBaseURL(), builder.toString());
             return new BoxGroupIterator(api, url);
-        };
+        });
     }
 
     /**
@@ -247,11 +247,11 @@ public class BoxGroup extends BoxCollaborator {
         if (fields.length > 0) {
             builder.appendParam("fields", fields);
         }
-        return () -> {
+        return new PagedIterable<>(() -> {
             URL url = MEMBERSHIPS_URL_TEMPLATE.buildWithQuery(
                 BoxGroup.this.getAPI().getBaseURL(), builder.toString(), BoxGroup.this.getID());
             return new BoxGroupMembershipIterator(BoxGroup.this.getAPI(), url);
-        };
+        });
     }
 
     /**
@@ -405,11 +405,11 @@ public class BoxGroup extends BoxCollaborator {
         if (fields.length > 0) {
             builder.appendParam("fields", fields);
         }
-        return () -> {
+        return new PagedIterable<>(() -> {
             URL url = COLLABORATIONS_URL_TEMPLATE.buildWithQuery(api.getBaseURL(), builder.toString(),
                 BoxGroup.this.getID());
             return new BoxCollaborationIterator(api, url);
-        };
+        });
     }
 
     /**
@@ -4,9 +4,8 @@ import static com.box.sdk.PagingParameters.offset;
 
 import com.eclipsesource.json.JsonObject;
 import java.net.URL;
-import java.util.Iterator;
 
-class BoxGroupIterator implements Iterator<BoxGroup.Info> {
+class BoxGroupIterator implements PagedIterator<BoxGroup.Info> {
     private static final long LIMIT = 1000;
 
     private final BoxAPIConnection api;
@@ -17,6 +16,11 @@ class BoxGroupIterator implements Iterator<BoxGroup.Info> {
         this.jsonIterator = new JsonIterator(api, url, offset(0, LIMIT));
     }
 
+    private BoxGroupIterator(BoxAPIConnection api, JsonIterator jsonIterator) {
+        this.api = api;
+        this.jsonIterator = jsonIterator;
+    }
+
     public boolean hasNext() {
         return this.jsonIterator.hasNext();
     }
@@ -29,6 +33,22 @@ class BoxGroupIterator implements Iterator<BoxGroup.Info> {
         return group.new Info(nextJSONObject);
     }
 
+    @Override
+    public int remainingInPage() {
+        return this.jsonIterator.remainingInPage();
+    }
+
+    @Override
+    public BoxGroupIterator splitPrefix() {
+        JsonIterator prefix = this.jsonIterator.splitPrefix();
+        return prefix == null ? null : new BoxGroupIterator(this.api, prefix);
+    }
+
+    @Override
+    public void close() {
+        this.jsonIterator.close();
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
@@ -4,13 +4,12 @@ import static com.box.sdk.PagingParameters.offset;
 
 import com.eclipsesource.json.JsonObject;
 import java.net.URL;
-import java.util.Iterator;
 
 /**
  * An iterator object for {@link BoxGroupMembership} object.
  * Supports offset-based paging.
  */
-class BoxGroupMembershipIterator implements Iterator<BoxGroupMembership.Info> {
+class BoxGroupMembershipIterator implements PagedIterator<BoxGroupMembership.Info> {
 
     /**
      * The limit of entries per response.
@@ -38,6 +37,17 @@ class BoxGroupMembershipIterator implements Iterator<BoxGroupMembership.Info> {
         this.jsonIterator = new JsonIterator(api, url, offset(0, LIMIT));
     }
 
+    /**
+     * Creates a BoxGroupMembership iterator over the entries of a JSON iterator.
+     *
+     * @param api          The API connection to be used by the iterator.
+     * @param jsonIterator The iterator returning the JSON entries.
+     */
+    private BoxGroupMembershipIterator(BoxAPIConnection api, JsonIterator jsonIterator) {
+        this.api = api;
+        this.jsonIterator = jsonIterator;
+    }
+
     /**
      * @return false if current element is the last.
      */
@@ -56,9 +66,31 @@ class BoxGroupMembershipIterator implements Iterator<BoxGroupMembership.Info> {
         return membership.new Info(nextJSONObject);
     }
 
+    /**
+     * @return the number of entries that can be returned without fetching another page.
+     */
+    @Override
+    public int remainingInPage() {
+        return this.jsonIterator.remainingInPage();
+    }
+
+    /**
+     * @return an iterator over the first half of the remaining entries, or null if they cannot be split.
+     */
+    @Override
+    public BoxGroupMembershipIterator splitPrefix() {
+        JsonIterator prefix = this.jsonIterator.splitPrefix();
+        return prefix == null ? null : new BoxGroupMembershipIterator(this.api, prefix);
+    }
+
     /**
      * Remove operation is not supported.
      */
+    @Override
+    public void close() {
+        this.jsonIterator.close();
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
@@ -0,0 +1,418 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the members of many groups in sync with a target, such as the groups of an identity provider.
+ *
+ * <p>The groups are synced in windows of a fixed number of groups. The first page of memberships of every group of a
+ * window is fetched at the same time, and since the memberships are paged by offset, the remaining pages of all the
+ * groups are then fetched at the same time too. The current members of each group are kept in a map from the ID of the
+ * user to the ID of their membership, without building a {@link BoxGroupMembership.Info} for each of them, and compared
+ * with the target members: the users missing from the group are added to it and the members that aren't in the target
+ * are removed from it. All the requests are sent with a {@link BoxBulkExecutor}, with at most a given number of them in
+ * flight. To keep the requests under a rate budget as well, set an {@link AdaptiveRateLimiter} on the connection.</p>
+ *
+ * <p>Users that are already members when they are added, and memberships that no longer exist when they are removed,
+ * are not reported as failures. New members are added with the default role.</p>
+ *
+ * <pre>Map&lt;String, Set&lt;String&gt;&gt; target = new HashMap&lt;&gt;();
+ * target.put("group-id", new HashSet&lt;&gt;(Arrays.asList("user-id-1", "user-id-2")));
+ * BoxGroupSync sync = new BoxGroupSync(api, 10);
+ * BoxGroupSync.Summary summary = sync.sync(target);</pre>
+ */
+public class BoxGroupSync {
+    private static final int DEFAULT_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MAX_RETRY_ROUNDS = 2;
+    private static final int PAGE_SIZE = 1000;
+
+    private final BoxAPIConnection api;
+    private final int maxConcurrentRequests;
+    private int maxRetryRounds = DEFAULT_MAX_RETRY_ROUNDS;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private boolean dryRun;
+
+    /**
+     * Creates a group sync.
+     *
+     * @param api                   the API connection used to read and change the memberships.
+     * @param maxConcurrentRequests the maximum number of requests in flight at a time.
+     */
+    public BoxGroupSync(BoxAPIConnection api, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed in flight.");
+        }
+
+        this.api = api;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Sets how many times the requests that failed with a transient error are sent again. Defaults to 2.
+     *
+     * @param maxRetryRounds the number of retry rounds.
+     */
+    public void setMaxRetryRounds(int maxRetryRounds) {
+        if (maxRetryRounds < 0) {
+            throw new IllegalArgumentException("The number of retry rounds can't be negative.");
+        }
+        this.maxRetryRounds = maxRetryRounds;
+    }
+
+    /**
+     * Sets the number of groups whose memberships are held in memory at a time. Defaults to 100.
+     *
+     * @param windowSize the number of groups in a window.
+     */
+    public void setWindowSize(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("A window must hold at least one group.");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Sets whether the memberships are only read and compared with the target, without changing them. The summary then
+     * counts the changes that would have been made.
+     *
+     * @param dryRun true to leave the memberships unchanged; otherwise false.
+     */
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Makes the members of groups the target members and waits for all the changes to finish. The groups that aren't
+     * keys of the target are left alone.
+     *
+     * @param target the IDs of the target members of each group, keyed by the ID of the group.
+     * @return a summary of the changes.
+     */
+    public Summary sync(Map<String, ? extends Collection<String>> target) {
+        BoxBulkExecutor executor = new BoxBulkExecutor(this.maxConcurrentRequests, this.maxRetryRounds);
+        Summary summary = new Summary();
+        Map<String, long[]> window = new LinkedHashMap<>();
+        for (Map.Entry<String, ? extends Collection<String>> group : target.entrySet()) {
+            if (window.size() == this.windowSize) {
+                this.sync(window, executor, summary);
+                window.clear();
+            }
+            window.put(group.getKey(), parseIDs(group.getValue()));
+        }
+        if (!window.isEmpty()) {
+            this.sync(window, executor, summary);
+        }
+        return summary;
+    }
+
+    private void sync(Map<String, long[]> window, BoxBulkExecutor executor, Summary summary) {
+        Map<String, LongMap<String>> members = this.load(window.keySet(), executor, summary);
+
+        List<Change> changes = new ArrayList<>();
+        for (Map.Entry<String, LongMap<String>> group : members.entrySet()) {
+            LongMap<String> current = group.getValue();
+            for (long userID : window.get(group.getKey())) {
+                if (current.remove(userID) == null) {
+                    changes.add(this.add(group.getKey(), Long.toString(userID)));
+                } else {
+                    summary.unchanged++;
+                }
+            }
+            // the members left are the ones that aren't in the target
+            for (long userID : current.keys()) {
+                changes.add(this.remove(group.getKey(), Long.toString(userID), current.get(userID)));
+            }
+        }
+
+        if (this.dryRun) {
+            for (Change change : changes) {
+                summary.count(change.add);
+            }
+            return;
+        }
+
+        List<BoxAPIRequest> requests = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            requests.add(change.request);
+        }
+        List<BoxBulkExecutor.Result> results = executor.execute(requests);
+        summary.requests += results.size();
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            BoxBulkExecutor.Result result = results.get(i);
+            if (result.isSuccess()) {
+                summary.count(change.add);
+            } else if (change.add && result.getResponseCode() == HttpURLConnection.HTTP_CONFLICT) {
+                // the user was added since the memberships were read
+                summary.unchanged++;
+            } else if (!change.add && result.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                // the membership was removed since the memberships were read
+                summary.count(false);
+            } else {
+                summary.failures.add(new Result(change.groupID, change.userID, change.add, result.getError()));
+            }
+        }
+    }
+
+    /**
+     * Loads the current members of groups, first fetching the first page of every group, and then all the remaining
+     * pages at once. The groups whose memberships couldn't all be read are left out.
+     */
+    private Map<String, LongMap<String>> load(Collection<String> groupIDs, BoxBulkExecutor executor,
+                                              Summary summary) {
+        Map<String, LongMap<String>> members = new LinkedHashMap<>();
+        List<String> pageGroups = new ArrayList<>();
+        List<BoxAPIRequest> requests = new ArrayList<>();
+        for (String groupID : groupIDs) {
+            members.put(groupID, new LongMap<String>());
+            pageGroups.add(groupID);
+            requests.add(this.page(groupID, 0));
+        }
+
+        List<BoxBulkExecutor.Result> results = executor.execute(requests);
+        summary.requests += results.size();
+        List<String> nextPageGroups = new ArrayList<>();
+        List<BoxAPIRequest> nextRequests = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            String groupID = pageGroups.get(i);
+            JsonObject page = this.read(groupID, results.get(i), members, summary);
+            if (page == null) {
+                continue;
+            }
+
+            long totalCount = page.get("total_count").asLong();
+            for (long offset = PAGE_SIZE; offset < totalCount; offset += PAGE_SIZE) {
+                nextPageGroups.add(groupID);
+                nextRequests.add(this.page(groupID, offset));
+            }
+        }
+
+        if (!nextRequests.isEmpty()) {
+            results = executor.execute(nextRequests);
+            summary.requests += results.size();
+            for (int i = 0; i < results.size(); i++) {
+                this.read(nextPageGroups.get(i), results.get(i), members, summary);
+            }
+        }
+        return members;
+    }
+
+    private BoxAPIRequest page(String groupID, long offset) {
+        String query = new QueryStringBuilder()
+            .appendParam("offset", offset)
+            .appendParam("limit", PAGE_SIZE)
+            .toString();
+        URL url = BoxGroup.MEMBERSHIPS_URL_TEMPLATE.buildWithQuery(this.api.getBaseURL(), query, groupID);
+        return new BoxAPIRequest(this.api, url, "GET");
+    }
+
+    /**
+     * Adds the members of a page of memberships to the members of its group, or leaves the group out when the page
+     * couldn't be fetched.
+     */
+    private JsonObject read(String groupID, BoxBulkExecutor.Result result, Map<String, LongMap<String>> members,
+                            Summary summary) {
+        LongMap<String> groupMembers = members.get(groupID);
+        if (groupMembers == null) {
+            // an earlier page of the group already failed
+            return null;
+        }
+        if (!result.isSuccess()) {
+            members.remove(groupID);
+            summary.failures.add(new Result(groupID, null, false, result.getError()));
+            return null;
+        }
+
+        JsonObject page = Json.parse(((BoxJSONResponse) result.getResponse()).getJSON()).asObject();
+        for (JsonValue entry : page.get("entries").asArray()) {
+            JsonObject membership = entry.asObject();
+            String userID = membership.get("user").asObject().get("id").asString();
+            groupMembers.put(Long.parseLong(userID), membership.get("id").asString());
+        }
+        return page;
+    }
+
+    private Change add(String groupID, String userID) {
+        URL url = BoxGroup.ADD_MEMBERSHIP_URL_TEMPLATE.build(this.api.getBaseURL());
+        BoxJSONRequest request = new BoxJSONRequest(this.api, url, "POST");
+        request.setBody(new JsonObject()
+            .add("user", new JsonObject().add("id", userID))
+            .add("group", new JsonObject().add("id", groupID)));
+        return new Change(groupID, userID, true, request);
+    }
+
+    private Change remove(String groupID, String userID, String membershipID) {
+        URL url = BoxGroupMembership.MEMBERSHIP_URL_TEMPLATE.build(this.api.getBaseURL(), membershipID);
+        return new Change(groupID, userID, false, new BoxAPIRequest(this.api, url, "DELETE"));
+    }
+
+    /**
+     * Parses the IDs of the target members of a group into a sorted array without duplicates.
+     */
+    private static long[] parseIDs(Collection<String> userIDs) {
+        long[] ids = new long[userIDs.size()];
+        int count = 0;
+        for (String userID : userIDs) {
+            try {
+                ids[count++] = Long.parseLong(userID);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("The user ID " + userID + " isn't numeric.", e);
+            }
+        }
+
+        Arrays.sort(ids);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || ids[i] != ids[unique - 1]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return unique == count ? ids : Arrays.copyOf(ids, unique);
+    }
+
+    /**
+     * A membership to add or remove, along with the request doing it.
+     */
+    private static final class Change {
+        private final String groupID;
+        private final String userID;
+        private final boolean add;
+        private final BoxAPIRequest request;
+
+        Change(String groupID, String userID, boolean add, BoxAPIRequest request) {
+            this.groupID = groupID;
+            this.userID = userID;
+            this.add = add;
+            this.request = request;
+        }
+    }
+
+    /**
+     * A failure to read the memberships of a group or to change one of them.
+     */
+    public static final class Result {
+        private final String groupID;
+        private final String userID;
+        private final boolean addition;
+        private final Throwable error;
+
+        Result(String groupID, String userID, boolean addition, Throwable error) {
+            this.groupID = groupID;
+            this.userID = userID;
+            this.addition = addition;
+            this.error = error;
+        }
+
+        /**
+         * Gets the ID of the group.
+         *
+         * @return the ID of the group.
+         */
+        public String getGroupID() {
+            return this.groupID;
+        }
+
+        /**
+         * Gets the ID of the user whose membership couldn't be changed.
+         *
+         * @return the ID of the user, or null if the memberships of the group couldn't be read, in which case the group
+         *     was left unchanged.
+         */
+        public String getUserID() {
+            return this.userID;
+        }
+
+        /**
+         * Checks whether the user was to be added to the group or removed from it.
+         *
+         * @return true if the user was to be added; otherwise false.
+         */
+        public boolean isAddition() {
+            return this.addition;
+        }
+
+        /**
+         * Gets the error the memberships couldn't be read or changed with.
+         *
+         * @return the error, usually a {@link BoxAPIException}.
+         */
+        public Throwable getError() {
+            return this.error;
+        }
+    }
+
+    /**
+     * A summary of the changes made by {@link BoxGroupSync#sync(Map)}.
+     */
+    public static final class Summary {
+        private final List<Result> failures = new ArrayList<>();
+        private int added;
+        private int removed;
+        private int unchanged;
+        private int requests;
+
+        void count(boolean add) {
+            if (add) {
+                this.added++;
+            } else {
+                this.removed++;
+            }
+        }
+
+        /**
+         * Gets the number of users added to groups.
+         *
+         * @return the number of memberships added.
+         */
+        public int getAdded() {
+            return this.added;
+        }
+
+        /**
+         * Gets the number of users removed from groups.
+         *
+         * @return the number of memberships removed.
+         */
+        public int getRemoved() {
+            return this.removed;
+        }
+
+        /**
+         * Gets the number of target members that already were members of their group.
+         *
+         * @return the number of memberships left unchanged.
+         */
+        public int getUnchanged() {
+            return this.unchanged;
+        }
+
+        /**
+         * Gets the failures to read the memberships of a group or to change one of them.
+         *
+         * @return the failures.
+         */
+        public List<Result> getFailures() {
+            return Collections.unmodifiableList(this.failures);
+        }
+
+        /**
+         * Gets the number of requests made, not counting the requests sent again after a transient error.
+         *
+         * @return the number of requests.
+         */
+        public int getRequests() {
+            return this.requests;
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.box.sdk;
+
+import static com.box.sdk.PagingParameters.DEFAULT_LIMIT;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Builds an inventory of the files, folders and web links of every user of an enterprise, such as for an audit or a
+ * migration.
+ *
+ * <p>The crawler lists the root folder of every user and then every folder below it, with the connection's admin or
+ * service account acting as the user through the As-User header of each request, so a single connection serves all the
+ * users. Folders are listed by a pool of threads, each taking folders from its own queue and stealing folders from the
+ * queues of the others when it runs out, so that a user with a deep tree keeps all the threads busy. All the requests
+ * go through the connection, so an {@link AdaptiveRateLimiter} set on it keeps the whole crawl within a rate budget.
+ * Only the fields given to {@link #setFields(String...)} are requested and written for each item.</p>
+ *
+ * <p>Top level folders that a user doesn't own are skipped, since they are crawled as part of the tree of their owner.
+ * The items are written to a {@link RecordSink}, such as {@link RecordSink#ndjson(Writer)}, each as a JSON object with
+ * its type, its ID, the ID of its parent folder as "parent_id" and the fields the crawler was asked for.</p>
+ *
+ * <p>With a checkpoint file, the crawler records which folders it has listed. If the crawl is interrupted, e.g. by a
+ * crash, crawling again with the same checkpoint file picks up with the folders that weren't listed yet. The items of
+ * the folders that were being listed at the time of the interruption are written again. The checkpoint file is deleted
+ * once a crawl finishes without failed folders.</p>
+ *
+ * <pre>BoxInventoryCrawler crawler = new BoxInventoryCrawler(api, 16);
+ * crawler.setFields("name", "size", "owned_by", "shared_link");
+ * crawler.setCheckpointFile(Paths.get("inventory.checkpoint"));
+ * try (Writer out = Files.newBufferedWriter(Paths.get("inventory.ndjson"), StandardOpenOption.CREATE,
+ *     StandardOpenOption.APPEND)) {
+ *     BoxInventoryCrawler.Summary summary = crawler.crawl(RecordSink.ndjson(out));
+ * }</pre>
+ */
+public class BoxInventoryCrawler {
+    private static final String ROOT_FOLDER_ID = "0";
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+
+    private final BoxAPIConnection api;
+    private final int threads;
+    private List<String> fields = Arrays.asList("name", "size", "owned_by", "shared_link");
+    private List<String> userIDs;
+    private Path checkpointFile;
+    private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+    /**
+     * Creates a crawler.
+     *
+     * @param api     the API connection used to crawl, authenticated as an admin or a service account that can act as
+     *                the users of the enterprise. It must not be acting as a user itself.
+     * @param threads the number of threads listing folders, which is the maximum number of requests in flight.
+     */
+    public BoxInventoryCrawler(BoxAPIConnection api, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed to crawl.");
+        }
+
+        this.api = api;
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the fields written for each item, in addition to its type, its ID and the ID of its parent folder. Defaults
+     * to name, size, owned_by and shared_link.
+     *
+     * @param fields the fields to write.
+     */
+    public void setFields(String... fields) {
+        this.fields = Arrays.asList(fields.clone());
+    }
+
+    /**
+     * Sets the users to crawl. Defaults to all the users of the enterprise.
+     *
+     * @param userIDs the IDs of the users to crawl.
+     */
+    public void setUserIDs(String... userIDs) {
+        this.userIDs = Arrays.asList(userIDs.clone());
+    }
+
+    /**
+     * Sets the file recording the progress of the crawl. If the file exists, the crawl resumes from it.
+     *
+     * @param checkpointFile the checkpoint file, or null to crawl without one.
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Sets how many folders are listed between two checkpoints. The sink is flushed at every checkpoint. Defaults to
+     * 1000.
+     *
+     * @param checkpointInterval the number of folders listed between two checkpoints.
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be at least 1.");
+        }
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Crawls the folders of the users and writes their items to a sink. The sink is called by one thread at a time.
+     *
+     * @param sink the sink receiving the items.
+     * @return a summary of the crawl.
+     * @throws BoxAPIException if the users couldn't be listed, or the sink or the checkpoint file couldn't be written.
+     */
+    public Summary crawl(RecordSink sink) {
+        Crawl crawl = new Crawl(sink);
+        crawl.resume();
+        crawl.run();
+        return crawl.summary;
+    }
+
+    /**
+     * One run of the crawler.
+     */
+    private final class Crawl {
+        private final RecordSink sink;
+        private final Summary summary = new Summary();
+        private final String requestedFields;
+        // folders left to list when resuming, keyed by user and folder
+        private final Map<String, String[]> resumedFolders = new HashMap<>();
+        // users whose root folder has been queued
+        private final Set<String> seededUsers = new HashSet<>();
+        // folders listed before the crawl was resumed, whose trees are covered by the checkpoint
+        private final LongMap<Boolean> listedFolders = new LongMap<>();
+        private final AtomicLong pending = new AtomicLong();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final Lock sinkLock = new ReentrantLock();
+        private final Lock checkpointLock = new ReentrantLock();
+        private final AtomicInteger listedSinceCheckpoint = new AtomicInteger();
+        private StringBuilder journal = new StringBuilder();
+        private volatile Exception failure;
+
+        Crawl(RecordSink sink) {
+            this.sink = sink;
+            Set<String> requested = new LinkedHashSet<>(Arrays.asList("type", "id", "owned_by"));
+            requested.addAll(BoxInventoryCrawler.this.fields);
+            this.requestedFields = String.join(",", requested);
+        }
+
+        /**
+         * Reads the checkpoint file, if there is one. A folder is left to list if it was queued but not listed.
+         */
+        void resume() {
+            Path file = BoxInventoryCrawler.this.checkpointFile;
+            if (file == null || !Files.exists(file)) {
+                return;
+            }
+
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] record = line.split("\t");
+                    if (record.length != 3) {
+                        // the last line may have been cut off by the interruption
+                        continue;
+                    }
+
+                    String key = record[1] + "/" + record[2];
+                    if (record[0].equals("Q") && !this.isListed(record[2])) {
+                        this.resumedFolders.put(key, new String[] {record[1], record[2]});
+                        if (record[2].equals(ROOT_FOLDER_ID)) {
+                            this.seededUsers.add(record[1]);
+                        }
+                    } else if (record[0].equals("D")) {
+                        this.resumedFolders.remove(key);
+                        if (!record[2].equals(ROOT_FOLDER_ID)) {
+                            this.listedFolders.put(Long.parseLong(record[2]), Boolean.TRUE);
+                        }
+                        this.seededUsers.add(record[1]);
+                    }
+                }
+            } catch (IOException e) {
+                throw new BoxAPIException("Couldn't read the checkpoint file.", e);
+            }
+        }
+
+        void run() {
+            List<String[]> seeds = new ArrayList<>(this.resumedFolders.values());
+            for (String userID : this.users()) {
+                if (this.seededUsers.add(userID)) {
+                    this.record("Q", userID, ROOT_FOLDER_ID);
+                    seeds.add(new String[] {userID, ROOT_FOLDER_ID});
+                }
+            }
+            if (seeds.isEmpty()) {
+                this.finish();
+                return;
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(BoxInventoryCrawler.this.threads);
+            try {
+                this.pending.addAndGet(seeds.size());
+                for (String[] seed : seeds) {
+                    pool.execute(new FolderTask(seed[0], seed[1]));
+                }
+                this.finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.failure = e;
+            } finally {
+                pool.shutdownNow();
+            }
+
+            if (this.failure != null) {
+                this.checkpointQuietly();
+                throw new BoxAPIException("The crawl was stopped.", this.failure);
+            }
+            this.finish();
+        }
+
+        private Iterable<String> users() {
+            if (BoxInventoryCrawler.this.userIDs != null) {
+                return BoxInventoryCrawler.this.userIDs;
+            }
+
+            List<String> ids = new ArrayList<>();
+            for (BoxUser.Info user : BoxUser.getAllEnterpriseUsers(BoxInventoryCrawler.this.api, null, true, null,
+                "id")) {
+                ids.add(user.getID());
+            }
+            return ids;
+        }
+
+        private boolean isListed(String folderID) {
+            return !folderID.equals(ROOT_FOLDER_ID) && this.listedFolders.containsKey(Long.parseLong(folderID));
+        }
+
+        /**
+         * Lists a folder page by page, writes its items and queues its sub-folders.
+         */
+        void list(String userID, String folderID) throws IOException {
+            List<String> subfolders = new ArrayList<>();
+            String marker = null;
+            do {
+                JsonObject page = this.loadPage(userID, folderID, marker);
+                List<JsonObject> items = new ArrayList<>();
+                for (JsonValue value : page.get("entries").asArray()) {
+                    JsonObject entry = value.asObject();
+                    String type = entry.get("type").asString();
+                    String id = entry.get("id").asString();
+                    if (type.equals("folder")) {
+                        if (folderID.equals(ROOT_FOLDER_ID) && !isOwnedBy(entry, userID)) {
+                            continue;
+                        }
+                        if (!this.isListed(id)) {
+                            subfolders.add(id);
+                            this.fork(userID, id);
+                        }
+                    }
+                    items.add(this.project(entry, folderID));
+                }
+                this.write(items);
+
+                JsonValue next = page.get("next_marker");
+                marker = next != null && next.isString() && !next.asString().isEmpty() ? next.asString() : null;
+            } while (marker != null && this.failure == null);
+            if (marker != null) {
+                // the crawl was stopped before the last page, so the folder and its sub-folders stay queued and the
+                // folder is listed again when the crawl is resumed
+                return;
+            }
+
+            this.checkpointLock.lock();
+            try {
+                // the sub-folders are recorded along with their parent, so that a folder that wasn't completely
+                // listed doesn't leave queued sub-folders behind
+                for (String subfolder : subfolders) {
+                    this.record("Q", userID, subfolder);
+                }
+                this.record("D", userID, folderID);
+            } finally {
+                this.checkpointLock.unlock();
+            }
+            this.summary.folders.incrementAndGet();
+            if (this.listedSinceCheckpoint.incrementAndGet() >= BoxInventoryCrawler.this.checkpointInterval) {
+                this.listedSinceCheckpoint.set(0);
+                this.checkpoint();
+            }
+        }
+
+        private JsonObject loadPage(String userID, String folderID, String marker) {
+            QueryStringBuilder query = new QueryStringBuilder()
+                .appendParam("fields", this.requestedFields)
+                .appendParam("limit", DEFAULT_LIMIT)
+                .appendParam("usemarker", "true");
+            if (marker != null) {
+                query.appendParam("marker", marker);
+            }
+
+            URL url = BoxFolder.GET_ITEMS_URL.buildWithQuery(BoxInventoryCrawler.this.api.getBaseURL(),
+                query.toString(), folderID);
+            BoxAPIRequest request = new BoxAPIRequest(BoxInventoryCrawler.this.api, url, "GET");
+            request.addHeader(BoxAPIConnection.AS_USER_HEADER, userID);
+            BoxJSONResponse response = (BoxJSONResponse) request.send();
+            return Json.parse(response.getJSON()).asObject();
+        }
+
+        private JsonObject project(JsonObject entry, String parentID) {
+            JsonObject item = new JsonObject()
+                .add("type", entry.get("type"))
+                .add("id", entry.get("id"))
+                .add("parent_id", parentID);
+            for (String field : BoxInventoryCrawler.this.fields) {
+                JsonValue value = entry.get(field);
+                if (value != null && !field.equals("type") && !field.equals("id")) {
+                    item.add(field, value);
+                }
+            }
+            return item;
+        }
+
+        private void write(List<JsonObject> items) throws IOException {
+            this.sinkLock.lock();
+            try {
+                for (JsonObject item : items) {
+                    this.sink.write(item);
+                }
+            } finally {
+                this.sinkLock.unlock();
+            }
+            this.summary.items.addAndGet(items.size());
+        }
+
+        private void fork(String userID, String folderID) {
+            this.pending.incrementAndGet();
+            new FolderTask(userID, folderID).fork();
+        }
+
+        private void record(String type, String userID, String folderID) {
+            this.checkpointLock.lock();
+            try {
+                this.journal.append(type).append('\t').append(userID).append('\t').append(folderID).append('\n');
+            } finally {
+                this.checkpointLock.unlock();
+            }
+        }
+
+        /**
+         * Flushes the sink and then appends the records of the folders listed since the last checkpoint to the
+         * checkpoint file, so that a folder is only recorded as listed once its items are stored.
+         */
+        private void checkpoint() throws IOException {
+            this.sinkLock.lock();
+            try {
+                this.sink.flush();
+
+                String records;
+                this.checkpointLock.lock();
+                try {
+                    records = this.journal.toString();
+                    this.journal = new StringBuilder();
+                } finally {
+                    this.checkpointLock.unlock();
+                }
+
+                Path file = BoxInventoryCrawler.this.checkpointFile;
+                if (file != null && !records.isEmpty()) {
+                    Files.write(file, records.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+                }
+            } finally {
+                this.sinkLock.unlock();
+            }
+        }
+
+        private void checkpointQuietly() {
+            try {
+                this.checkpoint();
+            } catch (IOException e) {
+                // the crawl has already failed, and the last checkpoint still allows resuming it
+                this.failure.addSuppressed(e);
+            }
+        }
+
+        private void finish() {
+            try {
+                this.checkpoint();
+                Path file = BoxInventoryCrawler.this.checkpointFile;
+                if (file != null && this.summary.failedFolders.isEmpty()) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                throw new BoxAPIException("Couldn't write the checkpoint file.", e);
+            }
+        }
+
+        private final class FolderTask extends RecursiveAction {
+            private static final long serialVersionUID = 4861539752358276342L;
+
+            private final String userID;
+            private final String folderID;
+
+            FolderTask(String userID, String folderID) {
+                this.userID = userID;
+                this.folderID = folderID;
+            }
+
+            @Override
+            protected void compute() {
+                try {
+                    if (Crawl.this.failure == null) {
+                        Crawl.this.list(this.userID, this.folderID);
+                    }
+                } catch (BoxAPIException e) {
+                    // the folder is left unlisted in the checkpoint, so that resuming the crawl lists it again
+                    Crawl.this.summary.failedFolders.add(this.folderID);
+                } catch (IOException | RuntimeException e) {
+                    Crawl.this.failure = e;
+                } finally {
+                    if (Crawl.this.pending.decrementAndGet() == 0) {
+                        Crawl.this.finished.countDown();
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isOwnedBy(JsonObject entry, String userID) {
+        JsonValue owner = entry.get("owned_by");
+        return owner == null || !owner.isObject() || userID.equals(owner.asObject().getString("id", userID));
+    }
+
+    /**
+     * A summary of a crawl.
+     */
+    public static final class Summary {
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong folders = new AtomicLong();
+        private final List<String> failedFolders = Collections.synchronizedList(new ArrayList<String>());
+
+        /**
+         * Gets the number of items written.
+         *
+         * @return the number of items.
+         */
+        public long getItems() {
+            return this.items.get();
+        }
+
+        /**
+         * Gets the number of folders listed, including the root folders of the users.
+         *
+         * @return the number of folders.
+         */
+        public long getFolders() {
+            return this.folders.get();
+        }
+
+        /**
+         * Gets the IDs of the folders that couldn't be listed, e.g. because they were deleted during the crawl. Their
+         * trees are missing from the inventory. They are listed again when the crawl is resumed from its checkpoint
+         * file.
+         *
+         * @return the IDs of the failed folders.
+         */
+        public List<String> getFailedFolders() {
+            synchronized (this.failedFolders) {
+                return new ArrayList<>(this.failedFolders);
+            }
+        }
+    }
+}
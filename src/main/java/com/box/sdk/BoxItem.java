@@ -56,7 +56,8 @@ public abstract class BoxItem extends BoxResource {
     }
 
     /**
-     * Gets an item that was shared with a password-protected shared link.
+     * Gets an item that was shared with a password-protected shared link. If a {@link SharedLinkCache} is set on the
+     * connection, a link that was resolved before is returned from the cache.
      *
      * @param api        the API connection to be used by the shared item.
      * @param sharedLink the shared link to the item.
@@ -65,11 +66,21 @@ public abstract class BoxItem extends BoxResource {
      */
     public static BoxItem.Info getSharedItem(BoxAPIConnection api, String sharedLink, String password) {
         BoxAPIConnection newAPI = new SharedLinkAPIConnection(api, sharedLink, password);
+        SharedLinkCache cache = api.getSharedLinkCache();
+        String cached = cache == null ? null : cache.get(api, sharedLink, password);
+        if (cached != null) {
+            return (BoxItem.Info) BoxResource.parseInfo(newAPI, Json.parse(cached).asObject());
+        }
+
         URL url = SHARED_ITEM_URL_TEMPLATE.build(newAPI.getBaseURL());
         BoxAPIRequest request = new BoxAPIRequest(newAPI, url, "GET");
         BoxJSONResponse response = (BoxJSONResponse) request.send();
-        JsonObject json = Json.parse(response.getJSON()).asObject();
-        return (BoxItem.Info) BoxResource.parseInfo(newAPI, json);
+        String json = response.getJSON();
+        BoxItem.Info info = (BoxItem.Info) BoxResource.parseInfo(newAPI, Json.parse(json).asObject());
+        if (cache != null) {
+            cache.put(api, sharedLink, password, json, info);
+        }
+        return info;
     }
 
     /**
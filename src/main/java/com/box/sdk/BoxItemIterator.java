@@ -4,9 +4,8 @@ import static com.box.sdk.PagingParameters.offset;
 
 import com.eclipsesource.json.JsonObject;
 import java.net.URL;
-import java.util.Iterator;
 
-class BoxItemIterator implements Iterator<BoxItem.Info> {
+class BoxItemIterator implements PagedIterator<BoxItem.Info> {
     private static final long LIMIT = 1000;
 
     private final BoxAPIConnection api;
@@ -32,6 +31,11 @@ class BoxItemIterator implements Iterator<BoxItem.Info> {
         this(api, url, offset(offset, limit));
     }
 
+    private BoxItemIterator(BoxAPIConnection api, JsonIterator iterator) {
+        this.api = api;
+        this.iterator = iterator;
+    }
+
     public boolean hasNext() {
         return this.iterator.hasNext();
     }
@@ -59,6 +63,22 @@ class BoxItemIterator implements Iterator<BoxItem.Info> {
         return nextItemInfo;
     }
 
+    @Override
+    public int remainingInPage() {
+        return this.iterator.remainingInPage();
+    }
+
+    @Override
+    public BoxItemIterator splitPrefix() {
+        JsonIterator prefix = this.iterator.splitPrefix();
+        return prefix == null ? null : new BoxItemIterator(this.api, prefix);
+    }
+
+    @Override
+    public void close() {
+        this.iterator.close();
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
@@ -33,6 +33,21 @@ public class BoxJSONResponse extends BoxAPIResponse {
         super(connection);
     }
 
+    /**
+     * Constructs a BoxJSONResponse using an HttpURLConnection, optionally accepting a 304 Not Modified response.
+     *
+     * @param connection          a connection that has already sent a request to the API.
+     * @param headers             the headers of the response, already read from the connection.
+     * @param notModifiedExpected whether a 304 response is returned rather than thrown.
+     * @param metrics             the metrics receiving the number of bytes of the body, or null if it isn't measured.
+     * @param method              the HTTP method of the request.
+     * @param endpoint            the endpoint of the request.
+     */
+    BoxJSONResponse(HttpURLConnection connection, ResponseHeaders headers, boolean notModifiedExpected,
+                    BoxAPIMetrics metrics, String method, String endpoint) {
+        super(connection, headers, notModifiedExpected, metrics, method, endpoint);
+    }
+
     /**
      * Constructs a BoxAPIResponse with an http response code and response body.
      *
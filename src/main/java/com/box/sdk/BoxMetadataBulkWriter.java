@@ -0,0 +1,476 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes metadata to large numbers of files and folders, such as applying a template to every file of a migration.
+ *
+ * <p>The writes are read from an {@link Iterable} or a {@link Stream} in windows of a fixed number of items. Within a
+ * window, all the writes to the same template instance of the same item are coalesced into one, where a later value
+ * of a field wins over an earlier one, so each instance is written with a single request. The requests of a window
+ * are sent asynchronously, with at most a given number of them in flight, and the next window is read once they have
+ * all finished, so that writes to the same instance in different windows are applied in order. To keep the requests
+ * under a rate budget as well, set an {@link AdaptiveRateLimiter} on the connection.</p>
+ *
+ * <p>An instance is created when it doesn't exist yet and updated otherwise. Instead of always trying to create the
+ * instance first and updating it when the API responds with 409 Conflict, the writer remembers for each template
+ * whether its recent writes found existing instances, and starts with an update when they did, falling back to
+ * creating the instance when the API responds with 404 Not Found. Applying a new template to many items therefore
+ * takes one request per item, and so does updating a template that most items already have.</p>
+ *
+ * <pre>BoxMetadataBulkWriter writer = new BoxMetadataBulkWriter(api, 10);
+ * writer.setListener(result -&gt; {
+ *     if (!result.isSuccess()) {
+ *         ...
+ *     }
+ * });
+ * Metadata values = new Metadata().add("/audience", "all");
+ * BoxMetadataBulkWriter.Summary summary = writer.write(fileIDs.stream()
+ *     .map(id -&gt; BoxMetadataBulkWriter.Write.file(id, "enterprise", "marketingCollateral", values)));</pre>
+ */
+public class BoxMetadataBulkWriter {
+    private static final int DEFAULT_WINDOW_SIZE = 1000;
+    private static final int MAX_SCORE = 8;
+
+    private final BoxAPIConnection api;
+    private final int maxConcurrentRequests;
+    private final ConcurrentMap<String, AtomicInteger> existingInstanceScores = new ConcurrentHashMap<>();
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private Consumer<Result> listener;
+
+    /**
+     * Creates a bulk metadata writer.
+     *
+     * @param api                   the API connection used to write the metadata.
+     * @param maxConcurrentRequests the maximum number of requests in flight at a time.
+     */
+    public BoxMetadataBulkWriter(BoxAPIConnection api, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed in flight.");
+        }
+
+        this.api = api;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Sets the number of template instances read from the writes before they are coalesced and sent. Defaults to 1000.
+     *
+     * @param windowSize the number of template instances in a window.
+     */
+    public void setWindowSize(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("A window must hold at least one template instance.");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Sets a listener notified of the result of every template instance written, e.g. to report progress or failures.
+     * It is called from the threads the requests complete on.
+     *
+     * @param listener the listener, or null to stop notifying.
+     */
+    public void setListener(Consumer<Result> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Writes metadata and waits for all the writes to finish.
+     *
+     * @param writes the writes, read once.
+     * @return a summary of the writes.
+     */
+    public Summary write(Stream<Write> writes) {
+        Iterator<Write> iterator = writes.iterator();
+        return this.write(() -> iterator);
+    }
+
+    /**
+     * Writes metadata and waits for all the writes to finish.
+     *
+     * @param writes the writes, read once.
+     * @return a summary of the writes.
+     */
+    public Summary write(Iterable<Write> writes) {
+        Summary summary = new Summary();
+        Semaphore permits = new Semaphore(this.maxConcurrentRequests);
+        Map<String, Instance> window = new LinkedHashMap<>();
+        for (Write write : writes) {
+            Instance instance = window.get(write.key());
+            if (instance == null) {
+                if (window.size() == this.windowSize) {
+                    this.send(window, permits, summary);
+                    window.clear();
+                }
+                instance = new Instance(write);
+                window.put(write.key(), instance);
+            }
+            instance.merge(write.values);
+        }
+        this.send(window, permits, summary);
+        return summary;
+    }
+
+    private void send(Map<String, Instance> window, Semaphore permits, Summary summary) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(window.size());
+        for (Instance instance : window.values()) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+                throw new BoxAPIException("Interrupted while writing metadata.", e);
+            }
+
+            pending.add(this.writeInstance(instance).handle((metadata, failure) -> {
+                permits.release();
+                Result result = new Result(instance.write, metadata, CompletableFutures.unwrap(failure),
+                    instance.requests.get());
+                summary.add(result);
+                Consumer<Result> resultListener = this.listener;
+                if (resultListener != null) {
+                    resultListener.accept(result);
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private CompletableFuture<Metadata> writeInstance(Instance instance) {
+        String template = instance.write.scope + "/" + instance.write.templateKey;
+        AtomicInteger score = this.existingInstanceScores.computeIfAbsent(template, key -> new AtomicInteger());
+        if (score.get() > 0) {
+            return this.update(instance)
+                .handle((updated, failure) -> {
+                    if (failure == null) {
+                        adjust(score, 1);
+                        return CompletableFuture.completedFuture(updated);
+                    } else if (CompletableFutures.isResponseCode(failure, HttpURLConnection.HTTP_NOT_FOUND)) {
+                        adjust(score, -1);
+                        return this.create(instance);
+                    }
+                    return CompletableFutures.<Metadata>failed(failure);
+                })
+                .thenCompose(Function.identity());
+        }
+
+        return this.create(instance)
+            .handle((created, failure) -> {
+                if (failure == null) {
+                    adjust(score, -1);
+                    return CompletableFuture.completedFuture(created);
+                } else if (CompletableFutures.isResponseCode(failure, HttpURLConnection.HTTP_CONFLICT)) {
+                    adjust(score, 1);
+                    return this.update(instance);
+                }
+                return CompletableFutures.<Metadata>failed(failure);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Metadata> create(Instance instance) {
+        BoxAPIRequest request = new BoxAPIRequest(this.api, instance.write.url(this.api), "POST");
+        request.addHeader("Content-Type", "application/json");
+        request.setBody(instance.createBody().toString());
+        return this.send(instance, request);
+    }
+
+    private CompletableFuture<Metadata> update(Instance instance) {
+        BoxAPIRequest request = new BoxAPIRequest(this.api, instance.write.url(this.api), "PUT");
+        request.addHeader("Content-Type", "application/json-patch+json");
+        request.setBody(instance.patch().toString());
+        return this.send(instance, request);
+    }
+
+    private CompletableFuture<Metadata> send(Instance instance, BoxAPIRequest request) {
+        instance.requests.incrementAndGet();
+        return request.sendAsync()
+            .thenApply(response -> new Metadata(Json.parse(((BoxJSONResponse) response).getJSON()).asObject()));
+    }
+
+    /**
+     * Moves the score of a template towards finding existing instances (positive) or not (negative), within bounds so
+     * that a change in the pattern of writes is picked up after a few writes.
+     */
+    private static void adjust(AtomicInteger score, int delta) {
+        score.updateAndGet(current -> Math.max(-MAX_SCORE, Math.min(MAX_SCORE, current + delta)));
+    }
+
+    /**
+     * The coalesced writes to one template instance of one item.
+     */
+    private static final class Instance {
+        private final Write write;
+        // the field paths in the order they were first written, mapped to their values, or to null when removed
+        private final Map<String, JsonValue> fields = new LinkedHashMap<>();
+        private final AtomicInteger requests = new AtomicInteger();
+
+        Instance(Write write) {
+            this.write = write;
+        }
+
+        void merge(Metadata values) {
+            for (JsonValue operation : values.getOperations()) {
+                JsonObject op = operation.asObject();
+                String path = op.get("path").asString();
+                String name = op.get("op").asString();
+                if (name.equals("add") || name.equals("replace")) {
+                    this.fields.put(path, op.get("value"));
+                } else if (name.equals("remove")) {
+                    this.fields.put(path, null);
+                } else {
+                    throw new IllegalArgumentException("Only add, replace and remove operations can be written.");
+                }
+            }
+        }
+
+        JsonObject createBody() {
+            JsonObject body = new JsonObject();
+            for (Map.Entry<String, JsonValue> field : this.fields.entrySet()) {
+                // removing a field from an instance that doesn't exist yet leaves nothing to remove
+                if (field.getValue() != null) {
+                    body.add(field.getKey().substring(1), field.getValue());
+                }
+            }
+            return body;
+        }
+
+        JsonArray patch() {
+            // a JSON patch add replaces the value of a field that is already set
+            JsonArray patch = new JsonArray();
+            for (Map.Entry<String, JsonValue> field : this.fields.entrySet()) {
+                if (field.getValue() == null) {
+                    patch.add(new JsonObject().add("op", "remove").add("path", field.getKey()));
+                } else {
+                    patch.add(new JsonObject().add("op", "add").add("path", field.getKey()).add("value",
+                        field.getValue()));
+                }
+            }
+            return patch;
+        }
+    }
+
+    /**
+     * A write of metadata values to a template instance of a file or folder.
+     */
+    public static final class Write {
+        private final boolean folder;
+        private final String itemID;
+        private final String scope;
+        private final String templateKey;
+        private final Metadata values;
+
+        private Write(boolean folder, String itemID, String scope, String templateKey, Metadata values) {
+            this.folder = folder;
+            this.itemID = itemID;
+            this.scope = scope;
+            this.templateKey = templateKey;
+            this.values = values;
+        }
+
+        /**
+         * Creates a write to a template instance of a file. The values are taken from the add, replace and remove
+         * operations of the metadata, e.g. {@code new Metadata().add("/audience", "all")}.
+         *
+         * @param fileID      the ID of the file.
+         * @param scope       the scope of the template (usually "global" or "enterprise").
+         * @param templateKey the key of the template.
+         * @param values      the values to write.
+         * @return the write.
+         */
+        public static Write file(String fileID, String scope, String templateKey, Metadata values) {
+            return new Write(false, fileID, scope, templateKey, values);
+        }
+
+        /**
+         * Creates a write to a template instance of a folder. The values are taken from the add, replace and remove
+         * operations of the metadata, e.g. {@code new Metadata().add("/audience", "all")}.
+         *
+         * @param folderID    the ID of the folder.
+         * @param scope       the scope of the template (usually "global" or "enterprise").
+         * @param templateKey the key of the template.
+         * @param values      the values to write.
+         * @return the write.
+         */
+        public static Write folder(String folderID, String scope, String templateKey, Metadata values) {
+            return new Write(true, folderID, scope, templateKey, values);
+        }
+
+        /**
+         * Gets the type of the item written to.
+         *
+         * @return "folder" or "file".
+         */
+        public String getItemType() {
+            return this.folder ? "folder" : "file";
+        }
+
+        /**
+         * Gets the ID of the item written to.
+         *
+         * @return the ID of the item.
+         */
+        public String getItemID() {
+            return this.itemID;
+        }
+
+        /**
+         * Gets the scope of the template written to.
+         *
+         * @return the scope of the template.
+         */
+        public String getScope() {
+            return this.scope;
+        }
+
+        /**
+         * Gets the key of the template written to.
+         *
+         * @return the key of the template.
+         */
+        public String getTemplateKey() {
+            return this.templateKey;
+        }
+
+        String key() {
+            return this.getItemType() + "/" + this.itemID + "/" + this.scope + "/" + this.templateKey;
+        }
+
+        URL url(BoxAPIConnection api) {
+            URLTemplate template = this.folder ? BoxFolder.METADATA_URL_TEMPLATE : BoxFile.METADATA_URL_TEMPLATE;
+            return template.buildAlpha(api.getBaseURL(), this.itemID, this.scope, this.templateKey);
+        }
+    }
+
+    /**
+     * The result of writing to one template instance.
+     */
+    public static final class Result {
+        private final Write write;
+        private final Metadata metadata;
+        private final Throwable error;
+        private final int requests;
+
+        Result(Write write, Metadata metadata, Throwable error, int requests) {
+            this.write = write;
+            this.metadata = metadata;
+            this.error = error;
+            this.requests = requests;
+        }
+
+        /**
+         * Gets the first of the writes that were coalesced into this one. Its item, scope and template key identify
+         * the template instance written to.
+         *
+         * @return the write.
+         */
+        public Write getWrite() {
+            return this.write;
+        }
+
+        /**
+         * Checks whether the template instance was written.
+         *
+         * @return true if the instance was written; otherwise false.
+         */
+        public boolean isSuccess() {
+            return this.error == null;
+        }
+
+        /**
+         * Gets the template instance returned by the API.
+         *
+         * @return the written metadata, or null if the write failed.
+         */
+        public Metadata getMetadata() {
+            return this.metadata;
+        }
+
+        /**
+         * Gets the error the write failed with.
+         *
+         * @return the error, usually a {@link BoxAPIException}, or null if the write succeeded.
+         */
+        public Throwable getError() {
+            return this.error;
+        }
+
+        /**
+         * Gets the number of requests made to write the template instance, which is 2 when the writer's guess whether
+         * the instance existed was wrong.
+         *
+         * @return the number of requests.
+         */
+        public int getRequests() {
+            return this.requests;
+        }
+    }
+
+    /**
+     * A summary of the writes made by {@link BoxMetadataBulkWriter#write(Iterable)}.
+     */
+    public static final class Summary {
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger requests = new AtomicInteger();
+        private final List<Result> failures = Collections.synchronizedList(new ArrayList<Result>());
+
+        void add(Result result) {
+            this.requests.addAndGet(result.requests);
+            if (result.isSuccess()) {
+                this.succeeded.incrementAndGet();
+            } else {
+                this.failures.add(result);
+            }
+        }
+
+        /**
+         * Gets the number of template instances written.
+         *
+         * @return the number of successful writes.
+         */
+        public int getSucceeded() {
+            return this.succeeded.get();
+        }
+
+        /**
+         * Gets the results of the writes that failed.
+         *
+         * @return the failed writes.
+         */
+        public List<Result> getFailures() {
+            synchronized (this.failures) {
+                return new ArrayList<>(this.failures);
+            }
+        }
+
+        /**
+         * Gets the number of requests made.
+         *
+         * @return the number of requests.
+         */
+        public int getRequests() {
+            return this.requests.get();
+        }
+    }
+}
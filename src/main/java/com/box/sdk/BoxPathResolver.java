@@ -0,0 +1,262 @@
+package com.box.sdk;
+
+import static com.box.sdk.PagingParameters.DEFAULT_LIMIT;
+import static com.box.sdk.PagingParameters.marker;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves paths such as {@code /Clients/Acme/2024/Invoices} to the items they lead to, caching the ID of every item
+ * it finds by its name and parent folder.
+ *
+ * <p>Paths are resolved from the root folder, one name at a time. A name that isn't cached yet is looked up by listing
+ * the items of its parent folder page by page, using marker based paging and stopping at the page that contains the
+ * name. All the items on the pages that were listed are cached, so that looking up their siblings doesn't need any
+ * requests either. Resolving a path whose names are all cached doesn't make any request at all. Like in Box, names
+ * are matched regardless of their case.</p>
+ *
+ * <p>The cache holds at most a given number of names and evicts the least recently used one when it's full. Names older
+ * than the time to live are looked up again. To notice sooner when items are renamed, moved or deleted, add the resolver
+ * as a listener of an {@link EventStream}, which makes it forget the names of the items the events are about:</p>
+ *
+ * <pre>BoxPathResolver resolver = new BoxPathResolver(api, 100000, 1, TimeUnit.HOURS);
+ * EventStream stream = new EventStream(api);
+ * stream.addListener(resolver);
+ * stream.start();
+ *
+ * BoxItem invoices = resolver.resolve("/Clients/Acme/2024/Invoices");</pre>
+ */
+public class BoxPathResolver implements EventListener {
+    private static final String[] CHILD_FIELDS = {"type", "id", "name"};
+
+    private final BoxAPIConnection api;
+    private final long timeToLiveNanos;
+    private final Map<String, CachedChild> children;
+    private final Map<String, String> keysByID = new HashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Creates a path resolver with an empty cache.
+     *
+     * @param api        the API connection used to list folders.
+     * @param maxEntries maximum number of names to cache.
+     * @param timeToLive how long a name is cached.
+     * @param unit       the unit of the time to live.
+     */
+    public BoxPathResolver(BoxAPIConnection api, final int maxEntries, long timeToLive, TimeUnit unit) {
+        this.api = api;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.children = new LinkedHashMap<String, CachedChild>(16, 0.75F, true) {
+            private static final long serialVersionUID = -6020913651348791465L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedChild> eldest) {
+                if (size() > maxEntries) {
+                    BoxPathResolver.this.keysByID.remove(eldest.getValue().id, eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Resolves a path to the item it leads to. The path is made of the names of folders separated by slashes, followed
+     * by the name of the item, and starts at the root folder. Empty names are ignored, so {@code /} and the empty path
+     * resolve to the root folder.
+     *
+     * @param path the path of the item.
+     * @return the item, which is a {@link BoxFolder}, {@link BoxFile} or {@link BoxWebLink}, or null if there is no item
+     * at the path.
+     */
+    public BoxItem resolve(String path) {
+        BoxItem item = BoxFolder.getRootFolder(this.api);
+        for (String name : path.split("/")) {
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!(item instanceof BoxFolder)) {
+                return null;
+            }
+
+            String parentID = item.getID();
+            CachedChild child = this.get(parentID, name);
+            if (child == null) {
+                child = this.lookUp(parentID, name);
+                if (child == null) {
+                    return null;
+                }
+            }
+            item = child.toItem(this.api);
+        }
+        return item;
+    }
+
+    /**
+     * Forgets the name of an item, so that it's looked up again by the next path that goes through it.
+     *
+     * @param itemID the ID of the item.
+     */
+    public void invalidate(String itemID) {
+        this.lock.lock();
+        try {
+            String key = this.keysByID.remove(itemID);
+            if (key != null) {
+                this.children.remove(key);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets all the names.
+     */
+    public void invalidateAll() {
+        this.lock.lock();
+        try {
+            this.children.clear();
+            this.keysByID.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets the name of the item an event is about if it was renamed, moved or deleted.
+     *
+     * @param event the received event.
+     */
+    @Override
+    public void onEvent(BoxEvent event) {
+        BoxEvent.EventType type = event.getEventType();
+        if (type != BoxEvent.EventType.ITEM_RENAME && type != BoxEvent.EventType.ITEM_MOVE
+            && type != BoxEvent.EventType.ITEM_TRASH) {
+            return;
+        }
+
+        JsonObject source = event.getSourceJSON();
+        JsonValue id = source == null ? null : source.get("id");
+        if (id != null && id.isString()) {
+            this.invalidate(id.asString());
+        }
+    }
+
+    @Override
+    public void onNextPosition(long position) {
+    }
+
+    /**
+     * Forgets all the names, since events may have been missed.
+     *
+     * @param e the exception that was thrown while waiting for events.
+     * @return false, so that the exception is still passed on to the other listeners.
+     */
+    @Override
+    public boolean onException(Throwable e) {
+        this.invalidateAll();
+        return false;
+    }
+
+    private CachedChild lookUp(String parentID, String name) {
+        // the pages are loaded one at a time rather than through a paged iterator, which could prefetch the pages after
+        // the one containing the name
+        CachedChild found = null;
+        PagingParameters pagingParameters = marker(DEFAULT_LIMIT);
+        do {
+            String query = pagingParameters.asQueryStringBuilder().appendParam("fields", CHILD_FIELDS).toString();
+            URL url = BoxFolder.GET_ITEMS_URL.buildWithQuery(this.api.getBaseURL(), query, parentID);
+            BoxJSONResponse response = (BoxJSONResponse) new BoxAPIRequest(this.api, url, "GET").send();
+            JsonObject page = Json.parse(response.getJSON()).asObject();
+
+            // the rest of the page is cached, since it's already there
+            for (JsonValue entry : page.get("entries").asArray()) {
+                JsonObject item = entry.asObject();
+                String type = item.get("type").asString();
+                if (!type.equals("folder") && !type.equals("file") && !type.equals("web_link")) {
+                    continue;
+                }
+
+                String childName = item.get("name").asString();
+                CachedChild child = new CachedChild(type, item.get("id").asString());
+                this.put(parentID, childName, child);
+                if (found == null && childName.equalsIgnoreCase(name)) {
+                    found = child;
+                }
+            }
+
+            String nextMarker = page.getString("next_marker", null);
+            pagingParameters = nextMarker == null || nextMarker.isEmpty() ? null
+                : pagingParameters.nextMarker(nextMarker);
+        } while (found == null && pagingParameters != null);
+        return found;
+    }
+
+    private CachedChild get(String parentID, String name) {
+        // an access ordered map is modified by get as well, so reads need the lock too
+        this.lock.lock();
+        try {
+            String key = key(parentID, name);
+            CachedChild child = this.children.get(key);
+            if (child != null && System.nanoTime() - child.cachedAt > this.timeToLiveNanos) {
+                this.children.remove(key);
+                this.keysByID.remove(child.id, key);
+                return null;
+            }
+            return child;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void put(String parentID, String name, CachedChild child) {
+        String key = key(parentID, name);
+        this.lock.lock();
+        try {
+            String previousKey = this.keysByID.put(child.id, key);
+            if (previousKey != null && !previousKey.equals(key)) {
+                this.children.remove(previousKey);
+            }
+            this.children.put(key, child);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static String key(String parentID, String name) {
+        // names can't contain slashes, and two items in a folder can't have names that only differ by case
+        return parentID + "/" + name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CachedChild {
+        private final String type;
+        private final String id;
+        private final long cachedAt;
+
+        CachedChild(String type, String id) {
+            this.type = type;
+            this.id = id;
+            this.cachedAt = System.nanoTime();
+        }
+
+        BoxItem toItem(BoxAPIConnection api) {
+            if (this.type.equals("folder")) {
+                return new BoxFolder(api, this.id);
+            } else if (this.type.equals("file")) {
+                return new BoxFile(api, this.id);
+            } else {
+                return new BoxWebLink(api, this.id);
+            }
+        }
+    }
+}
@@ -0,0 +1,635 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory index of the collaborations, group memberships and folder ancestry of one or more folder trees, which
+ * answers questions such as "which role does user X have on folder Y?" without making any request.
+ *
+ * <p>{@link #load(String...)} reads the collaborations of every folder in the given trees and of their ancestors, the
+ * members of every group collaborating on them and the parent of every folder, and keeps them in maps keyed by the
+ * numeric IDs. After that, {@link #getEffectiveRole(String, String)} walks up from a folder to the top of its tree and
+ * returns the highest role the user gets from the owner, from their own collaborations or from the collaborations of
+ * their groups, which takes a few microseconds.</p>
+ *
+ * <p>To keep the index current, add it as a listener of an {@link EventStream}, or feed it the events of the
+ * enterprise event stream. Collaboration events reload the collaborations of their folder, group membership events
+ * reload the members of their group, and created, copied, moved, restored and trashed folders are added to, moved in
+ * or removed from the index:</p>
+ *
+ * <pre>BoxPermissionIndex permissions = new BoxPermissionIndex(api);
+ * permissions.load("11446498");
+ * EventStream stream = new EventStream(api);
+ * stream.addListener(permissions);
+ * stream.start();
+ *
+ * if (permissions.canAccess(userID, folderID)) {
+ *     ...
+ * }</pre>
+ *
+ * <p>Only accepted collaborations are taken into account. Since events can be missed while the event stream is
+ * reconnecting, long running processes should call {@link #load(String...)} again from time to time.</p>
+ */
+public class BoxPermissionIndex implements EventListener {
+    private static final String ROOT_FOLDER_ID = "0";
+    private static final long NO_ID = -1;
+    private static final long[] NO_IDS = new long[0];
+    private static final String[] FOLDER_FIELDS = {"id", "owned_by", "path_collection"};
+    private static final String[] CHILD_FIELDS = {"type", "id", "owned_by"};
+    private static final String[] MEMBERSHIP_FIELDS = {"user", "group"};
+
+    private final BoxAPIConnection api;
+    private final LongMap<FolderNode> folders = new LongMap<>();
+    private final LongMap<long[]> membersByGroup = new LongMap<>();
+    private final LongMap<long[]> groupsByUser = new LongMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates an empty permission index.
+     *
+     * @param api the API connection used to load the folders, collaborations and groups.
+     */
+    public BoxPermissionIndex(BoxAPIConnection api) {
+        this.api = api;
+    }
+
+    /**
+     * Loads the folder trees starting at the given folders, along with the collaborations of their ancestors and the
+     * members of the groups collaborating on them. Folders that are already indexed are loaded again.
+     *
+     * @param folderIDs the IDs of the top folders of the trees.
+     * @return the number of folders loaded.
+     */
+    public int load(String... folderIDs) {
+        List<Long> groups = new ArrayList<>();
+        int loaded = 0;
+        for (String folderID : folderIDs) {
+            BoxFolder.Info info = new BoxFolder(this.api, folderID).getInfo(FOLDER_FIELDS);
+            long ownerID = ownerOf(info);
+
+            // everything in a folder tree belongs to the owner of its top folder, so the ancestors share the owner
+            long parentID = NO_ID;
+            for (BoxFolder.Info ancestor : info.getPathCollection()) {
+                if (!ancestor.getID().equals(ROOT_FOLDER_ID)) {
+                    this.loadFolder(ancestor.getID(), parentID, ownerID, groups);
+                    loaded++;
+                }
+                parentID = id(ancestor.getID());
+            }
+            loaded += this.loadTree(folderID, parentID, ownerID, groups);
+        }
+        this.loadMissingGroups(groups);
+        return loaded;
+    }
+
+    /**
+     * Gets the highest role a user has on a folder, either as its owner or through the collaborations on the folder
+     * and its ancestors.
+     *
+     * @param userID   the ID of the user.
+     * @param folderID the ID of the folder.
+     * @return the role of the user, or null if the user has no access to the folder or the folder isn't indexed.
+     */
+    public BoxCollaboration.Role getEffectiveRole(String userID, String folderID) {
+        long user = id(userID);
+        this.lock.readLock().lock();
+        try {
+            long[] userGroups = this.groupsByUser.get(user);
+            if (userGroups == null) {
+                userGroups = NO_IDS;
+            }
+
+            BoxCollaboration.Role best = null;
+            FolderNode node = this.folders.get(id(folderID));
+            // bounds the walk, in case events arrived in an order that briefly made a folder its own ancestor
+            for (int depth = this.folders.size(); node != null && depth > 0; depth--) {
+                if (node.ownerID == user) {
+                    return BoxCollaboration.Role.OWNER;
+                }
+                best = higher(best, node.roleOf(user, userGroups));
+                node = node.parentID == NO_ID ? null : this.folders.get(node.parentID);
+            }
+            return best;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a user has any role on a folder.
+     *
+     * @param userID   the ID of the user.
+     * @param folderID the ID of the folder.
+     * @return true if the user has a role on the folder; otherwise false.
+     */
+    public boolean canAccess(String userID, String folderID) {
+        return this.getEffectiveRole(userID, folderID) != null;
+    }
+
+    /**
+     * Checks whether a folder is in the index.
+     *
+     * @param folderID the ID of the folder.
+     * @return true if the folder is indexed; otherwise false.
+     */
+    public boolean isIndexed(String folderID) {
+        this.lock.readLock().lock();
+        try {
+            return this.folders.containsKey(id(folderID));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of folders in the index.
+     *
+     * @return the number of indexed folders.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.folders.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all the folders and groups from the index.
+     */
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.folders.clear();
+            this.membersByGroup.clear();
+            this.groupsByUser.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the index for collaboration, group membership and folder events about indexed folders and groups.
+     *
+     * @param event the received event.
+     */
+    @Override
+    public void onEvent(BoxEvent event) {
+        JsonObject source = event.getSourceJSON();
+        if (event.getEventType() == null || source == null) {
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case COLLAB_ADD_COLLABORATOR:
+            case COLLAB_ROLE_CHANGE:
+            case COLLAB_REMOVE_COLLABORATOR:
+            case COLLABORATION_ACCEPT:
+            case COLLABORATION_ROLE_CHANGE:
+            case COLLABORATION_REMOVE:
+            case COLLABORATION_EXPIRATION:
+                this.onCollaborationChanged(source);
+                break;
+            case GROUP_ADD_USER:
+            case GROUP_REMOVE_USER:
+                this.onMembershipChanged(source);
+                break;
+            case GROUP_DELETION:
+                this.onGroupDeleted(source);
+                break;
+            case ITEM_CREATE:
+            case ITEM_COPY:
+            case ITEM_UNDELETE_VIA_TRASH:
+                this.onFolderAdded(source);
+                break;
+            case ITEM_MOVE:
+                this.onFolderMoved(source);
+                break;
+            case ITEM_TRASH:
+                this.onFolderTrashed(source);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onNextPosition(long position) {
+    }
+
+    @Override
+    public boolean onException(Throwable e) {
+        return false;
+    }
+
+    private void onCollaborationChanged(JsonObject source) {
+        String folderID = itemID(source, "folder");
+        FolderNode node = folderID == null ? null : this.folder(id(folderID));
+        if (node != null) {
+            List<Long> groups = new ArrayList<>();
+            this.loadFolder(folderID, node.parentID, node.ownerID, groups);
+            this.loadMissingGroups(groups);
+        }
+    }
+
+    private void onMembershipChanged(JsonObject source) {
+        String groupID = groupID(source);
+        if (groupID == null) {
+            return;
+        }
+
+        boolean indexed;
+        this.lock.readLock().lock();
+        try {
+            indexed = this.membersByGroup.containsKey(id(groupID));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        if (indexed) {
+            this.loadGroup(id(groupID));
+        }
+    }
+
+    private void onGroupDeleted(JsonObject source) {
+        String groupID = groupID(source);
+        if (groupID != null) {
+            this.lock.writeLock().lock();
+            try {
+                this.setMembers(id(groupID), NO_IDS);
+                this.membersByGroup.remove(id(groupID));
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void onFolderAdded(JsonObject source) {
+        String folderID = itemID(source, "folder");
+        String parentID = parentID(source);
+        FolderNode parent = parentID == null ? null : this.folder(id(parentID));
+        if (folderID != null && parent != null) {
+            List<Long> groups = new ArrayList<>();
+            this.loadTree(folderID, id(parentID), parent.ownerID, groups);
+            this.loadMissingGroups(groups);
+        }
+    }
+
+    private void onFolderMoved(JsonObject source) {
+        String folderID = itemID(source, "folder");
+        String parentID = parentID(source);
+        if (folderID == null || parentID == null) {
+            return;
+        }
+        if (!this.isIndexed(folderID)) {
+            // a folder moved into an indexed tree is loaded like a new one
+            this.onFolderAdded(source);
+            return;
+        }
+
+        long moved = id(folderID);
+        this.lock.writeLock().lock();
+        try {
+            List<Long> subtree = this.subtree(moved);
+            FolderNode parent = this.folders.get(id(parentID));
+            for (long id : subtree) {
+                FolderNode node = this.folders.get(id);
+                if (parent == null) {
+                    // moved out of the indexed trees
+                    this.folders.remove(id);
+                } else {
+                    // the moved folders now belong to the owner of the tree they were moved to
+                    this.folders.put(id, node.movedTo(id == moved ? parent.id : node.parentID, parent.ownerID));
+                }
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void onFolderTrashed(JsonObject source) {
+        String folderID = itemID(source, "folder");
+        if (folderID == null) {
+            return;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            // trashing a folder trashes everything in it as well
+            for (long id : this.subtree(id(folderID))) {
+                this.folders.remove(id);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the IDs of an indexed folder and of all the indexed folders below it, or nothing if the folder isn't
+     * indexed. Must be called while holding the lock.
+     */
+    private List<Long> subtree(long top) {
+        List<Long> subtree = new ArrayList<>();
+        if (!this.folders.containsKey(top)) {
+            return subtree;
+        }
+        for (long candidate : this.folders.keys()) {
+            FolderNode node = this.folders.get(candidate);
+            for (int depth = this.folders.size(); node != null && depth > 0; depth--) {
+                if (node.id == top) {
+                    subtree.add(candidate);
+                    break;
+                }
+                node = node.parentID == NO_ID ? null : this.folders.get(node.parentID);
+            }
+        }
+        return subtree;
+    }
+
+    private int loadTree(String folderID, long parentID, long ownerID, List<Long> groups) {
+        int loaded = 0;
+        // pairs of folder and parent IDs, walked breadth first
+        Deque<long[]> pending = new ArrayDeque<>();
+        pending.add(new long[] {id(folderID), parentID});
+        while (!pending.isEmpty()) {
+            long[] next = pending.poll();
+            String nextID = Long.toString(next[0]);
+            this.loadFolder(nextID, next[1], ownerID, groups);
+            loaded++;
+            for (BoxItem.Info child : new BoxFolder(this.api, nextID).getChildren(CHILD_FIELDS)) {
+                if (child instanceof BoxFolder.Info) {
+                    pending.add(new long[] {id(child.getID()), next[0]});
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private void loadFolder(String folderID, long parentID, long ownerID, List<Long> groups) {
+        List<Long> users = new ArrayList<>();
+        List<BoxCollaboration.Role> userRoles = new ArrayList<>();
+        List<Long> groupGrants = new ArrayList<>();
+        List<BoxCollaboration.Role> groupRoles = new ArrayList<>();
+        for (BoxCollaboration.Info collaboration : new BoxFolder(this.api, folderID).getCollaborations()) {
+            BoxCollaborator.Info collaborator = collaboration.getAccessibleBy();
+            if (collaborator == null || collaboration.getRole() == null
+                || collaboration.getStatus() != BoxCollaboration.Status.ACCEPTED) {
+                continue;
+            }
+
+            long collaboratorID = id(collaborator.getID());
+            if (collaborator instanceof BoxGroup.Info) {
+                groupGrants.add(collaboratorID);
+                groupRoles.add(collaboration.getRole());
+                groups.add(collaboratorID);
+            } else {
+                users.add(collaboratorID);
+                userRoles.add(collaboration.getRole());
+            }
+        }
+
+        long id = id(folderID);
+        FolderNode node = new FolderNode(id, parentID, ownerID, flatten(users),
+            userRoles.toArray(new BoxCollaboration.Role[0]), flatten(groupGrants),
+            groupRoles.toArray(new BoxCollaboration.Role[0]));
+        this.lock.writeLock().lock();
+        try {
+            this.folders.put(id, node);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void loadMissingGroups(List<Long> groups) {
+        for (long groupID : groups) {
+            boolean loaded;
+            this.lock.readLock().lock();
+            try {
+                loaded = this.membersByGroup.containsKey(groupID);
+            } finally {
+                this.lock.readLock().unlock();
+            }
+            if (!loaded) {
+                this.loadGroup(groupID);
+            }
+        }
+    }
+
+    private void loadGroup(long groupID) {
+        List<Long> members = new ArrayList<>();
+        BoxGroup group = new BoxGroup(this.api, Long.toString(groupID));
+        for (BoxGroupMembership.Info membership : group.getAllMemberships(MEMBERSHIP_FIELDS)) {
+            if (membership.getUser() != null) {
+                members.add(id(membership.getUser().getID()));
+            }
+        }
+
+        long[] memberIDs = flatten(members);
+        Arrays.sort(memberIDs);
+        this.lock.writeLock().lock();
+        try {
+            this.setMembers(groupID, memberIDs);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the members of a group and updates the groups of the users who joined or left it. Must be called while
+     * holding the write lock.
+     */
+    private void setMembers(long groupID, long[] members) {
+        long[] previous = this.membersByGroup.put(groupID, members);
+        if (previous != null) {
+            for (long user : previous) {
+                if (Arrays.binarySearch(members, user) < 0) {
+                    long[] userGroups = without(this.groupsByUser.get(user), groupID);
+                    if (userGroups.length == 0) {
+                        this.groupsByUser.remove(user);
+                    } else {
+                        this.groupsByUser.put(user, userGroups);
+                    }
+                }
+            }
+        }
+        for (long user : members) {
+            if (previous == null || Arrays.binarySearch(previous, user) < 0) {
+                this.groupsByUser.put(user, with(this.groupsByUser.get(user), groupID));
+            }
+        }
+    }
+
+    private FolderNode folder(long folderID) {
+        this.lock.readLock().lock();
+        try {
+            return this.folders.get(folderID);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static long[] with(long[] ids, long id) {
+        if (ids == null) {
+            return new long[] {id};
+        }
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return result;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        if (ids == null) {
+            return NO_IDS;
+        }
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+
+    private static long[] flatten(List<Long> ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    private static long ownerOf(BoxItem.Info info) {
+        return info.getOwnedBy() == null ? NO_ID : id(info.getOwnedBy().getID());
+    }
+
+    private static long id(String id) {
+        return Long.parseLong(id);
+    }
+
+    /**
+     * Gets the ID of the item an event is about if it has the given type. Events from the user event stream describe
+     * the item with its type and id, while events from the enterprise event stream use item_type and item_id.
+     */
+    private static String itemID(JsonObject source, String type) {
+        if (type.equals(string(source, "type"))) {
+            return string(source, "id");
+        } else if (type.equals(string(source, "item_type"))) {
+            return string(source, "item_id");
+        }
+        return null;
+    }
+
+    /**
+     * Gets the ID of the group an event is about. Group membership events from the enterprise event stream describe the
+     * group with group_id, while other events describe it with its type and id.
+     */
+    private static String groupID(JsonObject source) {
+        String groupID = string(source, "group_id");
+        if (groupID == null && "group".equals(string(source, "type"))) {
+            groupID = string(source, "id");
+        }
+        return groupID;
+    }
+
+    private static String parentID(JsonObject source) {
+        JsonValue parent = source.get("parent");
+        return parent != null && parent.isObject() ? string(parent.asObject(), "id") : null;
+    }
+
+    private static String string(JsonObject json, String name) {
+        JsonValue value = json.get(name);
+        return value != null && value.isString() ? value.asString() : null;
+    }
+
+    private static BoxCollaboration.Role higher(BoxCollaboration.Role a, BoxCollaboration.Role b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        }
+        return rank(b) > rank(a) ? b : a;
+    }
+
+    /**
+     * Ranks the roles by the access they give, from the least to the most.
+     */
+    private static int rank(BoxCollaboration.Role role) {
+        switch (role) {
+            case UPLOADER:
+                return 1;
+            case PREVIEWER:
+                return 2;
+            case PREVIEWER_UPLOADER:
+                return 3;
+            case VIEWER:
+                return 4;
+            case VIEWER_UPLOADER:
+                return 5;
+            case EDITOR:
+                return 6;
+            case CO_OWNER:
+                return 7;
+            case OWNER:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    private static final class FolderNode {
+        private final long id;
+        private final long parentID;
+        private final long ownerID;
+        private final long[] users;
+        private final BoxCollaboration.Role[] userRoles;
+        private final long[] groups;
+        private final BoxCollaboration.Role[] groupRoles;
+
+        FolderNode(long id, long parentID, long ownerID, long[] users, BoxCollaboration.Role[] userRoles,
+                   long[] groups, BoxCollaboration.Role[] groupRoles) {
+            this.id = id;
+            this.parentID = parentID;
+            this.ownerID = ownerID;
+            this.users = users;
+            this.userRoles = userRoles;
+            this.groups = groups;
+            this.groupRoles = groupRoles;
+        }
+
+        FolderNode movedTo(long newParentID, long newOwnerID) {
+            return new FolderNode(this.id, newParentID, newOwnerID, this.users, this.userRoles, this.groups,
+                this.groupRoles);
+        }
+
+        BoxCollaboration.Role roleOf(long user, long[] userGroups) {
+            BoxCollaboration.Role best = null;
+            for (int i = 0; i < this.users.length; i++) {
+                if (this.users[i] == user) {
+                    best = higher(best, this.userRoles[i]);
+                }
+            }
+            for (int i = 0; i < this.groups.length; i++) {
+                if (Arrays.binarySearch(userGroups, this.groups[i]) >= 0) {
+                    best = higher(best, this.groupRoles[i]);
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -8,13 +8,18 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 
 /**
  * Common implementation for paging support.
  *
+ * <p>When the connection has a page prefetch depth, the pages are fetched ahead of the iterator on a background thread
+ * once it is first asked for an entry. Close the iterable when its entries aren't all read, to stop fetching pages and
+ * release the thread.</p>
+ *
  * @param <T> type of iterated entity
  */
-public abstract class BoxResourceIterable<T> implements Iterable<T> {
+public abstract class BoxResourceIterable<T> implements Iterable<T>, AutoCloseable {
 
     /**
      * Parameter for max page size.
@@ -126,6 +131,19 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
         return this.iterator;
     }
 
+    /**
+     * Creates a spliterator over the remaining {@link BoxResource}-s that splits at page boundaries: while the
+     * spliterator keeps following the markers, every fetched page is handed out as a whole, so the items of a page can
+     * be processed by a parallel stream while the next page is being fetched.
+     *
+     * @return spliterator implementation
+     * @see Iterable#spliterator()
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new PageSpliterator<>(this.iterator);
+    }
+
     /**
      * Builds internal read-only iterator over {@link BoxResource}-s.
      *
@@ -136,10 +154,39 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
         return this.iterator.markerNext;
     }
 
+    /**
+     * Stops fetching pages, including the pages being fetched ahead of the iterator. The iterator doesn't return any
+     * more entries afterwards.
+     */
+    @Override
+    public void close() {
+        this.iterator.close();
+    }
+
     /**
      * Paging implementation.
      */
-    private class IteratorImpl implements Iterator<T> {
+    private class IteratorImpl implements PagedIterator<T> {
+
+        /**
+         * Loads the pages requested by this iterator.
+         */
+        private final MarkerPageLoader loader;
+
+        /**
+         * Fetches pages ahead of this iterator, null when prefetching is disabled or hasn't started yet.
+         */
+        private PagePrefetcher<String> prefetcher;
+
+        /**
+         * Whether the iterator has been asked for an entry, which starts prefetching.
+         */
+        private boolean started;
+
+        /**
+         * Whether the iterator has been closed.
+         */
+        private boolean closed;
 
         /**
          * Base 64 encoded string that represents where the paging should being. It should be left blank to begin
@@ -157,11 +204,6 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
          */
         private int pageCursor;
 
-        /**
-         * The body to include in the request.
-         */
-        private JsonObject body;
-
         /**
          * Constructor.
          *
@@ -169,53 +211,39 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
          * @param body Request body
          */
         IteratorImpl(String marker, JsonObject body) {
-            this.markerNext = marker;
-            this.body = body;
-            this.loadNextPage();
+            BoxAPIConnection api = BoxResourceIterable.this.api;
+            this.loader = new MarkerPageLoader(api, BoxResourceIterable.this.url, BoxResourceIterable.this.limit,
+                body);
+            this.setPage(this.loader.load(marker));
         }
 
         /**
-         * Loads next page.
+         * Starts prefetching the pages following the current one, unless prefetching is disabled.
          */
-        private void loadNextPage() {
-            String existingQuery = BoxResourceIterable.this.url.getQuery();
-            QueryStringBuilder builder = new QueryStringBuilder(existingQuery);
-            builder.appendParam(PARAMETER_LIMIT, BoxResourceIterable.this.limit);
-            if (this.markerNext != null) {
-                if (this.body != null) {
-                    this.body.set("marker", this.markerNext);
-                } else {
-                    builder.appendParam(PARAMETER_MARKER, this.markerNext);
-                }
-            }
-
-            URL url;
-            try {
-                url = builder.replaceQuery(BoxResourceIterable.this.url);
-            } catch (MalformedURLException e) {
-                throw new BoxAPIException("Couldn't append a query string to the provided URL.");
-            }
-
-            BoxAPIRequest request;
-            if (this.body != null) {
-                request = new BoxAPIRequest(BoxResourceIterable.this.api, url, "POST");
-                request.setBody(this.body.toString());
-                request.addHeader("Content-Type", "application/json");
-            } else {
-                request = new BoxAPIRequest(BoxResourceIterable.this.api, url, "GET");
+        private void startPrefetching() {
+            this.started = true;
+            BoxAPIConnection api = BoxResourceIterable.this.api;
+            int prefetchDepth = api.getPagePrefetchDepth();
+            if (prefetchDepth > 0 && this.markerNext != null) {
+                this.prefetcher = new PagePrefetcher<>(api.getPagePrefetchExecutor(), prefetchDepth, this.markerNext,
+                    this.loader, this);
             }
+        }
 
-            BoxJSONResponse response = (BoxJSONResponse) request.send();
-            JsonObject pageBody = Json.parse(response.getJSON()).asObject();
-
-            JsonValue markerNextValue = pageBody.get(BODY_PARAMETER_MARKER_NEXT);
-            if (markerNextValue != null && markerNextValue.isString()) {
-                this.markerNext = markerNextValue.asString();
+        /**
+         * Loads next page.
+         */
+        private void loadNextPage() {
+            if (this.prefetcher != null) {
+                this.setPage(this.prefetcher.next());
             } else {
-                this.markerNext = null;
+                this.setPage(this.loader.load(this.markerNext));
             }
+        }
 
-            this.page = pageBody.get(BODY_PARAMETER_ENTRIES).asArray();
+        private void setPage(PagePrefetcher.Page<String> loadedPage) {
+            this.markerNext = loadedPage.getNextKey();
+            this.page = loadedPage.getEntries();
             this.pageCursor = 0;
         }
 
@@ -224,10 +252,13 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
          */
         @Override
         public boolean hasNext() {
+            if (!this.started && !this.closed) {
+                this.startPrefetching();
+            }
             if (this.pageCursor < this.page.size()) {
                 return true;
             }
-            if (this.markerNext == null || this.markerNext.isEmpty()) {
+            if (this.markerNext == null || this.closed) {
                 return false;
             }
             this.loadNextPage();
@@ -247,6 +278,38 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
             return BoxResourceIterable.this.factory(entry);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int remainingInPage() {
+            return this.page.size() - this.pageCursor;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            this.closed = true;
+            if (this.prefetcher != null) {
+                this.prefetcher.cancel();
+                this.prefetcher = null;
+            }
+            this.page = new JsonArray();
+            this.pageCursor = 0;
+        }
+
+        /**
+         * Marker based pages can only be fetched one after the other, so the remaining pages can't be split.
+         *
+         * @return null
+         */
+        @Override
+        public PagedIterator<T> splitPrefix() {
+            return null;
+        }
+
         /**
          * @throws UnsupportedOperationException
          */
@@ -256,4 +319,66 @@ public abstract class BoxResourceIterable<T> implements Iterable<T> {
         }
     }
 
+    /**
+     * Loads single pages of a marker based endpoint. It doesn't reference the iterator, so that the iterator can be
+     * collected while pages are still being prefetched for it.
+     */
+    private static final class MarkerPageLoader implements PagePrefetcher.PageLoader<String> {
+        private final BoxAPIConnection api;
+        private final String firstPageURL;
+        private final JsonObject body;
+
+        MarkerPageLoader(BoxAPIConnection api, URL url, int limit, JsonObject body) {
+            this.api = api;
+            this.body = body;
+
+            QueryStringBuilder builder = new QueryStringBuilder(url.getQuery());
+            builder.appendParam(PARAMETER_LIMIT, limit);
+            try {
+                this.firstPageURL = builder.replaceQuery(url).toString();
+            } catch (MalformedURLException e) {
+                throw new BoxAPIException("Couldn't append a query string to the provided URL.");
+            }
+        }
+
+        @Override
+        public PagePrefetcher.Page<String> load(String marker) {
+            URL url;
+            try {
+                if (marker == null || this.body != null) {
+                    url = new URL(this.firstPageURL);
+                } else {
+                    url = QueryStringBuilder.appendToQuery(this.firstPageURL, PARAMETER_MARKER, marker);
+                }
+            } catch (MalformedURLException e) {
+                throw new BoxAPIException("Couldn't append a query string to the provided URL.");
+            }
+
+            BoxAPIRequest request;
+            if (this.body != null) {
+                // the pages may be loaded by a prefetching thread, so the marker is set on a copy of the body instead
+                // of the body shared by all the pages
+                JsonObject requestBody = this.body;
+                if (marker != null) {
+                    requestBody = new JsonObject(this.body).set("marker", marker);
+                }
+                request = new BoxAPIRequest(this.api, url, "POST");
+                request.setBody(requestBody.toString());
+                request.addHeader("Content-Type", "application/json");
+            } else {
+                request = new BoxAPIRequest(this.api, url, "GET");
+            }
+
+            BoxJSONResponse response = (BoxJSONResponse) request.send();
+            JsonObject pageBody = Json.parse(response.getJSON()).asObject();
+
+            String markerNext = null;
+            JsonValue markerNextValue = pageBody.get(BODY_PARAMETER_MARKER_NEXT);
+            if (markerNextValue != null && markerNextValue.isString() && !markerNextValue.asString().isEmpty()) {
+                markerNext = markerNextValue.asString();
+            }
+
+            return new PagePrefetcher.Page<>(pageBody.get(BODY_PARAMETER_ENTRIES).asArray(), markerNext);
+        }
+    }
 }
@@ -5,6 +5,9 @@ import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents search on Box. This class can be used to search through your box instance.
@@ -20,6 +23,7 @@ public class BoxSearch {
      * Search URL Template.
      */
     public static final URLTemplate SEARCH_URL_TEMPLATE = new URLTemplate("search");
+    private static final long MAX_PAGE_SIZE = 200;
     private final BoxAPIConnection api;
 
     /**
@@ -61,6 +65,48 @@ public class BoxSearch {
         return results;
     }
 
+    /**
+     * Searches all descendant folders using a given query and query parameters with several concurrent requests. The
+     * first page reports how many results there are, so the remaining pages of the range are requested concurrently.
+     * The results are returned in the same order as {@link #searchRange(long, long, BoxSearchParameters)} returns them.
+     *
+     * @param offset                is the starting position.
+     * @param limit                 the maximum number of items to return, which can exceed the maximum page size of
+     *                              200. Use {@link Long#MAX_VALUE} to return all the results after the offset.
+     * @param bsp                   containing query and advanced search capabilities.
+     * @param maxConcurrentRequests the maximum number of page requests in flight.
+     * @return a PartialCollection containing the search results.
+     */
+    public PartialCollection<BoxItem.Info> searchRange(long offset, long limit, final BoxSearchParameters bsp,
+                                                       int maxConcurrentRequests) {
+        final List<BoxItem.Info> items = new ArrayList<>();
+        long fullSize = this.searchRangeFetcher(bsp, maxConcurrentRequests).fetch(offset, limit, true,
+            jsonObject -> this.acceptResult(jsonObject, items::add));
+
+        PartialCollection<BoxItem.Info> results = new PartialCollection<>(offset, limit, fullSize);
+        results.addAll(items);
+        return results;
+    }
+
+    /**
+     * Searches all descendant folders using a given query and query parameters with several concurrent requests and
+     * passes every result to an action as soon as its page arrives. The action is called on the calling thread, but
+     * the results are passed in no particular order, which keeps all the allowed requests busy.
+     *
+     * @param offset                is the starting position.
+     * @param limit                 the maximum number of items to return. Use {@link Long#MAX_VALUE} to return all the
+     *                              results after the offset.
+     * @param bsp                   containing query and advanced search capabilities.
+     * @param maxConcurrentRequests the maximum number of page requests in flight.
+     * @param action                the action receiving the search results.
+     * @return the total number of search results.
+     */
+    public long forEachResultInRange(long offset, long limit, final BoxSearchParameters bsp, int maxConcurrentRequests,
+                                     final Consumer<BoxItem.Info> action) {
+        return this.searchRangeFetcher(bsp, maxConcurrentRequests).fetch(offset, limit, false,
+            jsonObject -> this.acceptResult(jsonObject, action));
+    }
+
     /**
      * Searches all descendant folders using a given query and query parameters.
      *
@@ -92,6 +138,18 @@ public class BoxSearch {
         return results;
     }
 
+    private OffsetRangeFetcher searchRangeFetcher(BoxSearchParameters bsp, int maxConcurrentRequests) {
+        URL url = SEARCH_URL_TEMPLATE.buildWithQuery(this.getAPI().getBaseURL(), bsp.getQueryParameters().toString());
+        return new OffsetRangeFetcher(this.getAPI(), url, MAX_PAGE_SIZE, maxConcurrentRequests);
+    }
+
+    private void acceptResult(JsonObject jsonObject, Consumer<BoxItem.Info> action) {
+        BoxItem.Info parsedItemInfo = (BoxItem.Info) BoxResource.parseInfo(this.getAPI(), jsonObject);
+        if (parsedItemInfo != null) {
+            action.accept(parsedItemInfo);
+        }
+    }
+
     /**
      * Gets the API connection used by this resource.
      *
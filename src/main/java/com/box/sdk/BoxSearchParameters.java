@@ -338,6 +338,31 @@ public class BoxSearchParameters {
         this.direction = direction;
     }
 
+    /**
+     * Copies these parameters, e.g. to narrow the copy down to a slice of the results.
+     *
+     * @return a copy of these parameters sharing their lists, ranges and metadata filter.
+     */
+    BoxSearchParameters copy() {
+        BoxSearchParameters copy = new BoxSearchParameters(this.query);
+        copy.fields = this.fields;
+        copy.scope = this.scope;
+        copy.fileExtensions = this.fileExtensions;
+        copy.createdRange = this.createdRange;
+        copy.updatedRange = this.updatedRange;
+        copy.sizeRange = this.sizeRange;
+        copy.ownerUserIds = this.ownerUserIds;
+        copy.ancestorFolderIds = this.ancestorFolderIds;
+        copy.contentTypes = this.contentTypes;
+        copy.type = this.type;
+        copy.trashContent = this.trashContent;
+        copy.metadataFilter = this.metadataFilter;
+        copy.sort = this.sort;
+        copy.direction = this.direction;
+        copy.includeRecentSharedLinks = this.includeRecentSharedLinks;
+        return copy;
+    }
+
     /**
      * Checks String to see if the parameter is null.
      *
@@ -0,0 +1,458 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Finds all the results of a search, however many there are, such as the items of an e-discovery export.
+ *
+ * <p>The search endpoint only returns results up to an offset of {@value #MAX_OFFSET}, so a single search can't page
+ * through more results than that. A scan splits the search into slices, by the date the items were created or
+ * updated, by their size or by their ancestor folder, and searches the slices with several concurrent requests. When a
+ * slice still has more results than can be paged through, it is split in two halves of its date or size range, until
+ * every slice fits. The results of all the slices are merged, and an item found in more than one slice is only passed
+ * on once.</p>
+ *
+ * <pre>BoxSearchParameters parameters = new BoxSearchParameters("contract");
+ * BoxSearchScan scan = new BoxSearchScan(api, parameters, 8);
+ * scan.sliceByCreatedAt(from, to, 16);
+ * BoxSearchScan.Summary summary = scan.scan(item -&gt; export(item));
+ * if (!summary.isComplete()) {
+ *     ...
+ * }</pre>
+ */
+public class BoxSearchScan {
+    /**
+     * The highest offset the search endpoint accepts.
+     */
+    public static final int MAX_OFFSET = 10000;
+
+    private static final long MAX_PAGE_SIZE = 200;
+    private static final long DAY_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    private final BoxAPIConnection api;
+    private final BoxSearchParameters parameters;
+    private final int maxConcurrentRequests;
+    private Dimension dimension = Dimension.CREATED_AT;
+    private long from = -1;
+    private long to = -1;
+    private int slices = 1;
+    private List<String> ancestorFolderIDs = Collections.emptyList();
+    private long maxResultsPerSlice = MAX_OFFSET;
+
+    /**
+     * Creates a scan of a search. Unless it is sliced otherwise, the search is only split by the date the items were
+     * created when it has too many results.
+     *
+     * @param api                   the API connection used to search.
+     * @param parameters            the search parameters, which aren't changed by the scan.
+     * @param maxConcurrentRequests the maximum number of search requests in flight.
+     */
+    public BoxSearchScan(BoxAPIConnection api, BoxSearchParameters parameters, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one concurrent request must be allowed.");
+        }
+
+        this.api = api;
+        this.parameters = parameters;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Slices the search by the date the items were created.
+     *
+     * @param from   the earliest creation date to search.
+     * @param to     the latest creation date to search.
+     * @param slices the number of slices of equal length to start with.
+     */
+    public void sliceByCreatedAt(Date from, Date to, int slices) {
+        this.slice(Dimension.CREATED_AT, TimeUnit.MILLISECONDS.toSeconds(from.getTime()),
+            TimeUnit.MILLISECONDS.toSeconds(to.getTime()), slices);
+    }
+
+    /**
+     * Slices the search by the date the items were last updated.
+     *
+     * @param from   the earliest update date to search.
+     * @param to     the latest update date to search.
+     * @param slices the number of slices of equal length to start with.
+     */
+    public void sliceByUpdatedAt(Date from, Date to, int slices) {
+        this.slice(Dimension.UPDATED_AT, TimeUnit.MILLISECONDS.toSeconds(from.getTime()),
+            TimeUnit.MILLISECONDS.toSeconds(to.getTime()), slices);
+    }
+
+    /**
+     * Slices the search by the size of the items.
+     *
+     * @param lowerBoundBytes the smallest size to search.
+     * @param upperBoundBytes the largest size to search.
+     * @param slices          the number of slices of equal size ranges to start with.
+     */
+    public void sliceBySize(int lowerBoundBytes, int upperBoundBytes, int slices) {
+        this.slice(Dimension.SIZE, lowerBoundBytes, upperBoundBytes, slices);
+    }
+
+    /**
+     * Slices the search by ancestor folder, searching each of the folders separately. This can be combined with the
+     * slices by date or size, in which case every folder is searched in each of the slices.
+     *
+     * @param folderIDs the IDs of the folders to search in.
+     */
+    public void sliceByAncestorFolders(String... folderIDs) {
+        this.ancestorFolderIDs = Arrays.asList(folderIDs.clone());
+    }
+
+    /**
+     * Sets the number of results a slice can have before it is split. Defaults to {@value #MAX_OFFSET}, the highest
+     * offset the search endpoint accepts, and only needs to be lowered if the endpoint's limit changes.
+     *
+     * @param maxResultsPerSlice the maximum number of results of a slice.
+     */
+    public void setMaxResultsPerSlice(long maxResultsPerSlice) {
+        if (maxResultsPerSlice < 1) {
+            throw new IllegalArgumentException("A slice must be allowed at least one result.");
+        }
+        this.maxResultsPerSlice = maxResultsPerSlice;
+    }
+
+    private void slice(Dimension sliceDimension, long sliceFrom, long sliceTo, int sliceCount) {
+        if (sliceFrom > sliceTo) {
+            throw new IllegalArgumentException("The start of the range can't be after its end.");
+        }
+        if (sliceCount < 1) {
+            throw new IllegalArgumentException("There must be at least one slice.");
+        }
+
+        this.dimension = sliceDimension;
+        this.from = sliceFrom;
+        this.to = sliceTo;
+        this.slices = sliceCount;
+    }
+
+    /**
+     * Runs the search and passes every distinct result to an action. The action is called on the calling thread, in
+     * no particular order of the results. An exception thrown by the action stops the scan.
+     *
+     * @param action the action receiving the search results.
+     * @return a summary of the scan.
+     */
+    public Summary scan(Consumer<BoxItem.Info> action) {
+        Deque<Task> pending = new ArrayDeque<>();
+        for (Slice slice : this.initialSlices()) {
+            pending.add(new Task(slice, 0));
+        }
+
+        Executor executor = DaemonExecutors.orDefault(this.api.getPagePrefetchExecutor());
+        BlockingQueue<Loaded> loaded = new LinkedBlockingQueue<>();
+        Results results = new Results(action);
+        Summary summary = new Summary();
+        ScanState state = new ScanState();
+        int inFlight = 0;
+        try {
+            while (!pending.isEmpty() || inFlight > 0) {
+                while (inFlight < this.maxConcurrentRequests && !pending.isEmpty()) {
+                    this.request(executor, pending.poll(), loaded, state);
+                    summary.requests++;
+                    inFlight++;
+                }
+
+                Loaded page = loaded.take();
+                inFlight--;
+                if (page.failure != null) {
+                    throw page.failure;
+                }
+                if (page.task.offset > 0) {
+                    results.accept(page.body);
+                    continue;
+                }
+
+                Slice slice = page.task.slice;
+                long totalCount = page.body.get("total_count").asLong();
+                summary.slices++;
+                if (totalCount > this.maxResultsPerSlice && slice.isSplittable()) {
+                    // the pages of the slices already being searched are requested before new slices are started
+                    Slice[] halves = slice.split();
+                    pending.addFirst(new Task(halves[1], 0));
+                    pending.addFirst(new Task(halves[0], 0));
+                    continue;
+                }
+
+                if (totalCount > this.maxResultsPerSlice) {
+                    summary.complete = false;
+                }
+                results.accept(page.body);
+                long end = Math.min(totalCount, this.maxResultsPerSlice);
+                long lastOffset = (end - 1) / MAX_PAGE_SIZE * MAX_PAGE_SIZE;
+                for (long offset = lastOffset; offset > 0; offset -= MAX_PAGE_SIZE) {
+                    pending.addFirst(new Task(slice, offset));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting for the search results.", e);
+        } finally {
+            state.cancelled = true;
+        }
+
+        summary.results = results.count;
+        return summary;
+    }
+
+    private List<Slice> initialSlices() {
+        List<String> folderIDs = this.ancestorFolderIDs.isEmpty()
+            ? Collections.<String>singletonList(null) : this.ancestorFolderIDs;
+        List<Slice> initial = new ArrayList<>();
+        for (String folderID : folderIDs) {
+            if (this.from < 0) {
+                initial.add(new Slice(folderID, false, 0, 0));
+                continue;
+            }
+
+            long length = this.to - this.from + 1;
+            int count = (int) Math.min(this.slices, length);
+            for (int i = 0; i < count; i++) {
+                long sliceFrom = this.from + length * i / count;
+                long sliceTo = this.from + length * (i + 1) / count - 1;
+                initial.add(new Slice(folderID, true, sliceFrom, sliceTo));
+            }
+        }
+        return initial;
+    }
+
+    private void request(Executor executor, final Task task, final BlockingQueue<Loaded> loaded,
+                         final ScanState state) {
+        executor.execute(() -> {
+            if (state.cancelled) {
+                return;
+            }
+            try {
+                loaded.add(new Loaded(task, this.load(task), null));
+            } catch (RuntimeException e) {
+                loaded.add(new Loaded(task, null, e));
+            }
+        });
+    }
+
+    private JsonObject load(Task task) {
+        QueryStringBuilder builder = task.slice.parameters().getQueryParameters()
+            .appendParam("limit", MAX_PAGE_SIZE)
+            .appendParam("offset", task.offset);
+        URL url = BoxSearch.SEARCH_URL_TEMPLATE.buildWithQuery(this.api.getBaseURL(), builder.toString());
+        BoxJSONResponse response = (BoxJSONResponse) new BoxAPIRequest(this.api, url, "GET").send();
+        return Json.parse(response.getJSON()).asObject();
+    }
+
+    /**
+     * The dimension a search is sliced by.
+     */
+    private enum Dimension {
+        CREATED_AT, UPDATED_AT, SIZE
+    }
+
+    /**
+     * A part of the search: the items in an ancestor folder, if any, within a range of creation dates, update dates or
+     * sizes, if any. The bounds of the range are inclusive and in seconds or bytes.
+     */
+    private final class Slice {
+        private final String folderID;
+        private final boolean ranged;
+        private final long from;
+        private final long to;
+
+        Slice(String folderID, boolean ranged, long from, long to) {
+            this.folderID = folderID;
+            this.ranged = ranged;
+            this.from = from;
+            this.to = to;
+        }
+
+        boolean isSplittable() {
+            return !this.ranged || this.from < this.to;
+        }
+
+        Slice[] split() {
+            long splitFrom = this.from;
+            long splitTo = this.to;
+            if (!this.ranged) {
+                // a slice without a range is split by the creation dates of everything up to now
+                splitFrom = 0;
+                splitTo = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + DAY_SECONDS;
+                DateRange createdRange = BoxSearchScan.this.parameters.getCreatedRange();
+                if (BoxSearchScan.this.dimension == Dimension.CREATED_AT && createdRange != null) {
+                    splitFrom = TimeUnit.MILLISECONDS.toSeconds(createdRange.getFromDate().getTime());
+                    splitTo = TimeUnit.MILLISECONDS.toSeconds(createdRange.getToDate().getTime());
+                }
+            }
+
+            long middle = splitFrom + (splitTo - splitFrom) / 2;
+            return new Slice[] {
+                new Slice(this.folderID, true, splitFrom, middle),
+                new Slice(this.folderID, true, middle + 1, splitTo)
+            };
+        }
+
+        BoxSearchParameters parameters() {
+            BoxSearchParameters sliceParameters = BoxSearchScan.this.parameters.copy();
+            if (this.folderID != null) {
+                sliceParameters.setAncestorFolderIds(Collections.singletonList(this.folderID));
+            }
+            if (!this.ranged) {
+                return sliceParameters;
+            }
+
+            switch (BoxSearchScan.this.dimension) {
+                case UPDATED_AT:
+                    sliceParameters.setUpdatedRange(this.dateRange());
+                    break;
+                case SIZE:
+                    sliceParameters.setSizeRange(new SizeRange((int) this.from, (int) this.to));
+                    break;
+                default:
+                    sliceParameters.setCreatedRange(this.dateRange());
+                    break;
+            }
+            return sliceParameters;
+        }
+
+        private DateRange dateRange() {
+            return new DateRange(new Date(TimeUnit.SECONDS.toMillis(this.from)),
+                new Date(TimeUnit.SECONDS.toMillis(this.to)));
+        }
+    }
+
+    /**
+     * A request for a page of a slice. The first page of a slice tells whether the slice must be split.
+     */
+    private static final class Task {
+        private final Slice slice;
+        private final long offset;
+
+        Task(Slice slice, long offset) {
+            this.slice = slice;
+            this.offset = offset;
+        }
+    }
+
+    private static final class Loaded {
+        private final Task task;
+        private final JsonObject body;
+        private final RuntimeException failure;
+
+        Loaded(Task task, JsonObject body, RuntimeException failure) {
+            this.task = task;
+            this.body = body;
+            this.failure = failure;
+        }
+    }
+
+    private static final class ScanState {
+        private volatile boolean cancelled;
+    }
+
+    /**
+     * Passes on the results of the pages, skipping the items that were already passed on. It is only used by the
+     * calling thread.
+     */
+    private final class Results {
+        private final Consumer<BoxItem.Info> action;
+        private final Map<String, LongMap<Boolean>> seenByType = new HashMap<>();
+        private final Set<String> otherSeen = new HashSet<>();
+        private long count;
+
+        Results(Consumer<BoxItem.Info> action) {
+            this.action = action;
+        }
+
+        void accept(JsonObject page) {
+            for (JsonValue value : page.get("entries").asArray()) {
+                JsonObject entry = value.asObject();
+                if (this.isNew(entry.getString("type", ""), entry.getString("id", ""))) {
+                    BoxItem.Info info = (BoxItem.Info) BoxResource.parseInfo(BoxSearchScan.this.api, entry);
+                    if (info != null) {
+                        this.count++;
+                        this.action.accept(info);
+                    }
+                }
+            }
+        }
+
+        private boolean isNew(String type, String id) {
+            long numericID;
+            try {
+                numericID = Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                return this.otherSeen.add(type + "/" + id);
+            }
+
+            LongMap<Boolean> seen = this.seenByType.computeIfAbsent(type, key -> new LongMap<>());
+            return seen.put(numericID, Boolean.TRUE) == null;
+        }
+    }
+
+    /**
+     * A summary of a scan.
+     */
+    public static final class Summary {
+        private long results;
+        private int requests;
+        private int slices;
+        private boolean complete = true;
+
+        /**
+         * Gets the number of distinct results passed on.
+         *
+         * @return the number of results.
+         */
+        public long getResults() {
+            return this.results;
+        }
+
+        /**
+         * Gets the number of search requests made.
+         *
+         * @return the number of requests.
+         */
+        public int getRequests() {
+            return this.requests;
+        }
+
+        /**
+         * Gets the number of slices searched, including the slices that were split.
+         *
+         * @return the number of slices.
+         */
+        public int getSlices() {
+            return this.slices;
+        }
+
+        /**
+         * Checks whether all the results were found. Results are missing when a slice had too many results but
+         * couldn't be split any further, e.g. when more than {@value BoxSearchScan#MAX_OFFSET} items were created in the same
+         * second.
+         *
+         * @return true if all the results were found; otherwise false.
+         */
+        public boolean isComplete() {
+            return this.complete;
+        }
+    }
+}
@@ -139,11 +139,11 @@ public class BoxTask extends BoxResource {
         if (fields.length > 0) {
             builder.appendParam("fields", fields);
         }
-        return () -> {
+        return new PagedIterable<>(() -> {
             URL url = GET_ASSIGNMENTS_URL_TEMPLATE.buildWithQuery(
                 BoxTask.this.getAPI().getBaseURL(), builder.toString(), BoxTask.this.getID());
             return new BoxTaskAssignmentIterator(BoxTask.this.getAPI(), url);
-        };
+        });
     }
 
     /**
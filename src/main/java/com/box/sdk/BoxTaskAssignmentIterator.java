@@ -4,14 +4,13 @@ import static com.box.sdk.PagingParameters.offset;
 
 import com.eclipsesource.json.JsonObject;
 import java.net.URL;
-import java.util.Iterator;
 
 
 /**
  * An iterator object for {@link BoxTaskAssignment} object.
  * Supports offset-based paging.
  */
-class BoxTaskAssignmentIterator implements Iterator<BoxTaskAssignment.Info> {
+class BoxTaskAssignmentIterator implements PagedIterator<BoxTaskAssignment.Info> {
 
     /**
      * The limit of entries per response.
@@ -39,6 +38,17 @@ class BoxTaskAssignmentIterator implements Iterator<BoxTaskAssignment.Info> {
         this.jsonIterator = new JsonIterator(api, url, offset(0, LIMIT));
     }
 
+    /**
+     * Creates a BoxTaskAssignment iterator over the entries of a JSON iterator.
+     *
+     * @param api          The API connection to be used by the iterator.
+     * @param jsonIterator The iterator returning the JSON entries.
+     */
+    private BoxTaskAssignmentIterator(BoxAPIConnection api, JsonIterator jsonIterator) {
+        this.api = api;
+        this.jsonIterator = jsonIterator;
+    }
+
     /**
      * @return false if current element is the last.
      */
@@ -60,9 +70,31 @@ class BoxTaskAssignmentIterator implements Iterator<BoxTaskAssignment.Info> {
         return assignment.new Info(nextJSONObject);
     }
 
+    /**
+     * @return the number of entries that can be returned without fetching another page.
+     */
+    @Override
+    public int remainingInPage() {
+        return this.jsonIterator.remainingInPage();
+    }
+
+    /**
+     * @return an iterator over the first half of the remaining entries, or null if they cannot be split.
+     */
+    @Override
+    public BoxTaskAssignmentIterator splitPrefix() {
+        JsonIterator prefix = this.jsonIterator.splitPrefix();
+        return prefix == null ? null : new BoxTaskAssignmentIterator(this.api, prefix);
+    }
+
     /**
      * Remove operation is not supported.
      */
+    @Override
+    public void close() {
+        this.jsonIterator.close();
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
@@ -4,6 +4,7 @@ import com.eclipsesource.json.Json;
 import com.eclipsesource.json.JsonObject;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.Spliterator;
 
 /**
  * Provides methods for deleting, recovering, and viewing a user's trashed files and folders.
@@ -250,4 +251,15 @@ public class BoxTrash implements Iterable<BoxItem.Info> {
         URL url = GET_ITEMS_URL.build(this.api.getBaseURL());
         return new BoxItemIterator(this.api, url);
     }
+
+    /**
+     * Returns a spliterator over the items in this trash that splits at page boundaries, so that the items can be
+     * processed with a parallel stream.
+     *
+     * @return a spliterator over the items in this trash.
+     */
+    @Override
+    public Spliterator<BoxItem.Info> spliterator() {
+        return PageSpliterator.of(this.iterator());
+    }
 }
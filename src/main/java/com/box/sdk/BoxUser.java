@@ -9,7 +9,6 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -412,11 +411,7 @@ public class BoxUser extends BoxCollaborator {
                 }
             };
         } else {
-            return new Iterable<BoxUser.Info>() {
-                public Iterator<BoxUser.Info> iterator() {
-                    return new BoxUserIterator(api, url);
-                }
-            };
+            return new PagedIterable<>(() -> new BoxUserIterator(api, url));
         }
     }
 
@@ -492,13 +487,11 @@ public class BoxUser extends BoxCollaborator {
         if (fields.length > 0) {
             builder.appendParam("fields", fields);
         }
-        return new Iterable<BoxGroupMembership.Info>() {
-            public Iterator<BoxGroupMembership.Info> iterator() {
-                URL url = USER_MEMBERSHIPS_URL_TEMPLATE.buildWithQuery(
-                    BoxUser.this.getAPI().getBaseURL(), builder.toString(), BoxUser.this.getID());
-                return new BoxGroupMembershipIterator(BoxUser.this.getAPI(), url);
-            }
-        };
+        return new PagedIterable<>(() -> {
+            URL url = USER_MEMBERSHIPS_URL_TEMPLATE.buildWithQuery(
+                BoxUser.this.getAPI().getBaseURL(), builder.toString(), BoxUser.this.getID());
+            return new BoxGroupMembershipIterator(BoxUser.this.getAPI(), url);
+        });
     }
 
     /**
@@ -4,9 +4,8 @@ import static com.box.sdk.PagingParameters.offset;
 
 import com.eclipsesource.json.JsonObject;
 import java.net.URL;
-import java.util.Iterator;
 
-class BoxUserIterator implements Iterator<BoxUser.Info> {
+class BoxUserIterator implements PagedIterator<BoxUser.Info> {
     private static final long LIMIT = 1000;
 
     private final BoxAPIConnection api;
@@ -17,6 +16,11 @@ class BoxUserIterator implements Iterator<BoxUser.Info> {
         this.jsonIterator = new JsonIterator(api, url, offset(0, LIMIT));
     }
 
+    private BoxUserIterator(BoxAPIConnection api, JsonIterator jsonIterator) {
+        this.api = api;
+        this.jsonIterator = jsonIterator;
+    }
+
     public boolean hasNext() {
         return this.jsonIterator.hasNext();
     }
@@ -29,6 +33,22 @@ class BoxUserIterator implements Iterator<BoxUser.Info> {
         return user.new Info(nextJSONObject);
     }
 
+    @Override
+    public int remainingInPage() {
+        return this.jsonIterator.remainingInPage();
+    }
+
+    @Override
+    public BoxUserIterator splitPrefix() {
+        JsonIterator prefix = this.jsonIterator.splitPrefix();
+        return prefix == null ? null : new BoxUserIterator(this.api, prefix);
+    }
+
+    @Override
+    public void close() {
+        this.jsonIterator.close();
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
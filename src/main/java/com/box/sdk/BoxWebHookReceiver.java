@@ -0,0 +1,474 @@
+package com.box.sdk;
+
+import com.box.sdk.internal.pool.MacPool;
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Receives webhook deliveries, verifies that they come from Box and hands them to handlers.
+ *
+ * <p>The signatures are computed over the raw bytes of the request body, as received, without decoding them into a
+ * string first. The primary and secondary signature keys are prepared once, and the {@link Mac}s initialized
+ * with them are pooled, so verifying a delivery doesn't set up a key. The signatures are compared in constant time.</p>
+ *
+ * <p>{@link #receive(Function, byte[])} only verifies the delivery and checks that it wasn't received before, so it
+ * returns quickly, and the handlers are then called on an executor. The body of a delivery is only parsed when a
+ * handler asks for it, or to find its trigger when handlers were added for specific triggers. Box sends a delivery
+ * again when it isn't acknowledged in time, so the IDs of the recent deliveries are remembered and a delivery with a
+ * known ID isn't handed to the handlers again.</p>
+ *
+ * <pre>BoxWebHookReceiver receiver = new BoxWebHookReceiver(primaryKey, secondaryKey);
+ * receiver.addHandler(BoxWebHook.Trigger.FILE_UPLOADED, delivery -&gt; index(delivery.getSourceJSON()));
+ *
+ * // in the servlet receiving the webhooks
+ * BoxWebHookReceiver.Status status = receiver.receive(request::getHeader, body);
+ * response.setStatus(status == BoxWebHookReceiver.Status.INVALID ? 403 : 200);</pre>
+ */
+public class BoxWebHookReceiver {
+    private static final String SIGNATURE_VERSION = "1";
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+    private static final long DEFAULT_MAX_DELIVERY_AGE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int DEFAULT_DEDUPLICATION_CAPACITY = 10000;
+    private static final int DEDUPLICATION_SEGMENTS = 16;
+    private static final MacPool MAC_POOL = new MacPool();
+
+    private final SigningKey primaryKey;
+    private final SigningKey secondaryKey;
+    private final List<Handler> handlers = new CopyOnWriteArrayList<>();
+    private volatile Executor executor;
+    private volatile BiConsumer<Delivery, RuntimeException> errorHandler;
+    private volatile long maxDeliveryAgeMillis = DEFAULT_MAX_DELIVERY_AGE_MILLIS;
+    private volatile RecentDeliveries recentDeliveries = new RecentDeliveries(DEFAULT_DEDUPLICATION_CAPACITY);
+
+    /**
+     * Creates a receiver verifying the deliveries with the primary and secondary signature keys of the application.
+     * Either key can be null while it isn't set up, but not both.
+     *
+     * @param primarySignatureKey   the primary signature key.
+     * @param secondarySignatureKey the secondary signature key.
+     */
+    public BoxWebHookReceiver(String primarySignatureKey, String secondarySignatureKey) {
+        if (primarySignatureKey == null && secondarySignatureKey == null) {
+            throw new IllegalArgumentException("At least primary or secondary signature key must be provided!");
+        }
+
+        this.primaryKey = primarySignatureKey == null ? null : new SigningKey(primarySignatureKey);
+        this.secondaryKey = secondarySignatureKey == null ? null : new SigningKey(secondarySignatureKey);
+    }
+
+    /**
+     * Sets the executor the handlers are called on. Defaults to the SDK's shared daemon threads.
+     *
+     * @param executor the executor, or null to use the default.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets a handler notified when a handler throws an exception while handling a delivery.
+     *
+     * @param errorHandler the error handler, or null to ignore the exceptions.
+     */
+    public void setErrorHandler(BiConsumer<Delivery, RuntimeException> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Sets how old a delivery can be, according to its delivery timestamp, to be accepted. Defaults to 10 minutes,
+     * which keeps a captured delivery from being replayed later on. A delivery dated further than that in the future
+     * isn't accepted either, so the clocks of Box and of the receiver may differ by up to the maximum age.
+     *
+     * @param maxDeliveryAge the maximum age, or 0 to accept deliveries of any age.
+     * @param unit           the unit of the maximum age.
+     */
+    public void setMaxDeliveryAge(long maxDeliveryAge, TimeUnit unit) {
+        if (maxDeliveryAge < 0) {
+            throw new IllegalArgumentException("The maximum delivery age can't be negative.");
+        }
+        this.maxDeliveryAgeMillis = unit.toMillis(maxDeliveryAge);
+    }
+
+    /**
+     * Sets the number of recent delivery IDs remembered to recognize deliveries sent again. Defaults to 10000. The
+     * IDs remembered so far are forgotten.
+     *
+     * @param capacity the number of delivery IDs.
+     */
+    public void setDeduplicationCapacity(int capacity) {
+        if (capacity < DEDUPLICATION_SEGMENTS) {
+            throw new IllegalArgumentException("At least " + DEDUPLICATION_SEGMENTS + " delivery IDs must be kept.");
+        }
+        this.recentDeliveries = new RecentDeliveries(capacity);
+    }
+
+    /**
+     * Adds a handler called with every accepted delivery.
+     *
+     * @param handler the handler.
+     */
+    public void addHandler(Consumer<Delivery> handler) {
+        this.handlers.add(new Handler(null, handler));
+    }
+
+    /**
+     * Adds a handler called with the accepted deliveries of a trigger.
+     *
+     * @param trigger the trigger.
+     * @param handler the handler.
+     */
+    public void addHandler(BoxWebHook.Trigger trigger, Consumer<Delivery> handler) {
+        this.handlers.add(new Handler(trigger, handler));
+    }
+
+    /**
+     * Verifies a delivery and, if it is valid and wasn't received before, hands it to the handlers on the executor.
+     *
+     * @param headers gets the value of a header of the request by its name, e.g. {@code request::getHeader}.
+     * @param body    the body of the request, as received. It must not be changed afterwards.
+     * @return the status of the delivery.
+     * @throws RejectedExecutionException if the executor doesn't accept the delivery. The delivery isn't remembered
+     *                                    then, so it is accepted when Box sends it again.
+     */
+    public Status receive(Function<String, String> headers, byte[] body) {
+        Status status = this.check(headers, body);
+        if (status != Status.ACCEPTED) {
+            return status;
+        }
+
+        String deliveryID = headers.apply("BOX-DELIVERY-ID");
+        if (deliveryID != null && !this.recentDeliveries.add(deliveryID)) {
+            return Status.DUPLICATE;
+        }
+
+        Delivery delivery = new Delivery(deliveryID, headers.apply("BOX-DELIVERY-TIMESTAMP"), body);
+        try {
+            DaemonExecutors.orDefault(this.executor).execute(() -> this.dispatch(delivery));
+        } catch (RejectedExecutionException e) {
+            if (deliveryID != null) {
+                this.recentDeliveries.remove(deliveryID);
+            }
+            throw e;
+        }
+        return Status.ACCEPTED;
+    }
+
+    /**
+     * Verifies that a delivery comes from Box and isn't too old, without handing it to the handlers.
+     *
+     * @param headers gets the value of a header of the request by its name, e.g. {@code request::getHeader}.
+     * @param body    the body of the request, as received.
+     * @return true if the delivery is valid; otherwise false.
+     */
+    public boolean verify(Function<String, String> headers, byte[] body) {
+        return this.check(headers, body) == Status.ACCEPTED;
+    }
+
+    private Status check(Function<String, String> headers, byte[] body) {
+        if (!SIGNATURE_VERSION.equals(headers.apply("BOX-SIGNATURE-VERSION"))
+            || !SIGNATURE_ALGORITHM.equals(headers.apply("BOX-SIGNATURE-ALGORITHM"))) {
+            return Status.INVALID;
+        }
+
+        String timestamp = headers.apply("BOX-DELIVERY-TIMESTAMP");
+        if (timestamp == null) {
+            return Status.INVALID;
+        }
+
+        byte[] timestampBytes = timestamp.getBytes(StandardCharsets.UTF_8);
+        if (!matches(this.primaryKey, headers.apply("BOX-SIGNATURE-PRIMARY"), body, timestampBytes)
+            && !matches(this.secondaryKey, headers.apply("BOX-SIGNATURE-SECONDARY"), body, timestampBytes)) {
+            return Status.INVALID;
+        }
+
+        long maxAgeMillis = this.maxDeliveryAgeMillis;
+        if (maxAgeMillis > 0) {
+            long sentAt;
+            try {
+                sentAt = OffsetDateTime.parse(timestamp).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return Status.INVALID;
+            }
+            if (Math.abs(System.currentTimeMillis() - sentAt) > maxAgeMillis) {
+                return Status.EXPIRED;
+            }
+        }
+        return Status.ACCEPTED;
+    }
+
+    private static boolean matches(SigningKey key, String signature, byte[] body, byte[] timestamp) {
+        if (key == null || signature == null) {
+            return false;
+        }
+
+        byte[] actual;
+        try {
+            actual = java.util.Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(key.sign(body, timestamp), actual);
+    }
+
+    private void dispatch(Delivery delivery) {
+        for (Handler handler : this.handlers) {
+            try {
+                if (handler.trigger == null || handler.trigger == delivery.getTrigger()) {
+                    handler.consumer.accept(delivery);
+                }
+            } catch (RuntimeException e) {
+                BiConsumer<Delivery, RuntimeException> onError = this.errorHandler;
+                if (onError != null) {
+                    onError.accept(delivery, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Enumerates the outcomes of receiving a delivery.
+     */
+    public enum Status {
+        /**
+         * The delivery is valid and is handed to the handlers.
+         */
+        ACCEPTED,
+
+        /**
+         * The delivery is valid but was already received, so it isn't handed to the handlers again.
+         */
+        DUPLICATE,
+
+        /**
+         * The delivery has a valid signature but is older than the maximum delivery age, or dated further than it in
+         * the future.
+         */
+        EXPIRED,
+
+        /**
+         * The delivery doesn't have a valid signature, so it may not come from Box.
+         */
+        INVALID
+    }
+
+    /**
+     * A signature key along with the pooled {@link Mac}s initialized with it.
+     */
+    private static final class SigningKey {
+        private final MacPool.KeyedMacs macs;
+
+        SigningKey(String key) {
+            this.macs = MAC_POOL.forKey(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM));
+        }
+
+        byte[] sign(byte[] body, byte[] timestamp) {
+            Mac mac = this.macs.acquire();
+            try {
+                mac.update(body);
+                mac.update(timestamp);
+                return mac.doFinal();
+            } finally {
+                this.macs.release(mac);
+            }
+        }
+    }
+
+    /**
+     * The IDs of the recent deliveries, split into segments by hash so that concurrent deliveries rarely wait for
+     * each other. Each segment forgets its oldest IDs once it is full.
+     */
+    private static final class RecentDeliveries {
+        private final ReentrantLock[] locks = new ReentrantLock[DEDUPLICATION_SEGMENTS];
+        private final List<Set<String>> segments = new ArrayList<>(DEDUPLICATION_SEGMENTS);
+        private final int segmentCapacity;
+
+        RecentDeliveries(int capacity) {
+            this.segmentCapacity = capacity / DEDUPLICATION_SEGMENTS;
+            for (int i = 0; i < DEDUPLICATION_SEGMENTS; i++) {
+                this.locks[i] = new ReentrantLock();
+                this.segments.add(new LinkedHashSet<String>());
+            }
+        }
+
+        /**
+         * Adds a delivery ID.
+         *
+         * @return false if the ID was already known.
+         */
+        boolean add(String deliveryID) {
+            int segment = (deliveryID.hashCode() & Integer.MAX_VALUE) % DEDUPLICATION_SEGMENTS;
+            ReentrantLock lock = this.locks[segment];
+            lock.lock();
+            try {
+                Set<String> ids = this.segments.get(segment);
+                if (!ids.add(deliveryID)) {
+                    return false;
+                }
+                if (ids.size() > this.segmentCapacity) {
+                    Iterator<String> oldest = ids.iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Forgets a delivery ID.
+         */
+        void remove(String deliveryID) {
+            int segment = (deliveryID.hashCode() & Integer.MAX_VALUE) % DEDUPLICATION_SEGMENTS;
+            ReentrantLock lock = this.locks[segment];
+            lock.lock();
+            try {
+                this.segments.get(segment).remove(deliveryID);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Handler {
+        private final BoxWebHook.Trigger trigger;
+        private final Consumer<Delivery> consumer;
+
+        Handler(BoxWebHook.Trigger trigger, Consumer<Delivery> consumer) {
+            this.trigger = trigger;
+            this.consumer = consumer;
+        }
+    }
+
+    /**
+     * A webhook delivery received from Box. Its body is parsed the first time it is needed.
+     */
+    public static final class Delivery {
+        private final String id;
+        private final String timestamp;
+        private final byte[] body;
+        private volatile JsonObject json;
+
+        Delivery(String id, String timestamp, byte[] body) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.body = body;
+        }
+
+        /**
+         * Gets the ID of the delivery, which is the same when Box sends the delivery again.
+         *
+         * @return the ID of the delivery, or null if the request had none.
+         */
+        public String getID() {
+            return this.id;
+        }
+
+        /**
+         * Gets the time at which Box sent the delivery.
+         *
+         * @return the delivery timestamp, e.g. "2016-07-08T01:20:32-07:00".
+         */
+        public String getTimestamp() {
+            return this.timestamp;
+        }
+
+        /**
+         * Gets the body of the delivery, as received.
+         *
+         * @return the body. It must not be changed.
+         */
+        public byte[] getBody() {
+            return this.body;
+        }
+
+        /**
+         * Gets the body of the delivery, parsed as JSON.
+         *
+         * @return the webhook event.
+         */
+        public JsonObject getJSON() {
+            JsonObject parsed = this.json;
+            if (parsed == null) {
+                try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(this.body),
+                    StandardCharsets.UTF_8)) {
+                    parsed = JsonObject.unmodifiableObject(Json.parse(reader).asObject());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                this.json = parsed;
+            }
+            return parsed;
+        }
+
+        /**
+         * Gets the trigger of the webhook event.
+         *
+         * @return the trigger, or null if it isn't one known to the SDK.
+         */
+        public BoxWebHook.Trigger getTrigger() {
+            String trigger = this.getJSON().getString("trigger", null);
+            for (BoxWebHook.Trigger value : BoxWebHook.Trigger.values()) {
+                if (value.getValue().equals(trigger)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets the ID of the webhook the delivery was sent for.
+         *
+         * @return the ID of the webhook, or null if the event has none.
+         */
+        public String getWebHookID() {
+            JsonValue webhook = this.getJSON().get("webhook");
+            return webhook == null || !webhook.isObject() ? null : webhook.asObject().getString("id", null);
+        }
+
+        /**
+         * Gets the item or other resource the webhook event is about, as JSON.
+         *
+         * @return the source of the event, or null if the event has none.
+         */
+        public JsonObject getSourceJSON() {
+            JsonValue source = this.getJSON().get("source");
+            return source == null || !source.isObject() ? null : source.asObject();
+        }
+
+        /**
+         * Gets the item or other resource the webhook event is about, e.g. a {@link BoxFile.Info}.
+         *
+         * @param api the API connection the resource is bound to.
+         * @return the source of the event, or null if the event has none or its type isn't known to the SDK.
+         */
+        public BoxResource.Info getSource(BoxAPIConnection api) {
+            JsonObject source = this.getSourceJSON();
+            return source == null ? null : BoxResource.parseInfo(api, source);
+        }
+    }
+}
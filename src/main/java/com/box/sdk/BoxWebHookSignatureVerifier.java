@@ -50,6 +50,16 @@ public class BoxWebHookSignatureVerifier {
      */
     private final String secondarySignatureKey;
 
+    /**
+     * {@link Mac}-s initialized with the primary key, or null if there is no primary key.
+     */
+    private final MacPool.KeyedMacs primaryMacs;
+
+    /**
+     * {@link Mac}-s initialized with the secondary key, or null if there is no secondary key.
+     */
+    private final MacPool.KeyedMacs secondaryMacs;
+
     /**
      * Creates a new instance of verifier specified with given primary and secondary keys. Primary key and secondary key
      * are needed for rotating purposes, at least at one has to be valid.
@@ -65,6 +75,23 @@ public class BoxWebHookSignatureVerifier {
 
         this.primarySignatureKey = primarySignatureKey;
         this.secondarySignatureKey = secondarySignatureKey;
+        this.primaryMacs = prepare(primarySignatureKey);
+        this.secondaryMacs = prepare(secondarySignatureKey);
+    }
+
+    /**
+     * Prepares the {@link Mac}-s of a signature key, for the only supported algorithm.
+     *
+     * @param key signature key
+     * @return Macs initialized with the key, or null if there is no key
+     */
+    private static MacPool.KeyedMacs prepare(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+
+        String algorithm = BoxSignatureAlgorithm.HMAC_SHA256.javaProviderName;
+        return MAC_POOL.forKey(new SecretKeySpec(key.getBytes(UTF_8), algorithm));
     }
 
     /**
@@ -154,6 +181,18 @@ public class BoxWebHookSignatureVerifier {
      */
     private byte[] signRaw(BoxSignatureAlgorithm algorithm, String key, String webHookPayload,
                            String deliveryTimestamp) {
+        MacPool.KeyedMacs keyedMacs = this.keyedMacs(algorithm, key);
+        if (keyedMacs != null) {
+            Mac mac = keyedMacs.acquire();
+            try {
+                mac.update(UTF_8.encode(webHookPayload));
+                mac.update(UTF_8.encode(deliveryTimestamp));
+                return mac.doFinal();
+            } finally {
+                keyedMacs.release(mac);
+            }
+        }
+
         Mac mac = MAC_POOL.acquire(algorithm.javaProviderName);
         try {
             mac.init(new SecretKeySpec(key.getBytes(UTF_8), algorithm.javaProviderName));
@@ -167,6 +206,26 @@ public class BoxWebHookSignatureVerifier {
         }
     }
 
+    /**
+     * Gets the prepared {@link Mac}-s for a signature key, if it is one of the keys of this verifier.
+     *
+     * @param algorithm for which algorithm
+     * @param key       signature key
+     * @return Macs initialized with the key, or null if they have to be initialized for each signature
+     */
+    private MacPool.KeyedMacs keyedMacs(BoxSignatureAlgorithm algorithm, String key) {
+        if (algorithm != BoxSignatureAlgorithm.HMAC_SHA256) {
+            return null;
+        }
+        if (key.equals(this.primarySignatureKey)) {
+            return this.primaryMacs;
+        }
+        if (key.equals(this.secondarySignatureKey)) {
+            return this.secondaryMacs;
+        }
+        return null;
+    }
+
     /**
      * Box Signature Algorithms.
      */
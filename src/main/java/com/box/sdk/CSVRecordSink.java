@@ -0,0 +1,65 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes records as comma separated values.
+ *
+ * @see RecordSink#csv(Writer, String...)
+ */
+final class CSVRecordSink implements RecordSink {
+    private final Writer writer;
+    private final String header;
+    private final String[][] paths;
+    private boolean headerWritten;
+
+    CSVRecordSink(Writer writer, String... columns) {
+        this.writer = writer;
+        this.header = String.join(",", columns);
+        this.paths = new String[columns.length][];
+        for (int i = 0; i < columns.length; i++) {
+            this.paths[i] = columns[i].split("\\.");
+        }
+    }
+
+    @Override
+    public void write(JsonObject record) throws IOException {
+        if (!this.headerWritten) {
+            this.writer.write(this.header);
+            this.writer.write('\n');
+            this.headerWritten = true;
+        }
+
+        for (int i = 0; i < this.paths.length; i++) {
+            if (i > 0) {
+                this.writer.write(',');
+            }
+            this.writer.write(value(record, this.paths[i]));
+        }
+        this.writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    private static String value(JsonObject record, String[] path) {
+        JsonValue value = record;
+        for (String name : path) {
+            value = value != null && value.isObject() ? value.asObject().get(name) : null;
+        }
+        if (value == null || value.isNull()) {
+            return "";
+        }
+
+        String text = value.isString() ? value.asString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,50 @@
+package com.box.sdk;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for composing the futures returned by the asynchronous methods.
+ */
+final class CompletableFutures {
+    private CompletableFutures() {
+    }
+
+    /**
+     * Returns the error a future failed with, without the {@link CompletionException} dependent stages wrap it in.
+     *
+     * @param failure the error passed to a dependent stage.
+     * @return the original error.
+     */
+    static Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+
+    /**
+     * Returns whether a future failed because the API responded with a given status code.
+     *
+     * @param failure      the error passed to a dependent stage.
+     * @param responseCode the status code.
+     * @return true if the future failed with a {@link BoxAPIException} carrying the status code.
+     */
+    static boolean isResponseCode(Throwable failure, int responseCode) {
+        Throwable cause = unwrap(failure);
+        return cause instanceof BoxAPIException && ((BoxAPIException) cause).getResponseCode() == responseCode;
+    }
+
+    /**
+     * Returns a future that has already failed.
+     *
+     * @param failure the error the future fails with. A {@link CompletionException} is unwrapped.
+     * @param <T>     the type of the result of the future.
+     * @return the failed future.
+     */
+    static <T> CompletableFuture<T> failed(Throwable failure) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(unwrap(failure));
+        return future;
+    }
+}
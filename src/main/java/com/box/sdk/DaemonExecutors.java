@@ -0,0 +1,58 @@
+package com.box.sdk;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The daemon threads the SDK uses for background work when no executor is configured on the connection.
+ *
+ * <p>The threads are daemon threads, so they never keep an application from exiting.</p>
+ */
+final class DaemonExecutors {
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(new DaemonThreadFactory("worker"));
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("scheduler"));
+
+    private DaemonExecutors() {
+    }
+
+    /**
+     * Returns the executor to run background work on.
+     *
+     * @param executor the executor configured by the caller, or null.
+     * @return the configured executor, or the SDK's shared daemon threads if none is configured.
+     */
+    static Executor orDefault(Executor executor) {
+        return executor == null ? WORKERS : executor;
+    }
+
+    /**
+     * Returns the scheduler to run delayed work on.
+     *
+     * @param scheduler the scheduler configured by the caller, or null.
+     * @return the configured scheduler, or the SDK's shared daemon scheduler if none is configured.
+     */
+    static ScheduledExecutorService orDefault(ScheduledExecutorService scheduler) {
+        return scheduler == null ? SCHEDULER : scheduler;
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DaemonThreadFactory(String name) {
+            this.prefix = "box-sdk-" + name + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, this.prefix + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
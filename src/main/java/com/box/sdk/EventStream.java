@@ -6,6 +6,11 @@ import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Receives real-time events from the API and forwards them to {@link EventListener EventListeners}.
@@ -15,6 +20,10 @@ import java.util.Collection;
  * is called.
  * Since the API may return duplicate events, EventStream also maintains a small cache of the most recently received
  * event IDs in order to automatically deduplicate events.</p>
+ * <p>The long polling thread is created by the EventStream unless an {@link Executor} is passed to the
+ * constructor, in which case the polling runs as a task of that executor (e.g. on a virtual thread). Listeners are
+ * notified while holding a {@link ReentrantLock} rather than a monitor, so a listener that blocks doesn't pin the
+ * carrier thread of a virtual thread.</p>
  * <p>Note: Enterprise Events can be accessed by admin users with the EventLog.getEnterpriseEvents method</p>
  */
 public class EventStream {
@@ -30,12 +39,14 @@ public class EventStream {
     private final long startingPosition;
     private final int pollingDelay;
     private final Collection<EventListener> listeners;
-    private final Object listenerLock;
+    private final Lock listenerLock;
+    private final Executor pollerExecutor;
 
     private LRUCache<String> receivedEvents;
     private boolean started;
     private Poller poller;
     private Thread pollerThread;
+    private Future<?> pollerTask;
 
     /**
      * Constructs an EventStream using an API connection.
@@ -64,11 +75,25 @@ public class EventStream {
      * @param pollingDelay     the delay in milliseconds between successive calls to get more events.
      */
     public EventStream(BoxAPIConnection api, long startingPosition, int pollingDelay) {
+        this(api, startingPosition, pollingDelay, null);
+    }
+
+    /**
+     * Constructs an EventStream that long polls the API as a task of an executor.
+     *
+     * @param api              the API connection to use.
+     * @param startingPosition the starting position of the event stream.
+     * @param pollingDelay     the delay in milliseconds between successive calls to get more events.
+     * @param pollerExecutor   the executor running the long polling task, or null to poll on a new thread. The
+     *                         executor isn't shut down when the EventStream is stopped.
+     */
+    public EventStream(BoxAPIConnection api, long startingPosition, int pollingDelay, Executor pollerExecutor) {
         this.api = api;
         this.startingPosition = startingPosition;
         this.listeners = new ArrayList<>();
-        this.listenerLock = new Object();
+        this.listenerLock = new ReentrantLock();
         this.pollingDelay = pollingDelay;
+        this.pollerExecutor = pollerExecutor;
     }
 
     /**
@@ -77,8 +102,11 @@ public class EventStream {
      * @param listener the listener to add.
      */
     public void addListener(EventListener listener) {
-        synchronized (this.listenerLock) {
+        this.listenerLock.lock();
+        try {
             this.listeners.add(listener);
+        } finally {
+            this.listenerLock.unlock();
         }
     }
 
@@ -102,7 +130,11 @@ public class EventStream {
         }
 
         this.started = false;
-        this.pollerThread.interrupt();
+        if (this.pollerTask != null) {
+            this.pollerTask.cancel(true);
+        } else {
+            this.pollerThread.interrupt();
+        }
     }
 
     /**
@@ -130,6 +162,21 @@ public class EventStream {
 
         this.poller = new Poller(initialPosition);
 
+        if (this.pollerExecutor != null) {
+            // The task is assigned before it runs, so a failing poller can always cancel itself through stop().
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                try {
+                    this.poller.run();
+                } catch (RuntimeException | Error e) {
+                    this.notifyException(e);
+                }
+            }, null);
+            this.pollerTask = task;
+            this.started = true;
+            this.pollerExecutor.execute(task);
+            return;
+        }
+
         this.pollerThread = new Thread(this.poller);
         this.pollerThread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
             public void uncaughtException(Thread t, Throwable e) {
@@ -158,21 +205,27 @@ public class EventStream {
     }
 
     private void notifyNextPosition(long position) {
-        synchronized (this.listenerLock) {
+        this.listenerLock.lock();
+        try {
             for (EventListener listener : this.listeners) {
                 listener.onNextPosition(position);
             }
+        } finally {
+            this.listenerLock.unlock();
         }
     }
 
     private void notifyEvent(BoxEvent event) {
-        synchronized (this.listenerLock) {
+        this.listenerLock.lock();
+        try {
             boolean isDuplicate = this.isDuplicate(event.getID());
             if (!isDuplicate) {
                 for (EventListener listener : this.listeners) {
                     listener.onEvent(event);
                 }
             }
+        } finally {
+            this.listenerLock.unlock();
         }
     }
 
@@ -182,12 +235,15 @@ public class EventStream {
         }
 
         this.stop();
-        synchronized (this.listenerLock) {
+        this.listenerLock.lock();
+        try {
             for (EventListener listener : this.listeners) {
                 if (listener.onException(e)) {
                     return;
                 }
             }
+        } finally {
+            this.listenerLock.unlock();
         }
     }
 
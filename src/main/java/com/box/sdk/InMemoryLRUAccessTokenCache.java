@@ -2,6 +2,8 @@ package com.box.sdk;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Use this class to create an in-memory LRU (least recently used) access token cache to be
@@ -10,6 +12,7 @@ import java.util.Map;
 public class InMemoryLRUAccessTokenCache implements IAccessTokenCache {
 
     private final Map<String, String> cache;
+    private final Lock lock = new ReentrantLock();
 
     /**
      * Creates an in-memory LRU access token cache.
@@ -34,8 +37,11 @@ public class InMemoryLRUAccessTokenCache implements IAccessTokenCache {
      * @param value access token information to store.
      */
     public void put(String key, String value) {
-        synchronized (this.cache) {
+        this.lock.lock();
+        try {
             this.cache.put(key, value);
+        } finally {
+            this.lock.unlock();
         }
     }
 
@@ -46,8 +52,12 @@ public class InMemoryLRUAccessTokenCache implements IAccessTokenCache {
      * @return access token information.
      */
     public String get(String key) {
-        synchronized (this.cache) {
+        // an access ordered map is modified by get as well, so reads need the lock too
+        this.lock.lock();
+        try {
             return this.cache.get(key);
+        } finally {
+            this.lock.unlock();
         }
     }
 }
@@ -0,0 +1,265 @@
+package com.box.sdk;
+
+import static com.box.sdk.http.HttpHeaders.IF_NONE_MATCH;
+
+import com.eclipsesource.json.JsonValue;
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory LRU (least recently used) cache of the responses to info lookups, such as {@link BoxFile#getInfo},
+ * {@link BoxFolder#getInfo} or {@link BoxUser#getInfo}, that turns repeated lookups into conditional requests.
+ *
+ * <p>Add the cache to a connection with {@link BoxAPIConnection#addInterceptor(BoxAPIInterceptor)}. When the info of
+ * an item is read, the cache keeps the response along with the item's etag, keyed by the type and ID of the item, the
+ * requested fields, the connection and the user the request is made as. The next lookup of the same info is still
+ * sent to the API, but with an {@code If-None-Match} header, and if the item hasn't changed the API responds with 304
+ * Not Modified and an empty body, and the cached response is returned instead. The info returned is therefore never
+ * staler than with an uncached lookup, while unchanged items don't have to be serialized and transferred again. The
+ * cache can be added to several connections, and the responses received by one connection are never returned to
+ * another.</p>
+ *
+ * <pre>api.addInterceptor(new InMemoryLRUInfoCache(10000, 10, TimeUnit.MINUTES));</pre>
+ *
+ * <p>Only the responses that carry an etag, either in the {@code ETag} header or in the {@code etag} field of the body,
+ * are cached. The cache holds at most a given number of responses and evicts the least recently used one when it's
+ * full. Responses older than the time to live are evicted as well, which bounds how long the cache holds on to items
+ * that aren't read anymore.</p>
+ *
+ * <p>Add the cache after the interceptors that look at the responses of info lookups, since the interceptors before it
+ * see the cached responses while the ones after it see the 304 responses.</p>
+ */
+public class InMemoryLRUInfoCache implements BoxAPIInterceptor {
+    private static final Set<String> RESOURCES = new HashSet<>(Arrays.asList(
+        "files", "folders", "web_links", "users", "groups"));
+
+    private final Map<String, CachedInfo> cache;
+    /**
+     * The responses the conditional requests in flight were made with, so that a 304 can still be answered when the
+     * response is evicted from the cache before the request completes.
+     */
+    private final Map<BoxAPIRequest, CachedInfo> pending = new ConcurrentHashMap<>();
+    private final long timeToLiveNanos;
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Creates an in-memory LRU info cache.
+     *
+     * @param maxEntries maximum number of responses to store.
+     * @param timeToLive how long a response is kept after it was last received or confirmed by the API.
+     * @param unit       the unit of the time to live.
+     */
+    public InMemoryLRUInfoCache(final int maxEntries, long timeToLive, TimeUnit unit) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The cache must be able to hold at least one entry.");
+        }
+
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.cache = new LinkedHashMap<String, CachedInfo>(16, 0.75F, true) {
+            private static final long serialVersionUID = 3094571936410872264L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedInfo> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public BoxAPIResponse onRequest(BoxAPIRequest request) {
+        String key = keyOf(request);
+        if (key == null || ifNoneMatch(request) != null) {
+            // the caller made the request conditional itself
+            return null;
+        }
+
+        CachedInfo cached = this.get(key);
+        if (cached != null) {
+            this.pending.put(request, cached);
+            request.addHeader(IF_NONE_MATCH, cached.etag);
+            request.setNotModifiedExpected(true);
+        }
+        return null;
+    }
+
+    @Override
+    public BoxAPIResponse onResponse(BoxAPIRequest request, BoxAPIResponse response, long durationNanos) {
+        String key = keyOf(request);
+        if (key == null) {
+            return response;
+        }
+
+        CachedInfo cached = this.pending.remove(request);
+        if (cached != null && response.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            response.disconnect();
+            // the response is put back even if it was evicted while the request was sent, since it's still current
+            this.put(key, new CachedInfo(cached.etag, cached.json, System.nanoTime()));
+            return new CachedResponse(cached.etag, cached.json);
+        }
+
+        if (response.getResponseCode() == HttpURLConnection.HTTP_OK && response instanceof BoxJSONResponse) {
+            BoxJSONResponse jsonResponse = (BoxJSONResponse) response;
+            String json = jsonResponse.getJSON();
+            String etag = response.getHeaderField("ETag");
+            if (etag == null) {
+                JsonValue etagValue = jsonResponse.getJsonObject().get("etag");
+                etag = etagValue != null && etagValue.isString() ? etagValue.asString() : null;
+            }
+            if (etag != null) {
+                this.put(key, new CachedInfo(etag, json, System.nanoTime()));
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public void onError(BoxAPIRequest request, BoxAPIException error, long durationNanos) {
+        if (this.pending.remove(request) != null) {
+            // a retried attempt is made conditional again with the response cached by then
+            removeIfNoneMatch(request);
+            request.setNotModifiedExpected(false);
+        }
+    }
+
+    /**
+     * Removes all the responses from the cache.
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.cache.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of responses in the cache, including the ones that have expired but haven't been evicted yet.
+     *
+     * @return the number of responses in the cache.
+     */
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.cache.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private CachedInfo get(String key) {
+        // an access ordered map is modified by get as well, so reads need the lock too
+        this.lock.lock();
+        try {
+            CachedInfo cached = this.cache.get(key);
+            if (cached != null && System.nanoTime() - cached.receivedAt > this.timeToLiveNanos) {
+                this.cache.remove(key);
+                return null;
+            }
+            return cached;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void put(String key, CachedInfo info) {
+        this.lock.lock();
+        try {
+            this.cache.put(key, info);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the key of an info lookup: a GET of {@code <resource>/<id>} with an optional query string, which holds
+     * the requested fields. The connection the request is made with, the user it is made as and the shared link it's
+     * made with are part of the key, since they change the permissions in the response.
+     */
+    private static String keyOf(BoxAPIRequest request) {
+        if (!request.getMethod().equals("GET")) {
+            return null;
+        }
+
+        String path = request.getUrl().getPath();
+        int end = path.endsWith("/") ? path.length() - 1 : path.length();
+        int idStart = path.lastIndexOf('/', end - 1) + 1;
+        int resourceStart = idStart > 1 ? path.lastIndexOf('/', idStart - 2) + 1 : -1;
+        if (idStart == end || resourceStart < 0 || !RESOURCES.contains(path.substring(resourceStart, idStart - 1))) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder().append(request.getAPI().getConnectionID()).append(' ')
+            .append(path, resourceStart, end);
+        String query = request.getUrl().getQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (BoxAPIRequest.RequestHeader header : request.getHeaders()) {
+            if (header.getKey().equals(BoxAPIConnection.AS_USER_HEADER)) {
+                key.append(" as ").append(header.getValue());
+            }
+        }
+        if (request.getAPI() instanceof SharedLinkAPIConnection) {
+            key.append(" shared ").append(((SharedLinkAPIConnection) request.getAPI()).getSharedLink());
+        }
+        return key.toString();
+    }
+
+    private static String ifNoneMatch(BoxAPIRequest request) {
+        for (BoxAPIRequest.RequestHeader header : request.getHeaders()) {
+            if (header.getKey().equals(IF_NONE_MATCH)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static void removeIfNoneMatch(BoxAPIRequest request) {
+        Iterator<BoxAPIRequest.RequestHeader> headers = request.getHeaders().iterator();
+        while (headers.hasNext()) {
+            if (headers.next().getKey().equals(IF_NONE_MATCH)) {
+                headers.remove();
+            }
+        }
+    }
+
+    private static final class CachedInfo {
+        private final String etag;
+        private final String json;
+        private final long receivedAt;
+
+        CachedInfo(String etag, String json, long receivedAt) {
+            this.etag = etag;
+            this.json = json;
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    /**
+     * A response served from the cache in place of a 304 Not Modified response.
+     */
+    private static final class CachedResponse extends BoxJSONResponse {
+        private final String json;
+
+        CachedResponse(String etag, String json) {
+            super(HttpURLConnection.HTTP_OK, Collections.singletonMap("ETag", etag), null);
+            this.json = json;
+        }
+
+        @Override
+        public String getJSON() {
+            return this.json;
+        }
+    }
+}
@@ -6,22 +6,30 @@ import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 class JsonIterator {
     private final BoxAPIConnection api;
-    private final URL url;
+    private final PageLoader loader;
+    private final long endOffset;
     private PagingParameters pagingParameters;
     private boolean hasMorePages;
-    private Iterator<JsonValue> currentPage;
+    private JsonArray currentPage;
+    private int pageCursor;
+    private long totalCount = -1;
     private JsonObject nextJsonObject;
     private Filter<JsonObject> filter;
+    private PagePrefetcher<PagingParameters> prefetcher;
 
     JsonIterator(BoxAPIConnection api, URL url, PagingParameters pagingParameters) {
+        this(api, new PageLoader(api, url), pagingParameters, Long.MAX_VALUE);
+    }
+
+    private JsonIterator(BoxAPIConnection api, PageLoader loader, PagingParameters pagingParameters, long endOffset) {
         this.api = api;
-        this.url = url;
+        this.loader = loader;
         this.pagingParameters = pagingParameters;
+        this.endOffset = endOffset;
     }
 
     public boolean hasNext() {
@@ -54,47 +62,113 @@ class JsonIterator {
         this.filter = filter;
     }
 
-    private void loadNextPage() {
-        QueryStringBuilder builder = pagingParameters.asQueryStringBuilder();
+    /**
+     * Returns how many entries can be returned without fetching another page. The count doesn't take the filter into
+     * account, so it is an upper bound of the entries that will actually be returned.
+     *
+     * @return the number of entries left in the page that has already been fetched.
+     */
+    int remainingInPage() {
+        int remaining = this.currentPage == null ? 0 : this.currentPage.size() - this.pageCursor;
+        return this.nextJsonObject == null ? remaining : remaining + 1;
+    }
 
-        URL url;
-        try {
-            url = builder.addToURL(this.url);
-        } catch (MalformedURLException e) {
-            throw new BoxAPIException("Couldn't append a query string to the provided URL.");
+    /**
+     * Stops fetching pages, including the pages being prefetched. No more entries are returned afterwards.
+     */
+    void close() {
+        if (this.prefetcher != null) {
+            this.prefetcher.cancel();
+            this.prefetcher = null;
         }
+        this.hasMorePages = false;
+        this.currentPage = new JsonArray();
+        this.pageCursor = 0;
+        this.nextJsonObject = null;
+    }
 
-        BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
-        BoxJSONResponse response = (BoxJSONResponse) request.send();
-        String json = response.getJSON();
+    /**
+     * Splits off the first half of the pages that have not been fetched yet. This is only possible for offset based
+     * paging, where the offsets of the remaining pages are known once the total count has been reported, and only
+     * while pages aren't being prefetched.
+     *
+     * <p>The returned iterator starts with the entries already fetched by this iterator and covers the pages up to the
+     * split point, while this iterator continues with the pages after it.</p>
+     *
+     * @return an iterator over the first half of the remaining entries, or null if they cannot be split.
+     */
+    JsonIterator splitPrefix() {
+        if (this.prefetcher != null || this.pagingParameters.isMarkerBasedPaging()) {
+            return null;
+        }
+        if (this.currentPage == null) {
+            // the first page is loaded without starting the prefetcher, which would keep fetching the pages that are
+            // handed to the prefix
+            this.loadNextPage(false);
+        }
+        if (!this.hasMorePages || this.totalCount < 0) {
+            return null;
+        }
 
-        JsonObject responseObject = Json.parse(json).asObject();
+        long limit = this.pagingParameters.getLimit();
+        long nextOffset = this.pagingParameters.getOffset();
+        long end = Math.min(this.endOffset, this.totalCount);
+        long remainingPages = (end - nextOffset + limit - 1) / limit;
+        if (remainingPages < 2) {
+            this.startPrefetching();
+            return null;
+        }
 
-        if (pagingParameters.isMarkerBasedPaging()) {
-            continueAsMarkerBasedPaging(responseObject);
+        long splitOffset = nextOffset + (remainingPages / 2) * limit;
+        JsonIterator prefix = new JsonIterator(this.api, this.loader, this.pagingParameters, splitOffset);
+        prefix.filter = this.filter;
+        prefix.totalCount = this.totalCount;
+        prefix.hasMorePages = true;
+        prefix.currentPage = this.currentPage;
+        prefix.pageCursor = this.pageCursor;
+        prefix.nextJsonObject = this.nextJsonObject;
+
+        this.pagingParameters = PagingParameters.offset(splitOffset, limit);
+        this.currentPage = new JsonArray();
+        this.pageCursor = 0;
+        this.nextJsonObject = null;
+        return prefix;
+    }
+
+    private void loadNextPage() {
+        this.loadNextPage(true);
+    }
+
+    private void loadNextPage(boolean prefetch) {
+        PagePrefetcher.Page<PagingParameters> page;
+        if (this.prefetcher != null) {
+            page = this.prefetcher.next();
         } else {
-            continueAsOffsetBasedPaging(responseObject);
+            page = this.loader.load(this.pagingParameters);
         }
 
-        JsonArray jsonArray = responseObject.get("entries").asArray();
-        this.currentPage = jsonArray.iterator();
-    }
+        PagingParameters next = page.getNextKey();
+        this.hasMorePages = next != null && (next.isMarkerBasedPaging() || next.getOffset() < this.endOffset);
+        if (this.hasMorePages) {
+            this.pagingParameters = next;
+        }
+        if (page.getTotalCount() >= 0) {
+            this.totalCount = page.getTotalCount();
+        }
+        this.currentPage = page.getEntries();
+        this.pageCursor = 0;
 
-    private void continueAsOffsetBasedPaging(JsonObject response) {
-        try {
-            long offset = response.get("offset").asLong();
-            long totalCount = response.get("total_count").asLong();
-            hasMorePages = offset + pagingParameters.getLimit() < totalCount;
-            this.pagingParameters = pagingParameters.nextOffset(offset);
-        } catch (NullPointerException e) {
-            hasMorePages = false;
+        if (prefetch) {
+            this.startPrefetching();
         }
     }
 
-    private void continueAsMarkerBasedPaging(JsonObject response) {
-        String nextMarker = response.getString("next_marker", null);
-        this.hasMorePages = nextMarker != null && nextMarker.length() > 0;
-        this.pagingParameters = pagingParameters.nextMarker(nextMarker);
+    private void startPrefetching() {
+        int prefetchDepth = this.api.getPagePrefetchDepth();
+        if (this.prefetcher == null && this.hasMorePages && prefetchDepth > 0 && this.endOffset == Long.MAX_VALUE) {
+            this.prefetcher = new PagePrefetcher<>(this.api.getPagePrefetchExecutor(), prefetchDepth,
+                this.pagingParameters, this.loader, this);
+        }
     }
 
     private JsonObject loadNextJsonObject() {
@@ -102,9 +176,9 @@ class JsonIterator {
             this.loadNextPage();
         }
 
-        while (this.currentPage.hasNext() || this.hasMorePages) {
-            while (this.currentPage.hasNext()) {
-                JsonObject jsonObject = this.currentPage.next().asObject();
+        while (this.pageCursor < this.currentPage.size() || this.hasMorePages) {
+            while (this.pageCursor < this.currentPage.size()) {
+                JsonObject jsonObject = this.currentPage.get(this.pageCursor++).asObject();
                 if (this.filter == null || this.filter.shouldInclude(jsonObject)) {
                     return jsonObject;
                 }
@@ -117,4 +191,69 @@ class JsonIterator {
 
         return null;
     }
+
+    /**
+     * Loads single pages of an offset or marker based endpoint. It doesn't reference the iterator, so that the
+     * iterator can be collected while pages are still being prefetched for it.
+     */
+    private static final class PageLoader implements PagePrefetcher.PageLoader<PagingParameters> {
+        private final BoxAPIConnection api;
+        private final URL url;
+
+        PageLoader(BoxAPIConnection api, URL url) {
+            this.api = api;
+            this.url = url;
+        }
+
+        @Override
+        public PagePrefetcher.Page<PagingParameters> load(PagingParameters pagingParameters) {
+            QueryStringBuilder builder = pagingParameters.asQueryStringBuilder();
+
+            URL url;
+            try {
+                url = builder.addToURL(this.url);
+            } catch (MalformedURLException e) {
+                throw new BoxAPIException("Couldn't append a query string to the provided URL.");
+            }
+
+            BoxAPIRequest request = new BoxAPIRequest(this.api, url, "GET");
+            BoxJSONResponse response = (BoxJSONResponse) request.send();
+            String json = response.getJSON();
+
+            JsonObject responseObject = Json.parse(json).asObject();
+
+            PagingParameters next;
+            if (pagingParameters.isMarkerBasedPaging()) {
+                next = this.continueAsMarkerBasedPaging(pagingParameters, responseObject);
+            } else {
+                next = this.continueAsOffsetBasedPaging(pagingParameters, responseObject);
+            }
+
+            JsonValue totalCount = responseObject.get("total_count");
+            JsonArray jsonArray = responseObject.get("entries").asArray();
+            return new PagePrefetcher.Page<>(jsonArray, next,
+                totalCount != null && totalCount.isNumber() ? totalCount.asLong() : -1);
+        }
+
+        private PagingParameters continueAsOffsetBasedPaging(PagingParameters pagingParameters, JsonObject response) {
+            try {
+                long offset = response.get("offset").asLong();
+                long totalCount = response.get("total_count").asLong();
+                if (offset + pagingParameters.getLimit() < totalCount) {
+                    return pagingParameters.nextOffset(offset);
+                }
+            } catch (NullPointerException e) {
+                // the endpoint doesn't report its size, so there is nothing more to page through
+            }
+            return null;
+        }
+
+        private PagingParameters continueAsMarkerBasedPaging(PagingParameters pagingParameters, JsonObject response) {
+            String nextMarker = response.getString("next_marker", null);
+            if (nextMarker != null && nextMarker.length() > 0) {
+                return pagingParameters.nextMarker(nextMarker);
+            }
+            return null;
+        }
+    }
 }
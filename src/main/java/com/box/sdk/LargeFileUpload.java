@@ -9,11 +9,13 @@ import java.net.URL;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,8 +31,9 @@ public final class LargeFileUpload {
     private static final int DEFAULT_CONNECTIONS = 3;
     private static final int DEFAULT_TIMEOUT = 1;
     private static final TimeUnit DEFAULT_TIMEUNIT = TimeUnit.HOURS;
-    private static final int THREAD_POOL_WAIT_TIME_IN_MILLIS = 1000;
-    private final ThreadPoolExecutor executorService;
+    private final ExecutorService executorService;
+    private final boolean ownsExecutorService;
+    private final int parallelConnections;
     private final long timeout;
     private final TimeUnit timeUnit;
     private int connections;
@@ -43,18 +46,40 @@ public final class LargeFileUpload {
      * @param unit                 time unit for the time wait value
      */
     public LargeFileUpload(int nParallelConnections, long timeOut, TimeUnit unit) {
-        this.executorService = (ThreadPoolExecutor) Executors.newFixedThreadPool(nParallelConnections);
-        this.timeout = timeOut;
-        this.timeUnit = unit;
+        this(nParallelConnections, timeOut, unit, Executors.newFixedThreadPool(nParallelConnections), true);
+    }
+
+    /**
+     * Creates a LargeFileUpload object that uploads the parts on the threads of an executor, e.g. on virtual threads.
+     * The executor isn't shut down when the upload finishes.
+     *
+     * @param nParallelConnections number of parts uploaded at the same time
+     * @param timeOut              time to wait before killing the job
+     * @param unit                 time unit for the time wait value
+     * @param executorService      the executor uploading the parts
+     */
+    public LargeFileUpload(int nParallelConnections, long timeOut, TimeUnit unit, ExecutorService executorService) {
+        this(nParallelConnections, timeOut, unit, executorService, false);
     }
 
     /**
      * Creates a LargeFileUpload object with a default number of parallel conections and timeout.
      */
     public LargeFileUpload() {
-        this.executorService = (ThreadPoolExecutor) Executors.newFixedThreadPool(LargeFileUpload.DEFAULT_CONNECTIONS);
-        this.timeout = LargeFileUpload.DEFAULT_TIMEOUT;
-        this.timeUnit = LargeFileUpload.DEFAULT_TIMEUNIT;
+        this(LargeFileUpload.DEFAULT_CONNECTIONS, LargeFileUpload.DEFAULT_TIMEOUT, LargeFileUpload.DEFAULT_TIMEUNIT);
+    }
+
+    private LargeFileUpload(int nParallelConnections, long timeOut, TimeUnit unit, ExecutorService executorService,
+                            boolean ownsExecutorService) {
+        if (nParallelConnections < 1) {
+            throw new IllegalArgumentException("At least one parallel connection must be allowed.");
+        }
+
+        this.executorService = executorService;
+        this.ownsExecutorService = ownsExecutorService;
+        this.parallelConnections = nParallelConnections;
+        this.timeout = timeOut;
+        this.timeUnit = unit;
     }
 
     private static byte[] getBytesFromStream(InputStream stream, int numBytes) {
@@ -232,47 +257,60 @@ public final class LargeFileUpload {
      */
     private List<BoxFileUploadSessionPart> uploadParts(BoxFileUploadSession.Info session, InputStream stream,
                                                        long fileSize) throws InterruptedException {
-        List<BoxFileUploadSessionPart> parts = new ArrayList<>();
-
         int partSize = session.getPartSize();
+        int partCount = (int) ((fileSize + partSize - 1) / partSize);
+        // every task sets its own element of the fixed size list, so the tasks never resize it concurrently
+        List<BoxFileUploadSessionPart> parts = Arrays.asList(new BoxFileUploadSessionPart[partCount]);
+
         long offset = 0;
         long processed = 0;
         int partPostion = 0;
-        //Set the Max Queue Size to 1.5x the number of processors
-        double maxQueueSizeDouble = Math.ceil(this.executorService.getMaximumPoolSize() * 1.5);
-        int maxQueueSize = Double.valueOf(maxQueueSizeDouble).intValue();
-        while (processed < fileSize) {
-            //Waiting for any thread to finish before
-            long timeoutForWaitingInMillis = TimeUnit.MILLISECONDS.convert(this.timeout, this.timeUnit);
-            if (this.executorService.getCorePoolSize() <= this.executorService.getActiveCount()) {
-                if (timeoutForWaitingInMillis > 0) {
-                    Thread.sleep(LargeFileUpload.THREAD_POOL_WAIT_TIME_IN_MILLIS);
-                    timeoutForWaitingInMillis -= THREAD_POOL_WAIT_TIME_IN_MILLIS;
-                } else {
+        //Keep the parts being uploaded and up to 1.5x the number of connections waiting to be uploaded in memory
+        int maxPartsInMemory = this.parallelConnections + (int) Math.ceil(this.parallelConnections * 1.5);
+        final Semaphore partsInMemory = new Semaphore(maxPartsInMemory);
+        try {
+            while (processed < fileSize) {
+                if (!partsInMemory.tryAcquire(this.timeout, this.timeUnit)) {
                     throw new BoxAPIException("Upload parts timedout");
                 }
-            }
-            if (this.executorService.getQueue().size() < maxQueueSize) {
+
                 long diff = fileSize - processed;
                 //The size last part of the file can be lesser than the part size.
                 if (diff < (long) partSize) {
                     partSize = (int) diff;
                 }
-                parts.add(null);
                 byte[] bytes = getBytesFromStream(stream, partSize);
-                this.executorService.execute(
-                    new LargeFileUploadTask(session.getResource(), bytes, offset,
-                        partSize, fileSize, parts, partPostion)
-                );
+                final LargeFileUploadTask task = new LargeFileUploadTask(session.getResource(), bytes, offset,
+                    partSize, fileSize, parts, partPostion);
+                try {
+                    this.executorService.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            partsInMemory.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // the task that would have released the permit never runs
+                    partsInMemory.release();
+                    throw new BoxAPIException("Couldn't submit the upload of a part to the executor.", e);
+                }
 
                 //Increase the offset and proceesed bytes to calculate the Content-Range header.
                 processed += partSize;
                 offset += partSize;
                 partPostion++;
             }
+
+            //Wait for the uploads in flight to finish
+            if (!partsInMemory.tryAcquire(maxPartsInMemory, this.timeout, this.timeUnit)) {
+                throw new BoxAPIException("Upload parts timedout");
+            }
+        } finally {
+            if (this.ownsExecutorService) {
+                this.executorService.shutdown();
+            }
         }
-        this.executorService.shutdown();
-        this.executorService.awaitTermination(this.timeout, this.timeUnit);
         return parts;
     }
 
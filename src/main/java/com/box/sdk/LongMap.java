@@ -0,0 +1,150 @@
+package com.box.sdk;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive long keys to non-null values, using open addressing with linear probing. It stores the keys
+ * without boxing them and without an entry object per mapping, which keeps large maps of Box IDs compact.
+ *
+ * <p>This class isn't thread safe.</p>
+ *
+ * @param <V> the type of the values.
+ */
+final class LongMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LongMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = this.keys.length - 1;
+        for (int i = index(key, mask); this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return (V) this.values[i];
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(long key) {
+        return this.get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Values can't be null.");
+        }
+
+        int mask = this.keys.length - 1;
+        int i = index(key, mask);
+        for (; this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                V previous = (V) this.values[i];
+                this.values[i] = value;
+                return previous;
+            }
+        }
+
+        this.keys[i] = key;
+        this.values[i] = value;
+        this.size++;
+        // keeps the load factor at or below one half, so that probe sequences stay short
+        if (this.size * 2 > this.keys.length) {
+            this.resize(this.keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int mask = this.keys.length - 1;
+        int i = index(key, mask);
+        while (this.values[i] != null && this.keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (this.values[i] == null) {
+            return null;
+        }
+
+        V removed = (V) this.values[i];
+        this.values[i] = null;
+        this.size--;
+
+        // shifts the following entries of the probe sequence back, so that lookups never stop at the removed slot
+        int gap = i;
+        for (int j = (i + 1) & mask; this.values[j] != null; j = (j + 1) & mask) {
+            int home = index(this.keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                this.keys[gap] = this.keys[j];
+                this.values[gap] = this.values[j];
+                this.values[j] = null;
+                gap = j;
+            }
+        }
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Returns a copy of the keys, in no particular order.
+     */
+    long[] keys() {
+        long[] copy = new long[this.size];
+        int n = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            if (this.values[i] != null) {
+                copy[n++] = this.keys[i];
+            }
+        }
+        return copy;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = index(oldKeys[i], mask);
+                while (this.values[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                this.keys[j] = oldKeys[i];
+                this.values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private static int index(long key, int mask) {
+        // mixes the bits of sequential IDs, which would otherwise fill runs of neighbouring slots
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
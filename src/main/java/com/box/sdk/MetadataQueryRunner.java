@@ -0,0 +1,253 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs a metadata query over large numbers of items, such as a compliance report over every file with a template.
+ *
+ * <p>The pages of the query are fetched on background threads ahead of the consumer, up to a given number of pages,
+ * so the consumer doesn't wait for a request after every page. Instead of building a {@link BoxItem.Info} for every
+ * result, each result is mapped to a {@link Row} holding only its type, its ID and the values of the fields requested
+ * with {@link MetadataQuery#setFields(String...)}, so the rest of the page can be collected right away.</p>
+ *
+ * <p>Since the pages of a query can only be fetched one after the other, a query over a large folder tree can also be
+ * split into one query per sub-folder of its ancestor folder, and several of these queries are then run at the same
+ * time. The results of a split query are handed to the consumer in no particular order.</p>
+ *
+ * <pre>MetadataQuery query = new MetadataQuery("enterprise_341532.contract")
+ *     .setQuery("status = :status")
+ *     .addParameter("status", "expired")
+ *     .setAncestorFolderId("5000")
+ *     .setFields("name", "metadata.enterprise_341532.contract.owner");
+ * MetadataQueryRunner runner = new MetadataQueryRunner(api, query);
+ * runner.setSplitIntoSubfolders(true);
+ * runner.setMaxConcurrentQueries(4);
+ * runner.run(row -&gt; report(row.getID(), row.getValue("name").asString()));</pre>
+ */
+public class MetadataQueryRunner {
+    private static final int DEFAULT_PREFETCH_DEPTH = 2;
+
+    private final BoxAPIConnection api;
+    private final MetadataQuery query;
+    private int maxConcurrentQueries = 1;
+    private int prefetchDepth = DEFAULT_PREFETCH_DEPTH;
+    private boolean splitIntoSubfolders;
+
+    /**
+     * Creates a runner for a metadata query.
+     *
+     * @param api   the API connection used to run the query.
+     * @param query the query to run.
+     */
+    public MetadataQueryRunner(BoxAPIConnection api, MetadataQuery query) {
+        this.api = api;
+        this.query = query;
+    }
+
+    /**
+     * Sets the number of queries run at the same time when the query is split into sub-folders. Defaults to 1.
+     *
+     * @param maxConcurrentQueries the maximum number of queries running at a time.
+     */
+    public void setMaxConcurrentQueries(int maxConcurrentQueries) {
+        if (maxConcurrentQueries < 1) {
+            throw new IllegalArgumentException("At least one query must be allowed to run.");
+        }
+        this.maxConcurrentQueries = maxConcurrentQueries;
+    }
+
+    /**
+     * Sets the number of pages each running query fetches ahead of the consumer. Defaults to 2.
+     *
+     * @param prefetchDepth the number of pages fetched ahead.
+     */
+    public void setPrefetchDepth(int prefetchDepth) {
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be at least 1.");
+        }
+        this.prefetchDepth = prefetchDepth;
+    }
+
+    /**
+     * Sets whether the query is split into one query per sub-folder of its ancestor folder. The query then only finds
+     * the items below the sub-folders: the items directly in the ancestor folder, including the sub-folders themselves,
+     * aren't part of any of the queries, so this is meant for ancestor folders such as the root of a tree of department
+     * folders. Running a split query fails before any query is sent if one of the items directly in the ancestor
+     * folder has an instance of the queried template, since it could be a result that none of the queries would find.
+     * The marker of the query is ignored when it is split.
+     *
+     * @param splitIntoSubfolders whether to split the query.
+     */
+    public void setSplitIntoSubfolders(boolean splitIntoSubfolders) {
+        this.splitIntoSubfolders = splitIntoSubfolders;
+    }
+
+    /**
+     * Runs the query and hands every result to a consumer, on the calling thread. An exception thrown by the consumer
+     * stops the query.
+     *
+     * @param consumer receives the results.
+     * @return the number of results.
+     * @throws IllegalStateException if the query is split into sub-folders and an item directly in the ancestor folder
+     *                               has an instance of the queried template.
+     */
+    public long run(Consumer<Row> consumer) {
+        JsonObject body = this.query.toJsonObject();
+        List<String> fields = fields(body);
+        final URL url = MetadataTemplate.METADATA_QUERIES_URL_TEMPLATE.build(this.api.getBaseURL());
+        MultiSourcePrefetcher<JsonObject> prefetcher = new MultiSourcePrefetcher<>(this.api.getPagePrefetchExecutor(),
+            this.maxConcurrentQueries, this.prefetchDepth, this.partitions(body),
+            (partition, marker) -> this.load(url, partition, marker));
+        long count = 0;
+        try {
+            MultiSourcePrefetcher.SourcePage<JsonObject> page;
+            while ((page = prefetcher.next()) != null) {
+                for (JsonValue entry : page.getEntries()) {
+                    consumer.accept(new Row(fields, entry.asObject()));
+                    count++;
+                }
+            }
+        } finally {
+            prefetcher.cancel();
+        }
+
+        return count;
+    }
+
+    private List<JsonObject> partitions(JsonObject body) {
+        if (!this.splitIntoSubfolders) {
+            return Collections.singletonList(body);
+        }
+
+        String ancestorFolderID = body.getString(MetadataQuery.ANCESTOR_FOLDER_ID, "0");
+        // the instances of the queried template, e.g. metadata.enterprise_341532.contract
+        String instanceField = "metadata." + body.getString(MetadataQuery.FROM, "");
+        List<JsonObject> partitions = new ArrayList<>();
+        for (BoxItem.Info child : new BoxFolder(this.api, ancestorFolderID).getChildren("type", "id", instanceField)) {
+            JsonValue instance = Row.valueAt(Json.parse(child.getJson()).asObject(), instanceField);
+            if (instance != null && instance.isObject()) {
+                throw new IllegalStateException(String.format("The %s %s has %s and is directly in folder %s, so a "
+                    + "query split into its sub-folders wouldn't find it.", child.getType(), child.getID(),
+                    instanceField, ancestorFolderID));
+            }
+            if (child instanceof BoxFolder.Info) {
+                JsonObject partition = new JsonObject(body).set(MetadataQuery.ANCESTOR_FOLDER_ID, child.getID());
+                partition.remove(MetadataQuery.MARKER);
+                partitions.add(partition);
+            }
+        }
+        return partitions;
+    }
+
+    private static List<String> fields(JsonObject body) {
+        JsonValue fields = body.get(MetadataQuery.FIELDS);
+        if (fields == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> names = new ArrayList<>();
+        for (JsonValue field : fields.asArray()) {
+            names.add(field.asString());
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    private JsonObject load(URL url, JsonObject body, String marker) {
+        JsonObject requestBody = body;
+        if (marker != null) {
+            requestBody = new JsonObject(body).set(MetadataQuery.MARKER, marker);
+        }
+
+        BoxAPIRequest request = new BoxAPIRequest(this.api, url, "POST");
+        request.addHeader("Content-Type", "application/json");
+        request.setBody(requestBody.toString());
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+        return Json.parse(response.getJSON()).asObject();
+    }
+
+    /**
+     * A result of a metadata query, projected onto the fields requested by the query.
+     */
+    public static final class Row {
+        private final List<String> fields;
+        private final String type;
+        private final String id;
+        private final JsonValue[] values;
+
+        Row(List<String> fields, JsonObject item) {
+            this.fields = fields;
+            this.type = item.getString("type", null);
+            this.id = item.getString("id", null);
+            this.values = new JsonValue[fields.size()];
+            for (int i = 0; i < this.values.length; i++) {
+                this.values[i] = valueAt(item, fields.get(i));
+            }
+        }
+
+        /**
+         * Gets the value of a field at a dotted path, e.g. "metadata.enterprise_341532.contract.owner".
+         */
+        private static JsonValue valueAt(JsonObject item, String path) {
+            JsonValue value = item;
+            int start = 0;
+            while (value != null && start <= path.length()) {
+                if (!value.isObject()) {
+                    return null;
+                }
+                int end = path.indexOf('.', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                value = value.asObject().get(path.substring(start, end));
+                start = end + 1;
+            }
+            return value;
+        }
+
+        /**
+         * Gets the type of the item.
+         *
+         * @return "file", "folder" or "web_link".
+         */
+        public String getType() {
+            return this.type;
+        }
+
+        /**
+         * Gets the ID of the item.
+         *
+         * @return the ID of the item.
+         */
+        public String getID() {
+            return this.id;
+        }
+
+        /**
+         * Gets the value of one of the fields requested by the query, such as "name" or
+         * "metadata.enterprise_341532.contract.owner".
+         *
+         * @param field the field, as it was requested.
+         * @return the value of the field, or null if the field wasn't requested or the item has no value for it.
+         */
+        public JsonValue getValue(String field) {
+            int index = this.fields.indexOf(field);
+            return index < 0 ? null : this.values[index];
+        }
+
+        /**
+         * Gets the fields requested by the query.
+         *
+         * @return the requested fields.
+         */
+        public List<String> getFields() {
+            return this.fields;
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class MetadataTemplate extends BoxJSONObject {
     /**
      *
      */
-    private static final URLTemplate METADATA_QUERIES_URL_TEMPLATE = new URLTemplate("metadata_queries/execute_read");
+    static final URLTemplate METADATA_QUERIES_URL_TEMPLATE = new URLTemplate("metadata_queries/execute_read");
 
     /**
      * Default metadata type to be used in query.
@@ -268,7 +268,12 @@ public class MetadataTemplate extends BoxJSONObject {
         BoxJSONResponse response = (BoxJSONResponse) request.send();
         JsonObject responseJson = Json.parse(response.getJSON()).asObject();
 
-        return new MetadataTemplate(responseJson);
+        MetadataTemplate updatedTemplate = new MetadataTemplate(responseJson);
+        MetadataTemplateCache cache = api.getMetadataTemplateCache();
+        if (cache != null) {
+            cache.update(scope, template, updatedTemplate);
+        }
+        return updatedTemplate;
     }
 
     /**
@@ -284,6 +289,10 @@ public class MetadataTemplate extends BoxJSONObject {
         BoxJSONRequest request = new BoxJSONRequest(api, url, "DELETE");
 
         request.send();
+        MetadataTemplateCache cache = api.getMetadataTemplateCache();
+        if (cache != null) {
+            cache.invalidate(scope, template);
+        }
     }
 
     /**
@@ -698,9 +707,28 @@ public class MetadataTemplate extends BoxJSONObject {
      * @param templateName the metadata template type name.
      * @param scope        the metadata template scope (global or enterprise).
      * @param fields       the fields to retrieve.
-     * @return the metadata template returned from the server.
+     * @return the metadata template returned from the server, or from the connection's
+     * {@link BoxAPIConnection#getMetadataTemplateCache() template cache} if it has one and no fields are requested.
      */
     public static MetadataTemplate getMetadataTemplate(
+        BoxAPIConnection api, String templateName, String scope, String... fields) {
+        MetadataTemplateCache cache = api.getMetadataTemplateCache();
+        if (cache != null && fields.length == 0) {
+            return cache.get(api, scope, templateName);
+        }
+        return loadMetadataTemplate(api, templateName, scope, fields);
+    }
+
+    /**
+     * Gets the metadata template of specified template type from the API, bypassing any template cache.
+     *
+     * @param api          the API connection to be used.
+     * @param templateName the metadata template type name.
+     * @param scope        the metadata template scope (global or enterprise).
+     * @param fields       the fields to retrieve.
+     * @return the metadata template returned from the server.
+     */
+    static MetadataTemplate loadMetadataTemplate(
         BoxAPIConnection api, String templateName, String scope, String... fields) {
         QueryStringBuilder builder = new QueryStringBuilder();
         if (fields.length > 0) {
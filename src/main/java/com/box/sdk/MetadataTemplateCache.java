@@ -0,0 +1,154 @@
+package com.box.sdk;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A read-through cache of metadata templates, keyed by their scope and template key.
+ *
+ * <p>Set the cache on a connection with {@link BoxAPIConnection#setMetadataTemplateCache(MetadataTemplateCache)} and
+ * {@link MetadataTemplate#getMetadataTemplate(BoxAPIConnection, String, String, String...)} returns the cached
+ * templates instead of getting them from the API every time. The same cache can be set on several connections to the
+ * same enterprise, so that the whole process shares one copy of each template.</p>
+ *
+ * <p>A template that was loaded longer ago than the refresh interval is still returned right away, while a fresh copy
+ * is loaded in the background on the connection's {@link BoxAPIConnection#getAsyncExecutor() async executor}. A
+ * template that is updated or deleted with {@link MetadataTemplate#updateMetadataTemplate} or
+ * {@link MetadataTemplate#deleteMetadataTemplate} through a connection using the cache is replaced or removed at once.
+ * Changes made in other ways, e.g. in the admin console, are picked up by the next background refresh.</p>
+ *
+ * <pre>MetadataTemplateCache templates = new MetadataTemplateCache(5, TimeUnit.MINUTES);
+ * api.setMetadataTemplateCache(templates);
+ * templates.warmUp(api);</pre>
+ */
+public class MetadataTemplateCache {
+    private static final BoxLogger LOGGER = BoxLogger.defaultLogger();
+
+    private final ConcurrentMap<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+    private final long refreshIntervalNanos;
+
+    /**
+     * Creates an empty metadata template cache.
+     *
+     * @param refreshInterval how long a template is used before it's refreshed in the background.
+     * @param unit            the unit of the refresh interval.
+     */
+    public MetadataTemplateCache(long refreshInterval, TimeUnit unit) {
+        this.refreshIntervalNanos = unit.toNanos(refreshInterval);
+    }
+
+    /**
+     * Gets a metadata template, loading it from the API if it isn't cached yet.
+     *
+     * @param api         the API connection used to load the template.
+     * @param scope       the scope of the template (global or enterprise).
+     * @param templateKey the key of the template.
+     * @return the metadata template.
+     */
+    public MetadataTemplate get(BoxAPIConnection api, String scope, String templateKey) {
+        String key = key(scope, templateKey);
+        CachedTemplate cached = this.templates.get(key);
+        if (cached == null) {
+            MetadataTemplate template = MetadataTemplate.loadMetadataTemplate(api, templateKey, scope);
+            cached = new CachedTemplate(template);
+            CachedTemplate previous = this.templates.putIfAbsent(key, cached);
+            return previous == null ? template : previous.template;
+        }
+
+        boolean stale = System.nanoTime() - cached.loadedAt > this.refreshIntervalNanos;
+        if (stale && cached.refreshing.compareAndSet(false, true)) {
+            this.refreshInBackground(api, scope, templateKey, cached);
+        }
+        return cached.template;
+    }
+
+    /**
+     * Loads all the metadata templates of the enterprise into the cache, so that the first lookups of the templates
+     * don't have to wait for the API.
+     *
+     * @param api the API connection used to load the templates.
+     * @return the number of templates loaded.
+     */
+    public int warmUp(BoxAPIConnection api) {
+        int loaded = 0;
+        for (MetadataTemplate template : MetadataTemplate.getEnterpriseMetadataTemplates(api)) {
+            this.templates.put(key("enterprise", template.getTemplateKey()), new CachedTemplate(template));
+            loaded++;
+        }
+        return loaded;
+    }
+
+    /**
+     * Removes a metadata template from the cache, so that the next lookup loads it from the API again.
+     *
+     * @param scope       the scope of the template.
+     * @param templateKey the key of the template.
+     */
+    public void invalidate(String scope, String templateKey) {
+        this.templates.remove(key(scope, templateKey));
+    }
+
+    /**
+     * Removes all the metadata templates from the cache.
+     */
+    public void invalidateAll() {
+        this.templates.clear();
+    }
+
+    /**
+     * Replaces a cached metadata template with a copy that is known to be up to date.
+     *
+     * @param scope       the scope of the template.
+     * @param templateKey the key of the template.
+     * @param template    the up to date template.
+     */
+    void update(String scope, String templateKey, MetadataTemplate template) {
+        this.templates.put(key(scope, templateKey), new CachedTemplate(template));
+    }
+
+    private void refreshInBackground(final BoxAPIConnection api, final String scope, final String templateKey,
+                                     final CachedTemplate stale) {
+        final String key = key(scope, templateKey);
+        try {
+            DaemonExecutors.orDefault(api.getAsyncExecutor()).execute(() -> {
+                try {
+                    MetadataTemplate template = MetadataTemplate.loadMetadataTemplate(api, templateKey, scope);
+                    // an invalidation or update since the refresh started wins over the refreshed copy
+                    this.templates.replace(key, stale, new CachedTemplate(template));
+                } catch (BoxAPIException e) {
+                    if (e.getResponseCode() == 404) {
+                        this.templates.remove(key, stale);
+                    } else {
+                        LOGGER.warn(String.format("Couldn't refresh metadata template %s/%s: %s", scope, templateKey,
+                            e.getMessage()));
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.warn(String.format("Couldn't refresh metadata template %s/%s: %s", scope, templateKey, e));
+                } finally {
+                    // lets the next lookup try again if the stale copy is still cached
+                    stale.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing.set(false);
+        }
+    }
+
+    private static String key(String scope, String templateKey) {
+        return scope + "/" + templateKey;
+    }
+
+    private static final class CachedTemplate {
+        private final MetadataTemplate template;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CachedTemplate(MetadataTemplate template) {
+            this.template = template;
+            this.loadedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the pages of several marker based sources at the same time on background threads, ahead of the consumer.
+ *
+ * <p>Like with a {@link PagePrefetcher}, the pages of one source are fetched one after the other, since the request for
+ * a page depends on the marker returned with the previous one. Up to a given number of sources are fetched at a time,
+ * each parking its pages in a buffer shared by all of them, and the next source is started as soon as one has been
+ * fetched. The consumer gets the pages in the order they arrive, so the pages of different sources are interleaved.
+ * The fetchers stop when {@link #cancel} is called or when a page fails.</p>
+ *
+ * @param <S> the type of the sources.
+ */
+final class MultiSourcePrefetcher<S> {
+    private static final long OFFER_TIMEOUT_MILLIS = 1000;
+
+    private final Executor executor;
+    private final Iterator<S> pending;
+    private final SourceLoader<S> loader;
+    private final BlockingQueue<SourcePage<S>> buffer;
+    private volatile boolean cancelled;
+    private int running;
+
+    /**
+     * Starts fetching the first sources.
+     *
+     * @param executor             the executor running the fetchers, or null to use the SDK's shared daemon threads.
+     * @param maxConcurrentSources the maximum number of sources fetched at a time.
+     * @param depth                the number of pages each source fetches ahead of the consumer.
+     * @param sources              the sources, started in this order.
+     * @param loader               loads a single page of a source.
+     */
+    MultiSourcePrefetcher(Executor executor, int maxConcurrentSources, int depth, Iterable<S> sources,
+                          SourceLoader<S> loader) {
+        if (maxConcurrentSources < 1 || depth < 1) {
+            throw new IllegalArgumentException("At least one page of one source must be fetched at a time.");
+        }
+
+        this.executor = DaemonExecutors.orDefault(executor);
+        this.pending = sources.iterator();
+        this.loader = loader;
+        this.buffer = new ArrayBlockingQueue<>(maxConcurrentSources * depth);
+        while (this.running < maxConcurrentSources && this.pending.hasNext()) {
+            this.start(this.pending.next());
+        }
+    }
+
+    /**
+     * Returns the next page of any of the sources, waiting for one to be fetched if necessary.
+     *
+     * @return the next page, or null if every page of every source has already been returned.
+     * @throws BoxAPIException if fetching a page failed or if the thread was interrupted while waiting.
+     */
+    SourcePage<S> next() {
+        while (this.running > 0) {
+            SourcePage<S> page;
+            try {
+                page = this.buffer.take();
+            } catch (InterruptedException e) {
+                this.cancel();
+                Thread.currentThread().interrupt();
+                throw new BoxAPIException("Interrupted while waiting for the next page.", e);
+            }
+
+            if (page.failure != null) {
+                this.cancel();
+                throw page.failure;
+            }
+            if (page.entries != null) {
+                return page;
+            }
+
+            // a page without entries marks the end of its source
+            this.running--;
+            if (this.pending.hasNext()) {
+                this.start(this.pending.next());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stops fetching further pages. Pages that are already in the buffer are dropped.
+     */
+    void cancel() {
+        this.cancelled = true;
+        this.buffer.clear();
+    }
+
+    private void start(final S source) {
+        this.running++;
+        this.executor.execute(() -> this.fetch(source));
+    }
+
+    private void fetch(S source) {
+        String marker = null;
+        do {
+            if (this.cancelled) {
+                return;
+            }
+
+            JsonObject pageBody;
+            try {
+                pageBody = this.loader.load(source, marker);
+            } catch (RuntimeException e) {
+                this.offer(new SourcePage<>(source, null, e));
+                return;
+            }
+            if (!this.offer(new SourcePage<>(source, pageBody.get("entries").asArray(), null))) {
+                return;
+            }
+
+            JsonValue next = pageBody.get("next_marker");
+            marker = next != null && next.isString() && !next.asString().isEmpty() ? next.asString() : null;
+        } while (marker != null);
+        this.offer(new SourcePage<S>(source, null, null));
+    }
+
+    private boolean offer(SourcePage<S> page) {
+        try {
+            while (!this.cancelled) {
+                if (this.buffer.offer(page, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Loads a single page of a source.
+     *
+     * @param <S> the type of the sources.
+     */
+    interface SourceLoader<S> {
+        /**
+         * Loads a page.
+         *
+         * @param source the source.
+         * @param marker the marker of the page, or null for the first page.
+         * @return the page, with its "entries" and the "next_marker" of the following page.
+         */
+        JsonObject load(S source, String marker);
+    }
+
+    /**
+     * A fetched page along with its source.
+     *
+     * @param <S> the type of the sources.
+     */
+    static final class SourcePage<S> {
+        private final S source;
+        private final JsonArray entries;
+        private final RuntimeException failure;
+
+        private SourcePage(S source, JsonArray entries, RuntimeException failure) {
+            this.source = source;
+            this.entries = entries;
+            this.failure = failure;
+        }
+
+        S getSource() {
+            return this.source;
+        }
+
+        JsonArray getEntries() {
+            return this.entries;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Fetches a range of an offset based endpoint with several concurrent requests.
+ *
+ * <p>The first page is requested on the calling thread. It reports the total number of entries, so the offsets of all
+ * the remaining pages are known and they are requested concurrently, with at most {@code maxConcurrentRequests}
+ * requests in flight. Entries are always handed to the consumer on the calling thread, either in the order of their
+ * offsets or in the order in which their pages arrive.</p>
+ */
+final class OffsetRangeFetcher {
+    private final BoxAPIConnection api;
+    private final URL url;
+    private final long maxPageSize;
+    private final int maxConcurrentRequests;
+    private final Executor executor;
+
+    /**
+     * Creates a fetcher for an endpoint.
+     *
+     * @param api                   the API connection used to send the requests.
+     * @param url                   the endpoint URL, whose query is extended with the limit and offset of each page.
+     * @param maxPageSize           the maximum number of entries the endpoint returns in a page.
+     * @param maxConcurrentRequests the maximum number of page requests in flight.
+     */
+    OffsetRangeFetcher(BoxAPIConnection api, URL url, long maxPageSize, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one concurrent request must be allowed.");
+        }
+
+        this.api = api;
+        this.url = url;
+        this.maxPageSize = maxPageSize;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.executor = DaemonExecutors.orDefault(api.getPagePrefetchExecutor());
+    }
+
+    /**
+     * Fetches the entries in a range of offsets.
+     *
+     * @param offset   the offset of the first entry to fetch.
+     * @param limit    the maximum number of entries to fetch.
+     * @param ordered  whether the entries are handed to the consumer in the order of their offsets. Otherwise pages are
+     *                 handed over as soon as they arrive, which keeps all the allowed requests busy.
+     * @param consumer receives the entries on the calling thread.
+     * @return the total number of entries reported by the endpoint.
+     */
+    long fetch(long offset, long limit, boolean ordered, Consumer<JsonObject> consumer) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit must be at least 1.");
+        }
+
+        long pageSize = Math.min(limit, this.maxPageSize);
+        JsonObject firstPage = this.loadPage(offset, pageSize);
+        long totalCount = firstPage.get("total_count").asLong();
+        emit(firstPage, consumer);
+
+        long end = Math.min(totalCount, offset + limit < 0 ? Long.MAX_VALUE : offset + limit);
+        long firstRemaining = offset + pageSize;
+        int pageCount = firstRemaining < end ? (int) ((end - firstRemaining + pageSize - 1) / pageSize) : 0;
+        if (pageCount == 0) {
+            return totalCount;
+        }
+
+        BlockingQueue<LoadedPage> loaded = new LinkedBlockingQueue<>();
+        Map<Integer, JsonObject> waiting = new HashMap<>();
+        FetchState state = new FetchState();
+        int nextToRequest = 0;
+        int nextToEmit = 0;
+        int inFlight = 0;
+        try {
+            while (nextToEmit < pageCount) {
+                while (inFlight < this.maxConcurrentRequests && nextToRequest < pageCount
+                    && (!ordered || nextToRequest - nextToEmit < 2 * this.maxConcurrentRequests)) {
+                    long pageOffset = firstRemaining + nextToRequest * pageSize;
+                    this.request(nextToRequest, pageOffset, Math.min(pageSize, end - pageOffset), loaded, state);
+                    nextToRequest++;
+                    inFlight++;
+                }
+
+                LoadedPage page = loaded.take();
+                inFlight--;
+                if (page.failure != null) {
+                    throw page.failure;
+                }
+
+                if (!ordered) {
+                    emit(page.body, consumer);
+                    nextToEmit++;
+                    continue;
+                }
+
+                waiting.put(page.index, page.body);
+                JsonObject next;
+                while ((next = waiting.remove(nextToEmit)) != null) {
+                    emit(next, consumer);
+                    nextToEmit++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting for a page.", e);
+        } finally {
+            state.cancelled = true;
+        }
+
+        return totalCount;
+    }
+
+    private static void emit(JsonObject page, Consumer<JsonObject> consumer) {
+        JsonArray entries = page.get("entries").asArray();
+        for (JsonValue entry : entries) {
+            consumer.accept(entry.asObject());
+        }
+    }
+
+    private void request(final int index, final long offset, final long limit, final BlockingQueue<LoadedPage> loaded,
+                         final FetchState state) {
+        this.executor.execute(() -> {
+            if (state.cancelled) {
+                return;
+            }
+            try {
+                loaded.add(new LoadedPage(index, this.loadPage(offset, limit), null));
+            } catch (RuntimeException e) {
+                loaded.add(new LoadedPage(index, null, e));
+            }
+        });
+    }
+
+    private JsonObject loadPage(long offset, long limit) {
+        QueryStringBuilder builder = new QueryStringBuilder(this.url.getQuery())
+            .appendParam("limit", limit)
+            .appendParam("offset", offset);
+
+        URL pageURL;
+        try {
+            pageURL = builder.replaceQuery(this.url);
+        } catch (MalformedURLException e) {
+            throw new BoxAPIException("Couldn't append a query string to the provided URL.");
+        }
+
+        BoxAPIRequest request = new BoxAPIRequest(this.api, pageURL, "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+        return Json.parse(response.getJSON()).asObject();
+    }
+
+    private static final class FetchState {
+        private volatile boolean cancelled;
+    }
+
+    private static final class LoadedPage {
+        private final int index;
+        private final JsonObject body;
+        private final RuntimeException failure;
+
+        LoadedPage(int index, JsonObject body, RuntimeException failure) {
+            this.index = index;
+            this.body = body;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.JsonArray;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the pages of a paged endpoint on a background thread ahead of the consumer.
+ *
+ * <p>The fetcher walks the pages sequentially, since the request for a page depends on the marker or offset returned
+ * with the previous one, and parks fetched pages in a buffer that holds at most {@code depth} pages. The fetcher stops
+ * when the last page has been fetched, when {@link #cancel} is called or when the owner of the prefetcher has been
+ * garbage collected, so an abandoned iterator does not keep issuing requests.</p>
+ *
+ * @param <K> the type of the key (marker, paging parameters, ...) used to request a page.
+ */
+final class PagePrefetcher<K> {
+    private static final long OFFER_TIMEOUT_MILLIS = 1000;
+
+    private final BlockingQueue<Page<K>> buffer;
+    private final PageLoader<K> loader;
+    private final WeakReference<Object> owner;
+    private volatile boolean cancelled;
+    private boolean exhausted;
+
+    /**
+     * Starts prefetching pages beginning with the page identified by the first key.
+     *
+     * @param executor the executor running the fetcher, or null to use the SDK's shared daemon threads.
+     * @param depth    the maximum number of fetched pages that are waiting to be consumed.
+     * @param firstKey the key of the first page to fetch.
+     * @param loader   loads a single page.
+     * @param owner    the object consuming the pages. It must not be reachable from the loader.
+     */
+    PagePrefetcher(Executor executor, int depth, K firstKey, PageLoader<K> loader, Object owner) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be at least 1.");
+        }
+
+        this.buffer = new ArrayBlockingQueue<>(depth);
+        this.loader = loader;
+        this.owner = new WeakReference<>(owner);
+
+        final K key = firstKey;
+        DaemonExecutors.orDefault(executor).execute(new Runnable() {
+            @Override
+            public void run() {
+                PagePrefetcher.this.fetch(key);
+            }
+        });
+    }
+
+    /**
+     * Returns the next page, waiting for it to be fetched if necessary.
+     *
+     * @return the next page or null if the last page has already been returned.
+     * @throws BoxAPIException if fetching the page failed or if the thread was interrupted while waiting.
+     */
+    Page<K> next() {
+        if (this.exhausted) {
+            return null;
+        }
+
+        Page<K> page;
+        try {
+            page = this.buffer.take();
+        } catch (InterruptedException e) {
+            this.cancel();
+            Thread.currentThread().interrupt();
+            throw new BoxAPIException("Interrupted while waiting for the next page.", e);
+        }
+
+        if (page.failure != null) {
+            this.exhausted = true;
+            throw page.failure;
+        }
+        if (page.nextKey == null) {
+            this.exhausted = true;
+        }
+
+        return page;
+    }
+
+    /**
+     * Stops fetching further pages. Pages that are already in the buffer are dropped.
+     */
+    void cancel() {
+        this.cancelled = true;
+        this.buffer.clear();
+    }
+
+    private void fetch(K firstKey) {
+        K key = firstKey;
+        while (key != null && !this.cancelled) {
+            Page<K> page;
+            try {
+                page = this.loader.load(key);
+            } catch (RuntimeException e) {
+                page = new Page<>(e);
+            }
+
+            if (!this.offer(page)) {
+                return;
+            }
+            key = page.nextKey;
+        }
+    }
+
+    private boolean offer(Page<K> page) {
+        try {
+            while (!this.cancelled) {
+                if (this.owner.get() == null) {
+                    this.cancelled = true;
+                    return false;
+                }
+                if (this.buffer.offer(page, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    /**
+     * Loads a single page for a key.
+     *
+     * @param <K> the type of the key used to request a page.
+     */
+    interface PageLoader<K> {
+        Page<K> load(K key);
+    }
+
+    /**
+     * A fetched page along with the key of the page following it.
+     *
+     * @param <K> the type of the key used to request a page.
+     */
+    static final class Page<K> {
+        private final JsonArray entries;
+        private final K nextKey;
+        private final long totalCount;
+        private final RuntimeException failure;
+
+        Page(JsonArray entries, K nextKey) {
+            this(entries, nextKey, -1);
+        }
+
+        Page(JsonArray entries, K nextKey, long totalCount) {
+            this.entries = entries;
+            this.nextKey = nextKey;
+            this.totalCount = totalCount;
+            this.failure = null;
+        }
+
+        private Page(RuntimeException failure) {
+            this.entries = null;
+            this.nextKey = null;
+            this.totalCount = -1;
+            this.failure = failure;
+        }
+
+        JsonArray getEntries() {
+            return this.entries;
+        }
+
+        K getNextKey() {
+            return this.nextKey;
+        }
+
+        /**
+         * @return the total number of entries reported by an offset based endpoint, or -1 if it is unknown.
+         */
+        long getTotalCount() {
+            return this.totalCount;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.box.sdk;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over a paged endpoint that splits at page boundaries.
+ *
+ * <p>When the remaining pages are addressed by offset, the spliterator hands out half of the remaining offset range, so
+ * the pages of both halves are fetched concurrently by the workers of a parallel stream. When the pages are addressed
+ * by marker, the next marker is only known once the current page has been fetched, so the spliterator keeps walking the
+ * markers itself and hands out every fetched page as a whole to the other workers.</p>
+ *
+ * @param <T> the type of the entries.
+ */
+final class PageSpliterator<T> implements Spliterator<T> {
+    private final PagedIterator<T> iterator;
+
+    PageSpliterator(PagedIterator<T> iterator) {
+        this.iterator = iterator;
+    }
+
+    /**
+     * Creates a spliterator for an iterator, splitting at page boundaries if the iterator is a paged iterator.
+     *
+     * @param iterator the iterator to traverse.
+     * @param <T>      the type of the entries.
+     * @return a spliterator over the entries of the iterator.
+     */
+    static <T> Spliterator<T> of(Iterator<T> iterator) {
+        if (iterator instanceof PagedIterator) {
+            return new PageSpliterator<>((PagedIterator<T>) iterator);
+        }
+        return Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!this.iterator.hasNext()) {
+            return false;
+        }
+
+        action.accept(this.iterator.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (this.iterator.hasNext()) {
+            action.accept(this.iterator.next());
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        PagedIterator<T> prefix = this.iterator.splitPrefix();
+        if (prefix != null) {
+            return new PageSpliterator<>(prefix);
+        }
+
+        if (!this.iterator.hasNext()) {
+            return null;
+        }
+
+        int pageSize = this.iterator.remainingInPage();
+        List<T> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize && this.iterator.hasNext(); i++) {
+            page.add(this.iterator.next());
+        }
+        return page.spliterator();
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+}
@@ -0,0 +1,28 @@
+package com.box.sdk;
+
+import java.util.Spliterator;
+import java.util.function.Supplier;
+
+/**
+ * An iterable over a paged endpoint whose spliterator splits at page boundaries. Use
+ * {@code StreamSupport.stream(iterable.spliterator(), true)} to process the entries with a parallel stream.
+ *
+ * @param <T> the type of the entries.
+ */
+final class PagedIterable<T> implements Iterable<T> {
+    private final Supplier<? extends PagedIterator<T>> iterators;
+
+    PagedIterable(Supplier<? extends PagedIterator<T>> iterators) {
+        this.iterators = iterators;
+    }
+
+    @Override
+    public PagedIterator<T> iterator() {
+        return this.iterators.get();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new PageSpliterator<>(this.iterator());
+    }
+}
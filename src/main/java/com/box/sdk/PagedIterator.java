@@ -0,0 +1,33 @@
+package com.box.sdk;
+
+import java.util.Iterator;
+
+/**
+ * An iterator over the entries of a paged endpoint that knows where its page boundaries are, so that its entries can
+ * be handed out page by page to a parallel stream.
+ *
+ * @param <T> the type of the entries.
+ */
+interface PagedIterator<T> extends Iterator<T>, AutoCloseable {
+
+    /**
+     * @return the number of entries that can be returned without fetching another page.
+     */
+    int remainingInPage();
+
+    /**
+     * Splits off an iterator over a prefix of the remaining entries. Only endpoints whose remaining pages can be
+     * addressed directly (offset based paging) can be split. This iterator continues with the entries following the
+     * prefix.
+     *
+     * @return an iterator over a prefix of the remaining entries, or null if the remaining pages can't be split.
+     */
+    PagedIterator<T> splitPrefix();
+
+    /**
+     * Stops fetching pages ahead of the consumer, which releases the thread prefetching them. The iterator doesn't
+     * return any more entries afterwards.
+     */
+    @Override
+    void close();
+}
@@ -85,4 +85,8 @@ public final class PagingParameters {
     long getLimit() {
         return limit;
     }
+
+    long getOffset() {
+        return offset == null ? 0 : offset;
+    }
 }
@@ -41,7 +41,7 @@ class QueryStringBuilder {
 
         this.stringBuilder.append(key);
         this.stringBuilder.append('=');
-        this.stringBuilder.append(this.encode(value));
+        this.stringBuilder.append(encode(value));
         return this;
     }
 
@@ -50,16 +50,35 @@ class QueryStringBuilder {
     }
 
     URL addToURL(URL existing) throws MalformedURLException {
-        QueryStringBuilder builderFromExistingUrl = new QueryStringBuilder(existing.toString());
+        String existingURL = existing.toString();
+        StringBuilder url = new StringBuilder(existingURL.length() + this.stringBuilder.length() + 1);
+        url.append(existingURL);
         if (existing.getQuery() == null) {
-            builderFromExistingUrl.stringBuilder.append(this.stringBuilder);
+            url.append(this.stringBuilder);
         } else {
             if (existing.getQuery().length() > 0) {
-                builderFromExistingUrl.stringBuilder.append("&");
+                url.append('&');
             }
-            builderFromExistingUrl.stringBuilder.append(this.stringBuilder.substring(1));
+            url.append(this.stringBuilder, 1, this.stringBuilder.length());
         }
-        return new URL(builderFromExistingUrl.toString());
+        return new URL(url.toString());
+    }
+
+    /**
+     * Appends a single parameter to a URL that already has a query string. Paged requests use it to add the marker of
+     * each page to a URL whose other parameters have been encoded once, instead of encoding the whole query again.
+     *
+     * @param urlWithQuery the URL including a query string.
+     * @param key          the name of the parameter.
+     * @param value        the value of the parameter, which gets encoded.
+     * @return the URL with the parameter.
+     * @throws MalformedURLException if the resulting URL is malformed.
+     */
+    static URL appendToQuery(String urlWithQuery, String key, String value) throws MalformedURLException {
+        String encodedValue = encode(value);
+        StringBuilder url = new StringBuilder(urlWithQuery.length() + key.length() + encodedValue.length() + 2);
+        url.append(urlWithQuery).append('&').append(key).append('=').append(encodedValue);
+        return new URL(url.toString());
     }
 
     URL replaceQuery(URL existing) throws MalformedURLException {
@@ -78,11 +97,30 @@ class QueryStringBuilder {
         return this.stringBuilder.toString();
     }
 
-    private String encode(String unencoded) {
+    private static String encode(String unencoded) {
+        if (isUnreserved(unencoded)) {
+            return unencoded;
+        }
+
         try {
             return URLEncoder.encode(unencoded, "UTF-8");
         } catch (UnsupportedEncodingException ex) {
             throw new BoxAPIException(ex.getMessage());
         }
     }
+
+    /**
+     * @return whether URL encoding leaves the value unchanged, as is the case for most IDs, markers and field names.
+     */
+    private static boolean isUnreserved(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_';
+            if (!unreserved) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
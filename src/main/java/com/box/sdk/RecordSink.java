@@ -0,0 +1,60 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.JsonObject;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Receives the records written by a {@link BoxInventoryCrawler} or a {@link BoxComplianceReport}, each as a JSON
+ * object, e.g. to write them to a file.
+ */
+public interface RecordSink {
+    /**
+     * Creates a sink writing every record as a JSON object on a line of its own.
+     *
+     * @param writer the writer the records are written to. It isn't closed by the sink.
+     * @return the sink.
+     */
+    static RecordSink ndjson(final Writer writer) {
+        return new RecordSink() {
+            @Override
+            public void write(JsonObject record) throws IOException {
+                writer.write(record.toString());
+                writer.write('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    /**
+     * Creates a sink writing the records as comma separated values, one column per field and a header line first.
+     * Fields of nested objects are given as dotted paths, e.g. "owned_by.login" or "shared_link.url".
+     *
+     * @param writer  the writer the records are written to. It isn't closed by the sink.
+     * @param columns the fields written, e.g. "type", "id", "parent_id", "name" and "size".
+     * @return the sink.
+     */
+    static RecordSink csv(Writer writer, String... columns) {
+        return new CSVRecordSink(writer, columns);
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param record the record.
+     * @throws IOException if the record couldn't be written.
+     */
+    void write(JsonObject record) throws IOException;
+
+    /**
+     * Makes sure that the records written so far are stored, e.g. before a checkpoint of a crawl records their
+     * folders as listed.
+     *
+     * @throws IOException if the records couldn't be stored.
+     */
+    void flush() throws IOException;
+}
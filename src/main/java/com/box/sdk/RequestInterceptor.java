@@ -25,6 +25,10 @@ package com.box.sdk;
  * <p>A RequestInterceptor can be very useful for testing purposes. Requests to the Box API can be intercepted and fake
  * responses can be returned, allowing you to effectively test your code without needing to actually communicate with
  * the Box API.</p>
+ *
+ * <p>A connection has a single RequestInterceptor, which is called right before a request would be sent. To combine
+ * several interceptors or to observe responses, errors and retries, use a chain of {@link BoxAPIInterceptor}s
+ * instead.</p>
  */
 public interface RequestInterceptor {
     /**
@@ -0,0 +1,106 @@
+package com.box.sdk;
+
+import java.net.HttpURLConnection;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A read-only, case-insensitive view of the headers of an HTTP response.
+ *
+ * <p>Only the headers the SDK needs for every response (Content-Type, Content-Length and Retry-After) are read when the
+ * response arrives. Other headers are looked up in the connection when they are requested, and a map of all the
+ * headers is only built when the view is iterated, so most responses never copy their headers.</p>
+ */
+final class ResponseHeaders extends AbstractMap<String, String> {
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private final HttpURLConnection connection;
+    private final String contentType;
+    private final String contentLength;
+    private final String retryAfter;
+    private volatile Map<String, String> allHeaders;
+
+    ResponseHeaders(HttpURLConnection connection) {
+        this.connection = connection;
+        this.contentType = connection.getHeaderField(CONTENT_TYPE);
+        this.contentLength = connection.getHeaderField(CONTENT_LENGTH);
+        this.retryAfter = connection.getHeaderField(RETRY_AFTER);
+    }
+
+    /**
+     * @return the value of the Content-Type header, or null if the response doesn't have one.
+     */
+    String getContentType() {
+        return this.contentType;
+    }
+
+    /**
+     * @return the value of the Content-Length header, or -1 if the response doesn't have a valid one.
+     */
+    long getContentLength() {
+        if (this.contentLength == null) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(this.contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the value of the Retry-After header, or null if the response doesn't have one.
+     */
+    String getRetryAfter() {
+        return this.retryAfter;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        String name = (String) key;
+        if (name.equalsIgnoreCase(CONTENT_TYPE)) {
+            return this.contentType;
+        } else if (name.equalsIgnoreCase(CONTENT_LENGTH)) {
+            return this.contentLength;
+        } else if (name.equalsIgnoreCase(RETRY_AFTER)) {
+            return this.retryAfter;
+        }
+
+        Map<String, String> headers = this.allHeaders;
+        if (headers != null) {
+            return headers.get(name);
+        }
+        return this.connection.getHeaderField(name);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Map<String, String> headers = this.allHeaders;
+        if (headers == null) {
+            Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (String headerKey : this.connection.getHeaderFields().keySet()) {
+                if (headerKey != null) {
+                    copy.put(headerKey, this.connection.getHeaderField(headerKey));
+                }
+            }
+            headers = Collections.unmodifiableMap(copy);
+            this.allHeaders = headers;
+        }
+        return headers.entrySet();
+    }
+}
@@ -1,5 +1,8 @@
 package com.box.sdk;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
 /**
  * This API connection uses a shared link (along with an optional password) to authenticate with the Box API. It wraps a
  * preexisting BoxAPIConnection in order to provide additional access to items that are accessible with a shared link.
@@ -8,6 +11,7 @@ public class SharedLinkAPIConnection extends BoxAPIConnection {
     private final BoxAPIConnection wrappedConnection;
     private final String sharedLink;
     private final String sharedLinkPassword;
+    private final String boxAPIHeader;
 
     SharedLinkAPIConnection(BoxAPIConnection connection, String sharedLink) {
         this(connection, sharedLink, null);
@@ -21,6 +25,10 @@ public class SharedLinkAPIConnection extends BoxAPIConnection {
         this.wrappedConnection = connection;
         this.sharedLink = sharedLink;
         this.sharedLinkPassword = sharedLinkPassword;
+        // every request made with this connection sends the same header, so it's only built once
+        this.boxAPIHeader = sharedLinkPassword == null
+            ? "shared_link=" + sharedLink
+            : "shared_link=" + sharedLink + "&shared_link_password=" + sharedLinkPassword;
     }
 
     @Override
@@ -158,6 +166,56 @@ public class SharedLinkAPIConnection extends BoxAPIConnection {
         this.wrappedConnection.refresh();
     }
 
+    @Override
+    public AdaptiveRateLimiter getRateLimiter() {
+        return this.wrappedConnection.getRateLimiter();
+    }
+
+    @Override
+    public void setRateLimiter(AdaptiveRateLimiter rateLimiter) {
+        this.wrappedConnection.setRateLimiter(rateLimiter);
+    }
+
+    @Override
+    public BoxAPIMetrics getMetrics() {
+        return this.wrappedConnection.getMetrics();
+    }
+
+    @Override
+    public void setMetrics(BoxAPIMetrics metrics) {
+        this.wrappedConnection.setMetrics(metrics);
+    }
+
+    @Override
+    public MetadataTemplateCache getMetadataTemplateCache() {
+        return this.wrappedConnection.getMetadataTemplateCache();
+    }
+
+    @Override
+    public SharedLinkCache getSharedLinkCache() {
+        return this.wrappedConnection.getSharedLinkCache();
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return this.wrappedConnection.getAsyncExecutor();
+    }
+
+    @Override
+    public ScheduledExecutorService getRetryScheduler() {
+        return this.wrappedConnection.getRetryScheduler();
+    }
+
+    @Override
+    BoxAPIInterceptor[] getInterceptorChain() {
+        return this.wrappedConnection.getInterceptorChain();
+    }
+
+    @Override
+    long getConnectionID() {
+        return this.wrappedConnection.getConnectionID();
+    }
+
     @Override
     String lockAccessToken() {
         return this.wrappedConnection.lockAccessToken();
@@ -185,4 +243,13 @@ public class SharedLinkAPIConnection extends BoxAPIConnection {
     String getSharedLinkPassword() {
         return this.sharedLinkPassword;
     }
+
+    /**
+     * Gets the value of the BoxApi header sent with every request made with this connection.
+     *
+     * @return the shared link, and its password if there is one, formatted for the BoxApi header.
+     */
+    String getBoxAPIHeader() {
+        return this.boxAPIHeader;
+    }
 }
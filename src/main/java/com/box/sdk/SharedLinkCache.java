@@ -0,0 +1,175 @@
+package com.box.sdk;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory LRU (least recently used) cache of the items that shared links resolve to.
+ *
+ * <p>Set the cache on a connection with {@link BoxAPIConnection#setSharedLinkCache(SharedLinkCache)} and
+ * {@link BoxItem#getSharedItem(BoxAPIConnection, String, String)} returns the item a shared link was resolved to
+ * before, instead of resolving the link with the API again. The cache is keyed by the shared link and its password, so
+ * a link resolved with the right password isn't returned for a wrong one, and by the connection and the user it acts
+ * as, so that the same cache can be set on the connections of several users without one of them getting an item
+ * through a link that was only resolved for another.</p>
+ *
+ * <pre>api.setSharedLinkCache(new SharedLinkCache(10000, 5, TimeUnit.MINUTES));
+ * BoxItem.Info item = BoxItem.getSharedItem(api, sharedLink, password);</pre>
+ *
+ * <p>The cache holds at most a given number of links and evicts the least recently used one when it's full. A link is
+ * resolved again once the time to live has passed, or once the link was set to be unshared, whichever comes first.
+ * Links that are unshared or changed before that, e.g. in the web app, are still resolved from the cache until then,
+ * so the time to live should be as short as the application can afford; the requests made with the resolved item still
+ * fail if the link isn't valid anymore.</p>
+ */
+public class SharedLinkCache {
+    private final Map<String, ResolvedLink> links;
+    private final long timeToLiveMillis;
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Creates an empty shared link cache.
+     *
+     * @param maxEntries maximum number of shared links to cache.
+     * @param timeToLive how long a shared link is cached.
+     * @param unit       the unit of the time to live.
+     */
+    public SharedLinkCache(final int maxEntries, long timeToLive, TimeUnit unit) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The cache must be able to hold at least one entry.");
+        }
+
+        this.timeToLiveMillis = unit.toMillis(timeToLive);
+        this.links = new LinkedHashMap<String, ResolvedLink>(16, 0.75F, true) {
+            private static final long serialVersionUID = -2398157130914318763L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResolvedLink> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Removes a shared link from the cache, whatever connection and password it was resolved with.
+     *
+     * @param sharedLink the shared link.
+     */
+    public void invalidate(String sharedLink) {
+        String prefix = sharedLink + "\n";
+        this.lock.lock();
+        try {
+            Iterator<String> keys = this.links.keySet().iterator();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (key.startsWith(prefix)) {
+                    keys.remove();
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the shared links from the cache.
+     */
+    public void invalidateAll() {
+        this.lock.lock();
+        try {
+            this.links.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of shared links in the cache.
+     *
+     * @return the number of cached shared links.
+     */
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.links.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the JSON of the item a shared link was resolved to through a connection.
+     *
+     * @param api        the connection resolving the shared link.
+     * @param sharedLink the shared link.
+     * @param password   the password of the shared link, or null.
+     * @return the JSON of the item, or null if the link isn't cached or has expired.
+     */
+    String get(BoxAPIConnection api, String sharedLink, String password) {
+        String key = key(api, sharedLink, password);
+        this.lock.lock();
+        try {
+            ResolvedLink link = this.links.get(key);
+            if (link != null && System.currentTimeMillis() >= link.expiresAt) {
+                this.links.remove(key);
+                return null;
+            }
+            return link == null ? null : link.json;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Caches the item a shared link was resolved to through a connection.
+     *
+     * @param api        the connection that resolved the shared link.
+     * @param sharedLink the shared link.
+     * @param password   the password of the shared link, or null.
+     * @param json       the JSON of the item.
+     * @param info       the info parsed from the JSON, used to find out when the link will be unshared.
+     */
+    void put(BoxAPIConnection api, String sharedLink, String password, String json, BoxItem.Info info) {
+        long expiresAt = System.currentTimeMillis() + this.timeToLiveMillis;
+        BoxSharedLink link = info.getSharedLink();
+        Date unsharedAt = link == null ? null : link.getUnsharedDate();
+        if (unsharedAt != null) {
+            expiresAt = Math.min(expiresAt, unsharedAt.getTime());
+        }
+
+        this.lock.lock();
+        try {
+            this.links.put(key(api, sharedLink, password), new ResolvedLink(json, expiresAt));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static String key(BoxAPIConnection api, String sharedLink, String password) {
+        // shared links and user IDs can't contain line breaks
+        String asUser = api.getHeaders().get(BoxAPIConnection.AS_USER_HEADER);
+        StringBuilder key = new StringBuilder(sharedLink).append('\n').append(api.getConnectionID()).append('\n');
+        if (asUser != null) {
+            key.append(asUser);
+        }
+        if (password != null) {
+            key.append('\n').append(password);
+        }
+        return key.toString();
+    }
+
+    private static final class ResolvedLink {
+        private final String json;
+        private final long expiresAt;
+
+        ResolvedLink(String json, long expiresAt) {
+            this.json = json;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -4,15 +4,22 @@ import static java.lang.String.format;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
 
 /**
  * A template class to build URLs from base URL, path, URL parameters and Query String.
+ *
+ * <p>The template is split into its literal segments and {@code %s} / {@code %b} placeholders once, when the template
+ * is created, so building a URL only concatenates strings. Templates using any other format specifier are formatted
+ * with {@link String#format(String, Object...)}.</p>
  */
 public class URLTemplate {
-    private static final Pattern NUMERIC = Pattern.compile("^[0-9]*$");
-    private static final Pattern ALPHA_NUMERIC = Pattern.compile("^[a-zA-Z0-9!@#$%^&*()_+\\-]*$");
+    private static final String ALPHA_NUMERIC_SYMBOLS = "!@#$%^&*()_+-";
     private final String template;
+    private final String[] segments;
+    private final char[] conversions;
 
     /**
      * Construct an URL Template object from path.
@@ -21,6 +28,34 @@ public class URLTemplate {
      */
     public URLTemplate(String template) {
         this.template = template;
+
+        List<String> segments = new ArrayList<>();
+        StringBuilder conversions = new StringBuilder();
+        StringBuilder segment = new StringBuilder();
+        boolean compilable = true;
+        for (int i = 0; i < template.length() && compilable; i++) {
+            char c = template.charAt(i);
+            if (c != '%') {
+                segment.append(c);
+                continue;
+            }
+
+            char conversion = i + 1 < template.length() ? template.charAt(i + 1) : 0;
+            if (conversion == '%') {
+                segment.append('%');
+            } else if (conversion == 's' || conversion == 'b') {
+                segments.add(segment.toString());
+                segment.setLength(0);
+                conversions.append(conversion);
+            } else {
+                compilable = false;
+            }
+            i++;
+        }
+        segments.add(segment.toString());
+
+        this.segments = compilable ? segments.toArray(new String[0]) : null;
+        this.conversions = compilable ? conversions.toString().toCharArray() : null;
     }
 
     /**
@@ -32,13 +67,12 @@ public class URLTemplate {
      */
     public URL build(String base, Object... values) {
         for (Object value : values) {
-            String valueString = String.valueOf(value);
-            if (!NUMERIC.matcher(valueString).matches()) {
+            if (!isNumeric(String.valueOf(value))) {
                 throw new BoxAPIException("An invalid path parameter passed in. It must be numeric.");
             }
         }
         try {
-            return new URL(format(fullTemplate(base), values));
+            return new URL(this.expand(base, values, null));
         } catch (MalformedURLException e) {
             throw new BoxAPIException(e.getMessage());
         }
@@ -53,14 +87,12 @@ public class URLTemplate {
      */
     public URL buildAlpha(String base, Object... values) {
         for (Object value : values) {
-            String valueString = String.valueOf(value);
-            Boolean test = ALPHA_NUMERIC.matcher(valueString).matches();
-            if (!ALPHA_NUMERIC.matcher(valueString).matches()) {
+            if (!isAlphaNumeric(String.valueOf(value))) {
                 throw new BoxAPIException("An invalid path parameter passed in. It must be alphanumeric.");
             }
         }
         try {
-            return new URL(format(fullTemplate(base), values));
+            return new URL(this.expand(base, values, null));
         } catch (MalformedURLException e) {
             throw new BoxAPIException(e.getMessage());
         }
@@ -77,14 +109,12 @@ public class URLTemplate {
      */
     public URL buildWithQuery(String base, String queryString, Object... values) {
         for (Object value : values) {
-            String valueString = String.valueOf(value);
-            if (!NUMERIC.matcher(valueString).matches()) {
+            if (!isNumeric(String.valueOf(value))) {
                 throw new BoxAPIException("An invalid path param passed in. It must be numeric.");
             }
         }
         try {
-            String urlString = format(fullTemplate(base), values) + queryString;
-            return new URL(urlString);
+            return new URL(this.expand(base, values, queryString));
         } catch (MalformedURLException e) {
             throw new BoxAPIException(e.getMessage());
         }
@@ -101,20 +131,69 @@ public class URLTemplate {
      */
     public URL buildAlphaWithQuery(String base, String queryString, Object... values) {
         for (Object value : values) {
-            String valueString = String.valueOf(value);
-            if (!ALPHA_NUMERIC.matcher(valueString).matches()) {
+            if (!isAlphaNumeric(String.valueOf(value))) {
                 throw new BoxAPIException("An invalid path param passed in. It must be alphanumeric.");
             }
         }
         try {
-            String urlString = format(fullTemplate(base), values) + queryString;
-            return new URL(urlString);
+            return new URL(this.expand(base, values, queryString));
         } catch (MalformedURLException e) {
             throw new BoxAPIException(e.getMessage());
         }
 
     }
 
+    private static boolean isNumeric(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAlphaNumeric(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || ALPHA_NUMERIC_SYMBOLS.indexOf(c) >= 0;
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String expand(String base, Object[] values, String queryString) {
+        if (this.segments == null || base.indexOf('%') >= 0) {
+            String formatted = format(fullTemplate(base), values);
+            return queryString == null ? formatted : formatted + queryString;
+        }
+
+        if (values.length < this.conversions.length) {
+            throw new MissingFormatArgumentException("%" + this.conversions[values.length]);
+        }
+
+        StringBuilder url = new StringBuilder(base.length() + this.template.length() + 16 * values.length
+            + (queryString == null ? 0 : queryString.length()));
+        url.append(base);
+        for (int i = 0; i < this.conversions.length; i++) {
+            url.append(this.segments[i]);
+            Object value = values[i];
+            if (this.conversions[i] == 's') {
+                url.append(value);
+            } else {
+                url.append(value instanceof Boolean ? value : Boolean.valueOf(value != null));
+            }
+        }
+        url.append(this.segments[this.conversions.length]);
+        if (queryString != null) {
+            url.append(queryString);
+        }
+        return url.toString();
+    }
+
     private String fullTemplate(String path) {
         return path + this.template;
     }
@@ -1,10 +1,12 @@
 package com.box.sdk.internal.pool;
 
+import java.security.InvalidKeyException;
+import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import javax.crypto.Mac;
 
 /**
@@ -22,18 +24,56 @@ import javax.crypto.Mac;
  *      }
  *  }
  * </pre>
+ * <p>
+ * Macs that are always used with the same key can be pooled already initialized with it through
+ * {@link #forKey(Key)}, so that the key isn't set up again for every signature.
+ * <p>
+ * The pool is bounded: it keeps at most {@link #getMaxIdle()} idle Macs per algorithm or key, and Macs released
+ * while it is full are left to the garbage collector, so a burst of concurrent signatures doesn't retain its Macs
+ * forever. The idle Macs are kept in slots rather than in a queue. A thread first looks at the slot picked by its ID,
+ * where it usually finds the Mac it released last, and only scans the other slots when that one is empty, so threads
+ * rarely contend for the same slot and no lock is ever taken. Each slot is padded to its own cache line.
  */
 public class MacPool {
 
+    /**
+     * Distance between two slots in the slot array, so that each slot is on its own cache line even with
+     * uncompressed references.
+     */
+    private static final int SLOT_SPACING = 16;
+
     /**
      * Pool of {@link Mac}-s by algorithm.
      */
-    private final Map<String, Queue<Mac>> macPoolByAlgorithm = new ConcurrentHashMap<String, Queue<Mac>>();
+    private final Map<String, Slots> macPoolByAlgorithm = new ConcurrentHashMap<String, Slots>();
 
     /**
-     * Constructor.
+     * Maximum number of idle {@link Mac}-s kept per algorithm or key.
+     */
+    private final int maxIdle;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * Constructor, keeping up to twice as many idle {@link Mac}-s per algorithm or key as there are processors. More
+     * Macs can't be in use at once for long, as signing doesn't block.
      */
     public MacPool() {
+        this(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxIdle maximum number of idle {@link Mac}-s kept per algorithm or key.
+     */
+    public MacPool(int maxIdle) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("The pool must be able to keep at least one Mac.");
+        }
+        this.maxIdle = maxIdle;
     }
 
     /**
@@ -44,22 +84,82 @@ public class MacPool {
      * @see #release(Mac)
      */
     public Mac acquire(String algorithm) {
-        Mac result = null;
-
-        Queue<Mac> pool = this.macPoolByAlgorithm.get(algorithm);
-        if (pool != null) {
-            result = pool.poll();
-        }
-
+        Slots slots = this.macPoolByAlgorithm.get(algorithm);
+        Mac result = slots == null ? null : slots.poll();
         if (result != null) {
-            // it has to be synchronized, for the case that some memory parts of Mac provider are changed,
-            // but not yet visible for this thread
-            synchronized (result) {
-                result.reset();
-            }
+            this.hits.increment();
             return result;
         }
 
+        this.misses.increment();
+        return newMac(algorithm);
+    }
+
+    /**
+     * Releases a previously acquired {@link Mac}.
+     *
+     * @param mac for release
+     * @see #acquire(String)
+     */
+    public void release(Mac mac) {
+        Slots slots = this.macPoolByAlgorithm.computeIfAbsent(mac.getAlgorithm(), algorithm -> new Slots());
+        slots.offer(mac);
+    }
+
+    /**
+     * Gets a pool of {@link Mac}-s initialized with the given key, sharing the bound and the statistics of this pool.
+     * The returned pool should be kept for as long as the key is used.
+     *
+     * @param key the key, whose algorithm is the algorithm of the Macs.
+     * @return a pool of Macs initialized with the key.
+     */
+    public KeyedMacs forKey(Key key) {
+        return new KeyedMacs(key);
+    }
+
+    /**
+     * Gets the maximum number of idle {@link Mac}-s kept per algorithm or key.
+     *
+     * @return the maximum number of idle Macs.
+     */
+    public int getMaxIdle() {
+        return this.maxIdle;
+    }
+
+    /**
+     * Gets the number of times an idle {@link Mac} was reused.
+     *
+     * @return the number of acquired Macs that were taken from the pool.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of times a new {@link Mac} had to be created because there was no idle one.
+     *
+     * @return the number of acquired Macs that had to be created.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of released {@link Mac}-s that weren't kept because the pool was full.
+     *
+     * @return the number of released Macs that were discarded.
+     */
+    public long getDiscarded() {
+        return this.discarded.sum();
+    }
+
+    private static int homeSlot(int count) {
+        // spreads the sequential thread IDs over the slots
+        long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 33) % count);
+    }
+
+    private static Mac newMac(String algorithm) {
         try {
             return Mac.getInstance(algorithm);
         } catch (NoSuchAlgorithmException e) {
@@ -68,18 +168,91 @@ public class MacPool {
     }
 
     /**
-     * Releases a previously acquired {@link Mac}.
+     * Reusable thread-safe pool for {@link Mac} instances initialized with a key.
      *
-     * @param mac for release
-     * @see #acquire(String)
+     * @see MacPool#forKey(Key)
      */
-    public void release(Mac mac) {
-        Queue<Mac> pool = this.macPoolByAlgorithm.get(mac.getAlgorithm());
-        if (pool == null) {
-            pool = new LinkedBlockingQueue<Mac>();
-            this.macPoolByAlgorithm.put(mac.getAlgorithm(), pool);
+    public final class KeyedMacs {
+        private final Key key;
+        private final Slots slots = new Slots();
+
+        private KeyedMacs(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * Acquires a reusable {@link Mac} initialized with the key, has to be also released!
+         *
+         * @return shared {@link Mac}
+         * @throws IllegalArgumentException if the key can't be used for its algorithm.
+         * @see #release(Mac)
+         */
+        public Mac acquire() {
+            Mac result = this.slots.poll();
+            if (result != null) {
+                MacPool.this.hits.increment();
+                return result;
+            }
+
+            MacPool.this.misses.increment();
+            result = newMac(this.key.getAlgorithm());
+            try {
+                result.init(this.key);
+            } catch (InvalidKeyException e) {
+                throw new IllegalArgumentException("Invalid key: ", e);
+            }
+            return result;
+        }
+
+        /**
+         * Releases a previously acquired {@link Mac}. It must not have been initialized with another key.
+         *
+         * @param mac for release
+         * @see #acquire()
+         */
+        public void release(Mac mac) {
+            this.slots.offer(mac);
         }
-        pool.offer(mac);
     }
 
+    /**
+     * Bounded set of idle {@link Mac}-s. Handing a Mac over through a slot gives the same happens-before edge as a
+     * concurrent queue, so the changes made by the thread that released it are visible to the thread acquiring it
+     * without holding a monitor (which would pin a virtual thread).
+     */
+    private final class Slots {
+        private final AtomicReferenceArray<Mac> slots =
+            new AtomicReferenceArray<Mac>(MacPool.this.maxIdle * SLOT_SPACING);
+
+        Mac poll() {
+            int count = MacPool.this.maxIdle;
+            int home = homeSlot(count);
+            for (int i = 0; i < count; i++) {
+                int index = ((home + i) % count) * SLOT_SPACING;
+                // a plain read first, so that empty slots aren't written to
+                if (this.slots.get(index) != null) {
+                    Mac mac = this.slots.getAndSet(index, null);
+                    if (mac != null) {
+                        return mac;
+                    }
+                }
+            }
+            return null;
+        }
+
+        void offer(Mac mac) {
+            // doFinal already resets the Mac, this only clears a signature that was left unfinished
+            mac.reset();
+
+            int count = MacPool.this.maxIdle;
+            int home = homeSlot(count);
+            for (int i = 0; i < count; i++) {
+                int index = ((home + i) % count) * SLOT_SPACING;
+                if (this.slots.get(index) == null && this.slots.compareAndSet(index, null, mac)) {
+                    return;
+                }
+            }
+            MacPool.this.discarded.increment();
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class AdaptiveRateLimiterTest {
+    private static final double DELTA = 0.0001;
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    public void pacesRequestsAtTheCurrentRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(10, 10, this.now::get);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limiter.reserve());
+
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    public void throttledResponseHalvesTheRateOnceAndHonorsRetryAfter() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(20, 100, this.now::get);
+
+        limiter.onResponse(429, "2");
+        limiter.onResponse(429, "2");
+        limiter.onResponse(429, null);
+
+        assertEquals(10, limiter.getRequestsPerSecond(), DELTA);
+        assertTrue(limiter.reserve() >= TimeUnit.SECONDS.toNanos(2));
+
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.onResponse(429, null);
+        assertEquals(5, limiter.getRequestsPerSecond(), DELTA);
+    }
+
+    @Test
+    public void successfulResponsesRaiseTheRateUpToTheMaximum() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(1, 5, this.now::get);
+
+        limiter.onResponse(200, null);
+        assertEquals(2, limiter.getRequestsPerSecond(), DELTA);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onResponse(200, null);
+        }
+        assertEquals(5, limiter.getRequestsPerSecond(), DELTA);
+
+        limiter.onResponse(503, null);
+        assertEquals(5, limiter.getRequestsPerSecond(), DELTA);
+    }
+}
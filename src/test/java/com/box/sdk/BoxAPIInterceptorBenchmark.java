@@ -0,0 +1,58 @@
+package com.box.sdk;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+
+/**
+ * Microbenchmark measuring the overhead of a chain of {@link BoxAPIInterceptor}s on an attempt to send a request,
+ * with the last interceptor answering the request so that nothing is sent. It isn't run as part of the tests; run its
+ * main method from the test classpath, e.g. {@code java -cp <test classpath> com.box.sdk.BoxAPIInterceptorBenchmark}.
+ */
+public final class BoxAPIInterceptorBenchmark {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+    private static volatile Object sink;
+
+    private BoxAPIInterceptorBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the average time per attempt.
+     *
+     * @param args unused.
+     * @throws MalformedURLException never, the URL is well formed.
+     */
+    public static void main(String[] args) throws MalformedURLException {
+        URL url = new URL("https://api.box.com/2.0/files/12345");
+        for (int chainLength : new int[] {1, 5, 20}) {
+            BoxAPIConnection api = new BoxAPIConnection("");
+            for (int i = 1; i < chainLength; i++) {
+                api.addInterceptor(new BoxAPIInterceptor() {
+                });
+            }
+            final BoxAPIResponse cached = new BoxAPIResponse(200, Collections.<String, String>emptyMap());
+            api.addInterceptor(new BoxAPIInterceptor() {
+                @Override
+                public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                    return cached;
+                }
+            });
+
+            run(chainLength + " interceptors", new BoxAPIRequest(api, url, "GET"));
+        }
+    }
+
+    private static void run(String name, BoxAPIRequest request) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = request.send();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = request.send();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-36s %8.1f ns/op%n", name, (double) elapsed / MEASURED_ITERATIONS);
+    }
+}
@@ -0,0 +1,226 @@
+package com.box.sdk;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * {@link BoxAPIInterceptor} related unit tests.
+ */
+public class BoxAPIInterceptorTest {
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
+
+    @Test
+    public void chainIsCalledInOrderAroundTheRequest() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/files/12345")).willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"type\":\"file\",\"id\":\"12345\"}")));
+        List<String> calls = new CopyOnWriteArrayList<>();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.addInterceptor(new RecordingInterceptor("first", calls));
+        api.addInterceptor(new RecordingInterceptor("second", calls));
+        api.setRequestInterceptor(request -> {
+            calls.add("legacy request");
+            return null;
+        });
+
+        BoxAPIRequest request = new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+
+        assertEquals(200, response.getResponseCode());
+        assertEquals(Arrays.asList("first request", "second request", "legacy request", "second response 200",
+            "first response 200"), calls);
+    }
+
+    @Test
+    public void interceptorsCanInjectHeaders() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/files/12345")).willReturn(aResponse().withStatus(200)));
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.addInterceptor(new BoxAPIInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                request.addHeader("X-Correlation-ID", "abc");
+                return null;
+            }
+        });
+
+        new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET").send();
+
+        verify(getRequestedFor(urlEqualTo("/files/12345")).withHeader("X-Correlation-ID", equalTo("abc")));
+    }
+
+    @Test
+    public void shortCircuitSkipsTheRestOfTheChainAndTheAPI() throws MalformedURLException {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        final BoxAPIResponse cached = new BoxAPIResponse(200, Collections.<String, String>emptyMap());
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.addInterceptor(new RecordingInterceptor("outer", calls));
+        api.addInterceptor(new BoxAPIInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                calls.add("cache request");
+                return cached;
+            }
+
+            @Override
+            public BoxAPIResponse onResponse(BoxAPIRequest request, BoxAPIResponse response, long durationNanos) {
+                calls.add("cache response");
+                return response;
+            }
+        });
+        api.addInterceptor(new RecordingInterceptor("inner", calls));
+
+        BoxAPIResponse response = new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET").send();
+
+        assertSame(cached, response);
+        assertEquals(Arrays.asList("outer request", "cache request", "outer response 200"), calls);
+        assertTrue(this.wireMockRule.getAllServeEvents().isEmpty());
+    }
+
+    @Test
+    public void failedAttemptsAreReportedToTheChainBeforeEachRetry() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/folders/0/items")).willReturn(aResponse().withStatus(500)));
+        List<String> calls = new CopyOnWriteArrayList<>();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setMaxRetryAttempts(1);
+        api.addInterceptor(new RecordingInterceptor("first", calls));
+        api.addInterceptor(new RecordingInterceptor("second", calls));
+
+        BoxAPIRequest request = new BoxAPIRequest(api, this.boxMockUrl("/folders/0/items"), "GET");
+        request.setBackoffCounter(new BackoffCounter(mock(Time.class)));
+        try {
+            request.send();
+            fail("The request should have failed.");
+        } catch (BoxAPIException e) {
+            assertEquals(500, e.getResponseCode());
+        }
+
+        assertEquals(Arrays.asList(
+            "first request", "second request", "second error 500", "first error 500",
+            "first retry 500", "second retry 500",
+            "first request", "second request", "second error 500", "first error 500"), calls);
+    }
+
+    @Test
+    public void durationsCoverTheWholeAttempt() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/files/12345")).willReturn(aResponse().withStatus(200).withFixedDelay(100)));
+        final long[] duration = new long[1];
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.addInterceptor(new BoxAPIInterceptor() {
+            @Override
+            public BoxAPIResponse onResponse(BoxAPIRequest request, BoxAPIResponse response, long durationNanos) {
+                duration[0] = durationNanos;
+                return response;
+            }
+        });
+
+        new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET").send();
+
+        assertTrue(duration[0] >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void removedInterceptorsAreNoLongerCalled() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/files/12345")).willReturn(aResponse().withStatus(200)));
+        List<String> calls = new CopyOnWriteArrayList<>();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        RecordingInterceptor interceptor = new RecordingInterceptor("removed", calls);
+        api.addInterceptor(interceptor);
+
+        assertTrue(api.removeInterceptor(interceptor));
+        new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET").send();
+
+        assertTrue(api.getInterceptors().isEmpty());
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    public void longChainCallsEveryInterceptorOncePerAttempt() throws MalformedURLException {
+        final BoxAPIResponse cached = new BoxAPIResponse(200, Collections.<String, String>emptyMap());
+        final AtomicInteger calls = new AtomicInteger();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        for (int i = 0; i < 20; i++) {
+            api.addInterceptor(new BoxAPIInterceptor() {
+                @Override
+                public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                    calls.incrementAndGet();
+                    return null;
+                }
+            });
+        }
+        api.addInterceptor(new BoxAPIInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                return cached;
+            }
+        });
+        BoxAPIRequest request = new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET");
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(cached, request.send());
+        }
+
+        assertEquals(60, calls.get());
+    }
+
+    private URL boxMockUrl(String path) throws MalformedURLException {
+        return new URL(format("http://localhost:%d%s", this.wireMockRule.port(), path));
+    }
+
+    private static final class RecordingInterceptor implements BoxAPIInterceptor {
+        private final String name;
+        private final List<String> calls;
+
+        RecordingInterceptor(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public BoxAPIResponse onRequest(BoxAPIRequest request) {
+            this.calls.add(this.name + " request");
+            return null;
+        }
+
+        @Override
+        public BoxAPIResponse onResponse(BoxAPIRequest request, BoxAPIResponse response, long durationNanos) {
+            this.calls.add(this.name + " response " + response.getResponseCode());
+            return response;
+        }
+
+        @Override
+        public void onError(BoxAPIRequest request, BoxAPIException error, long durationNanos) {
+            this.calls.add(this.name + " error " + error.getResponseCode());
+        }
+
+        @Override
+        public void onRetry(BoxAPIRequest request, BoxAPIException cause, long delayMillis) {
+            this.calls.add(this.name + " retry " + cause.getResponseCode());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.box.sdk;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * {@link BoxAPIMetrics} related unit tests.
+ */
+public class BoxAPIMetricsTest {
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
+
+    @Test
+    public void endpointReplacesIdSegments() throws MalformedURLException {
+        assertEquals("/2.0/files/{id}/metadata/enterprise/marketingCollateral", BoxAPIRequest.endpointOf(
+            new URL("https://api.box.com/2.0/files/12345/metadata/enterprise/marketingCollateral?fields=name")));
+        assertEquals("/api/2.0/files/upload_sessions/{id}/commit", BoxAPIRequest.endpointOf(
+            new URL("https://upload.box.com/api/2.0/files/upload_sessions/F971964745A5CD0C001BBE4E58196BFD/commit")));
+        assertEquals("/2.0/metadata_templates/enterprise/template1/schema", BoxAPIRequest.endpointOf(
+            new URL("https://api.box.com/2.0/metadata_templates/enterprise/template1/schema")));
+        assertEquals("/2.0/folders/{id}/", BoxAPIRequest.endpointOf(new URL("https://api.box.com/2.0/folders/0/")));
+    }
+
+    @Test
+    public void successfulRequestReportsLatencyStatusAndBytes() throws MalformedURLException {
+        String body = "{\"type\":\"file\",\"id\":\"12345\"}";
+        stubFor(get(urlEqualTo("/files/12345")).willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(body)));
+        RecordingMetrics metrics = new RecordingMetrics();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setMetrics(metrics);
+
+        BoxAPIRequest request = new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET");
+        BoxJSONResponse response = (BoxJSONResponse) request.send();
+        response.getJSON();
+
+        assertEquals(3, metrics.calls.size());
+        assertEquals("started GET /files/{id}", metrics.calls.get(0));
+        assertTrue(metrics.calls.get(1).startsWith("completed GET /files/{id} 200 "));
+        assertEquals("received GET /files/{id} " + body.length(), metrics.calls.get(2));
+    }
+
+    @Test
+    public void bytesReadWhileLoggingTheResponseAreReported() throws MalformedURLException {
+        String body = "{\"type\":\"file\",\"id\":\"12345\"}";
+        stubFor(get(urlEqualTo("/files/12345")).willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(body)));
+        RecordingMetrics metrics = new RecordingMetrics();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setMetrics(metrics);
+        // logging a JSON response at the debug level reads its body while the response is constructed
+        Logger logger = Logger.getLogger("com.box.sdk");
+        Level level = logger.getLevel();
+        logger.setLevel(Level.FINE);
+        try {
+            new BoxAPIRequest(api, this.boxMockUrl("/files/12345"), "GET").send();
+        } finally {
+            logger.setLevel(level);
+        }
+
+        assertEquals(3, metrics.calls.size());
+        assertEquals("received GET /files/{id} " + body.length(), metrics.calls.get(2));
+    }
+
+    @Test
+    public void retriedRequestReportsEveryAttemptAndRetry() throws MalformedURLException {
+        stubFor(get(urlEqualTo("/folders/0/items")).willReturn(aResponse().withStatus(500)));
+        RecordingMetrics metrics = new RecordingMetrics();
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setMaxRetryAttempts(1);
+        api.setMetrics(metrics);
+
+        BoxAPIRequest request = new BoxAPIRequest(api, this.boxMockUrl("/folders/0/items"), "GET");
+        request.setBackoffCounter(new BackoffCounter(mock(Time.class)));
+        try {
+            request.send();
+            fail("The request should have failed.");
+        } catch (BoxAPIException e) {
+            assertEquals(500, e.getResponseCode());
+        }
+
+        assertEquals(5, metrics.calls.size());
+        assertEquals("started GET /folders/{id}/items", metrics.calls.get(0));
+        assertTrue(metrics.calls.get(1).startsWith("completed GET /folders/{id}/items 500 "));
+        assertTrue(metrics.calls.get(2).startsWith("retry GET /folders/{id}/items 500 "));
+        assertEquals("started GET /folders/{id}/items", metrics.calls.get(3));
+        assertTrue(metrics.calls.get(4).startsWith("completed GET /folders/{id}/items 500 "));
+    }
+
+    private URL boxMockUrl(String path) throws MalformedURLException {
+        return new URL(format("http://localhost:%d%s", this.wireMockRule.port(), path));
+    }
+
+    private static final class RecordingMetrics implements BoxAPIMetrics {
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onRequestStarted(String method, String endpoint) {
+            this.calls.add("started " + method + " " + endpoint);
+        }
+
+        @Override
+        public void onRequestCompleted(String method, String endpoint, int responseCode, long durationNanos,
+                                       long bytesSent) {
+            this.calls.add("completed " + method + " " + endpoint + " " + responseCode + " " + durationNanos);
+        }
+
+        @Override
+        public void onRetry(String method, String endpoint, BoxAPIException cause, long delayMillis) {
+            this.calls.add("retry " + method + " " + endpoint + " " + cause.getResponseCode() + " " + delayMillis);
+        }
+
+        @Override
+        public void onResponseBodyRead(String method, String endpoint, long bytesReceived) {
+            this.calls.add("received " + method + " " + endpoint + " " + bytesReceived);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.eclipsesource.json.JsonObject;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * {@link BoxAPIRequest#sendAsync()} related unit tests.
+ */
+public class BoxAPIRequestAsyncTest {
+    private final RecordingScheduler scheduler = new RecordingScheduler();
+
+    @After
+    public void shutDownScheduler() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    public void sendAsyncSendsTheRequestOnTheAsyncExecutor() throws Exception {
+        final AtomicReference<Thread> sendingThread = new AtomicReference<>();
+        BoxAPIConnection api = this.connection();
+        api.setRequestInterceptor(request -> {
+            sendingThread.set(Thread.currentThread());
+            return json(new JsonObject().add("type", "file").add("id", "12345"));
+        });
+
+        BoxFile.Info info = new BoxFile(api, "12345").getInfoAsync("name").get(5, TimeUnit.SECONDS);
+
+        assertEquals("12345", info.getID());
+        assertNotEquals(Thread.currentThread(), sendingThread.get());
+    }
+
+    @Test
+    public void sendAsyncSchedulesRetriesInsteadOfWaiting() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        BoxAPIConnection api = this.connection();
+        api.setRequestInterceptor(request -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new BoxAPIException("Too many requests", 429, "",
+                    Collections.singletonMap("Retry-After", Collections.singletonList("2")));
+            }
+            return json(new JsonObject().add("type", "file").add("id", "12345"));
+        });
+
+        BoxAPIRequest request = new BoxAPIRequest(api, new URL("https://api.box.com/2.0/files/12345"), "GET");
+        BoxAPIResponse response = request.sendAsync().get(5, TimeUnit.SECONDS);
+
+        assertTrue(response instanceof BoxJSONResponse);
+        assertEquals(3, attempts.get());
+        assertEquals(2, this.scheduler.delays.size());
+        assertEquals(Long.valueOf(2000), this.scheduler.delays.get(0));
+    }
+
+    @Test
+    public void sendAsyncFailsWithTheErrorOnceRetriesAreExhausted() throws MalformedURLException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final BoxAPIException error = new BoxAPIException("Server error", 500, "");
+        BoxAPIConnection api = this.connection();
+        api.setMaxRetryAttempts(2);
+        api.setRequestInterceptor(request -> {
+            attempts.incrementAndGet();
+            throw error;
+        });
+
+        BoxAPIRequest request = new BoxAPIRequest(api, new URL("https://api.box.com/2.0/files/12345"), "GET");
+        try {
+            request.sendAsync().get(30, TimeUnit.SECONDS);
+            fail("The future should have failed.");
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        } catch (Exception e) {
+            fail("Unexpected exception " + e);
+        }
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void sendAsyncDoesNotRetryClientErrors() throws MalformedURLException {
+        final AtomicInteger attempts = new AtomicInteger();
+        BoxAPIConnection api = this.connection();
+        api.setRequestInterceptor(request -> {
+            attempts.incrementAndGet();
+            throw new BoxAPIException("Not found", 404, "");
+        });
+
+        BoxAPIRequest request = new BoxAPIRequest(api, new URL("https://api.box.com/2.0/files/12345"), "GET");
+        try {
+            request.sendAsync().get(5, TimeUnit.SECONDS);
+            fail("The future should have failed.");
+        } catch (ExecutionException e) {
+            assertEquals(404, ((BoxAPIException) e.getCause()).getResponseCode());
+        } catch (Exception e) {
+            fail("Unexpected exception " + e);
+        }
+        assertEquals(1, attempts.get());
+        assertTrue(this.scheduler.delays.isEmpty());
+    }
+
+    @Test
+    public void setMetadataAsyncUpdatesExistingMetadataOnConflict() throws Exception {
+        final List<String> methods = new CopyOnWriteArrayList<>();
+        BoxAPIConnection api = this.connection();
+        api.setRequestInterceptor(request -> {
+            methods.add(request.getMethod());
+            if (request.getMethod().equals("POST")) {
+                throw new BoxAPIException("Conflict", 409, "");
+            }
+            return json(new JsonObject()
+                .add("$template", "properties")
+                .add("$scope", "global")
+                .add("foo", "bar"));
+        });
+
+        Metadata metadata = new BoxFile(api, "12345")
+            .setMetadataAsync("properties", "global", new Metadata().add("/foo", "bar"))
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals("bar", metadata.getString("/foo"));
+        assertEquals(2, methods.size());
+        assertEquals("POST", methods.get(0));
+        assertEquals("PUT", methods.get(1));
+    }
+
+    private BoxAPIConnection connection() {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setRetryScheduler(this.scheduler);
+        return api;
+    }
+
+    /**
+     * Records the requested delays and runs the scheduled tasks right away, so the tests don't wait for back offs.
+     */
+    private static final class RecordingScheduler extends ScheduledThreadPoolExecutor {
+        private final List<Long> delays = new CopyOnWriteArrayList<>();
+
+        RecordingScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            this.delays.add(unit.toMillis(delay));
+            return super.schedule(command, 0, unit);
+        }
+    }
+}
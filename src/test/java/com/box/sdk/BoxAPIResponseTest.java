@@ -1,5 +1,13 @@
 package com.box.sdk;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import org.junit.Assert;
@@ -18,4 +26,76 @@ public class BoxAPIResponseTest {
         Assert.assertTrue(responseObject.getHeaders().containsKey("FOO"));
         Assert.assertEquals("bAr", responseObject.getHeaders().get("foo"));
     }
+
+    @Test
+    public void testConnectionResponseReadsOnlyCommonHeadersUpFront() throws MalformedURLException {
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        fields.put(null, Collections.singletonList("HTTP/1.1 200 OK"));
+        fields.put("Content-Type", Collections.singletonList("application/json"));
+        fields.put("Content-Length", Collections.singletonList("2"));
+        fields.put("Box-Request-Id", Collections.singletonList("abc"));
+        fields.put("ETag", Collections.singletonList("\"1\""));
+        StubConnection connection = new StubConnection(fields);
+
+        BoxAPIResponse response = new BoxAPIResponse(connection);
+
+        Assert.assertEquals(3, connection.headerLookups);
+        Assert.assertEquals(2, response.getContentLength());
+        Assert.assertEquals("application/json", response.getHeaderField("content-type"));
+        Assert.assertEquals(3, connection.headerLookups);
+
+        Assert.assertEquals("abc", response.getHeaders().get("BOX-REQUEST-ID"));
+        Assert.assertTrue(response.getHeaders().containsKey("etag"));
+        Assert.assertFalse(response.getHeaders().containsKey("Location"));
+        Assert.assertEquals(4, response.getHeaders().size());
+    }
+
+    private static final class StubConnection extends HttpURLConnection {
+        private final Map<String, List<String>> fields;
+        private int headerLookups;
+
+        StubConnection(Map<String, List<String>> fields) throws MalformedURLException {
+            super(new URL("https://api.box.com/2.0/files/1"));
+            this.fields = fields;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return 200;
+        }
+
+        @Override
+        public String getHeaderField(String name) {
+            this.headerLookups++;
+            for (Map.Entry<String, List<String>> field : this.fields.entrySet()) {
+                if (field.getKey() != null && field.getKey().equalsIgnoreCase(name)) {
+                    return field.getValue().get(field.getValue().size() - 1);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaderFields() {
+            return this.fields;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream("{}".getBytes());
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public void connect() {
+        }
+    }
 }
@@ -0,0 +1,203 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonObject;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * {@link BoxBulkExecutor} related unit tests.
+ */
+public class BoxBulkExecutorTest {
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private final List<Long> backOffs = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void resultsAreReturnedInTheOrderOfTheRequests() {
+        BoxAPIConnection api = this.connection(index -> index == 3 ? 404 : 200);
+        api.setAsyncExecutor(Runnable::run);
+
+        List<BoxBulkExecutor.Result> results = new BoxBulkExecutor(4, 0).execute(requests(api, 10));
+
+        assertEquals(10, results.size());
+        for (int i = 0; i < 10; i++) {
+            BoxBulkExecutor.Result result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals("/2.0/files/" + i, result.getRequest().getUrl().getPath());
+            assertEquals(i == 3 ? 404 : 200, result.getResponseCode());
+            assertEquals(i != 3, result.isSuccess());
+        }
+    }
+
+    @Test
+    public void onlyTheMaximumNumberOfRequestsIsInFlight() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        BoxAPIConnection api = this.connection(index -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return 200;
+        });
+        ExecutorService threads = Executors.newFixedThreadPool(16);
+        api.setAsyncExecutor(threads);
+
+        try {
+            List<BoxBulkExecutor.Result> results = new BoxBulkExecutor(3, 0).execute(requests(api, 40));
+
+            for (BoxBulkExecutor.Result result : results) {
+                assertTrue(result.isSuccess());
+            }
+            assertTrue(maxInFlight.get() <= 3);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    public void onlyRequestsFailingWithTransientErrorsAreSentAgain() {
+        final AtomicInteger calls = new AtomicInteger();
+        BoxAPIConnection api = this.connection(index -> {
+            calls.incrementAndGet();
+            if (index == 2 && this.attempts.get("2").get() == 1) {
+                return 503;
+            }
+            return index == 4 ? 400 : 200;
+        });
+        api.setAsyncExecutor(Runnable::run);
+
+        List<BoxBulkExecutor.Result> results = new BoxBulkExecutor(2, 3).execute(requests(api, 6));
+
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(2, results.get(2).getRounds());
+        assertFalse(results.get(4).isSuccess());
+        assertEquals(1, results.get(4).getRounds());
+        assertEquals(1, results.get(0).getRounds());
+        assertEquals(7, calls.get());
+        // the second round waited for the back off of a first retry, 2 seconds give or take half
+        assertEquals(1, this.backOffs.size());
+        assertTrue(this.backOffs.get(0) >= 1000 && this.backOffs.get(0) <= 3000);
+    }
+
+    @Test
+    public void roundWaitsForTheLongestRetryAfter() {
+        // the first two requests are rate limited once
+        BoxAPIConnection api = this.connection(index -> index < 2
+            && this.attempts.get(Integer.toString(index)).get() == 1 ? 429 : 200);
+        api.setAsyncExecutor(Runnable::run);
+
+        List<BoxBulkExecutor.Result> results = new BoxBulkExecutor(2, 1).execute(requests(api, 3));
+
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(2, results.get(0).getRounds());
+        assertEquals(Collections.singletonList(7000L), this.backOffs);
+    }
+
+    @Test
+    public void requestsAreSentAgainForAtMostTheMaximumNumberOfRounds() {
+        BoxAPIConnection api = this.connection(index -> 503);
+        api.setAsyncExecutor(Runnable::run);
+
+        List<BoxBulkExecutor.Result> results = new BoxBulkExecutor(2, 2).execute(requests(api, 3));
+
+        for (BoxBulkExecutor.Result result : results) {
+            assertFalse(result.isSuccess());
+            assertEquals(503, result.getResponseCode());
+            assertEquals(3, result.getRounds());
+        }
+    }
+
+    @Test
+    public void requestsCompletingSynchronouslyDoNotRecurse() {
+        BoxAPIConnection api = this.connection(index -> 200);
+        api.setAsyncExecutor(Runnable::run);
+
+        List<BoxBulkExecutor.Result> results = new BoxBulkExecutor(8, 0).execute(requests(api, 50000));
+
+        assertEquals(50000, results.size());
+        assertTrue(results.get(49999).isSuccess());
+    }
+
+    @Test
+    public void emptyListOfRequestsHasNoResults() {
+        BoxAPIConnection api = this.connection(index -> 200);
+
+        assertTrue(new BoxBulkExecutor(8, 0).execute(new ArrayList<BoxAPIRequest>()).isEmpty());
+    }
+
+    /**
+     * Returns a connection answering requests to /files/{index} with the status code chosen for the index, counting
+     * the attempts per index. Its 429 responses ask to retry after 7 seconds for the first file and after 3 seconds
+     * for the others.
+     */
+    private BoxAPIConnection connection(final StatusCodes statusCodes) {
+        BoxAPIConnection api = StubbedAPI.connection(request -> {
+            String path = request.getUrl().getPath();
+            String index = path.substring(path.lastIndexOf('/') + 1);
+            this.attempts.computeIfAbsent(index, key -> new AtomicInteger()).incrementAndGet();
+            int status = statusCodes.of(Integer.parseInt(index));
+            if (status == 429) {
+                throw new BoxAPIException("Too many requests", status, "{\"status\":429}",
+                    Collections.singletonMap("Retry-After", Collections.singletonList(index.equals("0") ? "7" : "3")));
+            }
+            if (status >= 400) {
+                throw new BoxAPIException("Request failed", status, "{\"status\":" + status + "}");
+            }
+            JsonObject body = new JsonObject().add("type", "file").add("id", index);
+            return json(body);
+        });
+        api.setRetryScheduler(new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        }) {
+            @Override
+            public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+                // records the back off between the rounds and starts the next round right away
+                BoxBulkExecutorTest.this.backOffs.add(unit.toMillis(delay));
+                return super.schedule(command, 0, unit);
+            }
+        });
+        return api;
+    }
+
+    private static List<BoxAPIRequest> requests(BoxAPIConnection api, int count) {
+        List<BoxAPIRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            try {
+                BoxJSONRequest request = new BoxJSONRequest(api, new URL(api.getBaseURL() + "files/" + i), "PUT");
+                request.setBody(new JsonObject().add("description", "bulk").toString());
+                requests.add(request);
+            } catch (MalformedURLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return requests;
+    }
+
+    private interface StatusCodes {
+        int of(int index);
+    }
+}
@@ -0,0 +1,217 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.body;
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BoxCollaborationSync} related unit tests.
+ */
+public class BoxCollaborationSyncTest {
+    private final Map<String, JsonArray> collaborations = new HashMap<>();
+    private final Map<String, Integer> failures = new HashMap<>();
+    // collaborations added by someone else right before a change, keyed by the change
+    private final Map<String, JsonObject> addedBefore = new ConcurrentHashMap<>();
+    private final List<String> changes = new CopyOnWriteArrayList<>();
+    private BoxAPIConnection api;
+
+    @Before
+    public void setUp() {
+        // folder 1 has user 10 as an editor, group 20 as a viewer and a pending invite to an email address
+        this.collaborations.put("1", new JsonArray()
+            .add(collaboration("100", "user", "10", "editor", "accepted"))
+            .add(collaboration("101", "group", "20", "viewer", "accepted"))
+            .add(new JsonObject().add("id", "102").add("accessible_by", Json.NULL).add("role", "viewer")
+                .add("status", "pending")));
+        // folder 2 has a rejected collaboration of user 11
+        this.collaborations.put("2", new JsonArray().add(collaboration("200", "user", "11", "viewer", "rejected")));
+
+        this.api = connection(request -> {
+            String path = request.getUrl().getPath();
+            String method = request.getMethod();
+            if (method.equals("GET")) {
+                String folderID = path.split("/")[3];
+                if (!this.collaborations.containsKey(folderID)) {
+                    throw new BoxAPIException("Not found", 404, "{}");
+                }
+                JsonArray entries = this.collaborations.get(folderID);
+                return json(new JsonObject().add("total_count", entries.size()).add("entries", entries));
+            }
+
+            String change = method + " " + path.substring("/2.0/".length());
+            if (method.equals("POST")) {
+                JsonObject body = Json.parse(body(request)).asObject();
+                JsonObject accessibleBy = body.get("accessible_by").asObject();
+                change += " " + body.get("item").asObject().get("id").asString() + " "
+                    + accessibleBy.get("type").asString() + "/" + accessibleBy.get("id").asString() + " "
+                    + body.get("role").asString();
+            } else if (method.equals("PUT")) {
+                change += " " + Json.parse(body(request)).asObject().get("role").asString();
+            }
+            this.changes.add(change);
+
+            JsonObject added = this.addedBefore.remove(change);
+            if (added != null) {
+                this.collaborations.get(change.split(" ")[2]).add(added);
+                throw new BoxAPIException("Conflict", 409, "{}");
+            }
+            Integer failure = this.failures.get(change);
+            if (failure != null) {
+                throw new BoxAPIException("Failed", failure, "{}");
+            }
+            return json(new JsonObject().add("id", "new"));
+        });
+    }
+
+    @Test
+    public void onlyTheDifferenceIsApplied() {
+        BoxCollaborationSync sync = new BoxCollaborationSync(this.api, 4);
+
+        BoxCollaborationSync.Summary summary = sync.sync(Arrays.asList(
+            BoxCollaborationSync.Access.user("1", "10", BoxCollaboration.Role.EDITOR),
+            BoxCollaborationSync.Access.group("1", "20", BoxCollaboration.Role.EDITOR),
+            BoxCollaborationSync.Access.user("1", "12", BoxCollaboration.Role.VIEWER),
+            BoxCollaborationSync.Access.removedUser("2", "11"),
+            BoxCollaborationSync.Access.user("2", "11", BoxCollaboration.Role.UPLOADER)));
+
+        assertEquals(new HashSet<>(Arrays.asList(
+            "PUT collaborations/101 editor",
+            "POST collaborations 1 user/12 viewer",
+            "POST collaborations 2 user/11 uploader")), new HashSet<>(this.changes));
+        assertEquals(1, summary.getCount(BoxCollaborationSync.Outcome.UNCHANGED));
+        assertEquals(1, summary.getCount(BoxCollaborationSync.Outcome.UPDATED));
+        assertEquals(2, summary.getCount(BoxCollaborationSync.Outcome.CREATED));
+        assertEquals(4, summary.getResults().size());
+        for (BoxCollaborationSync.Result result : summary.getResults()) {
+            if (result.getOutcome() == BoxCollaborationSync.Outcome.CREATED) {
+                assertEquals("new", result.getCollaborationID());
+            }
+        }
+    }
+
+    @Test
+    public void unlistedCollaborationsAreRemovedWhenAsked() {
+        BoxCollaborationSync sync = new BoxCollaborationSync(this.api, 2);
+        sync.setRemoveUnlisted(true);
+
+        BoxCollaborationSync.Summary summary = sync.sync(Collections.singletonList(
+            BoxCollaborationSync.Access.user("1", "10", BoxCollaboration.Role.EDITOR)));
+
+        assertEquals(Collections.singletonList("DELETE collaborations/101"), this.changes);
+        BoxCollaborationSync.Result removed = summary.getResults().get(1);
+        assertEquals(BoxCollaborationSync.Outcome.REMOVED, removed.getOutcome());
+        assertEquals("group", removed.getAccess().getCollaboratorType());
+        assertEquals("20", removed.getAccess().getCollaboratorID());
+        assertNull(removed.getAccess().getRole());
+    }
+
+    @Test
+    public void conflictsAndMissingCollaborationsAreTolerated() {
+        this.addedBefore.put("POST collaborations 1 user/12 viewer",
+            collaboration("103", "user", "12", "viewer", "accepted"));
+        this.failures.put("DELETE collaborations/100", 404);
+        BoxCollaborationSync sync = new BoxCollaborationSync(this.api, 2);
+
+        BoxCollaborationSync.Summary summary = sync.sync(Arrays.asList(
+            BoxCollaborationSync.Access.user("1", "12", BoxCollaboration.Role.VIEWER),
+            BoxCollaborationSync.Access.removedUser("1", "10")));
+
+        assertTrue(summary.getFailures().isEmpty());
+        assertEquals(1, summary.getCount(BoxCollaborationSync.Outcome.UNCHANGED));
+        assertEquals(1, summary.getCount(BoxCollaborationSync.Outcome.REMOVED));
+        assertEquals("103", summary.getResults().get(1).getCollaborationID());
+    }
+
+    @Test
+    public void conflictingCollaborationWithAnotherRoleIsUpdated() {
+        this.addedBefore.put("POST collaborations 1 user/12 viewer",
+            collaboration("103", "user", "12", "editor", "accepted"));
+        BoxCollaborationSync sync = new BoxCollaborationSync(this.api, 2);
+
+        BoxCollaborationSync.Summary summary = sync.sync(Collections.singletonList(
+            BoxCollaborationSync.Access.user("1", "12", BoxCollaboration.Role.VIEWER)));
+
+        assertEquals(Arrays.asList("POST collaborations 1 user/12 viewer", "PUT collaborations/103 viewer"),
+            this.changes);
+        assertEquals(1, summary.getResults().size());
+        BoxCollaborationSync.Result result = summary.getResults().get(0);
+        assertEquals(BoxCollaborationSync.Outcome.UPDATED, result.getOutcome());
+        assertEquals("103", result.getCollaborationID());
+    }
+
+    @Test
+    public void conflictWithoutACollaborationToUpdateFails() {
+        this.failures.put("POST collaborations 1 user/12 viewer", 409);
+        BoxCollaborationSync sync = new BoxCollaborationSync(this.api, 2);
+
+        BoxCollaborationSync.Summary summary = sync.sync(Collections.singletonList(
+            BoxCollaborationSync.Access.user("1", "12", BoxCollaboration.Role.VIEWER)));
+
+        assertEquals(2, this.changes.size());
+        assertEquals(1, summary.getFailures().size());
+        assertEquals(409, ((BoxAPIException) summary.getFailures().get(0).getError()).getResponseCode());
+    }
+
+    @Test
+    public void failuresAreReportedPerAccess() {
+        this.failures.put("PUT collaborations/100 co-owner", 403);
+        BoxCollaborationSync sync = new BoxCollaborationSync(this.api, 2);
+
+        BoxCollaborationSync.Summary summary = sync.sync(Arrays.asList(
+            BoxCollaborationSync.Access.user("1", "10", BoxCollaboration.Role.CO_OWNER),
+            BoxCollaborationSync.Access.user("3", "10", BoxCollaboration.Role.VIEWER),
+            BoxCollaborationSync.Access.user("2", "13", BoxCollaboration.Role.VIEWER)));
+
+        List<BoxCollaborationSync.Result> failed = summary.getFailures();
+        assertEquals(2, failed.size());
+        Set<Integer> codes = new HashSet<>();
+        for (BoxCollaborationSync.Result result : failed) {
+            codes.add(((BoxAPIException) result.getError()).getResponseCode());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(403, 404)), codes);
+        assertEquals(1, summary.getCount(BoxCollaborationSync.Outcome.CREATED));
+    }
+
+    @Test
+    public void dryRunMakesNoChanges() {
+        BoxCollaborationSync sync = new BoxCollaborationSync(this.api, 2);
+        sync.setDryRun(true);
+        sync.setRemoveUnlisted(true);
+
+        BoxCollaborationSync.Summary summary = sync.sync(Collections.singletonList(
+            BoxCollaborationSync.Access.user("1", "12", BoxCollaboration.Role.VIEWER)));
+
+        assertTrue(this.changes.isEmpty());
+        assertEquals(1, summary.getCount(BoxCollaborationSync.Outcome.CREATED));
+        assertEquals(2, summary.getCount(BoxCollaborationSync.Outcome.REMOVED));
+    }
+
+    private static JsonObject collaboration(String id, String type, String collaboratorID, String role,
+                                            String status) {
+        return new JsonObject()
+            .add("type", "collaboration")
+            .add("id", id)
+            .add("accessible_by", new JsonObject().add("type", type).add("id", collaboratorID))
+            .add("role", role)
+            .add("status", status);
+    }
+
+}
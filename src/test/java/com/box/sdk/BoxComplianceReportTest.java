@@ -0,0 +1,183 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BoxComplianceReport} related unit tests.
+ */
+public class BoxComplianceReportTest {
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final Set<String> deletedFiles = new HashSet<>();
+    private BoxAPIConnection api;
+
+    @Before
+    public void setUp() {
+        // legal hold policy 1 holds versions of files 10 to 14, and assignment 2 retains files 20 to 22 and 10
+        Map<String, JsonArray> sources = new HashMap<>();
+        JsonArray holds = new JsonArray();
+        for (int i = 0; i < 5; i++) {
+            holds.add(new JsonObject()
+                .add("type", "file_version_legal_hold")
+                .add("id", "h" + i)
+                .add("file", new JsonObject().add("type", "file").add("id", Integer.toString(10 + i)))
+                .add("file_version", new JsonObject().add("type", "file_version").add("id", "v" + i)));
+        }
+        sources.put("/2.0/file_version_legal_holds", holds);
+        JsonArray retained = new JsonArray();
+        for (String id : Arrays.asList("20", "21", "22", "10")) {
+            retained.add(new JsonObject().add("type", "file").add("id", id));
+        }
+        sources.put("/2.0/retention_policy_assignments/2/files_under_retention", retained);
+
+        this.api = connection(request -> {
+            String path = request.getUrl().getPath();
+            this.requests.add(path);
+            if (path.startsWith("/2.0/files/")) {
+                String fileID = path.substring("/2.0/files/".length());
+                if (this.deletedFiles.contains(fileID)) {
+                    throw new BoxAPIException("Not found", 404, "{}");
+                }
+                return json(new JsonObject().add("type", "file").add("id", fileID).add("name", fileID + ".pdf"));
+            }
+
+            Map<String, String> query = new HashMap<>();
+            for (String parameter : request.getUrl().getQuery().split("&")) {
+                String[] nameAndValue = parameter.split("=", 2);
+                query.put(nameAndValue[0], nameAndValue[1]);
+            }
+            JsonArray entries = sources.get(path);
+            if (entries == null) {
+                throw new BoxAPIException("Not found", 404, "{}");
+            }
+            int start = query.containsKey("marker") ? Integer.parseInt(query.get("marker")) : 0;
+            int end = Math.min(entries.size(), start + Integer.parseInt(query.get("limit")));
+            JsonArray page = new JsonArray();
+            for (int i = start; i < end; i++) {
+                page.add(entries.get(i));
+            }
+            return json(new JsonObject()
+                .add("entries", page)
+                .add("next_marker", end < entries.size() ? Integer.toString(end) : ""));
+        });
+    }
+
+    @Test
+    public void allPagesOfAllSourcesAreWritten() {
+        BoxComplianceReport report = new BoxComplianceReport(this.api);
+        report.addLegalHoldPolicy("1");
+        report.addFilesUnderRetention("2");
+        report.setPageSize(2);
+        List<JsonObject> rows = new ArrayList<>();
+
+        BoxComplianceReport.Summary summary = report.run(sink(rows));
+
+        assertEquals(9, summary.getEntries());
+        assertEquals(0, summary.getLookups());
+        Set<String> entries = new HashSet<>();
+        for (JsonObject row : rows) {
+            entries.add(row.get("source_id").asString() + ">" + row.get("id").asString());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("1>h0", "1>h1", "1>h2", "1>h3", "1>h4", "2>20", "2>21", "2>22",
+            "2>10")), entries);
+        // 3 pages of holds and 2 pages of retained files
+        assertEquals(5, this.requests.size());
+    }
+
+    @Test
+    public void filesAreLookedUpOncePerPage() {
+        BoxComplianceReport report = new BoxComplianceReport(this.api);
+        report.addLegalHoldPolicy("1");
+        report.addFilesUnderRetention("2");
+        report.setFileFields("name");
+        List<JsonObject> rows = new ArrayList<>();
+
+        BoxComplianceReport.Summary summary = report.run(sink(rows));
+
+        assertEquals(9, summary.getEntries());
+        assertEquals(9, summary.getLookups());
+        for (JsonObject row : rows) {
+            JsonObject file = row.get("file").asObject();
+            assertEquals(file.get("id").asString() + ".pdf", file.get("name").asString());
+        }
+    }
+
+    @Test
+    public void entriesOfDeletedFilesAreWrittenAsReturned() {
+        this.deletedFiles.add("11");
+        BoxComplianceReport report = new BoxComplianceReport(this.api);
+        report.addLegalHoldPolicy("1");
+        report.setFileFields("name");
+        List<JsonObject> rows = new ArrayList<>();
+
+        BoxComplianceReport.Summary summary = report.run(sink(rows));
+
+        assertEquals(5, summary.getEntries());
+        assertEquals(1, summary.getFailedLookups());
+        for (JsonObject row : rows) {
+            JsonObject file = row.get("file").asObject();
+            assertEquals(!file.get("id").asString().equals("11"), file.get("name") != null);
+        }
+    }
+
+    @Test
+    public void entriesAreStreamedAsCsv() {
+        StringWriter out = new StringWriter();
+        BoxComplianceReport report = new BoxComplianceReport(this.api);
+        report.addLegalHoldPolicy("1");
+        report.setFileFields("name");
+
+        report.run(RecordSink.csv(out, "source_id", "file_version.id", "file.name"));
+
+        String[] lines = out.toString().split("\n");
+        assertEquals("source_id,file_version.id,file.name", lines[0]);
+        assertEquals("1,v0,10.pdf", lines[1]);
+        assertEquals(6, lines.length);
+    }
+
+    @Test
+    public void failedSourceFailsTheReport() {
+        BoxComplianceReport report = new BoxComplianceReport(this.api);
+        report.addLegalHoldPolicy("1");
+        report.addFilesUnderRetention("3");
+
+        try {
+            report.run(sink(new ArrayList<>()));
+            fail("The report should have failed.");
+        } catch (BoxAPIException e) {
+            assertEquals(404, e.getResponseCode());
+            assertTrue(this.requests.contains("/2.0/retention_policy_assignments/3/files_under_retention"));
+        }
+    }
+
+    private static RecordSink sink(List<JsonObject> rows) {
+        return new RecordSink() {
+            @Override
+            public void write(JsonObject item) {
+                rows.add(Json.parse(item.toString()).asObject());
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.body;
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BoxGroupSync} related unit tests.
+ */
+public class BoxGroupSyncTest {
+    // the member user IDs of each group, in the order of their memberships
+    private final Map<String, List<String>> groups = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failures = new HashMap<>();
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+    private BoxAPIConnection api;
+
+    @Before
+    public void setUp() {
+        this.groups.put("1", new ArrayList<>(Arrays.asList("10", "11", "12")));
+        this.groups.put("2", new ArrayList<String>());
+
+        this.api = connection(request -> {
+            String path = request.getUrl().getPath();
+            String method = request.getMethod();
+            String change = method + " " + path.substring("/2.0/".length());
+            if (method.equals("POST")) {
+                JsonObject body = Json.parse(body(request)).asObject();
+                change += " " + body.get("group").asObject().get("id").asString() + "/"
+                    + body.get("user").asObject().get("id").asString();
+            }
+            this.requests.add(method.equals("GET") ? change + "?" + request.getUrl().getQuery() : change);
+
+            Integer failure = this.failures.get(change);
+            if (failure != null) {
+                throw new BoxAPIException("Failed", failure, "{}");
+            }
+            if (method.equals("GET")) {
+                return this.memberships(path.split("/")[3], request.getUrl().getQuery());
+            }
+            return json(201, new JsonObject().add("id", "m"));
+        });
+    }
+
+    @Test
+    public void onlyTheDifferenceIsApplied() {
+        Map<String, Collection<String>> target = new LinkedHashMap<>();
+        target.put("1", Arrays.asList("11", "13", "13"));
+        target.put("2", Collections.singletonList("10"));
+
+        BoxGroupSync.Summary summary = new BoxGroupSync(this.api, 4).sync(target);
+
+        Set<String> changes = new HashSet<>();
+        for (String request : this.requests) {
+            if (!request.startsWith("GET")) {
+                changes.add(request);
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList(
+            "POST group_memberships 1/13",
+            "POST group_memberships 2/10",
+            "DELETE group_memberships/1010",
+            "DELETE group_memberships/1012")), changes);
+        assertEquals(2, summary.getAdded());
+        assertEquals(2, summary.getRemoved());
+        assertEquals(1, summary.getUnchanged());
+        assertTrue(summary.getFailures().isEmpty());
+    }
+
+    @Test
+    public void remainingPagesOfLargeGroupsAreFetchedTogether() {
+        List<String> members = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            members.add(Integer.toString(1000 + i));
+        }
+        this.groups.put("3", members);
+        Map<String, Collection<String>> target = new LinkedHashMap<>();
+        target.put("3", members);
+        target.put("1", this.groups.get("1"));
+
+        BoxGroupSync.Summary summary = new BoxGroupSync(this.api, 4).sync(target);
+
+        assertEquals(2503, summary.getUnchanged());
+        assertEquals(4, summary.getRequests());
+        assertEquals(new HashSet<>(Arrays.asList("GET groups/3/memberships?offset=1000&limit=1000",
+            "GET groups/3/memberships?offset=2000&limit=1000")), new HashSet<>(this.requests.subList(2, 4)));
+    }
+
+    @Test
+    public void conflictsAndMissingMembershipsAreTolerated() {
+        this.failures.put("POST group_memberships 1/13", 409);
+        this.failures.put("DELETE group_memberships/1010", 404);
+
+        BoxGroupSync.Summary summary = new BoxGroupSync(this.api, 2).sync(
+            Collections.singletonMap("1", Arrays.asList("11", "12", "13")));
+
+        assertTrue(summary.getFailures().isEmpty());
+        assertEquals(3, summary.getUnchanged());
+        assertEquals(1, summary.getRemoved());
+    }
+
+    @Test
+    public void groupsThatCanNotBeReadAreLeftAlone() {
+        this.failures.put("GET groups/1/memberships", 403);
+        this.failures.put("POST group_memberships 2/11", 400);
+        Map<String, Collection<String>> target = new LinkedHashMap<>();
+        target.put("1", Collections.<String>emptyList());
+        target.put("2", Arrays.asList("10", "11"));
+
+        BoxGroupSync.Summary summary = new BoxGroupSync(this.api, 2).sync(target);
+
+        List<BoxGroupSync.Result> failed = summary.getFailures();
+        assertEquals(2, failed.size());
+        assertEquals("1", failed.get(0).getGroupID());
+        assertNull(failed.get(0).getUserID());
+        assertEquals("11", failed.get(1).getUserID());
+        assertTrue(failed.get(1).isAddition());
+        assertEquals(1, summary.getAdded());
+        assertEquals(0, summary.getRemoved());
+    }
+
+    @Test
+    public void groupsAreSyncedInWindows() {
+        Map<String, Collection<String>> target = new LinkedHashMap<>();
+        target.put("1", Collections.<String>emptyList());
+        target.put("2", Collections.singletonList("10"));
+        BoxGroupSync sync = new BoxGroupSync(this.api, 4);
+        sync.setWindowSize(1);
+
+        sync.sync(target);
+
+        assertEquals("GET groups/1/memberships?offset=0&limit=1000", this.requests.get(0));
+        assertTrue(this.requests.get(4).startsWith("GET groups/2/memberships"));
+        assertEquals("POST group_memberships 2/10", this.requests.get(5));
+    }
+
+    @Test
+    public void dryRunMakesNoChanges() {
+        BoxGroupSync sync = new BoxGroupSync(this.api, 2);
+        sync.setDryRun(true);
+
+        BoxGroupSync.Summary summary = sync.sync(Collections.singletonMap("1", Arrays.asList("12", "14")));
+
+        for (String request : this.requests) {
+            assertTrue(request.startsWith("GET"));
+        }
+        assertEquals(1, summary.getAdded());
+        assertEquals(2, summary.getRemoved());
+        assertTrue(summary.getFailures().isEmpty());
+    }
+
+    private BoxJSONResponse memberships(String groupID, String query) {
+        Map<String, String> parameters = new HashMap<>();
+        for (String parameter : query.split("&")) {
+            String[] nameAndValue = parameter.split("=", 2);
+            parameters.put(nameAndValue[0], nameAndValue[1]);
+        }
+        int offset = Integer.parseInt(parameters.get("offset"));
+        int limit = Integer.parseInt(parameters.get("limit"));
+
+        List<String> members = this.groups.get(groupID);
+        JsonArray entries = new JsonArray();
+        for (String userID : members.subList(Math.min(offset, members.size()),
+            Math.min(offset + limit, members.size()))) {
+            entries.add(new JsonObject()
+                .add("type", "group_membership")
+                .add("id", groupID + "0" + userID)
+                .add("user", new JsonObject().add("type", "user").add("id", userID)));
+        }
+        JsonObject body = new JsonObject()
+            .add("total_count", members.size())
+            .add("offset", offset)
+            .add("limit", limit)
+            .add("entries", entries);
+        return json(body);
+    }
+}
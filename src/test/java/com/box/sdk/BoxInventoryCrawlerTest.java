@@ -0,0 +1,265 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BoxInventoryCrawler} related unit tests.
+ */
+public class BoxInventoryCrawlerTest {
+    private static final Pattern MARKER = Pattern.compile("(^|&)marker=([^&]+)");
+
+    private final Map<String, JsonArray> folders = new HashMap<>();
+    private final List<String> listed = new CopyOnWriteArrayList<>();
+    private final Set<String> failingFolders = ConcurrentHashMap.newKeySet();
+    // folders listed in several pages, and actions run before a page of a folder is returned, keyed by user, folder
+    // and marker
+    private final Map<String, List<JsonArray>> pagedFolders = new HashMap<>();
+    private final Map<String, Runnable> beforePage = new ConcurrentHashMap<>();
+    private BoxAPIConnection api;
+    private Path checkpointFile;
+
+    @Before
+    public void setUp() throws IOException {
+        // user 1 owns folders 10 and 13, and collaborates on folder 20 of user 2
+        this.folders.put("1/0", new JsonArray()
+            .add(item("folder", "10", "1"))
+            .add(item("file", "11", "1"))
+            .add(item("folder", "20", "2")));
+        this.folders.put("1/10", new JsonArray().add(item("file", "12", "1")).add(item("folder", "13", "1")));
+        this.folders.put("1/13", new JsonArray());
+        this.folders.put("2/0", new JsonArray().add(item("folder", "20", "2")));
+        this.folders.put("2/20", new JsonArray().add(item("file", "21", "2")));
+
+        this.checkpointFile = Files.createTempFile("inventory", ".checkpoint");
+        Files.delete(this.checkpointFile);
+
+        this.api = connection(request -> {
+            String path = request.getUrl().getPath();
+            if (path.equals("/2.0/users")) {
+                JsonArray users = new JsonArray()
+                    .add(new JsonObject().add("type", "user").add("id", "1"))
+                    .add(new JsonObject().add("type", "user").add("id", "2"));
+                return json(new JsonObject().add("entries", users).add("limit", 100));
+            }
+
+            String userID = null;
+            for (BoxAPIRequest.RequestHeader header : request.getHeaders()) {
+                if (header.getKey().equals("As-User")) {
+                    userID = header.getValue();
+                }
+            }
+            String folderID = path.split("/")[3];
+            Matcher marker = MARKER.matcher(request.getUrl().getQuery());
+            String page = marker.find() ? marker.group(2) : "0";
+            this.listed.add(userID + "/" + folderID);
+            this.beforePage.getOrDefault(userID + "/" + folderID + "@" + page, () -> { }).run();
+            if (this.failingFolders.contains(folderID)) {
+                throw new BoxAPIException("Not found", 404, "{}");
+            }
+            List<JsonArray> pages = this.pagedFolders.get(userID + "/" + folderID);
+            if (pages != null) {
+                int index = Integer.parseInt(page);
+                return json(new JsonObject().add("entries", pages.get(index))
+                    .add("next_marker", index + 1 < pages.size() ? Integer.toString(index + 1) : ""));
+            }
+            return json(new JsonObject().add("entries", this.folders.get(userID + "/" + folderID)));
+        });
+    }
+
+    @After
+    public void deleteCheckpointFile() throws IOException {
+        Files.deleteIfExists(this.checkpointFile);
+    }
+
+    @Test
+    public void everyUserIsCrawledAsThemselves() {
+        StringWriter out = new StringWriter();
+        BoxInventoryCrawler crawler = new BoxInventoryCrawler(this.api, 4);
+        crawler.setFields("name", "owned_by");
+
+        BoxInventoryCrawler.Summary summary = crawler.crawl(RecordSink.ndjson(out));
+
+        Set<String> items = new HashSet<>();
+        for (String line : out.toString().split("\n")) {
+            JsonObject item = Json.parse(line).asObject();
+            items.add(item.get("parent_id").asString() + ">" + item.get("id").asString());
+            assertEquals(item.get("id").asString() + ".name", item.get("name").asString());
+        }
+        // folder 20 is only crawled as part of the tree of user 2, who owns it
+        assertEquals(new HashSet<>(Arrays.asList("0>10", "0>11", "10>12", "10>13", "0>20", "20>21")), items);
+        assertEquals(new HashSet<>(Arrays.asList("1/0", "1/10", "1/13", "2/0", "2/20")), new HashSet<>(this.listed));
+        assertEquals(6, summary.getItems());
+        assertEquals(5, summary.getFolders());
+    }
+
+    @Test
+    public void crawlResumesFromTheCheckpoint() throws IOException {
+        Files.write(this.checkpointFile, "Q\t1\t0\nQ\t1\t10\nD\t1\t0\nQ\t2\t0\nQ\t2\t20\nD\t2\t20\nD\t2\t0\nQ\t1"
+            .getBytes(StandardCharsets.UTF_8));
+        StringWriter out = new StringWriter();
+        BoxInventoryCrawler crawler = new BoxInventoryCrawler(this.api, 2);
+        crawler.setCheckpointFile(this.checkpointFile);
+
+        BoxInventoryCrawler.Summary summary = crawler.crawl(RecordSink.ndjson(out));
+
+        assertEquals(new HashSet<>(Arrays.asList("1/10", "1/13")), new HashSet<>(this.listed));
+        assertEquals(2, summary.getItems());
+        assertFalse(Files.exists(this.checkpointFile));
+    }
+
+    @Test
+    public void failedFoldersAreListedAgainWhenResuming() {
+        this.failingFolders.add("10");
+        BoxInventoryCrawler crawler = new BoxInventoryCrawler(this.api, 2);
+        crawler.setUserIDs("1");
+        crawler.setCheckpointFile(this.checkpointFile);
+
+        BoxInventoryCrawler.Summary summary = crawler.crawl(RecordSink.ndjson(new StringWriter()));
+
+        assertEquals(Collections.singletonList("10"), summary.getFailedFolders());
+        assertTrue(Files.exists(this.checkpointFile));
+
+        this.failingFolders.clear();
+        this.listed.clear();
+        summary = crawler.crawl(RecordSink.ndjson(new StringWriter()));
+
+        assertEquals(new HashSet<>(Arrays.asList("1/10", "1/13")), new HashSet<>(this.listed));
+        assertTrue(summary.getFailedFolders().isEmpty());
+        assertFalse(Files.exists(this.checkpointFile));
+    }
+
+    @Test
+    public void folderStoppedBetweenPagesIsListedAgainWhenResuming() throws IOException {
+        // user 3 has folder 30, listed in three pages with a sub-folder on the first one, and folder 40
+        this.folders.put("3/0", new JsonArray().add(item("folder", "30", "3")).add(item("folder", "40", "3")));
+        this.pagedFolders.put("3/30", Arrays.asList(
+            new JsonArray().add(item("file", "31", "3")).add(item("folder", "32", "3")),
+            new JsonArray().add(item("file", "33", "3")),
+            new JsonArray().add(item("file", "34", "3"))));
+        this.folders.put("3/32", new JsonArray());
+        this.folders.put("3/40", new JsonArray().add(item("file", "41", "3")));
+
+        // the items of folder 40 can't be written, which stops the crawl while folder 30 waits for its second page
+        final CountDownLatch secondPageRequested = new CountDownLatch(1);
+        final CountDownLatch sinkFailed = new CountDownLatch(1);
+        final AtomicReference<Thread> failedThread = new AtomicReference<>();
+        this.beforePage.put("3/40@0", () -> await(secondPageRequested));
+        this.beforePage.put("3/30@1", () -> {
+            secondPageRequested.countDown();
+            await(sinkFailed);
+            awaitIdle(failedThread.get());
+        });
+        RecordSink failingSink = new RecordSink() {
+            @Override
+            public void write(JsonObject item) throws IOException {
+                if (item.get("parent_id").asString().equals("40")) {
+                    failedThread.set(Thread.currentThread());
+                    sinkFailed.countDown();
+                    throw new IOException("Disk full");
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+        BoxInventoryCrawler crawler = new BoxInventoryCrawler(this.api, 2);
+        crawler.setUserIDs("3");
+        crawler.setCheckpointFile(this.checkpointFile);
+
+        try {
+            crawler.crawl(failingSink);
+            fail("The crawl should have been stopped.");
+        } catch (BoxAPIException e) {
+            assertEquals("Disk full", e.getCause().getMessage());
+        }
+        List<String> records = Files.readAllLines(this.checkpointFile, StandardCharsets.UTF_8);
+        assertFalse(records.contains("D\t3\t30"));
+        assertFalse(records.contains("Q\t3\t32"));
+
+        this.beforePage.clear();
+        this.listed.clear();
+        StringWriter out = new StringWriter();
+        BoxInventoryCrawler.Summary summary = crawler.crawl(RecordSink.ndjson(out));
+
+        Set<String> items = new HashSet<>();
+        for (String line : out.toString().split("\n")) {
+            JsonObject item = Json.parse(line).asObject();
+            items.add(item.get("parent_id").asString() + ">" + item.get("id").asString());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("30>31", "30>32", "30>33", "30>34", "40>41")), items);
+        assertEquals(new HashSet<>(Arrays.asList("3/30", "3/32", "3/40")), new HashSet<>(this.listed));
+        assertEquals(3, summary.getFolders());
+        assertFalse(Files.exists(this.checkpointFile));
+    }
+
+    @Test
+    public void csvSinkWritesOneColumnPerField() throws IOException {
+        StringWriter out = new StringWriter();
+        RecordSink sink = RecordSink.csv(out, "id", "name", "owned_by.id");
+
+        sink.write(new JsonObject().add("id", "1").add("name", "Q1, \"final\"")
+            .add("owned_by", new JsonObject().add("id", "7")));
+        sink.write(new JsonObject().add("id", "2"));
+
+        assertEquals("id,name,owned_by.id\n1,\"Q1, \"\"final\"\"\",7\n2,,\n", out.toString());
+    }
+
+    private static JsonObject item(String type, String id, String ownerID) {
+        return new JsonObject()
+            .add("type", type)
+            .add("id", id)
+            .add("name", id + ".name")
+            .add("owned_by", new JsonObject().add("type", "user").add("id", ownerID));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until a crawling thread is done with its folder and waits for another one.
+     */
+    private static void awaitIdle(Thread thread) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (thread != Thread.currentThread() && thread.getState() != Thread.State.WAITING
+            && thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.body;
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BoxMetadataBulkWriter} related unit tests.
+ */
+public class BoxMetadataBulkWriterTest {
+    private static final String TEMPLATE = "marketingCollateral";
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final Set<String> instances = ConcurrentHashMap.newKeySet();
+    private BoxAPIConnection api;
+
+    @Before
+    public void setUpConnection() {
+        this.api = connection(request -> {
+            String path = request.getUrl().getPath();
+            String body = body(request);
+            this.requests.add(request.getMethod() + " " + path + " " + body);
+
+            boolean exists = this.instances.contains(path);
+            if (path.contains("/files/missing/")) {
+                throw new BoxAPIException("Not found", 404, "{\"code\":\"not_found\"}");
+            } else if (request.getMethod().equals("POST") && exists) {
+                throw new BoxAPIException("Conflict", 409, "{\"code\":\"tuple_already_exists\"}");
+            } else if (request.getMethod().equals("PUT") && !exists) {
+                throw new BoxAPIException("Not found", 404, "{\"code\":\"instance_not_found\"}");
+            }
+            this.instances.add(path);
+            JsonObject instance = new JsonObject().add("$template", TEMPLATE).add("$scope", "enterprise_1");
+            return json(request.getMethod().equals("POST") ? 201 : 200, instance);
+        });
+        // completes the requests right away, so that the order of the requests is predictable
+        this.api.setAsyncExecutor(Runnable::run);
+    }
+
+    @Test
+    public void writesToTheSameInstanceAreCoalesced() {
+        BoxMetadataBulkWriter writer = new BoxMetadataBulkWriter(this.api, 4);
+
+        BoxMetadataBulkWriter.Summary summary = writer.write(Arrays.asList(
+            write("1", new Metadata().add("/audience", "all").add("/region", "emea")),
+            write("2", new Metadata().add("/audience", "partners")),
+            write("1", new Metadata().replace("/audience", "internal"))));
+
+        assertEquals(Arrays.asList(
+            "POST /2.0/files/1/metadata/enterprise/marketingCollateral {\"audience\":\"internal\",\"region\":\"emea\"}",
+            "POST /2.0/files/2/metadata/enterprise/marketingCollateral {\"audience\":\"partners\"}"), this.requests);
+        assertEquals(2, summary.getSucceeded());
+        assertEquals(2, summary.getRequests());
+    }
+
+    @Test
+    public void existingInstancesAreUpdatedWithoutTryingToCreateThemFirst() {
+        for (int i = 0; i < 10; i++) {
+            this.instances.add("/2.0/files/" + i + "/metadata/enterprise/" + TEMPLATE);
+        }
+        BoxMetadataBulkWriter writer = new BoxMetadataBulkWriter(this.api, 1);
+
+        BoxMetadataBulkWriter.Summary summary = writer.write(IntStream.range(0, 10)
+            .mapToObj(i -> write(Integer.toString(i), new Metadata().add("/audience", "all"))));
+
+        assertEquals(10, summary.getSucceeded());
+        assertEquals(11, summary.getRequests());
+        assertTrue(this.requests.get(0).startsWith("POST /2.0/files/0/"));
+        assertEquals("PUT /2.0/files/0/metadata/enterprise/marketingCollateral "
+            + "[{\"op\":\"add\",\"path\":\"/audience\",\"value\":\"all\"}]", this.requests.get(1));
+        assertTrue(this.requests.get(2).startsWith("PUT /2.0/files/1/"));
+    }
+
+    @Test
+    public void missingInstanceIsCreatedWhenAnUpdateFindsNothing() {
+        this.instances.add("/2.0/files/1/metadata/enterprise/" + TEMPLATE);
+        this.instances.add("/2.0/files/2/metadata/enterprise/" + TEMPLATE);
+        BoxMetadataBulkWriter writer = new BoxMetadataBulkWriter(this.api, 1);
+        final List<BoxMetadataBulkWriter.Result> results = new ArrayList<>();
+        writer.setListener(results::add);
+
+        writer.write(Arrays.asList(
+            write("1", new Metadata().add("/audience", "all")),
+            write("2", new Metadata().add("/audience", "all")),
+            write("3", new Metadata().add("/audience", "all"))));
+
+        assertEquals(3, results.size());
+        assertEquals("3", results.get(2).getWrite().getItemID());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(2, results.get(2).getRequests());
+        assertTrue(this.requests.get(3).startsWith("PUT /2.0/files/3/"));
+        assertTrue(this.requests.get(4).startsWith("POST /2.0/files/3/"));
+    }
+
+    @Test
+    public void failedWritesAreReported() {
+        BoxMetadataBulkWriter writer = new BoxMetadataBulkWriter(this.api, 2);
+
+        BoxMetadataBulkWriter.Summary summary = writer.write(Arrays.asList(
+            write("1", new Metadata().add("/audience", "all")),
+            write("missing", new Metadata().add("/audience", "all"))));
+
+        assertEquals(1, summary.getSucceeded());
+        assertEquals(1, summary.getFailures().size());
+        BoxMetadataBulkWriter.Result failure = summary.getFailures().get(0);
+        assertFalse(failure.isSuccess());
+        assertEquals("missing", failure.getWrite().getItemID());
+        assertEquals(404, ((BoxAPIException) failure.getError()).getResponseCode());
+    }
+
+    @Test
+    public void writesInDifferentWindowsAreSentInOrder() {
+        BoxMetadataBulkWriter writer = new BoxMetadataBulkWriter(this.api, 4);
+        writer.setWindowSize(1);
+
+        writer.write(Arrays.asList(
+            write("1", new Metadata().add("/audience", "all")),
+            write("2", new Metadata().add("/audience", "all")),
+            write("1", new Metadata().add("/audience", "internal"))));
+
+        // the second write to file 1 isn't coalesced with the first, which has already created the instance
+        assertEquals(4, this.requests.size());
+        assertTrue(this.requests.get(0).startsWith("POST /2.0/files/1/"));
+        assertTrue(this.requests.get(2).startsWith("POST /2.0/files/1/"));
+        assertEquals("PUT /2.0/files/1/metadata/enterprise/marketingCollateral "
+            + "[{\"op\":\"add\",\"path\":\"/audience\",\"value\":\"internal\"}]", this.requests.get(3));
+    }
+
+    @Test
+    public void folderWritesUseTheFolderEndpoint() {
+        BoxMetadataBulkWriter writer = new BoxMetadataBulkWriter(this.api, 4);
+
+        writer.write(Collections.singletonList(BoxMetadataBulkWriter.Write.folder("7", "enterprise", TEMPLATE,
+            new Metadata().add("/audience", "all").remove("/region"))));
+
+        assertEquals(Collections.singletonList(
+            "POST /2.0/folders/7/metadata/enterprise/marketingCollateral {\"audience\":\"all\"}"), this.requests);
+    }
+
+    private static BoxMetadataBulkWriter.Write write(String fileID, Metadata values) {
+        return BoxMetadataBulkWriter.Write.file(fileID, "enterprise", TEMPLATE, values);
+    }
+}
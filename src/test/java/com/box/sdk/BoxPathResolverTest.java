@@ -0,0 +1,174 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+/**
+ * {@link BoxPathResolver} related unit tests.
+ */
+public class BoxPathResolverTest {
+    private static final Pattern ITEMS_URL = Pattern.compile("/folders/(\\w+)/items/?");
+    private static final Pattern MARKER = Pattern.compile("[?&]marker=(\\w+)");
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final BoxAPIConnection api = this.folderTree();
+
+    @Test
+    public void pathIsResolvedWithMarkerPagedListingsAndThenFromTheCache() {
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 100, 10, TimeUnit.MINUTES);
+
+        BoxItem acme = resolver.resolve("/Clients/Acme");
+        assertEquals(Arrays.asList("0 first", "0 page2", "1 first"), this.requests);
+
+        this.requests.clear();
+        BoxItem cached = resolver.resolve("/Clients/Acme/");
+        BoxItem sibling = resolver.resolve("Other");
+
+        assertTrue(acme instanceof BoxFolder);
+        assertEquals("2", acme.getID());
+        assertEquals("2", cached.getID());
+        assertEquals("7", sibling.getID());
+        assertTrue(this.requests.isEmpty());
+    }
+
+    @Test
+    public void missingAndInvalidPathsResolveToNull() {
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 100, 10, TimeUnit.MINUTES);
+
+        assertNull(resolver.resolve("/Clients/Missing"));
+        assertNull(resolver.resolve("/readme.txt/Acme"));
+        assertEquals("0", resolver.resolve("/").getID());
+        assertTrue(resolver.resolve("/readme.txt") instanceof BoxFile);
+    }
+
+    @Test
+    public void namesAreMatchedRegardlessOfTheirCase() {
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 100, 10, TimeUnit.MINUTES);
+
+        assertEquals("2", resolver.resolve("/clients/ACME").getID());
+        assertEquals("2", resolver.resolve("/Clients/Acme").getID());
+        assertEquals(Arrays.asList("0 first", "0 page2", "1 first"), this.requests);
+    }
+
+    @Test
+    public void pagesAfterTheNameArentPrefetched() {
+        this.api.setPagePrefetchDepth(2);
+        this.api.setPagePrefetchExecutor(Runnable::run);
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 100, 10, TimeUnit.MINUTES);
+
+        resolver.resolve("/Clients");
+
+        assertEquals(Arrays.asList("0 first", "0 page2"), this.requests);
+    }
+
+    @Test
+    public void renameEventInvalidatesTheName() {
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 100, 10, TimeUnit.MINUTES);
+        resolver.resolve("/Clients/Acme");
+        this.requests.clear();
+
+        resolver.onEvent(new BoxEvent(this.api, new JsonObject()
+            .add("event_id", "e1")
+            .add("event_type", "ITEM_RENAME")
+            .add("source", new JsonObject().add("type", "folder").add("id", "2").add("name", "Acme Corp"))
+            .toString()));
+        resolver.resolve("/Clients/Acme");
+
+        assertEquals(Arrays.asList("1 first"), this.requests);
+    }
+
+    @Test
+    public void otherEventsKeepTheCache() {
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 100, 10, TimeUnit.MINUTES);
+        resolver.resolve("/Clients/Acme");
+        this.requests.clear();
+
+        resolver.onEvent(new BoxEvent(this.api, new JsonObject()
+            .add("event_id", "e1")
+            .add("event_type", "ITEM_PREVIEW")
+            .add("source", new JsonObject().add("type", "folder").add("id", "2").add("name", "Acme"))
+            .toString()));
+        resolver.resolve("/Clients/Acme");
+
+        assertTrue(this.requests.isEmpty());
+    }
+
+    @Test
+    public void leastRecentlyUsedNamesAreEvicted() {
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 1, 10, TimeUnit.MINUTES);
+
+        resolver.resolve("/Clients/Acme");
+        this.requests.clear();
+        resolver.resolve("/Clients/Acme");
+
+        // only Acme was still cached, and listing the root folder to find Clients again evicted it
+        assertEquals(Arrays.asList("0 first", "0 page2", "1 first"), this.requests);
+    }
+
+    @Test
+    public void expiredNamesAreLookedUpAgain() {
+        BoxPathResolver resolver = new BoxPathResolver(this.api, 100, 0, TimeUnit.MILLISECONDS);
+
+        resolver.resolve("/Clients");
+        this.requests.clear();
+        resolver.resolve("/Clients");
+
+        assertEquals(Arrays.asList("0 first", "0 page2"), this.requests);
+    }
+
+    /**
+     * Returns a connection answering folder listings for a tree where the root folder lists readme.txt on its first
+     * page, Clients and Other on its second page and Archive on its third page, and Clients contains Acme.
+     */
+    private BoxAPIConnection folderTree() {
+        return connection(request -> {
+            String url = request.getUrl().toString();
+            Matcher folder = ITEMS_URL.matcher(url);
+            if (!folder.find()) {
+                throw new BoxAPIException("Unexpected request " + url, 404, "");
+            }
+            Matcher marker = MARKER.matcher(url);
+            String page = marker.find() ? marker.group(1) : "first";
+            this.requests.add(folder.group(1) + " " + page);
+
+            JsonArray entries = new JsonArray();
+            String nextMarker = null;
+            if (folder.group(1).equals("0")) {
+                if (page.equals("first")) {
+                    entries.add(item("file", "9", "readme.txt"));
+                    nextMarker = "page2";
+                } else if (page.equals("page2")) {
+                    entries.add(item("folder", "1", "Clients")).add(item("folder", "7", "Other"));
+                    nextMarker = "page3";
+                } else {
+                    entries.add(item("folder", "8", "Archive"));
+                }
+            } else if (folder.group(1).equals("1")) {
+                entries.add(item("folder", "2", "Acme"));
+            }
+
+            JsonObject body = new JsonObject().add("entries", entries).add("limit", 1000);
+            if (nextMarker != null) {
+                body.add("next_marker", nextMarker);
+            }
+                        return json(body);
+        });
+    }
+
+    private static JsonObject item(String type, String id, String name) {
+        return new JsonObject().add("type", type).add("id", id).add("name", name);
+    }
+}
@@ -0,0 +1,245 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BoxPermissionIndex} related unit tests.
+ */
+public class BoxPermissionIndexTest {
+    private static final Pattern FOLDER_URL = Pattern.compile("/folders/(\\w+)(/collaborations|/items/?)?$");
+    private static final Pattern MEMBERSHIPS_URL = Pattern.compile("/groups/(\\w+)/memberships$");
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final Map<String, JsonArray> collaborations = new ConcurrentHashMap<>();
+    private final Map<String, JsonArray> children = new ConcurrentHashMap<>();
+    private final Map<String, JsonArray> members = new ConcurrentHashMap<>();
+    private final Map<String, String> owners = new ConcurrentHashMap<>();
+    private BoxAPIConnection api;
+
+    /**
+     * Sets up a tree where Shared (10) contains Projects (100), which contains Design (101) and a file. All of them are
+     * owned by user 1. Group 500, made of users 2 and 5, can view Shared, user 2 can edit Projects, user 3 is invited
+     * to Projects but hasn't accepted yet, and user 4 is co-owner of Design.
+     */
+    @Before
+    public void setUpTree() {
+        this.collaborations.put("10", new JsonArray().add(collaboration("group", "500", "viewer", "accepted")));
+        this.collaborations.put("100", new JsonArray()
+            .add(collaboration("user", "2", "editor", "accepted"))
+            .add(collaboration("user", "3", "previewer", "pending")));
+        this.collaborations.put("101", new JsonArray().add(collaboration("user", "4", "co-owner", "accepted")));
+        this.children.put("100", new JsonArray().add(item("folder", "101")).add(item("file", "900")));
+        this.members.put("500", new JsonArray().add(membership("2")).add(membership("5")));
+        this.api = this.connection();
+    }
+
+    @Test
+    public void effectiveRolesAreAnsweredFromTheIndex() {
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        assertEquals(3, index.load("100"));
+        this.requests.clear();
+
+        assertEquals(BoxCollaboration.Role.OWNER, index.getEffectiveRole("1", "101"));
+        assertEquals(BoxCollaboration.Role.EDITOR, index.getEffectiveRole("2", "101"));
+        assertEquals(BoxCollaboration.Role.VIEWER, index.getEffectiveRole("5", "101"));
+        assertEquals(BoxCollaboration.Role.VIEWER, index.getEffectiveRole("5", "10"));
+        assertEquals(BoxCollaboration.Role.CO_OWNER, index.getEffectiveRole("4", "101"));
+        assertNull(index.getEffectiveRole("4", "100"));
+        assertFalse(index.canAccess("3", "100"));
+        assertFalse(index.canAccess("2", "12345"));
+        assertFalse(index.isIndexed("12345"));
+        assertTrue(this.requests.isEmpty());
+    }
+
+    @Test
+    public void collaborationEventReloadsTheCollaborationsOfTheFolder() {
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        index.load("100");
+        this.collaborations.get("100").add(collaboration("user", "6", "uploader", "accepted"));
+        this.requests.clear();
+
+        index.onEvent(event("COLLABORATION_ROLE_CHANGE", new JsonObject()
+            .add("item_type", "folder").add("item_id", "100").add("item_name", "Projects")));
+
+        assertEquals(BoxCollaboration.Role.UPLOADER, index.getEffectiveRole("6", "101"));
+        assertEquals(1, this.requests.size());
+    }
+
+    @Test
+    public void membershipEventReloadsTheMembersOfTheGroup() {
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        index.load("100");
+        this.members.put("500", new JsonArray().add(membership("2")).add(membership("7")));
+
+        index.onEvent(event("GROUP_REMOVE_USER", new JsonObject()
+            .add("group_id", "500").add("group_name", "Viewers").add("user_id", "5").add("user_name", "Five")));
+
+        assertFalse(index.canAccess("5", "101"));
+        assertEquals(BoxCollaboration.Role.VIEWER, index.getEffectiveRole("7", "101"));
+        assertEquals(BoxCollaboration.Role.EDITOR, index.getEffectiveRole("2", "101"));
+    }
+
+    @Test
+    public void movedFolderLosesTheRolesInheritedFromItsOldAncestors() {
+        this.owners.put("20", "8");
+        this.collaborations.put("20", new JsonArray().add(collaboration("user", "9", "editor", "accepted")));
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        index.load("100");
+        index.load("20");
+
+        index.onEvent(event("ITEM_MOVE", item("folder", "100").add("parent", item("folder", "20"))));
+
+        assertFalse(index.canAccess("5", "101"));
+        assertFalse(index.canAccess("1", "101"));
+        assertEquals(BoxCollaboration.Role.OWNER, index.getEffectiveRole("8", "100"));
+        assertEquals(BoxCollaboration.Role.OWNER, index.getEffectiveRole("8", "101"));
+        assertEquals(BoxCollaboration.Role.EDITOR, index.getEffectiveRole("9", "101"));
+        assertEquals(BoxCollaboration.Role.CO_OWNER, index.getEffectiveRole("4", "101"));
+    }
+
+    @Test
+    public void folderMovedOutOfTheIndexedTreesIsRemovedWithItsSubfolders() {
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        index.load("100");
+
+        index.onEvent(event("ITEM_MOVE", item("folder", "100").add("parent", item("folder", "999"))));
+
+        assertEquals(1, index.size());
+        assertFalse(index.isIndexed("101"));
+        assertNull(index.getEffectiveRole("4", "101"));
+    }
+
+    @Test
+    public void folderMovedIntoAnIndexedTreeIsLoaded() {
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        index.load("100");
+
+        index.onEvent(event("ITEM_MOVE", item("folder", "30").add("parent", item("folder", "101"))));
+
+        assertTrue(index.isIndexed("30"));
+        assertEquals(BoxCollaboration.Role.CO_OWNER, index.getEffectiveRole("4", "30"));
+        assertEquals(BoxCollaboration.Role.OWNER, index.getEffectiveRole("1", "30"));
+    }
+
+    @Test
+    public void trashedFolderIsRemovedWithItsSubfolders() {
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        index.load("100");
+
+        index.onEvent(event("ITEM_TRASH", item("folder", "100")));
+
+        assertEquals(1, index.size());
+        assertTrue(index.isIndexed("10"));
+        assertFalse(index.isIndexed("101"));
+    }
+
+    @Test
+    public void createdFolderInheritsTheRolesOfItsParent() {
+        BoxPermissionIndex index = new BoxPermissionIndex(this.api);
+        index.load("100");
+
+        index.onEvent(event("ITEM_CREATE", item("folder", "102").add("parent", item("folder", "101"))));
+
+        assertEquals(BoxCollaboration.Role.CO_OWNER, index.getEffectiveRole("4", "102"));
+        assertEquals(BoxCollaboration.Role.OWNER, index.getEffectiveRole("1", "102"));
+    }
+
+    private BoxAPIConnection connection() {
+        BoxAPIConnection connection = new BoxAPIConnection("");
+        connection.setRequestInterceptor(request -> {
+            String path = request.getUrl().getPath();
+            this.requests.add(path);
+
+            final JsonObject body;
+            Matcher folder = FOLDER_URL.matcher(path);
+            Matcher group = MEMBERSHIPS_URL.matcher(path);
+            if (folder.find()) {
+                body = this.folderResponse(folder.group(1), folder.group(2));
+            } else if (group.find()) {
+                body = page(this.members.get(group.group(1)));
+            } else {
+                throw new BoxAPIException("Unexpected request " + path, 404, "");
+            }
+            return new BoxJSONResponse() {
+                @Override
+                public String getJSON() {
+                    return body.toString();
+                }
+            };
+        });
+        return connection;
+    }
+
+    private JsonObject folderResponse(String folderID, String endpoint) {
+        if (endpoint == null) {
+            String ownerID = this.owners.get(folderID);
+            if (ownerID != null) {
+                // the top folder of another tree, right in the root folder
+                return item("folder", folderID)
+                    .add("owned_by", item("user", ownerID))
+                    .add("path_collection", new JsonObject().add("total_count", 1).add("entries", new JsonArray()
+                        .add(item("folder", "0"))));
+            }
+            return item("folder", folderID)
+                .add("owned_by", item("user", "1"))
+                .add("path_collection", new JsonObject().add("total_count", 2).add("entries", new JsonArray()
+                    .add(item("folder", "0"))
+                    .add(item("folder", "10"))));
+        } else if (endpoint.equals("/collaborations")) {
+            return page(this.collaborations.get(folderID));
+        } else {
+            return page(this.children.get(folderID));
+        }
+    }
+
+    private BoxEvent event(String type, JsonObject source) {
+        return new BoxEvent(this.api, new JsonObject()
+            .add("event_id", "e1")
+            .add("event_type", type)
+            .add("source", source)
+            .toString());
+    }
+
+    private static JsonObject page(JsonArray entries) {
+        JsonArray pageEntries = entries == null ? new JsonArray() : entries;
+        return new JsonObject()
+            .add("entries", pageEntries)
+            .add("total_count", pageEntries.size())
+            .add("offset", 0)
+            .add("limit", 1000);
+    }
+
+    private static JsonObject item(String type, String id) {
+        return new JsonObject().add("type", type).add("id", id);
+    }
+
+    private static JsonObject collaboration(String type, String id, String role, String status) {
+        return new JsonObject()
+            .add("type", "collaboration")
+            .add("id", "c" + id)
+            .add("accessible_by", item(type, id))
+            .add("role", role)
+            .add("status", status);
+    }
+
+    private static JsonObject membership(String userID) {
+        return new JsonObject()
+            .add("type", "group_membership")
+            .add("id", "m" + userID)
+            .add("user", item("user", userID));
+    }
+}
@@ -4,15 +4,23 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.Test;
 
 /**
  * {@link BoxResourceIterable} related unit tests.
  */
 public class BoxResourceIterableTest {
+    private static final Pattern MARKER = Pattern.compile("marker=m(\\d+)");
 
     /**
      * Unit test for {@link BoxResourceIterable.IteratorImpl#next()}.
@@ -153,4 +161,123 @@ public class BoxResourceIterableTest {
         assertEquals(value3, field);
         assertFalse(iterator.hasNext());
     }
+
+    /**
+     * Unit test for {@link BoxResourceIterable.IteratorImpl#next()} with page prefetching enabled.
+     */
+    @Test
+    public void testIteratorPrefetchesPagesInOrder() {
+        final URLTemplate urlTemplate = new URLTemplate("endpoint/%s");
+        final int limit = 2;
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setPagePrefetchDepth(2);
+        api.setRequestInterceptor(new RequestInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                String query = request.getUrl().getQuery();
+                final String json;
+                if (!query.contains("marker=")) {
+                    json = "{\"entries\":[{\"field\": \"1\"}, {\"field\": \"2\"}], \"next_marker\": \"m2\"}";
+                } else if (query.contains("marker=m2")) {
+                    json = "{\"entries\":[{\"field\": \"3\"}, {\"field\": \"4\"}], \"next_marker\": \"m3\"}";
+                } else {
+                    json = "{\"entries\":[{\"field\": \"5\"}], \"next_marker\": \"\"}";
+                }
+                return new BoxJSONResponse() {
+                    @Override
+                    public String getJSON() {
+                        return json;
+                    }
+                };
+            }
+        });
+
+        Iterator<String> iterator = new BoxResourceIterable<String>(api, urlTemplate.build(api.getBaseURL(), "0"),
+            limit) {
+            @Override
+            protected String factory(JsonObject jsonObject) {
+                return jsonObject.get("field").asString();
+            }
+        }
+            .iterator();
+
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(String.valueOf(i), iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * Unit test for {@link BoxResourceIterable.IteratorImpl#hasNext()} starting the prefetcher.
+     */
+    @Test
+    public void testPrefetchingStartsWhenTheIteratorIsFirstUsed() {
+        List<Runnable> fetchers = new ArrayList<>();
+        BoxAPIConnection api = endlessMarkerEndpoint(new AtomicInteger());
+        api.setPagePrefetchDepth(1);
+        api.setPagePrefetchExecutor(fetchers::add);
+
+        BoxResourceIterable<String> iterable = fields(api);
+        Iterator<String> iterator = iterable.iterator();
+        assertTrue(fetchers.isEmpty());
+
+        assertEquals("0", iterator.next());
+        assertEquals(1, fetchers.size());
+    }
+
+    /**
+     * Unit test for {@link BoxResourceIterable#close()}.
+     */
+    @Test
+    public void testClosingTheIterableStopsPrefetching() throws InterruptedException {
+        List<Thread> fetchers = new CopyOnWriteArrayList<>();
+        AtomicInteger requests = new AtomicInteger();
+        BoxAPIConnection api = endlessMarkerEndpoint(requests);
+        api.setPagePrefetchDepth(1);
+        api.setPagePrefetchExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            fetchers.add(thread);
+            thread.start();
+        });
+
+        BoxResourceIterable<String> iterable = fields(api);
+        Iterator<String> iterator = iterable.iterator();
+        assertEquals("0", iterator.next());
+        assertEquals("1", iterator.next());
+        iterable.close();
+
+        assertFalse(iterator.hasNext());
+        Thread fetcher = fetchers.get(0);
+        fetcher.join(10000);
+        assertFalse(fetcher.isAlive());
+        int sent = requests.get();
+        Thread.sleep(50);
+        assertEquals(sent, requests.get());
+    }
+
+    /**
+     * Returns a connection answering an endless marker based endpoint, with one entry per page.
+     */
+    private static BoxAPIConnection endlessMarkerEndpoint(AtomicInteger requests) {
+        return StubbedAPI.connection(request -> {
+            requests.incrementAndGet();
+            Matcher marker = MARKER.matcher(request.getUrl().getQuery());
+            int page = marker.find() ? Integer.parseInt(marker.group(1)) : 0;
+            return StubbedAPI.json(new JsonObject()
+                .add("entries", new JsonArray().add(new JsonObject().add("field", String.valueOf(page))))
+                .add("next_marker", "m" + (page + 1)));
+        });
+    }
+
+    private static BoxResourceIterable<String> fields(BoxAPIConnection api) {
+        return new BoxResourceIterable<String>(api, new URLTemplate("endpoint/%s").build(api.getBaseURL(), "0"), 1) {
+            @Override
+            protected String factory(JsonObject jsonObject) {
+                return jsonObject.get("field").asString();
+            }
+        };
+    }
 }
@@ -0,0 +1,182 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * {@link BoxSearchScan} related unit tests.
+ */
+public class BoxSearchScanTest {
+    private final List<Item> items = new ArrayList<>();
+
+    @Test
+    public void allPagesOfASmallSearchAreFetched() {
+        for (int i = 0; i < 450; i++) {
+            this.items.add(new Item(Integer.toString(i), 1000 + i, "0"));
+        }
+        BoxSearchScan scan = new BoxSearchScan(this.connection(), new BoxSearchParameters("report"), 4);
+
+        List<String> ids = new ArrayList<>();
+        BoxSearchScan.Summary summary = scan.scan(info -> ids.add(info.getID()));
+
+        assertEquals(450, summary.getResults());
+        assertEquals(450, new HashSet<>(ids).size());
+        assertEquals(3, summary.getRequests());
+        assertEquals(1, summary.getSlices());
+        assertTrue(summary.isComplete());
+    }
+
+    @Test
+    public void slicesWithTooManyResultsAreSplit() {
+        for (int i = 0; i < 100; i++) {
+            this.items.add(new Item(Integer.toString(i), 1000 + i, "0"));
+        }
+        BoxSearchScan scan = new BoxSearchScan(this.connection(), new BoxSearchParameters("report"), 3);
+        scan.setMaxResultsPerSlice(10);
+        scan.sliceByCreatedAt(new Date(1000 * 1000L), new Date(1099 * 1000L), 2);
+
+        Set<String> ids = new HashSet<>();
+        BoxSearchScan.Summary summary = scan.scan(info -> assertTrue(ids.add(info.getID())));
+
+        assertEquals(100, ids.size());
+        assertEquals(100, summary.getResults());
+        assertTrue(summary.getSlices() > 10);
+        assertTrue(summary.isComplete());
+    }
+
+    @Test
+    public void searchWithoutSlicesIsSplitByCreationDate() {
+        for (int i = 0; i < 30; i++) {
+            this.items.add(new Item(Integer.toString(i), 1000000000L + i * 3600, "0"));
+        }
+        BoxSearchScan scan = new BoxSearchScan(this.connection(), new BoxSearchParameters("report"), 2);
+        scan.setMaxResultsPerSlice(8);
+
+        BoxSearchScan.Summary summary = scan.scan(info -> { });
+
+        assertEquals(30, summary.getResults());
+        assertTrue(summary.isComplete());
+    }
+
+    @Test
+    public void itemsFoundInSeveralSlicesArePassedOnOnce() {
+        this.items.add(new Item("1", 1000, "10"));
+        this.items.add(new Item("2", 1000, "10", "11"));
+        this.items.add(new Item("3", 1000, "11"));
+        BoxSearchScan scan = new BoxSearchScan(this.connection(), new BoxSearchParameters("report"), 2);
+        scan.sliceByAncestorFolders("10", "11");
+
+        List<String> ids = new ArrayList<>();
+        BoxSearchScan.Summary summary = scan.scan(info -> ids.add(info.getID()));
+
+        Collections.sort(ids);
+        assertEquals(Arrays.asList("1", "2", "3"), ids);
+        assertEquals(2, summary.getSlices());
+    }
+
+    @Test
+    public void sliceThatCanNotBeSplitMakesTheScanIncomplete() {
+        for (int i = 0; i < 15; i++) {
+            this.items.add(new Item(Integer.toString(i), 1000, "0"));
+        }
+        BoxSearchScan scan = new BoxSearchScan(this.connection(), new BoxSearchParameters("report"), 2);
+        scan.setMaxResultsPerSlice(10);
+        scan.sliceByCreatedAt(new Date(1000 * 1000L), new Date(1000 * 1000L), 1);
+
+        BoxSearchScan.Summary summary = scan.scan(info -> { });
+
+        assertFalse(summary.isComplete());
+        assertEquals(15, summary.getResults());
+    }
+
+    /**
+     * Returns a connection answering search requests from the items, filtered by the created_at_range and
+     * ancestor_folder_ids parameters.
+     */
+    private BoxAPIConnection connection() {
+        return StubbedAPI.connection(request -> {
+            Map<String, String> query = parseQuery(request.getUrl().getQuery());
+            long from = Long.MIN_VALUE;
+            long to = Long.MAX_VALUE;
+            if (query.containsKey("created_at_range")) {
+                String[] range = query.get("created_at_range").split(",");
+                from = seconds(range[0]);
+                to = seconds(range[1]);
+            }
+            String folderID = query.get("ancestor_folder_ids");
+
+            List<Item> matches = new ArrayList<>();
+            for (Item item : this.items) {
+                if (item.createdAt >= from && item.createdAt <= to
+                    && (folderID == null || item.ancestors.contains(folderID))) {
+                    matches.add(item);
+                }
+            }
+
+            int offset = Integer.parseInt(query.get("offset"));
+            int limit = Integer.parseInt(query.get("limit"));
+            JsonArray entries = new JsonArray();
+            for (Item item : matches.subList(Math.min(offset, matches.size()),
+                Math.min(offset + limit, matches.size()))) {
+                entries.add(new JsonObject().add("type", "file").add("id", item.id).add("name", item.id + ".pdf"));
+            }
+            JsonObject body = new JsonObject()
+                .add("total_count", matches.size())
+                .add("offset", offset)
+                .add("limit", limit)
+                .add("entries", entries);
+            return json(body);
+        });
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        for (String parameter : rawQuery.split("&")) {
+            String[] nameAndValue = parameter.split("=", 2);
+            try {
+                query.put(nameAndValue[0], URLDecoder.decode(nameAndValue[1], "UTF-8"));
+            } catch (UnsupportedEncodingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return query;
+    }
+
+    private static long seconds(String date) {
+        try {
+            return BoxDateFormat.parse(date).getTime() / 1000;
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final class Item {
+        private final String id;
+        private final long createdAt;
+        private final List<String> ancestors;
+
+        Item(String id, long createdAt, String... ancestors) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.ancestors = Arrays.asList(ancestors);
+        }
+    }
+}
@@ -67,4 +67,34 @@ public class BoxURLTemplateTest {
         }
         Assert.fail("Never threw a BoxAPIException");
     }
+
+    /**
+     * Unit test for {@link URLTemplate#buildWithQuery(String, String, Object...)}
+     */
+    @Test
+    public void testBuildWithQueryFillsEveryPlaceholder() {
+        URLTemplate template = new URLTemplate("files/%s/versions/%s");
+        URL url = template.buildWithQuery(BASE_URL, "?fields=name", "123", "456");
+        assertThat(url.toString(), is(BASE_URL + "files/123/versions/456?fields=name"));
+    }
+
+    /**
+     * Unit test for {@link URLTemplate#buildAlpha(String, Object...)}
+     */
+    @Test
+    public void testBuildAlphaFormatsBooleanPlaceholders() {
+        URLTemplate template = new URLTemplate("folders/%s?recursive=%b");
+        URL url = template.buildAlpha(BASE_URL, "123", true);
+        assertThat(url.toString(), is(BASE_URL + "folders/123?recursive=true"));
+    }
+
+    /**
+     * Unit test for {@link URLTemplate#build(String, Object...)}
+     */
+    @Test
+    public void testBuildKeepsEscapedPercentSigns() {
+        URLTemplate template = new URLTemplate("test/%s?name=a%%20b");
+        URL url = template.build(BASE_URL, "123");
+        assertThat(url.toString(), is(BASE_URL + "test/123?name=a%20b"));
+    }
 }
@@ -0,0 +1,218 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.eclipsesource.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BoxWebHookReceiver} related unit tests.
+ */
+public class BoxWebHookReceiverTest {
+    private static final String PRIMARY_SIGNATURE_KEY = "faqZQdZ2dbNVaFdPWRsVMjZOC4nVwgp0";
+    private static final String SECONDARY_SIGNATURE_KEY = "4SidLLVJLIx3L3RAvMhybvvpmJHUd4iD";
+    private static final BoxWebHookSignatureVerifier.BoxSignatureAlgorithm ALGORITHM =
+        BoxWebHookSignatureVerifier.BoxSignatureAlgorithm.HMAC_SHA256;
+
+    private final List<BoxWebHookReceiver.Delivery> received = new ArrayList<>();
+    private BoxWebHookReceiver receiver;
+
+    @Before
+    public void setUp() {
+        this.receiver = new BoxWebHookReceiver(PRIMARY_SIGNATURE_KEY, SECONDARY_SIGNATURE_KEY);
+        this.receiver.setExecutor(Runnable::run);
+        this.receiver.addHandler(this.received::add);
+    }
+
+    @Test
+    public void signaturesMatchTheSignatureVerifier() {
+        this.receiver.setMaxDeliveryAge(0, TimeUnit.MILLISECONDS);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("BOX-SIGNATURE-VERSION", "1");
+        headers.put("BOX-SIGNATURE-ALGORITHM", "HmacSHA256");
+        headers.put("BOX-DELIVERY-TIMESTAMP", "2016-07-08T01:20:32-07:00");
+        headers.put("BOX-SIGNATURE-PRIMARY", "R54s9jpedqP/Og92+77Ip8hVtfWjR4pnaJXcvRGafCQ=");
+        headers.put("BOX-SIGNATURE-SECONDARY", "V4b6jfPoCaTpcPvUDaaYLfVC4+DUZ3/B6F0pz44shEE=");
+
+        assertTrue(this.receiver.verify(headers::get, bytes("{ \"payload\" : \"test\" }")));
+        assertFalse(this.receiver.verify(headers::get, bytes("{ \"payload\" : \"other\" }")));
+    }
+
+    @Test
+    public void validDeliveriesAreHandedToTheHandlers() {
+        byte[] body = bytes(event("FILE.UPLOADED"));
+
+        BoxWebHookReceiver.Status status = this.receiver.receive(signed(body, "d1", true, true)::get, body);
+
+        assertEquals(BoxWebHookReceiver.Status.ACCEPTED, status);
+        assertEquals(1, this.received.size());
+        BoxWebHookReceiver.Delivery delivery = this.received.get(0);
+        assertEquals("d1", delivery.getID());
+        assertSame(body, delivery.getBody());
+        assertEquals(BoxWebHook.Trigger.FILE_UPLOADED, delivery.getTrigger());
+        assertEquals("77", delivery.getWebHookID());
+        BoxResource.Info source = delivery.getSource(new BoxAPIConnection(""));
+        assertTrue(source instanceof BoxFile.Info);
+        assertEquals("report.pdf", ((BoxFile.Info) source).getName());
+    }
+
+    @Test
+    public void eitherSignatureIsEnough() {
+        byte[] body = bytes(event("FILE.UPLOADED"));
+
+        assertTrue(this.receiver.verify(signed(body, "d1", false, true)::get, body));
+        assertTrue(this.receiver.verify(signed(body, "d1", true, false)::get, body));
+        assertTrue(new BoxWebHookReceiver(null, SECONDARY_SIGNATURE_KEY).verify(signed(body, "d1", true, true)::get,
+            body));
+    }
+
+    @Test
+    public void invalidDeliveriesAreRejected() {
+        byte[] body = bytes(event("FILE.UPLOADED"));
+        Map<String, String> headers = signed(body, "d1", true, true);
+
+        byte[] tampered = bytes(event("FILE.DELETED"));
+        assertEquals(BoxWebHookReceiver.Status.INVALID, this.receiver.receive(headers::get, tampered));
+
+        Map<String, String> wrongVersion = new HashMap<>(headers);
+        wrongVersion.put("BOX-SIGNATURE-VERSION", "2");
+        assertEquals(BoxWebHookReceiver.Status.INVALID, this.receiver.receive(wrongVersion::get, body));
+
+        Map<String, String> garbage = new HashMap<>(headers);
+        garbage.put("BOX-SIGNATURE-PRIMARY", "été");
+        garbage.remove("BOX-SIGNATURE-SECONDARY");
+        assertEquals(BoxWebHookReceiver.Status.INVALID, this.receiver.receive(garbage::get, body));
+
+        assertTrue(this.received.isEmpty());
+    }
+
+    @Test
+    public void deliveriesSentAgainAreHandledOnce() {
+        byte[] body = bytes(event("FILE.UPLOADED"));
+        Map<String, String> headers = signed(body, "d1", true, true);
+
+        assertEquals(BoxWebHookReceiver.Status.ACCEPTED, this.receiver.receive(headers::get, body));
+        assertEquals(BoxWebHookReceiver.Status.DUPLICATE, this.receiver.receive(headers::get, body));
+        assertEquals(BoxWebHookReceiver.Status.ACCEPTED,
+            this.receiver.receive(signed(body, "d2", true, true)::get, body));
+        assertEquals(2, this.received.size());
+    }
+
+    @Test
+    public void oldDeliveriesExpire() {
+        byte[] body = bytes(event("FILE.UPLOADED"));
+        Map<String, String> headers = signed(body, "d1", true, true);
+        String timestamp = OffsetDateTime.now(ZoneOffset.ofHours(-7)).minusMinutes(11).truncatedTo(ChronoUnit.SECONDS)
+            .toString();
+        headers.put("BOX-DELIVERY-TIMESTAMP", timestamp);
+        headers.put("BOX-SIGNATURE-PRIMARY", sign(PRIMARY_SIGNATURE_KEY, body, timestamp));
+
+        assertEquals(BoxWebHookReceiver.Status.EXPIRED, this.receiver.receive(headers::get, body));
+
+        this.receiver.setMaxDeliveryAge(1, TimeUnit.HOURS);
+        assertEquals(BoxWebHookReceiver.Status.ACCEPTED, this.receiver.receive(headers::get, body));
+    }
+
+    @Test
+    public void deliveriesFromTheFutureExpire() {
+        byte[] body = bytes(event("FILE.UPLOADED"));
+        Map<String, String> headers = signed(body, "d1", true, true);
+        String timestamp = OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(11).truncatedTo(ChronoUnit.SECONDS)
+            .toString();
+        headers.put("BOX-DELIVERY-TIMESTAMP", timestamp);
+        headers.put("BOX-SIGNATURE-PRIMARY", sign(PRIMARY_SIGNATURE_KEY, body, timestamp));
+
+        assertEquals(BoxWebHookReceiver.Status.EXPIRED, this.receiver.receive(headers::get, body));
+    }
+
+    @Test
+    public void deliveryRejectedByTheExecutorIsAcceptedWhenSentAgain() {
+        byte[] body = bytes(event("FILE.UPLOADED"));
+        Map<String, String> headers = signed(body, "d1", true, true);
+        this.receiver.setExecutor(runnable -> {
+            throw new RejectedExecutionException("Queue full");
+        });
+
+        try {
+            this.receiver.receive(headers::get, body);
+            fail("The rejected delivery should have failed.");
+        } catch (RejectedExecutionException e) {
+            assertEquals("Queue full", e.getMessage());
+        }
+        this.receiver.setExecutor(Runnable::run);
+
+        assertEquals(BoxWebHookReceiver.Status.ACCEPTED, this.receiver.receive(headers::get, body));
+        assertEquals(1, this.received.size());
+    }
+
+    @Test
+    public void triggerHandlersOnlyGetTheirTrigger() {
+        List<String> deleted = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        this.receiver.addHandler(BoxWebHook.Trigger.FILE_DELETED, delivery -> deleted.add(delivery.getID()));
+        this.receiver.addHandler(delivery -> {
+            throw new IllegalStateException("failed " + delivery.getID());
+        });
+        this.receiver.setErrorHandler((delivery, error) -> errors.add(error.getMessage()));
+
+        byte[] uploaded = bytes(event("FILE.UPLOADED"));
+        this.receiver.receive(signed(uploaded, "d1", true, true)::get, uploaded);
+        byte[] deletedBody = bytes(event("FILE.DELETED"));
+        this.receiver.receive(signed(deletedBody, "d2", true, true)::get, deletedBody);
+        byte[] unknown = bytes(event("SOMETHING.NEW"));
+        this.receiver.receive(signed(unknown, "d3", true, true)::get, unknown);
+
+        assertEquals(3, this.received.size());
+        assertNull(this.received.get(2).getTrigger());
+        assertEquals(1, deleted.size());
+        assertEquals("d2", deleted.get(0));
+        assertEquals(3, errors.size());
+    }
+
+    private static String event(String trigger) {
+        return new JsonObject()
+            .add("type", "webhook_event")
+            .add("id", "e1")
+            .add("trigger", trigger)
+            .add("webhook", new JsonObject().add("id", "77").add("type", "webhook"))
+            .add("source", new JsonObject().add("type", "file").add("id", "5").add("name", "report.pdf"))
+            .toString();
+    }
+
+    private static Map<String, String> signed(byte[] body, String deliveryID, boolean primary, boolean secondary) {
+        String timestamp = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS).toString();
+        Map<String, String> headers = new HashMap<>();
+        headers.put("BOX-DELIVERY-ID", deliveryID);
+        headers.put("BOX-DELIVERY-TIMESTAMP", timestamp);
+        headers.put("BOX-SIGNATURE-VERSION", "1");
+        headers.put("BOX-SIGNATURE-ALGORITHM", "HmacSHA256");
+        headers.put("BOX-SIGNATURE-PRIMARY", primary ? sign(PRIMARY_SIGNATURE_KEY, body, timestamp) : "bm9wZQ==");
+        headers.put("BOX-SIGNATURE-SECONDARY", secondary ? sign(SECONDARY_SIGNATURE_KEY, body, timestamp) : null);
+        return headers;
+    }
+
+    private static String sign(String key, byte[] body, String timestamp) {
+        return new BoxWebHookSignatureVerifier(key, null).sign(ALGORITHM, key,
+            new String(body, StandardCharsets.UTF_8), timestamp);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -11,20 +11,32 @@ import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMoc
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
 public class EventStreamTest {
+    private static final Pattern STREAM_POSITION = Pattern.compile("stream_position=(\\d+)");
+
     @Rule
     public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
     private final BoxAPIConnection api = new BoxAPIConnection("");
@@ -199,4 +211,91 @@ public class EventStreamTest {
 
         assertTrue("Calls should be be 1s apart", times[1] - times[0] >= delay);
     }
+
+    @Test
+    public void listenersAreNotifiedOnThePollerExecutorWithoutHoldingAMonitor() throws InterruptedException {
+        final List<Thread> pollers = new CopyOnWriteArrayList<>();
+        final EventStream stream = new EventStream(eventsConnection(), 0, 1, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            pollers.add(thread);
+            thread.start();
+        });
+        final CountDownLatch notified = new CountDownLatch(1);
+        final AtomicReference<ThreadInfo> notifyingThread = new AtomicReference<>();
+        stream.addListener(new EventListener() {
+            @Override
+            public void onEvent(BoxEvent event) {
+                ThreadInfo info = ManagementFactory.getThreadMXBean()
+                    .getThreadInfo(new long[] {Thread.currentThread().getId()}, true, true)[0];
+                if (notifyingThread.compareAndSet(null, info)) {
+                    notified.countDown();
+                }
+            }
+
+            @Override
+            public void onNextPosition(long position) {
+            }
+
+            @Override
+            public boolean onException(Throwable e) {
+                return true;
+            }
+        });
+
+        stream.start();
+        try {
+            assertTrue(notified.await(10, TimeUnit.SECONDS));
+        } finally {
+            stream.stop();
+        }
+
+        ThreadInfo info = notifyingThread.get();
+        assertEquals(pollers.get(0).getId(), info.getThreadId());
+        // a listener that blocks holds the ReentrantLock guarding the listeners, which doesn't pin a virtual thread
+        assertEquals(0, info.getLockedMonitors().length);
+        assertEquals(1, info.getLockedSynchronizers().length);
+    }
+
+    /**
+     * Returns a connection answering the long polling requests of an event stream. Every page of events repeats the
+     * last event of the previous page, which the stream has to deduplicate.
+     */
+    static BoxAPIConnection eventsConnection() {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setRequestInterceptor(request -> {
+            String url = request.getUrl().toString();
+            JsonObject body;
+            if (request.getMethod().equals("OPTIONS")) {
+                body = new JsonObject().add("entries", new JsonArray().add(new JsonObject()
+                    .add("url", "https://realtime.example.com/subscribe?channel=1")
+                    .add("max_retries", "10")
+                    .add("retry_timeout", 610)));
+            } else if (url.startsWith("https://realtime.example.com")) {
+                body = new JsonObject().add("message", "new_change");
+            } else {
+                Matcher matcher = STREAM_POSITION.matcher(url);
+                long position = matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+                JsonArray entries = new JsonArray();
+                for (long id = Math.max(0, position * 5 - 1); id < position * 5 + 5; id++) {
+                    entries.add(new JsonObject()
+                        .add("type", "event")
+                        .add("event_id", String.valueOf(id))
+                        .add("event_type", "ITEM_CREATE"));
+                }
+                body = new JsonObject()
+                    .add("next_stream_position", position + 1)
+                    .add("entries", entries);
+            }
+
+            final String json = body.toString();
+            return new BoxJSONResponse() {
+                @Override
+                public String getJSON() {
+                    return json;
+                }
+            };
+        });
+        return api;
+    }
 }
@@ -0,0 +1,196 @@
+package com.box.sdk;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.eclipsesource.json.JsonObject;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * {@link InMemoryLRUInfoCache} related unit tests.
+ */
+public class InMemoryLRUInfoCacheTest {
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
+    private BoxAPIConnection api;
+
+    @Before
+    public void setUpConnection() {
+        this.api = new BoxAPIConnection("");
+        this.api.setBaseURL(format("http://localhost:%d/2.0/", this.wireMockRule.port()));
+        this.api.setMaxRetryAttempts(0);
+    }
+
+    @Test
+    public void unchangedItemIsServedFromTheCacheOnNotModified() {
+        stubFolder("12345", "Hot Folder", "1");
+        stubFor(get(urlPathEqualTo("/2.0/folders/12345"))
+            .withHeader("If-None-Match", equalTo("1"))
+            .atPriority(1)
+            .willReturn(aResponse().withStatus(304)));
+        this.api.addInterceptor(new InMemoryLRUInfoCache(100, 10, TimeUnit.MINUTES));
+
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+        BoxFolder.Info first = folder.getInfo();
+        BoxFolder.Info second = folder.getInfo();
+
+        assertEquals("Hot Folder", first.getName());
+        assertEquals("Hot Folder", second.getName());
+        assertEquals("1", second.getEtag());
+        verify(1, getRequestedFor(urlPathEqualTo("/2.0/folders/12345")).withHeader("If-None-Match", absent()));
+        verify(1, getRequestedFor(urlPathEqualTo("/2.0/folders/12345")).withHeader("If-None-Match", equalTo("1")));
+    }
+
+    @Test
+    public void responseEvictedWhileTheRequestIsSentIsServedOnNotModified() {
+        stubFolder("12345", "Hot Folder", "1");
+        stubFor(get(urlPathEqualTo("/2.0/folders/12345"))
+            .withHeader("If-None-Match", equalTo("1"))
+            .atPriority(1)
+            .willReturn(aResponse().withStatus(304)));
+        AtomicInteger requests = new AtomicInteger();
+        InMemoryLRUInfoCache cache = new InMemoryLRUInfoCache(100, 10, TimeUnit.MINUTES);
+        this.api.addInterceptor(new BoxAPIInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                requests.incrementAndGet();
+                return null;
+            }
+        });
+        this.api.addInterceptor(cache);
+        this.api.addInterceptor(new BoxAPIInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                cache.clear();
+                return null;
+            }
+        });
+
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+        folder.getInfo();
+        BoxFolder.Info info = folder.getInfo();
+
+        assertEquals("Hot Folder", info.getName());
+        assertEquals(2, requests.get());
+        assertEquals(1, cache.size());
+        verify(1, getRequestedFor(urlPathEqualTo("/2.0/folders/12345")).withHeader("If-None-Match", equalTo("1")));
+    }
+
+    @Test
+    public void changedItemReplacesTheCachedResponse() {
+        stubFolder("12345", "Renamed Folder", "2");
+        InMemoryLRUInfoCache cache = new InMemoryLRUInfoCache(100, 10, TimeUnit.MINUTES);
+        this.api.addInterceptor(cache);
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+
+        folder.getInfo();
+        BoxFolder.Info info = folder.getInfo();
+
+        assertEquals("Renamed Folder", info.getName());
+        assertEquals(1, cache.size());
+        verify(1, getRequestedFor(urlPathEqualTo("/2.0/folders/12345")).withHeader("If-None-Match", equalTo("2")));
+    }
+
+    @Test
+    public void differentFieldsAreCachedSeparately() {
+        stubFolder("12345", "Hot Folder", "1");
+        InMemoryLRUInfoCache cache = new InMemoryLRUInfoCache(100, 10, TimeUnit.MINUTES);
+        this.api.addInterceptor(cache);
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+
+        folder.getInfo();
+        folder.getInfo("name", "etag");
+
+        assertEquals(2, cache.size());
+        verify(2, getRequestedFor(urlPathEqualTo("/2.0/folders/12345")).withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    public void leastRecentlyUsedResponseIsEvicted() {
+        stubFolder("1", "One", "1");
+        stubFolder("2", "Two", "1");
+        InMemoryLRUInfoCache cache = new InMemoryLRUInfoCache(1, 10, TimeUnit.MINUTES);
+        this.api.addInterceptor(cache);
+
+        new BoxFolder(this.api, "1").getInfo();
+        new BoxFolder(this.api, "2").getInfo();
+        new BoxFolder(this.api, "1").getInfo();
+
+        assertEquals(1, cache.size());
+        verify(2, getRequestedFor(urlPathEqualTo("/2.0/folders/1")).withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    public void expiredResponseIsNotUsed() {
+        stubFolder("12345", "Hot Folder", "1");
+        this.api.addInterceptor(new InMemoryLRUInfoCache(100, 0, TimeUnit.MILLISECONDS));
+        BoxFolder folder = new BoxFolder(this.api, "12345");
+
+        folder.getInfo();
+        folder.getInfo();
+
+        verify(2, getRequestedFor(urlPathEqualTo("/2.0/folders/12345")).withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    public void connectionsSharingTheCacheDontShareResponses() {
+        stubFolder("12345", "Hot Folder", "1");
+        InMemoryLRUInfoCache cache = new InMemoryLRUInfoCache(100, 10, TimeUnit.MINUTES);
+        this.api.addInterceptor(cache);
+        BoxAPIConnection otherUser = new BoxAPIConnection("");
+        otherUser.setBaseURL(this.api.getBaseURL());
+        otherUser.addInterceptor(cache);
+
+        new BoxFolder(this.api, "12345").getInfo();
+        new BoxFolder(otherUser, "12345").getInfo();
+
+        assertEquals(2, cache.size());
+        verify(2, getRequestedFor(urlPathEqualTo("/2.0/folders/12345")).withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    public void notModifiedIsAnErrorForRequestsTheCacheDidntMakeConditional() throws MalformedURLException {
+        stubFor(get(urlPathEqualTo("/2.0/folders/12345"))
+            .withHeader("If-None-Match", equalTo("1"))
+            .willReturn(aResponse().withStatus(304)));
+        this.api.addInterceptor(new InMemoryLRUInfoCache(100, 10, TimeUnit.MINUTES));
+        BoxAPIRequest request = new BoxAPIRequest(this.api, new URL(this.api.getBaseURL() + "folders/12345"), "GET");
+        request.addHeader("If-None-Match", "1");
+
+        try {
+            request.send();
+            fail("A 304 response should have been thrown.");
+        } catch (BoxAPIResponseException e) {
+            assertEquals(304, e.getResponseCode());
+        }
+    }
+
+    private static void stubFolder(String id, String name, String etag) {
+        JsonObject body = new JsonObject()
+            .add("type", "folder")
+            .add("id", id)
+            .add("etag", etag)
+            .add("name", name);
+        stubFor(get(urlPathEqualTo("/2.0/folders/" + id)).willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(body.toString())));
+    }
+}
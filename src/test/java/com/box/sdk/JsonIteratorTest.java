@@ -0,0 +1,149 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+/**
+ * {@link JsonIterator} related unit tests.
+ */
+public class JsonIteratorTest {
+    private static final Pattern OFFSET = Pattern.compile("offset=(\\d+)");
+    private static final Pattern MARKER = Pattern.compile("marker=m(\\d+)");
+
+    @Test
+    public void offsetPagesArePrefetchedInOrderOnTheExecutor() {
+        final int totalCount = 7;
+        final int limit = 2;
+        final Map<Long, AtomicInteger> requestedOffsets = new ConcurrentHashMap<>();
+        final List<Thread> fetchingThreads = new CopyOnWriteArrayList<>();
+
+        BoxAPIConnection api = connection(request -> {
+            fetchingThreads.add(Thread.currentThread());
+            Matcher matcher = OFFSET.matcher(request.getUrl().getQuery());
+            matcher.find();
+            long offset = Long.parseLong(matcher.group(1));
+            requestedOffsets.computeIfAbsent(offset, key -> new AtomicInteger()).incrementAndGet();
+
+            JsonArray entries = new JsonArray();
+            for (long i = offset; i < Math.min(offset + limit, totalCount); i++) {
+                entries.add(new JsonObject().add("id", String.valueOf(i)));
+            }
+            return json(new JsonObject()
+                .add("total_count", totalCount)
+                .add("offset", offset)
+                .add("limit", limit)
+                .add("entries", entries));
+        });
+        api.setPagePrefetchDepth(2);
+        api.setPagePrefetchExecutor(runnable -> startDaemon(runnable, new ArrayList<>()));
+
+        URL url = new URLTemplate("folders/0/items").build(api.getBaseURL());
+        JsonIterator iterator = new JsonIterator(api, url, PagingParameters.offset(0, limit));
+
+        for (int i = 0; i < totalCount; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(String.valueOf(i), iterator.next().get("id").asString());
+        }
+        assertFalse(iterator.hasNext());
+        assertEquals(4, requestedOffsets.size());
+        for (AtomicInteger count : requestedOffsets.values()) {
+            assertEquals(1, count.get());
+        }
+        // the first page is fetched by the consumer, the following ones by the prefetcher
+        assertEquals(Thread.currentThread(), fetchingThreads.get(0));
+        for (Thread thread : fetchingThreads.subList(1, fetchingThreads.size())) {
+            assertNotEquals(Thread.currentThread(), thread);
+        }
+    }
+
+    @Test
+    public void abandonedIteratorStopsPrefetching() throws InterruptedException {
+        final AtomicInteger requests = new AtomicInteger();
+        List<Thread> fetchers = new CopyOnWriteArrayList<>();
+
+        BoxAPIConnection api = connection(request -> {
+            requests.incrementAndGet();
+            // an endless marker based endpoint
+            Matcher matcher = MARKER.matcher(request.getUrl().getQuery());
+            int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+            return json(new JsonObject()
+                .add("entries", new JsonArray().add(new JsonObject().add("id", String.valueOf(page))))
+                .add("next_marker", "m" + (page + 1)));
+        });
+        api.setPagePrefetchDepth(1);
+        api.setPagePrefetchExecutor(runnable -> startDaemon(runnable, fetchers));
+
+        WeakReference<JsonIterator> abandoned = startAndAbandon(api);
+
+        assertEquals(1, fetchers.size());
+        Thread fetcher = fetchers.get(0);
+        long deadline = System.currentTimeMillis() + 30000;
+        while ((fetcher.isAlive() || abandoned.get() != null) && System.currentTimeMillis() < deadline) {
+            System.gc();
+            fetcher.join(100);
+        }
+
+        assertNull(abandoned.get());
+        assertFalse(fetcher.isAlive());
+        // the first page, the consumed page and the page waiting in the buffer, and at most one more in flight
+        assertTrue(requests.get() <= 4);
+    }
+
+    @Test
+    public void closedIteratorStopsPrefetching() throws InterruptedException {
+        List<Thread> fetchers = new CopyOnWriteArrayList<>();
+        BoxAPIConnection api = connection(request -> {
+            Matcher matcher = MARKER.matcher(request.getUrl().getQuery());
+            int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+            return json(new JsonObject()
+                .add("entries", new JsonArray().add(new JsonObject().add("id", String.valueOf(page))))
+                .add("next_marker", "m" + (page + 1)));
+        });
+        api.setPagePrefetchDepth(1);
+        api.setPagePrefetchExecutor(runnable -> startDaemon(runnable, fetchers));
+
+        URL url = new URLTemplate("events").build(api.getBaseURL());
+        JsonIterator iterator = new JsonIterator(api, url, PagingParameters.marker(1));
+        assertEquals("0", iterator.next().get("id").asString());
+        iterator.close();
+
+        assertFalse(iterator.hasNext());
+        Thread fetcher = fetchers.get(0);
+        fetcher.join(10000);
+        assertFalse(fetcher.isAlive());
+    }
+
+    private static WeakReference<JsonIterator> startAndAbandon(BoxAPIConnection api) {
+        URL url = new URLTemplate("events").build(api.getBaseURL());
+        JsonIterator iterator = new JsonIterator(api, url, PagingParameters.marker(1));
+        assertEquals("0", iterator.next().get("id").asString());
+        assertEquals("1", iterator.next().get("id").asString());
+        return new WeakReference<>(iterator);
+    }
+
+    private static void startDaemon(Runnable runnable, List<Thread> threads) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+    }
+}
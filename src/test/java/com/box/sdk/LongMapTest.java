@@ -0,0 +1,51 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * {@link LongMap} related unit tests.
+ */
+public class LongMapTest {
+    @Test
+    public void behavesLikeAHashMapUnderRandomPutsAndRemoves() {
+        LongMap<String> map = new LongMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            // a small key range makes puts, overwrites and removes collide often
+            long key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = Integer.toString(i);
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.size(), map.keys().length);
+        for (long key = 0; key < 2000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void clearRemovesAllTheKeys() {
+        LongMap<String> map = new LongMap<>();
+        map.put(0L, "root");
+        map.put(Long.MAX_VALUE, "max");
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(0L));
+        assertNull(map.get(Long.MAX_VALUE));
+    }
+}
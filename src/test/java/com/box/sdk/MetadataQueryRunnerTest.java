@@ -0,0 +1,171 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.body;
+import static com.box.sdk.StubbedAPI.connection;
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link MetadataQueryRunner} related unit tests.
+ */
+public class MetadataQueryRunnerTest {
+    private static final String FROM = "enterprise_1.contract";
+    private static final int PAGES_PER_FOLDER = 3;
+
+    private final List<JsonObject> queries = new CopyOnWriteArrayList<>();
+    private final List<String> listings = new CopyOnWriteArrayList<>();
+    private BoxAPIConnection api;
+
+    @Before
+    public void setUpConnection() {
+        this.api = connection(request -> {
+            String path = request.getUrl().getPath();
+            if (path.equals("/2.0/folders/5000/items/")) {
+                JsonArray entries = new JsonArray()
+                    .add(new JsonObject().add("type", "folder").add("id", "10"))
+                    .add(new JsonObject().add("type", "file").add("id", "12"))
+                    .add(new JsonObject().add("type", "folder").add("id", "11"));
+                return json(new JsonObject().add("entries", entries).add("next_marker", ""));
+            } else if (path.equals("/2.0/folders/6000/items/")) {
+                this.listings.add(request.getUrl().getQuery());
+                JsonObject instances = new JsonObject()
+                    .add("enterprise_1", new JsonObject().add("contract", new JsonObject().add("owner", "owner-0")));
+                JsonArray entries = new JsonArray()
+                    .add(new JsonObject().add("type", "folder").add("id", "10"))
+                    .add(new JsonObject().add("type", "file").add("id", "13").add("metadata", instances));
+                return json(new JsonObject().add("entries", entries).add("next_marker", ""));
+            }
+
+            JsonObject body = Json.parse(body(request)).asObject();
+            this.queries.add(body);
+            String folderID = body.get("ancestor_folder_id").asString();
+            if (folderID.equals("666")) {
+                throw new BoxAPIException("Server error", 500, "{}");
+            }
+            int page = body.get("marker") == null ? 0 : Integer.parseInt(body.get("marker").asString());
+            return json(queryPage(folderID, page));
+        });
+    }
+
+    @Test
+    public void pagesAreFollowedInOrder() {
+        final List<String> ids = new ArrayList<>();
+
+        long count = new MetadataQueryRunner(this.api, new MetadataQuery(FROM).setAncestorFolderId("10"))
+            .run(row -> ids.add(row.getID()));
+
+        assertEquals(6, count);
+        assertEquals(Arrays.asList("10-0-0", "10-0-1", "10-1-0", "10-1-1", "10-2-0", "10-2-1"), ids);
+        assertNull(this.queries.get(0).get("marker"));
+        assertEquals("1", this.queries.get(1).get("marker").asString());
+        assertEquals("2", this.queries.get(2).get("marker").asString());
+    }
+
+    @Test
+    public void resultsAreProjectedOntoTheRequestedFields() {
+        final List<MetadataQueryRunner.Row> rows = new ArrayList<>();
+        MetadataQuery query = new MetadataQuery(FROM).setAncestorFolderId("10")
+            .setFields("name", "metadata.enterprise_1.contract.owner", "metadata.enterprise_1.contract.missing");
+
+        new MetadataQueryRunner(this.api, query).run(rows::add);
+
+        MetadataQueryRunner.Row row = rows.get(3);
+        assertEquals("file", row.getType());
+        assertEquals("10-1-1", row.getID());
+        assertEquals("report-10-1-1.pdf", row.getValue("name").asString());
+        assertEquals("owner-1", row.getValue("metadata.enterprise_1.contract.owner").asString());
+        assertNull(row.getValue("metadata.enterprise_1.contract.missing"));
+        assertNull(row.getValue("created_at"));
+    }
+
+    @Test
+    public void splitQueryRunsOneQueryPerSubfolder() {
+        final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+        MetadataQueryRunner runner = new MetadataQueryRunner(this.api,
+            new MetadataQuery(FROM).setAncestorFolderId("5000"));
+        runner.setSplitIntoSubfolders(true);
+        runner.setMaxConcurrentQueries(2);
+        runner.setPrefetchDepth(1);
+
+        long count = runner.run(row -> ids.add(row.getID()));
+
+        assertEquals(12, count);
+        assertEquals(12, ids.size());
+        for (JsonObject query : this.queries) {
+            assertFalse(query.get("ancestor_folder_id").asString().equals("5000"));
+        }
+    }
+
+    @Test
+    public void splitQueryFailsWhenAnItemDirectlyInTheAncestorFolderCouldMatch() {
+        MetadataQueryRunner runner = new MetadataQueryRunner(this.api,
+            new MetadataQuery(FROM).setAncestorFolderId("6000"));
+        runner.setSplitIntoSubfolders(true);
+
+        try {
+            runner.run(row -> { });
+            fail("The split query should have failed.");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("file 13"));
+        }
+        assertTrue(this.listings.get(0).contains("metadata.enterprise_1.contract"));
+        assertTrue(this.queries.isEmpty());
+    }
+
+    @Test
+    public void failedQueryStopsTheRun() {
+        try {
+            new MetadataQueryRunner(this.api, new MetadataQuery(FROM).setAncestorFolderId("666")).run(row -> { });
+            fail("The query should have failed.");
+        } catch (BoxAPIException e) {
+            assertEquals(500, e.getResponseCode());
+        }
+    }
+
+    @Test
+    public void iterableSendsTheMarkerOfEachPage() {
+        List<String> ids = new ArrayList<>();
+        for (BoxItem.Info info : MetadataTemplate.executeMetadataQuery(this.api,
+            new MetadataQuery(FROM).setAncestorFolderId("10"))) {
+            ids.add(info.getID());
+        }
+
+        assertEquals(6, ids.size());
+        assertNull(this.queries.get(0).get("marker"));
+        assertEquals("2", this.queries.get(2).get("marker").asString());
+    }
+
+    private static JsonObject queryPage(String folderID, int page) {
+        JsonArray entries = new JsonArray();
+        for (int i = 0; i < 2; i++) {
+            String id = folderID + "-" + page + "-" + i;
+            JsonObject contract = new JsonObject().add("owner", "owner-" + i);
+            entries.add(new JsonObject()
+                .add("type", "file")
+                .add("id", id)
+                .add("name", "report-" + id + ".pdf")
+                .add("metadata", new JsonObject().add("enterprise_1", new JsonObject().add("contract", contract))));
+        }
+        JsonObject body = new JsonObject().add("entries", entries);
+        body.add("next_marker", page + 1 < PAGES_PER_FOLDER ? Integer.toString(page + 1) : "");
+        return body;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * {@link MetadataTemplateCache} related unit tests.
+ */
+public class MetadataTemplateCacheTest {
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile String displayName = "Marketing Collateral";
+    private volatile boolean malformed;
+
+    @Test
+    public void templateIsReadFromTheAPIOnlyOnce() {
+        BoxAPIConnection api = this.connection(new MetadataTemplateCache(10, TimeUnit.MINUTES));
+
+        MetadataTemplate first = MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        MetadataTemplate second = MetadataTemplate.getMetadataTemplate(api, "marketingCollateral", "enterprise");
+
+        assertSame(first, second);
+        assertEquals(1, this.requests.size());
+    }
+
+    @Test
+    public void requestingFieldsBypassesTheCache() {
+        BoxAPIConnection api = this.connection(new MetadataTemplateCache(10, TimeUnit.MINUTES));
+
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral", "enterprise", "displayName");
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral", "enterprise", "displayName");
+
+        assertEquals(2, this.requests.size());
+    }
+
+    @Test
+    public void staleTemplateIsReturnedWhileItIsRefreshed() {
+        BoxAPIConnection api = this.connection(new MetadataTemplateCache(0, TimeUnit.MILLISECONDS));
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        this.displayName = "Renamed";
+
+        MetadataTemplate stale = MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        MetadataTemplate refreshed = MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+
+        assertEquals("Marketing Collateral", stale.getDisplayName());
+        assertEquals("Renamed", refreshed.getDisplayName());
+    }
+
+    @Test
+    public void failedRefreshIsRetriedByTheNextLookup() {
+        BoxAPIConnection api = this.connection(new MetadataTemplateCache(0, TimeUnit.MILLISECONDS));
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        this.malformed = true;
+
+        MetadataTemplate stale = MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        this.malformed = false;
+        this.displayName = "Renamed";
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        MetadataTemplate refreshed = MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+
+        assertEquals("Marketing Collateral", stale.getDisplayName());
+        assertEquals("Renamed", refreshed.getDisplayName());
+    }
+
+    @Test
+    public void updateThroughTheConnectionReplacesTheCachedTemplate() {
+        BoxAPIConnection api = this.connection(new MetadataTemplateCache(10, TimeUnit.MINUTES));
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        this.displayName = "Renamed";
+
+        List<MetadataTemplate.FieldOperation> operations = new ArrayList<>();
+        operations.add(new MetadataTemplate.FieldOperation("{\"op\":\"editTemplate\",\"data\":{"
+            + "\"displayName\":\"Renamed\"}}"));
+        MetadataTemplate.updateMetadataTemplate(api, "enterprise", "marketingCollateral", operations);
+        MetadataTemplate template = MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+
+        assertEquals("Renamed", template.getDisplayName());
+        assertEquals(2, this.requests.size());
+    }
+
+    @Test
+    public void deleteThroughTheConnectionInvalidatesTheCachedTemplate() {
+        BoxAPIConnection api = this.connection(new MetadataTemplateCache(10, TimeUnit.MINUTES));
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+
+        MetadataTemplate.deleteMetadataTemplate(api, "enterprise", "marketingCollateral");
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+
+        assertEquals(Arrays.asList("GET", "DELETE", "GET"), this.requests);
+    }
+
+    @Test
+    public void warmUpLoadsAllEnterpriseTemplates() {
+        MetadataTemplateCache cache = new MetadataTemplateCache(10, TimeUnit.MINUTES);
+        BoxAPIConnection api = this.connection(cache);
+
+        assertEquals(2, cache.warmUp(api));
+        MetadataTemplate.getMetadataTemplate(api, "marketingCollateral");
+        MetadataTemplate.getMetadataTemplate(api, "contract");
+
+        assertEquals(1, this.requests.size());
+    }
+
+    private BoxAPIConnection connection(MetadataTemplateCache cache) {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setMetadataTemplateCache(cache);
+        // runs the background refreshes right away
+        api.setAsyncExecutor(Runnable::run);
+        api.setRequestInterceptor(request -> {
+            this.requests.add(request.getMethod());
+            if (request.getMethod().equals("DELETE")) {
+                return new BoxAPIResponse(204, Collections.<String, String>emptyMap());
+            }
+
+            final JsonObject body;
+            if (request.getUrl().getPath().endsWith("/metadata_templates/enterprise")) {
+                body = new JsonObject().add("entries", new JsonArray()
+                    .add(this.template("marketingCollateral"))
+                    .add(this.template("contract")));
+            } else {
+                body = this.template("marketingCollateral");
+            }
+            final boolean malformed = this.malformed;
+            return new BoxJSONResponse() {
+                @Override
+                public String getJSON() {
+                    return malformed ? "{\"type\":" : body.toString();
+                }
+            };
+        });
+        return api;
+    }
+
+    private JsonObject template(String templateKey) {
+        return new JsonObject()
+            .add("type", "metadata_template")
+            .add("templateKey", templateKey)
+            .add("scope", "enterprise_12345")
+            .add("displayName", templateKey.equals("marketingCollateral") ? this.displayName : templateKey)
+            .add("fields", new JsonArray());
+    }
+}
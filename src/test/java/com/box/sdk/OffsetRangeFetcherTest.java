@@ -0,0 +1,95 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+/**
+ * {@link OffsetRangeFetcher} related unit tests.
+ */
+public class OffsetRangeFetcherTest {
+    private static final Pattern OFFSET = Pattern.compile("offset=(\\d+)");
+    private static final Pattern LIMIT = Pattern.compile("limit=(\\d+)");
+
+    @Test
+    public void getChildrenRangeReturnsItemsInOrderWithCappedConcurrency() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        BoxAPIConnection api = this.folderItemsConnection(2500, inFlight, maxInFlight);
+
+        PartialCollection<BoxItem.Info> children = new BoxFolder(api, "0").getChildrenRange(0, Long.MAX_VALUE, 2);
+
+        assertEquals(2500, children.fullSize());
+        assertEquals(2500, children.size());
+        int expected = 0;
+        for (BoxItem.Info child : children) {
+            assertEquals(String.valueOf(expected++), child.getID());
+        }
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void forEachChildInRangeStopsAtTheLimit() {
+        BoxAPIConnection api = this.folderItemsConnection(2500, new AtomicInteger(), new AtomicInteger());
+
+        final Set<String> ids = new HashSet<>();
+        long fullSize = new BoxFolder(api, "0").forEachChildInRange(500, 1200, 4, child -> ids.add(child.getID()));
+
+        assertEquals(2500, fullSize);
+        Set<String> expected = new HashSet<>();
+        for (int i = 500; i < 1700; i++) {
+            expected.add(String.valueOf(i));
+        }
+        assertEquals(expected, ids);
+    }
+
+    private BoxAPIConnection folderItemsConnection(final int totalCount, final AtomicInteger inFlight,
+                                                   final AtomicInteger maxInFlight) {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setRequestInterceptor(request -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            String query = request.getUrl().getQuery();
+            long offset = this.queryParameter(OFFSET, query);
+            long limit = this.queryParameter(LIMIT, query);
+            JsonArray entries = new JsonArray();
+            for (long i = offset; i < Math.min(offset + limit, totalCount); i++) {
+                entries.add(new JsonObject().add("type", "file").add("id", String.valueOf(i)));
+            }
+            final String json = new JsonObject()
+                .add("total_count", totalCount)
+                .add("offset", offset)
+                .add("limit", limit)
+                .add("entries", entries)
+                .toString();
+            inFlight.decrementAndGet();
+            return new BoxJSONResponse() {
+                @Override
+                public String getJSON() {
+                    return json;
+                }
+            };
+        });
+        return api;
+    }
+
+    private long queryParameter(Pattern pattern, String query) {
+        Matcher matcher = pattern.matcher(query);
+        assertTrue(matcher.find());
+        return Long.parseLong(matcher.group(1));
+    }
+}
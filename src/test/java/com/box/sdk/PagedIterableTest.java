@@ -0,0 +1,120 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.Test;
+
+/**
+ * {@link PagedIterable} and {@link PageSpliterator} related unit tests.
+ */
+public class PagedIterableTest {
+    private static final Pattern OFFSET = Pattern.compile("offset=(\\d+)");
+
+    @Test
+    public void parallelStreamFetchesEveryOffsetPageOnceAndKeepsOrder() {
+        this.assertParallelStreamFetchesEveryOffsetPageOnce(7, 0);
+    }
+
+    @Test
+    public void parallelStreamWithPrefetchingFetchesEveryOffsetPageOnce() {
+        this.assertParallelStreamFetchesEveryOffsetPageOnce(41, 2);
+    }
+
+    private void assertParallelStreamFetchesEveryOffsetPageOnce(final int totalCount, int prefetchDepth) {
+        final int limit = 2;
+        final Map<Long, AtomicInteger> requestedOffsets = new ConcurrentHashMap<>();
+
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setPagePrefetchDepth(prefetchDepth);
+        api.setRequestInterceptor(request -> {
+            Matcher matcher = OFFSET.matcher(request.getUrl().getQuery());
+            matcher.find();
+            long offset = Long.parseLong(matcher.group(1));
+            requestedOffsets.computeIfAbsent(offset, key -> new AtomicInteger()).incrementAndGet();
+
+            JsonArray entries = new JsonArray();
+            for (long i = offset; i < Math.min(offset + limit, totalCount); i++) {
+                entries.add(new JsonObject().add("type", "file").add("id", String.valueOf(i)));
+            }
+            final String json = new JsonObject()
+                .add("total_count", totalCount)
+                .add("offset", offset)
+                .add("limit", limit)
+                .add("entries", entries)
+                .toString();
+            return new BoxJSONResponse() {
+                @Override
+                public String getJSON() {
+                    return json;
+                }
+            };
+        });
+
+        final URL url = new URLTemplate("folders/0/items").build(api.getBaseURL());
+        PagedIterable<BoxItem.Info> iterable = new PagedIterable<>(() -> new BoxItemIterator(api, url, limit, 0));
+
+        List<String> ids = StreamSupport.stream(iterable.spliterator(), true)
+            .map(BoxItem.Info::getID)
+            .collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < totalCount; i++) {
+            expected.add(String.valueOf(i));
+        }
+        assertEquals(expected, ids);
+        assertEquals((totalCount + limit - 1) / limit, requestedOffsets.size());
+        for (AtomicInteger count : requestedOffsets.values()) {
+            assertEquals(1, count.get());
+        }
+    }
+
+    @Test
+    public void parallelStreamOverMarkerPagesKeepsOrder() {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setRequestInterceptor(request -> {
+            String query = request.getUrl().getQuery();
+            final String json;
+            if (!query.contains("marker=")) {
+                json = "{\"entries\":[{\"field\": \"1\"}, {\"field\": \"2\"}], \"next_marker\": \"m2\"}";
+            } else if (query.contains("marker=m2")) {
+                json = "{\"entries\":[{\"field\": \"3\"}, {\"field\": \"4\"}], \"next_marker\": \"m3\"}";
+            } else {
+                json = "{\"entries\":[{\"field\": \"5\"}], \"next_marker\": \"\"}";
+            }
+            return new BoxJSONResponse() {
+                @Override
+                public String getJSON() {
+                    return json;
+                }
+            };
+        });
+
+        URL url = new URLTemplate("endpoint").build(api.getBaseURL());
+        BoxResourceIterable<String> iterable = new BoxResourceIterable<String>(api, url, 2) {
+            @Override
+            protected String factory(JsonObject jsonObject) {
+                return jsonObject.get("field").asString();
+            }
+        };
+
+        List<String> fields = StreamSupport.stream(iterable.spliterator(), true).collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            expected.add(String.valueOf(i));
+        }
+        assertEquals(expected, fields);
+    }
+}
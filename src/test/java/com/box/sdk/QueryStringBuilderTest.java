@@ -73,4 +73,12 @@ public class QueryStringBuilderTest {
         MatcherAssert.assertThat(urlWithNewParam.toString(),
             is("http://localhost:53621/folders/123456/items?limit=20"));
     }
+
+    @Test
+    public void appendsEncodedParamToQuery() throws MalformedURLException {
+        URL urlWithNewParam = QueryStringBuilder.appendToQuery(
+            "http://localhost:53621/folders/123456/items?limit=20", "marker", "a b/c");
+        MatcherAssert.assertThat(urlWithNewParam.toString(),
+            is("http://localhost:53621/folders/123456/items?limit=20&marker=a+b%2Fc"));
+    }
 }
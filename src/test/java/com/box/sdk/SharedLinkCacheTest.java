@@ -0,0 +1,144 @@
+package com.box.sdk;
+
+import static com.box.sdk.StubbedAPI.json;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.eclipsesource.json.JsonObject;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * {@link SharedLinkCache} related unit tests.
+ */
+public class SharedLinkCacheTest {
+    private static final String LINK = "https://app.box.com/s/abc123";
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile Date unsharedAt;
+
+    @Test
+    public void sharedLinkIsResolvedOnlyOnce() {
+        BoxAPIConnection api = this.connection(new SharedLinkCache(100, 10, TimeUnit.MINUTES));
+
+        BoxItem.Info first = BoxItem.getSharedItem(api, LINK);
+        BoxItem.Info second = BoxItem.getSharedItem(api, LINK);
+
+        assertEquals(1, this.requests.size());
+        assertTrue(second instanceof BoxFile.Info);
+        assertEquals("5000", second.getID());
+        assertNotSame(first, second);
+        assertTrue(second.getResource().getAPI() instanceof SharedLinkAPIConnection);
+    }
+
+    @Test
+    public void passwordIsPartOfTheKey() {
+        SharedLinkCache cache = new SharedLinkCache(100, 10, TimeUnit.MINUTES);
+        BoxAPIConnection api = this.connection(cache);
+
+        BoxItem.getSharedItem(api, LINK);
+        BoxItem.getSharedItem(api, LINK, "secret");
+        BoxItem.getSharedItem(api, LINK, "secret");
+
+        assertEquals(2, this.requests.size());
+        cache.invalidate(LINK);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void connectionsAndUsersSharingTheCacheResolveTheirOwnLinks() {
+        SharedLinkCache cache = new SharedLinkCache(100, 10, TimeUnit.MINUTES);
+        BoxAPIConnection api = this.connection(cache);
+        BoxAPIConnection otherConnection = this.connection(cache);
+
+        BoxItem.getSharedItem(api, LINK);
+        BoxItem.getSharedItem(otherConnection, LINK);
+        api.asUser("42");
+        BoxItem.getSharedItem(api, LINK);
+        BoxItem.getSharedItem(api, LINK);
+        api.asSelf();
+        BoxItem.getSharedItem(api, LINK);
+
+        assertEquals(3, this.requests.size());
+        assertEquals(3, cache.size());
+        cache.invalidate(LINK);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void unsharedLinkIsResolvedAgain() {
+        BoxAPIConnection api = this.connection(new SharedLinkCache(100, 10, TimeUnit.MINUTES));
+        this.unsharedAt = new Date(System.currentTimeMillis() - 1000);
+
+        BoxItem.getSharedItem(api, LINK);
+        BoxItem.getSharedItem(api, LINK);
+
+        assertEquals(2, this.requests.size());
+    }
+
+    @Test
+    public void sharedLinkIsResolvedEveryTimeWithoutACache() {
+        BoxAPIConnection api = this.connection(null);
+
+        BoxItem.getSharedItem(api, LINK);
+        BoxItem.getSharedItem(api, LINK);
+
+        assertEquals(2, this.requests.size());
+    }
+
+    @Test
+    public void boxAPIHeaderIncludesThePasswordWhenThereIsOne() {
+        BoxAPIConnection api = new BoxAPIConnection("");
+
+        assertEquals("shared_link=" + LINK, new SharedLinkAPIConnection(api, LINK).getBoxAPIHeader());
+        assertEquals("shared_link=" + LINK + "&shared_link_password=secret",
+            new SharedLinkAPIConnection(api, LINK, "secret").getBoxAPIHeader());
+    }
+
+    @Test
+    public void rateLimiterAndMetricsAreSetOnTheWrappedConnection() {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        SharedLinkAPIConnection sharedLinkAPI = new SharedLinkAPIConnection(api, LINK);
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(10, 10);
+        BoxAPIMetrics metrics = new BoxAPIMetrics() {
+        };
+
+        sharedLinkAPI.setRateLimiter(rateLimiter);
+        sharedLinkAPI.setMetrics(metrics);
+
+        assertSame(rateLimiter, api.getRateLimiter());
+        assertSame(metrics, api.getMetrics());
+        assertSame(rateLimiter, sharedLinkAPI.getRateLimiter());
+        assertSame(metrics, sharedLinkAPI.getMetrics());
+    }
+
+    private BoxAPIConnection connection(SharedLinkCache cache) {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setSharedLinkCache(cache);
+        // shared items are requested through a SharedLinkAPIConnection, which uses the interceptors of the connection
+        // it wraps
+        api.addInterceptor(new BoxAPIInterceptor() {
+            @Override
+            public BoxAPIResponse onRequest(BoxAPIRequest request) {
+                SharedLinkCacheTest.this.requests.add(request.getUrl().getPath());
+                JsonObject sharedLink = new JsonObject().add("url", LINK).add("access", "open");
+                Date unsharedAt = SharedLinkCacheTest.this.unsharedAt;
+                if (unsharedAt != null) {
+                    sharedLink.add("unshared_at", BoxDateFormat.format(unsharedAt));
+                }
+                JsonObject body = new JsonObject()
+                    .add("type", "file")
+                    .add("id", "5000")
+                    .add("name", "report.pdf")
+                    .add("shared_link", sharedLink);
+                return json(body);
+            }
+        });
+        return api;
+    }
+}
@@ -0,0 +1,8 @@
+package com.box.sdk;
+
+/**
+ * Category of the slow tests that load the SDK from many threads. They are left out of the unit tests and run by the
+ * stressTest Gradle task.
+ */
+public interface StressTest {
+}
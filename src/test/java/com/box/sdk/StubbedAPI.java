@@ -0,0 +1,55 @@
+package com.box.sdk;
+
+import com.eclipsesource.json.JsonObject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Helpers for the unit tests whose requests are answered by a {@link RequestInterceptor} instead of the API.
+ */
+final class StubbedAPI {
+    private StubbedAPI() {
+    }
+
+    /**
+     * Creates a connection whose requests are all answered by the interceptor, without retrying failed requests.
+     */
+    static BoxAPIConnection connection(RequestInterceptor interceptor) {
+        BoxAPIConnection api = new BoxAPIConnection("");
+        api.setMaxRetryAttempts(0);
+        api.setRequestInterceptor(interceptor);
+        return api;
+    }
+
+    static BoxJSONResponse json(JsonObject body) {
+        return json(200, body);
+    }
+
+    static BoxJSONResponse json(int status, JsonObject body) {
+        return new BoxJSONResponse(status, Collections.<String, String>emptyMap(), body);
+    }
+
+    /**
+     * Reads the body of a request, leaving it to be read again when the request is sent.
+     */
+    static String body(BoxAPIRequest request) {
+        InputStream body = request.getBody();
+        if (body == null) {
+            return "";
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            int b;
+            while ((b = body.read()) != -1) {
+                bytes.write(b);
+            }
+            body.reset();
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
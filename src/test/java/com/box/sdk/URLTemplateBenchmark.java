@@ -0,0 +1,85 @@
+package com.box.sdk;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.regex.Pattern;
+
+/**
+ * Microbenchmark comparing {@link URLTemplate} and {@link QueryStringBuilder} with the regex and
+ * {@link String#format(String, Object...)} based URL building they replaced. It isn't run as part of the tests; run
+ * its main method from the test classpath, e.g. {@code java -cp <test classpath> com.box.sdk.URLTemplateBenchmark}.
+ */
+public final class URLTemplateBenchmark {
+    private static final Pattern NUMERIC = Pattern.compile("^[0-9]*$");
+    private static final String BASE_URL = "https://api.box.com/2.0/";
+    private static final String TEMPLATE = "files/%s/metadata/%s/%s";
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+    private static volatile Object sink;
+
+    private URLTemplateBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the average time per URL.
+     *
+     * @param args unused.
+     * @throws MalformedURLException never, the URLs are well formed.
+     */
+    public static void main(String[] args) throws MalformedURLException {
+        final URLTemplate template = new URLTemplate(TEMPLATE);
+        final String query = new QueryStringBuilder().appendParam("fields", "name", "size", "etag").toString();
+
+        run("String.format + regex", () -> legacyBuild(BASE_URL + TEMPLATE, query, "12345", "67890", "13579"));
+        run("URLTemplate", () -> template.buildWithQuery(BASE_URL, query, "12345", "67890", "13579"));
+
+        final URL pageURL = new URL(BASE_URL + "folders/0/items?fields=name,size&limit=1000");
+        run("QueryStringBuilder.replaceQuery", () -> {
+            QueryStringBuilder builder = new QueryStringBuilder(pageURL.getQuery());
+            builder.appendParam("marker", "ZXhhbXBsZS1tYXJrZXI-12345");
+            try {
+                return builder.replaceQuery(pageURL);
+            } catch (MalformedURLException e) {
+                throw new BoxAPIException(e.getMessage());
+            }
+        });
+        final String pageURLString = pageURL.toString();
+        run("QueryStringBuilder.appendToQuery", () -> {
+            try {
+                return QueryStringBuilder.appendToQuery(pageURLString, "marker", "ZXhhbXBsZS1tYXJrZXI-12345");
+            } catch (MalformedURLException e) {
+                throw new BoxAPIException(e.getMessage());
+            }
+        });
+    }
+
+    private static URL legacyBuild(String template, String queryString, Object... values) {
+        for (Object value : values) {
+            if (!NUMERIC.matcher(String.valueOf(value)).matches()) {
+                throw new BoxAPIException("An invalid path param passed in. It must be numeric.");
+            }
+        }
+        try {
+            return new URL(String.format(template, values) + queryString);
+        } catch (MalformedURLException e) {
+            throw new BoxAPIException(e.getMessage());
+        }
+    }
+
+    private static void run(String name, Operation operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-36s %8.1f ns/op%n", name, (double) elapsed / MEASURED_ITERATIONS);
+    }
+
+    private interface Operation {
+        Object run();
+    }
+}
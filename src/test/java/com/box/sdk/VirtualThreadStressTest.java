@@ -0,0 +1,158 @@
+package com.box.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.box.sdk.internal.pool.MacPool;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Stresses the code paths that lock around blocking work (event listeners, the access token cache and the Mac pool)
+ * from many threads at once. It takes a while and needs JVM options, so it is in the {@link StressTest} category and
+ * only runs with {@code ./gradlew stressTest}, in a JVM of its own.
+ *
+ * <p>On a JDK with virtual threads the tasks run on virtual threads. The stressTest task starts the JVM with
+ * {@code jdk.tracePinnedThreads}, so the JDK reports every virtual thread that blocks while pinned to its carrier by a
+ * monitor, and the test fails if any is reported. The JDK prints the reports to {@code System.out}, which the test
+ * captures while the load runs. JDK 24 no longer pins virtual threads in monitors and ignores the property; there, as
+ * on JDKs without virtual threads, only the results are checked.</p>
+ */
+@Category(StressTest.class)
+public class VirtualThreadStressTest {
+    private static final int EVENT_STREAMS = 50;
+    private static final int EVENTS_PER_STREAM = 40;
+    private static final int CACHE_AND_MAC_TASKS = 500;
+
+    @Test
+    public void lockingPathsDoNotPinCarrierThreadsUnderLoad() throws Exception {
+        ExecutorService virtualThreads = virtualThreadExecutor();
+        ExecutorService executor = virtualThreads != null ? virtualThreads : Executors.newFixedThreadPool(64);
+        // the property is read once, when the JVM starts
+        boolean tracePinning = virtualThreads != null && System.getProperty("jdk.tracePinnedThreads") != null;
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream pinningReports = new ByteArrayOutputStream();
+        if (tracePinning) {
+            System.setOut(new PrintStream(pinningReports, true, "UTF-8"));
+        }
+        try {
+            this.runLoad(executor);
+        } finally {
+            System.setOut(originalOut);
+            executor.shutdownNow();
+        }
+
+        String reports = new String(pinningReports.toByteArray(), StandardCharsets.UTF_8);
+        assertFalse("Virtual threads were pinned:\n" + reports, reports.contains("<== monitors"));
+    }
+
+    private void runLoad(ExecutorService executor) throws Exception {
+        final InMemoryLRUAccessTokenCache tokenCache = new InMemoryLRUAccessTokenCache(64);
+        final MacPool macPool = new MacPool();
+        final SecretKeySpec key = new SecretKeySpec("secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < CACHE_AND_MAC_TASKS; i++) {
+            final String cacheKey = "user-" + (i % 32);
+            tasks.add(executor.submit(() -> {
+                tokenCache.put(cacheKey, "token");
+                tokenCache.get(cacheKey);
+
+                Mac mac = macPool.acquire("HmacSHA256");
+                try {
+                    mac.init(key);
+                    mac.doFinal(cacheKey.getBytes(StandardCharsets.UTF_8));
+                } catch (InvalidKeyException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    macPool.release(mac);
+                }
+                return null;
+            }));
+        }
+
+        List<EventStream> streams = new ArrayList<>();
+        List<Set<String>> receivedEvents = new ArrayList<>();
+        final CountDownLatch allEventsReceived = new CountDownLatch(EVENT_STREAMS);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < EVENT_STREAMS; i++) {
+            final Set<String> received = ConcurrentHashMap.newKeySet();
+            final EventStream stream = new EventStream(EventStreamTest.eventsConnection(), 0, 1, executor);
+            stream.addListener(new EventListener() {
+                @Override
+                public void onEvent(BoxEvent event) {
+                    // blocks while the listener lock is held
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    assertTrue("Duplicate event " + event.getID(), received.add(event.getID()));
+                    if (received.size() == EVENTS_PER_STREAM) {
+                        allEventsReceived.countDown();
+                    }
+                }
+
+                @Override
+                public void onNextPosition(long position) {
+                }
+
+                @Override
+                public boolean onException(Throwable e) {
+                    failure.compareAndSet(null, e);
+                    return true;
+                }
+            });
+            streams.add(stream);
+            receivedEvents.add(received);
+        }
+
+        for (EventStream stream : streams) {
+            stream.start();
+        }
+        boolean completed = allEventsReceived.await(60, TimeUnit.SECONDS);
+        for (EventStream stream : streams) {
+            if (stream.isStarted()) {
+                stream.stop();
+            }
+        }
+        for (Future<?> task : tasks) {
+            task.get(60, TimeUnit.SECONDS);
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError("An event stream failed.", failure.get());
+        }
+        assertTrue("Not all the event streams received their events in time.", completed);
+        for (Set<String> received : receivedEvents) {
+            assertTrue(received.size() >= EVENTS_PER_STREAM);
+        }
+        assertEquals("token", tokenCache.get("user-0"));
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
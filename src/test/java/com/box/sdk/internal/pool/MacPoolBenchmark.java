@@ -0,0 +1,150 @@
+package com.box.sdk.internal.pool;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Microbenchmark comparing {@link MacPool} with the unbounded queue based pool it replaced, signing webhook sized
+ * payloads from 64 threads at once. It isn't run as part of the tests; run its main method from the test classpath,
+ * e.g. {@code java -cp <test classpath> com.box.sdk.internal.pool.MacPoolBenchmark [threads]}.
+ */
+public final class MacPoolBenchmark {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec KEY = new SecretKeySpec("faqZQdZ2dbNVaFdPWRsVMjZOC4nVwgp0"
+        .getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    private static final byte[] PAYLOAD = new byte[1024];
+    private static final int DEFAULT_THREADS = 64;
+    private static final int WARMUP_SIGNATURES_PER_THREAD = 20_000;
+    private static final int MEASURED_SIGNATURES_PER_THREAD = 100_000;
+    private static volatile Object sink;
+
+    private MacPoolBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the average time per signature, across all the threads.
+     *
+     * @param args optionally, the number of threads.
+     * @throws Exception if a signing thread fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+
+        final QueueMacPool queuePool = new QueueMacPool();
+        run("queue pool, init per signature", threads, () -> {
+            Mac mac = queuePool.acquire(ALGORITHM);
+            try {
+                mac.init(KEY);
+                return mac.doFinal(PAYLOAD);
+            } finally {
+                queuePool.release(mac);
+            }
+        });
+        System.out.printf("  idle Macs retained: %d%n", queuePool.size(ALGORITHM));
+
+        final MacPool pool = new MacPool();
+        run("slot pool, init per signature", threads, () -> {
+            Mac mac = pool.acquire(ALGORITHM);
+            try {
+                mac.init(KEY);
+                return mac.doFinal(PAYLOAD);
+            } finally {
+                pool.release(mac);
+            }
+        });
+        printStatistics(pool);
+
+        final MacPool keyedPool = new MacPool();
+        final MacPool.KeyedMacs keyed = keyedPool.forKey(KEY);
+        run("slot pool, keyed Macs", threads, () -> {
+            Mac mac = keyed.acquire();
+            try {
+                return mac.doFinal(PAYLOAD);
+            } finally {
+                keyed.release(mac);
+            }
+        });
+        printStatistics(keyedPool);
+    }
+
+    private static void run(String name, int threads, Operation operation) throws Exception {
+        sign(threads, WARMUP_SIGNATURES_PER_THREAD, operation);
+        long elapsed = sign(threads, MEASURED_SIGNATURES_PER_THREAD, operation);
+        System.out.printf("%-36s %8.1f ns/op%n", name, (double) elapsed / (threads * MEASURED_SIGNATURES_PER_THREAD));
+    }
+
+    private static long sign(int threads, final int signatures, final Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < signatures; j++) {
+                        sink = operation.run();
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void printStatistics(MacPool pool) {
+        long acquired = pool.getHits() + pool.getMisses();
+        System.out.printf("  hit rate: %.2f%%, created: %d, discarded: %d%n",
+            100.0 * pool.getHits() / acquired, pool.getMisses(), pool.getDiscarded());
+    }
+
+    private interface Operation {
+        Object run() throws Exception;
+    }
+
+    /**
+     * The unbounded queue based pool, as it was before the slots.
+     */
+    private static final class QueueMacPool {
+        private final Map<String, Queue<Mac>> macPoolByAlgorithm = new ConcurrentHashMap<String, Queue<Mac>>();
+
+        Mac acquire(String algorithm) throws NoSuchAlgorithmException {
+            Queue<Mac> pool = this.macPoolByAlgorithm.get(algorithm);
+            Mac result = pool == null ? null : pool.poll();
+            if (result != null) {
+                result.reset();
+                return result;
+            }
+            return Mac.getInstance(algorithm);
+        }
+
+        void release(Mac mac) {
+            this.macPoolByAlgorithm.computeIfAbsent(mac.getAlgorithm(), algorithm -> new ConcurrentLinkedQueue<Mac>())
+                .offer(mac);
+        }
+
+        int size(String algorithm) {
+            Queue<Mac> pool = this.macPoolByAlgorithm.get(algorithm);
+            return pool == null ? 0 : pool.size();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.box.sdk.internal.pool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MacPool}.
+ */
+public class MacPoolTest {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec KEY = new SecretKeySpec("secret".getBytes(StandardCharsets.UTF_8), ALGORITHM);
+
+    @Test
+    public void releasedMacsAreReused() {
+        MacPool pool = new MacPool(2);
+
+        Mac mac = pool.acquire(ALGORITHM);
+        pool.release(mac);
+
+        assertSame(mac, pool.acquire(ALGORITHM));
+        assertNotSame(mac, pool.acquire(ALGORITHM));
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    public void idleMacsAreBounded() {
+        MacPool pool = new MacPool(2);
+        List<Mac> macs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            macs.add(pool.acquire(ALGORITHM));
+        }
+
+        for (Mac mac : macs) {
+            pool.release(mac);
+        }
+        for (int i = 0; i < 5; i++) {
+            pool.acquire(ALGORITHM);
+        }
+
+        assertEquals(3, pool.getDiscarded());
+        assertEquals(2, pool.getHits());
+        assertEquals(8, pool.getMisses());
+    }
+
+    @Test
+    public void keyedMacsStayInitializedWithTheirKey() throws Exception {
+        MacPool pool = new MacPool(2);
+        MacPool.KeyedMacs keyed = pool.forKey(KEY);
+        Mac expected = Mac.getInstance(ALGORITHM);
+        expected.init(KEY);
+        byte[] signature = expected.doFinal("payload".getBytes(StandardCharsets.UTF_8));
+
+        Mac mac = keyed.acquire();
+        assertArrayEquals(signature, mac.doFinal("payload".getBytes(StandardCharsets.UTF_8)));
+        // an unfinished signature is cleared on release
+        mac.update("partial".getBytes(StandardCharsets.UTF_8));
+        keyed.release(mac);
+
+        Mac reused = keyed.acquire();
+        assertSame(mac, reused);
+        assertArrayEquals(signature, reused.doFinal("payload".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test
+    public void keyedMacsAreNotSharedWithOtherKeys() {
+        MacPool pool = new MacPool(2);
+        MacPool.KeyedMacs keyed = pool.forKey(KEY);
+
+        Mac mac = keyed.acquire();
+        keyed.release(mac);
+
+        assertNotSame(mac, pool.forKey(KEY).acquire());
+        assertNotSame(mac, pool.acquire(ALGORITHM));
+        assertSame(mac, keyed.acquire());
+    }
+
+    @Test
+    public void concurrentSignaturesAreCorrect() throws Exception {
+        final MacPool pool = new MacPool(4);
+        final MacPool.KeyedMacs keyed = pool.forKey(KEY);
+        Mac expected = Mac.getInstance(ALGORITHM);
+        expected.init(KEY);
+        final byte[] signature = expected.doFinal("payload".getBytes(StandardCharsets.UTF_8));
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        Mac mac = keyed.acquire();
+                        try {
+                            mac.update("pay".getBytes(StandardCharsets.UTF_8));
+                            mac.update("load".getBytes(StandardCharsets.UTF_8));
+                            assertArrayEquals(signature, mac.doFinal());
+                        } finally {
+                            keyed.release(mac);
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(16000, pool.getHits() + pool.getMisses());
+        // only the Macs that didn't fit in the pool are discarded
+        assertTrue(pool.getMisses() - pool.getDiscarded() <= 4);
+    }
+}